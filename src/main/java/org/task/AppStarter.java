@@ -1,15 +1,18 @@
 package org.task;
 
 import org.task.config.DatabaseManager;
+import org.task.controller.BatchController;
 import org.task.controller.ConsoleController;
-import org.task.exception.DataBaseConnectionException;
 import org.task.service.QuizService;
 import org.task.service.ExportImportService;
 import org.task.service.impl.QuizServiceImpl;
 import org.task.service.impl.ExportImportServiceImpl;
 import org.task.service.manager.ServiceManagement;
 import org.task.service.manager.ServiceManagementImpl;
+import org.task.storage.MemorySnapshotter;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,24 +20,27 @@ public class AppStarter {
     private static final Logger logger = Logger.getLogger(AppStarter.class.getName());
 
     private final DatabaseManager databaseManager;
-    private final ConsoleController consoleController;
+    private final ServiceManagement serviceManagement;
+    private final ExportImportService exportImportService;
 
     public AppStarter() {
         this.databaseManager = initializeDatabase();
-        final ServiceManagement serviceManagement = new ServiceManagementImpl(databaseManager);
-        final QuizService quizService = new QuizServiceImpl();
-        final ExportImportService exportImportService = new ExportImportServiceImpl();
-
-        this.consoleController = new ConsoleController(quizService, exportImportService, serviceManagement);
+        this.serviceManagement = new ServiceManagementImpl(databaseManager);
+        startMemoryPersistence(databaseManager);
+        this.exportImportService = new ExportImportServiceImpl();
     }
 
     public void start() {
         logger.info("Starting Flashcards Application...");
 
         try {
-            addShutdownHook(databaseManager);
+            addShutdownHook(databaseManager, serviceManagement);
+
+            final long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            logger.log(Level.INFO, "Time to first prompt: {0} ms", uptime);
 
-            consoleController.start();
+            final QuizService quizService = new QuizServiceImpl();
+            new ConsoleController(quizService, exportImportService, serviceManagement).start();
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Application startup failed", e);
@@ -45,24 +51,45 @@ public class AppStarter {
         logger.info("Flashcards Application terminated successfully");
     }
 
+    /**
+     * Runs one non-interactive command and returns the process exit code.
+     */
+    public int runBatch(String[] args) {
+        addShutdownHook(databaseManager, serviceManagement);
+
+        final long started = System.nanoTime();
+        final int exitCode = new BatchController(serviceManagement, exportImportService,
+                databaseManager.getExecutor(), System.out).run(args);
+
+        logger.log(Level.INFO, "Batch command {0} finished with exit code {1} in {2} ms",
+                new Object[]{args.length > 0 ? args[0] : "", exitCode, (System.nanoTime() - started) / 1_000_000});
+        return exitCode;
+    }
+
     private static DatabaseManager initializeDatabase() {
         logger.info("Initializing database...");
 
         DatabaseManager databaseManager = DatabaseManager.getInstance();
-
-        if (!databaseManager.testConnection())
-            throw new DataBaseConnectionException("Cannot establish database connection");
-
         databaseManager.initializeDatabase();
 
         logger.info("Database initialized successfully");
         return databaseManager;
     }
 
-    private static void addShutdownHook(DatabaseManager databaseManager) {
+    private static void startMemoryPersistence(DatabaseManager databaseManager) {
+        databaseManager.getMemorySnapshotter().ifPresent(snapshotter -> {
+            final long intervalSeconds = Long.parseLong(
+                    databaseManager.getProperty("db.memory.snapshotIntervalSeconds", "300"));
+            snapshotter.start(Duration.ofSeconds(intervalSeconds));
+        });
+    }
+
+    private static void addShutdownHook(DatabaseManager databaseManager, ServiceManagement serviceManagement) {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             logger.info("Shutting down application...");
             try {
+                serviceManagement.close();
+                databaseManager.getMemorySnapshotter().ifPresent(MemorySnapshotter::close);
                 databaseManager.shutdown();
                 logger.info("Application shutdown completed");
             } catch (Exception e) {
@@ -3,6 +3,8 @@ package org.task;
 public class Main {
     public static void main(String[] args) {
         AppStarter appStarter = new AppStarter();
+        if (args.length > 0) System.exit(appStarter.runBatch(args));
+
         appStarter.start();
     }
 }
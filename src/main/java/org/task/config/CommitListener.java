@@ -0,0 +1,15 @@
+package org.task.config;
+
+import org.task.models.dto.ChangeEvent;
+
+import java.util.List;
+
+/**
+ * Told about the change log entries of every repository transaction of this process right after it
+ * commits, on the committing thread and before the repository call returns. Writes made by other
+ * processes sharing the database only show up by tailing the change log.
+ */
+@FunctionalInterface
+public interface CommitListener {
+    void committed(List<ChangeEvent> changes);
+}
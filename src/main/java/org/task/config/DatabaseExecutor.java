@@ -0,0 +1,101 @@
+package org.task.config;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs blocking database work on virtual threads. A thread per task is cheap, connections are not, so
+ * at most {@code maxConcurrency} tasks hold a connection at a time and the rest park until one is free.
+ * Every future fails with a {@link TimeoutException} after the configured timeout, which also interrupts
+ * the task still waiting for or running its query.
+ */
+public class DatabaseExecutor implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(DatabaseExecutor.class.getName());
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration defaultTimeout;
+
+    public DatabaseExecutor(int maxConcurrency, Duration defaultTimeout) {
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be positive");
+
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-", 0).factory());
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public <R> CompletableFuture<R> supplyAsync(Supplier<R> task) {
+        return supplyAsync(task, defaultTimeout);
+    }
+
+    public <R> CompletableFuture<R> supplyAsync(Supplier<R> task, Duration timeout) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+
+        final Future<?> running;
+        try {
+            running = executor.submit(() -> run(task, result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        return result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> {
+                    if (error instanceof TimeoutException) running.cancel(true);
+                });
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Stops accepting work and waits briefly for running queries; tasks still queued are interrupted.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(defaultTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.log(Level.WARNING, "Database tasks still running after {0}, interrupting", defaultTimeout);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private <R> void run(Supplier<R> task, CompletableFuture<R> result) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        try {
+            if (!result.isDone()) result.complete(task.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package org.task.config;
 
+import org.task.config.migration.MigrationRunner;
+import org.task.config.migration.Migrations;
 import org.task.exception.DataBaseConnectionException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.Properties;
 import java.util.logging.Level;
 
@@ -45,13 +46,20 @@ public class DatabaseLoading extends DatabaseManager {
     }
 
     private void setDefaultProperties(Properties props) {
-        props.putIfAbsent("db.url", "jdbc:h2:file:./data/flashcards;AUTO_SERVER=TRUE;DB_CLOSE_DELAY=-1");
+        props.putIfAbsent("db.url", "jdbc:h2:file:./data/flashcards;AUTO_SERVER=TRUE;DB_CLOSE_DELAY=-1;"
+                + "CACHE_SIZE=32768;LOCK_TIMEOUT=10000");
         props.putIfAbsent("db.user", "sa");
         props.putIfAbsent("db.password", "");
         props.putIfAbsent("db.driver", "org.h2.Driver");
 
         props.putIfAbsent("db.pool.maxConnections", "10");
         props.putIfAbsent("db.pool.timeout", "30000");
+
+        props.putIfAbsent("db.mode", "file");
+        props.putIfAbsent("db.memory.url", "jdbc:h2:mem:flashcards;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        props.putIfAbsent("db.memory.snapshotFile", "./data/flashcards-snapshot.zip");
+        props.putIfAbsent("db.memory.journalFile", "./data/flashcards-journal.ndjson");
+        props.putIfAbsent("db.memory.snapshotIntervalSeconds", "300");
     }
 
     private void validateProperties(Properties props) {
@@ -66,72 +74,19 @@ public class DatabaseLoading extends DatabaseManager {
 
     @Override
     public void initializeDatabase() {
-        logger.log(Level.INFO, "Starting database initialization...");
+        final long started = System.nanoTime();
 
         try (Connection conn = getConnection()) {
-            configureDatabase(conn);
-            createTables(conn);
-            performAdditionalSetup(conn);
-
-            logger.log(Level.INFO, "Database initialization completed successfully");
-        } catch (SQLException e) {
-            throw new DataBaseConnectionException("Exception while initializing database", e);
-        }
-    }
-
-    @Override
-    protected void configureDatabase(Connection conn) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute("SET DB_CLOSE_DELAY -1");
-            stmt.execute("SET CACHE_SIZE 32768");
-            stmt.execute("SET LOCK_TIMEOUT 10000");
-
-            stmt.execute("SET MODE REGULAR");
-
-            logger.log(Level.INFO, "Database configured successfully");
-        }
-    }
+            final var snapshotter = getMemorySnapshotter().orElse(null);
+            if (snapshotter != null) snapshotter.restore(conn, getFileUrl(), getUser(), getPassword());
 
-    private void performAdditionalSetup(Connection conn) throws SQLException {
-        try (Statement stmt = conn.createStatement()) {
+            new MigrationRunner(Migrations.all()).migrate(conn);
 
-            final var rs = stmt.executeQuery("SELECT COUNT(*) FROM decks WHERE name = 'Demo Deck'");
-            rs.next();
-            final int count = rs.getInt(1);
+            if (snapshotter != null) snapshotter.replayJournal(conn);
 
-            if (count == 0) {
-                stmt.execute("""
-                            INSERT INTO decks (name, description) 
-                            VALUES ('Demo Deck', 'Демонстраційна колода для ознайомлення з додатком')
-                        """);
-
-                logger.log(Level.INFO, "Demo deck created");
-
-                insertDemoCards(stmt);
-            } else logger.log(Level.INFO, "Demo deck already exists, skipping creation");
-
-            logger.log(Level.INFO, "Additional database setup completed");
-        }
-    }
-
-    private void insertDemoCards(Statement stmt) throws SQLException {
-        var rs = stmt.executeQuery("SELECT id FROM decks WHERE name = 'Demo Deck'");
-        if (rs.next()) {
-            long deckId = rs.getLong("id");
-
-            String[] demoCards = {
-                    "('Що таке Java?', 'Об''єктно-орієнтована мова програмування', " + deckId + ")",
-                    "('Що таке JVM?', 'Java Virtual Machine - віртуальна машина Java', " + deckId + ")",
-                    "('Що таке ООП?', 'Об''єктно-орієнтоване програмування', " + deckId + ")",
-                    "('Що таке клас?', 'Шаблон для створення об''єктів', " + deckId + ")",
-                    "('Що таке інкапсуляція?', 'Приховування внутрішньої реалізації класу', " + deckId + ")"
-            };
-
-            for (String cardData : demoCards)
-                stmt.execute("INSERT INTO cards (question, answer, deck_id) VALUES " + cardData);
-
-
-            logger.log(Level.INFO, "Demo cards created: {0}", demoCards.length);
+            logger.log(Level.INFO, "Database ready in {0} ms", (System.nanoTime() - started) / 1_000_000);
+        } catch (SQLException e) {
+            throw new DataBaseConnectionException("Exception while initializing database", e);
         }
     }
-}
\ No newline at end of file
+}
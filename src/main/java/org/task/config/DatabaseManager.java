@@ -1,9 +1,18 @@
 package org.task.config;
 
 import org.task.exception.DataBaseConnectionException;
+import org.task.models.dto.ChangeEvent;
+import org.task.repository.ChangeLogRepository;
+import org.task.storage.ChangeJournal;
+import org.task.storage.MemorySnapshotter;
 
+import java.nio.file.Path;
 import java.sql.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,12 +22,19 @@ public abstract class DatabaseManager {
     private final String user;
     private final String password;
     private final String driver;
+    private final Properties properties;
+    private final boolean inMemory;
+    private final MemorySnapshotter memorySnapshotter;
+    private final DatabaseExecutor executor;
+    private final List<CommitListener> commitListeners = new CopyOnWriteArrayList<>();
 
     protected static final Logger logger = Logger.getLogger(DatabaseManager.class.getName());
 
     protected DatabaseManager() {
         Properties props = loadProperties();
-        this.url = props.getProperty("db.url");
+        this.properties = props;
+        this.inMemory = "memory".equalsIgnoreCase(props.getProperty("db.mode"));
+        this.url = inMemory ? props.getProperty("db.memory.url") : props.getProperty("db.url");
         this.user = props.getProperty("db.user");
         this.password = props.getProperty("db.password");
         this.driver = props.getProperty("db.driver");
@@ -29,6 +45,16 @@ public abstract class DatabaseManager {
         } catch (ClassNotFoundException e) {
             throw new DataBaseConnectionException("Database driver не знайдено: " + driver, e);
         }
+
+        this.memorySnapshotter = inMemory
+                ? new MemorySnapshotter(this::getConnection,
+                Path.of(props.getProperty("db.memory.snapshotFile")),
+                new ChangeJournal(Path.of(props.getProperty("db.memory.journalFile"))))
+                : null;
+
+        this.executor = new DatabaseExecutor(
+                Integer.parseInt(props.getProperty("db.pool.maxConnections", "10")),
+                Duration.ofMillis(Long.parseLong(props.getProperty("db.pool.timeout", "30000"))));
     }
 
     public static DatabaseManager getInstance() {
@@ -63,48 +89,6 @@ public abstract class DatabaseManager {
     }
 
 
-    protected void createTables(Connection conn) throws SQLException {
-        logger.log(Level.INFO, "Creating database tables...");
-
-        try (Statement stmt = conn.createStatement()) {
-            // Створення таблиці колод
-            stmt.execute("""
-                        CREATE TABLE IF NOT EXISTS decks (
-                            id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                            name VARCHAR(255) NOT NULL UNIQUE,
-                            description TEXT,
-                            created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                            updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                        )
-                    """);
-
-            stmt.execute("""
-                        CREATE TABLE IF NOT EXISTS cards (
-                            id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                            question TEXT NOT NULL,
-                            answer TEXT NOT NULL,
-                            deck_id BIGINT NOT NULL,
-                            created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                            updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                            FOREIGN KEY (deck_id) REFERENCES decks(id) ON DELETE CASCADE
-                        )
-                    """);
-
-            createIndexes(stmt);
-
-            logger.log(Level.INFO, "Database tables created successfully");
-        }
-    }
-
-    protected void createIndexes(Statement stmt) throws SQLException {
-        stmt.execute("CREATE INDEX IF NOT EXISTS idx_cards_deck_id ON cards(deck_id)");
-        stmt.execute("CREATE INDEX IF NOT EXISTS idx_decks_name ON decks(name)");
-        stmt.execute("CREATE INDEX IF NOT EXISTS idx_decks_created_at ON decks(created_at)");
-        stmt.execute("CREATE INDEX IF NOT EXISTS idx_cards_created_at ON cards(created_at)");
-
-        logger.log(Level.INFO, "Database indexes created successfully");
-    }
-
     public final DatabaseMetaData getDatabaseMetadata() {
         try (Connection conn = getConnection()) {
             return conn.getMetaData();
@@ -129,6 +113,8 @@ public abstract class DatabaseManager {
     }
 
     public final void shutdown() {
+        executor.close();
+
         try (Connection conn = getConnection();
              Statement stmt = conn.createStatement()) {
 
@@ -139,10 +125,78 @@ public abstract class DatabaseManager {
         }
     }
 
+    /**
+     * Commits a repository transaction, then hands its change log entries to the commit listeners. In
+     * memory mode the entries are journaled before this returns. A failing listener is logged; the
+     * transaction stays committed.
+     */
+    public final void commit(Connection conn) throws SQLException {
+        final List<ChangeEvent> changes = ChangeLogRepository.takeRecorded(conn);
+        if (changes.isEmpty()) {
+            conn.commit();
+            return;
+        }
+
+        try {
+            if (memorySnapshotter != null) memorySnapshotter.commit(conn, changes);
+            else conn.commit();
+        } finally {
+            ChangeLogRepository.transactionEnded(conn);
+        }
+
+        for (CommitListener listener : commitListeners) {
+            try {
+                listener.committed(changes);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Commit listener failed", e);
+            }
+        }
+    }
+
+    public final void rollback(Connection conn) throws SQLException {
+        ChangeLogRepository.takeRecorded(conn);
+        try {
+            conn.rollback();
+        } finally {
+            ChangeLogRepository.transactionEnded(conn);
+        }
+    }
+
+    public final void addCommitListener(CommitListener listener) {
+        commitListeners.add(listener);
+    }
+
+    public final void removeCommitListener(CommitListener listener) {
+        commitListeners.remove(listener);
+    }
+
+    public final boolean isInMemory() {
+        return inMemory;
+    }
+
+    /**
+     * Executor for asynchronous repository calls, bounded by {@code db.pool.maxConnections}.
+     */
+    public final DatabaseExecutor getExecutor() {
+        return executor;
+    }
+
+    public final Optional<MemorySnapshotter> getMemorySnapshotter() {
+        return Optional.ofNullable(memorySnapshotter);
+    }
+
+    public final String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
     protected final String getUrl() {
         return url;
     }
 
+    protected final String getFileUrl() {
+        return properties.getProperty("db.url");
+    }
+
     protected final String getUser() {
         return user;
     }
@@ -158,6 +212,4 @@ public abstract class DatabaseManager {
     protected abstract Properties loadProperties();
 
     public abstract void initializeDatabase();
-
-    protected abstract void configureDatabase(Connection conn) throws SQLException;
 }
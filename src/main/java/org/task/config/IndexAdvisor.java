@@ -0,0 +1,181 @@
+package org.task.config;
+
+import org.task.repository.CardRepository;
+import org.task.repository.ChangeLogRepository;
+import org.task.repository.DeckRepository;
+import org.task.repository.ImportJobRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the repositories' query shapes against the live schema with {@code EXPLAIN}: reports queries
+ * that scan a table or sort rows an index could have delivered in order, and secondary indexes whose
+ * columns are already a prefix of another index.
+ */
+public class IndexAdvisor {
+    private static final Pattern INDEX_COMMENT = Pattern.compile("/\\* PUBLIC\\.([A-Z0-9_.]+)");
+    private static final String TABLE_SCAN = ".TABLESCAN";
+    private static final String INDEX_SORTED = "/* index sorted */";
+
+    /**
+     * The filtered and ordered lookups issued by {@code CardRepository}, {@code DeckRepository},
+     * {@code ChangeLogRepository} and {@code ImportJobRepository}, explained with the repositories' own SQL.
+     */
+    public static final List<QueryShape> REPOSITORY_QUERIES = List.of(
+            new QueryShape("cards.findByDeckId", "cards", CardRepository.FIND_BY_DECK_ID_SQL,
+                    List.of("deck_id"), List.of("created_at", "id")),
+            new QueryShape("cards.findViewsByDeckId", "cards", CardRepository.FIND_VIEWS_BY_DECK_ID_SQL,
+                    List.of("deck_id"), List.of("created_at", "id")),
+            new QueryShape("cards.findPageByDeckId", "cards", CardRepository.FIND_PAGE_BY_DECK_ID_SQL,
+                    List.of("deck_id"), List.of("created_at", "id")),
+            new QueryShape("cards.findPageByDeckIdBefore", "cards", CardRepository.FIND_PAGE_BY_DECK_ID_BEFORE_SQL,
+                    List.of("deck_id"), List.of("created_at", "id")),
+            new QueryShape("cards.findIdsByDeckId", "cards", CardRepository.FIND_IDS_BY_DECK_ID_SQL,
+                    List.of("deck_id"), List.of("created_at", "id")),
+            new QueryShape("cards.countByDeckId", "cards", CardRepository.COUNT_BY_DECK_ID_SQL,
+                    List.of("deck_id"), List.of()),
+            new QueryShape("cards.findAll", "cards", CardRepository.FIND_ALL_SQL,
+                    List.of(), List.of("created_at")),
+            new QueryShape("cards.findByDeckIdChangedBetween", "cards", CardRepository.FIND_CHANGED_BETWEEN_SQL,
+                    List.of("deck_id"), List.of()),
+            new QueryShape("cards.findViewsByContentHashes", "cards",
+                    CardRepository.FIND_VIEWS_BY_CONTENT_HASHES_SQL.formatted("?, ?"),
+                    List.of("deck_id", "content_hash"), List.of()),
+            new QueryShape("cards.findByIds", "cards", CardRepository.FIND_BY_IDS_SQL.formatted("?, ?"),
+                    List.of("id"), List.of()),
+            new QueryShape("card_tombstones.findByDeckIdChangedBetween", "card_tombstones",
+                    CardRepository.FIND_TOMBSTONES_BETWEEN_SQL, List.of("deck_id"), List.of()),
+            new QueryShape("decks.findAll", "decks", DeckRepository.FIND_ALL_SQL,
+                    List.of(), List.of("created_at")),
+            new QueryShape("decks.findByName", "decks", DeckRepository.FIND_BY_NAME_SQL,
+                    List.of("name"), List.of()),
+            new QueryShape("change_log.findAfter", "change_log", ChangeLogRepository.FIND_AFTER_SQL,
+                    List.of(), List.of("seq")),
+            new QueryShape("import_jobs.findResumable", "import_jobs", ImportJobRepository.FIND_RESUMABLE_SQL,
+                    List.of("source_path"), List.of())
+    );
+
+    public record QueryShape(String name, String table, String sql, List<String> filterColumns,
+                             List<String> orderColumns) {
+    }
+
+    public record QueryPlan(QueryShape query, String index, boolean tableScan, boolean sortedByIndex,
+                            String plan) {
+        public boolean needsIndex() {
+            return (tableScan && !query.filterColumns().isEmpty())
+                    || (!query.orderColumns().isEmpty() && !sortedByIndex);
+        }
+
+        /**
+         * Composite index serving both the equality filter and the ordering of this query.
+         */
+        public String suggestion() {
+            final List<String> columns = new ArrayList<>(query.filterColumns());
+            query.orderColumns().stream().filter(column -> !columns.contains(column)).forEach(columns::add);
+            return "CREATE INDEX IF NOT EXISTS idx_" + query.table() + "_" + String.join("_", columns)
+                    + " ON " + query.table() + "(" + String.join(", ", columns) + ")";
+        }
+    }
+
+    public record RedundantIndex(String table, String index, List<String> columns, String coveredBy) {
+        public String suggestion() {
+            return "DROP INDEX IF EXISTS " + index.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final List<QueryShape> queries;
+
+    public IndexAdvisor() {
+        this(REPOSITORY_QUERIES);
+    }
+
+    public IndexAdvisor(List<QueryShape> queries) {
+        this.queries = queries;
+    }
+
+    public List<QueryPlan> explain(Connection conn) throws SQLException {
+        final List<QueryPlan> plans = new ArrayList<>();
+
+        for (QueryShape query : queries) {
+            try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + query.sql());
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                final String plan = rs.getString(1);
+                final Matcher matcher = INDEX_COMMENT.matcher(plan);
+                final String index = matcher.find() ? matcher.group(1) : null;
+                final boolean tableScan = index == null || index.toUpperCase(Locale.ROOT).endsWith(TABLE_SCAN);
+
+                plans.add(new QueryPlan(query, tableScan ? null : index, tableScan, plan.contains(INDEX_SORTED), plan));
+            }
+        }
+
+        return plans;
+    }
+
+    /**
+     * Plain (non-unique, non-constraint) indexes whose column list is a prefix of, or equal to, another
+     * index on the same table. Constraint-owned indexes are never reported since they cannot be dropped.
+     */
+    public List<RedundantIndex> findRedundantIndexes(Connection conn) throws SQLException {
+        // Constraint-owned indexes are recognised through table_constraints, not by name: H2 renames them
+        // when it rebuilds a table, e.g. on ALTER TABLE ... ADD COLUMN
+        final String sql = """
+                    SELECT i.table_name, i.index_name, i.index_type_name, c.column_name,
+                           EXISTS (SELECT 1 FROM information_schema.table_constraints tc
+                                   WHERE tc.index_schema = i.index_schema AND tc.index_name = i.index_name) AS owned
+                    FROM information_schema.indexes i
+                    JOIN information_schema.index_columns c
+                      ON c.table_schema = i.table_schema AND c.table_name = i.table_name AND c.index_name = i.index_name
+                    WHERE i.table_schema = 'PUBLIC'
+                    ORDER BY i.table_name, i.index_name, c.ordinal_position
+                """;
+
+        final Map<String, IndexInfo> indexes = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                final String table = rs.getString(1);
+                final String name = rs.getString(2);
+                final boolean plain = "INDEX".equals(rs.getString(3)) && !rs.getBoolean(5);
+
+                indexes.computeIfAbsent(table + "." + name, key -> new IndexInfo(table, name, plain, new ArrayList<>()))
+                        .columns().add(rs.getString(4));
+            }
+        }
+
+        final List<RedundantIndex> redundant = new ArrayList<>();
+        for (IndexInfo candidate : indexes.values()) {
+            if (!candidate.plain()) continue;
+
+            for (IndexInfo other : indexes.values()) {
+                if (other == candidate || !other.table().equals(candidate.table())) continue;
+                if (!startsWith(other.columns(), candidate.columns())) continue;
+                // Two plain indexes on identical columns: keep the first, report the second
+                if (other.plain() && other.columns().size() == candidate.columns().size()
+                        && other.name().compareTo(candidate.name()) > 0) continue;
+
+                redundant.add(new RedundantIndex(candidate.table(), candidate.name(), candidate.columns(), other.name()));
+                break;
+            }
+        }
+
+        return redundant;
+    }
+
+    private static boolean startsWith(List<String> columns, List<String> prefix) {
+        return columns.size() >= prefix.size() && columns.subList(0, prefix.size()).equals(prefix);
+    }
+
+    private record IndexInfo(String table, String name, boolean plain, List<String> columns) {
+    }
+}
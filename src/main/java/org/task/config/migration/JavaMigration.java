@@ -0,0 +1,89 @@
+package org.task.config.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Base for migrations that need code, typically data backfills. {@link #backfill} walks a table in
+ * primary-key ranges and commits each range separately, so rows are locked briefly instead of for the
+ * whole rewrite; such migrations must be non-transactional and written to be rerunnable.
+ */
+public abstract class JavaMigration implements Migration {
+    protected static final int DEFAULT_BATCH_SIZE = 1_000;
+    private static final Logger logger = Logger.getLogger(JavaMigration.class.getName());
+
+    private final int version;
+    private final String description;
+    private final boolean transactional;
+
+    protected JavaMigration(int version, String description, boolean transactional) {
+        this.version = version;
+        this.description = description;
+        this.transactional = transactional;
+    }
+
+    @Override
+    public int version() {
+        return version;
+    }
+
+    @Override
+    public String description() {
+        return description;
+    }
+
+    @Override
+    public Integer checksum() {
+        return null;
+    }
+
+    @Override
+    public boolean transactional() {
+        return transactional;
+    }
+
+    /**
+     * Runs {@code updateSql} once per id range of {@code table}. The statement receives the inclusive
+     * lower and exclusive upper bound as its first two parameters, e.g.
+     * {@code UPDATE cards SET ... WHERE id >= ? AND id < ? AND ...}.
+     *
+     * @return total number of rows updated
+     */
+    protected final long backfill(Connection conn, String table, String updateSql, int batchSize) throws SQLException {
+        final long minId;
+        final long maxId;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(id), MAX(id) FROM " + table)) {
+            rs.next();
+            minId = rs.getLong(1);
+            if (rs.wasNull()) return 0;
+            maxId = rs.getLong(2);
+        }
+
+        final boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        long updated = 0;
+
+        try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+            for (long from = minId; from <= maxId; from += batchSize) {
+                stmt.setLong(1, from);
+                stmt.setLong(2, from + batchSize);
+                updated += stmt.executeUpdate();
+                conn.commit();
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+
+        logger.log(Level.INFO, "Backfilled {0} rows of {1}", new Object[]{updated, table});
+        return updated;
+    }
+}
@@ -0,0 +1,27 @@
+package org.task.config.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * One ordered step of the schema history. Versions are applied in ascending order and recorded in
+ * {@code schema_history}; once applied, a migration must not change, which the checksum enforces.
+ */
+public interface Migration {
+    int version();
+
+    String description();
+
+    /**
+     * Checksum of the migration's source, or {@code null} when it cannot be verified (Java migrations).
+     */
+    Integer checksum();
+
+    /**
+     * Whether the whole migration commits atomically. Non-transactional migrations commit statement by
+     * statement (or batch by batch) and must therefore be safe to rerun after a partial failure.
+     */
+    boolean transactional();
+
+    void migrate(Connection conn) throws SQLException;
+}
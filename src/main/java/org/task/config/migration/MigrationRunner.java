@@ -0,0 +1,143 @@
+package org.task.config.migration;
+
+import org.h2.api.ErrorCode;
+import org.task.exception.DataBaseConnectionException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies pending {@link Migration}s in version order and records them in {@code schema_history}. On a
+ * database that is already current this costs a single query: the history is read once, checksums of
+ * applied migrations are verified and nothing else runs.
+ */
+public class MigrationRunner {
+    private static final Logger logger = Logger.getLogger(MigrationRunner.class.getName());
+
+    private final List<Migration> migrations;
+
+    public MigrationRunner(List<Migration> migrations) {
+        this.migrations = migrations.stream().sorted(Comparator.comparingInt(Migration::version)).toList();
+
+        for (int i = 1; i < this.migrations.size(); i++) {
+            if (this.migrations.get(i).version() == this.migrations.get(i - 1).version()) {
+                throw new IllegalArgumentException("Duplicate migration version: " + this.migrations.get(i).version());
+            }
+        }
+    }
+
+    /**
+     * @return number of migrations applied
+     */
+    public int migrate(Connection conn) throws SQLException {
+        final Map<Integer, Integer> applied = findApplied(conn);
+        validate(applied);
+
+        int count = 0;
+        for (Migration migration : migrations) {
+            if (applied.containsKey(migration.version())) continue;
+
+            apply(conn, migration);
+            count++;
+        }
+
+        if (count > 0) logger.log(Level.INFO, "Applied {0} migration(s)", count);
+        return count;
+    }
+
+    private void validate(Map<Integer, Integer> applied) {
+        for (Migration migration : migrations) {
+            if (!applied.containsKey(migration.version()) || migration.checksum() == null) continue;
+
+            final Integer recorded = applied.get(migration.version());
+            if (!Objects.equals(recorded, migration.checksum())) {
+                throw new DataBaseConnectionException(String.format(
+                        "Migration V%d (%s) was changed after it was applied: checksum %s, expected %s",
+                        migration.version(), migration.description(), migration.checksum(), recorded));
+            }
+        }
+
+        final int latestKnown = migrations.isEmpty() ? 0 : migrations.getLast().version();
+        applied.keySet().stream()
+                .filter(version -> version > latestKnown)
+                .findFirst()
+                .ifPresent(version -> logger.log(Level.WARNING,
+                        "Database has migration V{0} applied, which this version does not know", version));
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        logger.log(Level.INFO, "Applying migration V{0}: {1}", new Object[]{migration.version(), migration.description()});
+
+        final long started = System.nanoTime();
+        final boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(!migration.transactional());
+
+        try {
+            migration.migrate(conn);
+            recordApplied(conn, migration, (System.nanoTime() - started) / 1_000_000);
+            if (migration.transactional()) conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            if (migration.transactional()) conn.rollback();
+            throw new DataBaseConnectionException(
+                    "Migration V" + migration.version() + " (" + migration.description() + ") failed", e);
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static Map<Integer, Integer> findApplied(Connection conn) throws SQLException {
+        final Map<Integer, Integer> applied = new HashMap<>();
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_history")) {
+            while (rs.next()) {
+                final int checksum = rs.getInt(2);
+                applied.put(rs.getInt(1), rs.wasNull() ? null : checksum);
+            }
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ErrorCode.TABLE_OR_VIEW_NOT_FOUND_1
+                    && e.getErrorCode() != ErrorCode.TABLE_OR_VIEW_NOT_FOUND_DATABASE_EMPTY_1) throw e;
+            createHistoryTable(conn);
+        }
+
+        return applied;
+    }
+
+    private static void createHistoryTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                        CREATE TABLE IF NOT EXISTS schema_history (
+                            version INT PRIMARY KEY,
+                            description VARCHAR(255) NOT NULL,
+                            checksum INT,
+                            installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                            execution_ms BIGINT NOT NULL
+                        )
+                    """);
+        }
+    }
+
+    private static void recordApplied(Connection conn, Migration migration, long executionMs) throws SQLException {
+        final String sql = "INSERT INTO schema_history (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.description());
+            if (migration.checksum() != null) stmt.setInt(3, migration.checksum());
+            else stmt.setNull(3, Types.INTEGER);
+            stmt.setLong(4, executionMs);
+            stmt.executeUpdate();
+        }
+    }
+}
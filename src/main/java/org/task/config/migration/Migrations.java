@@ -0,0 +1,28 @@
+package org.task.config.migration;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The application's schema history. Append new migrations at the end; never edit or reorder applied ones.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Migrations {
+
+    public static List<Migration> all() {
+        return List.of(
+                SqlMigration.classpath(1, "baseline_schema"),
+                SqlMigration.classpath(2, "demo_deck"),
+                SqlMigration.classpath(3, "drop_schema_version"),
+                SqlMigration.classpath(4, "deck_card_order_index"),
+                SqlMigration.classpath(5, "row_versions"),
+                SqlMigration.classpath(6, "import_jobs"),
+                SqlMigration.classpath(7, "card_uids"),
+                SqlMigration.classpath(8, "tombstones_per_deck"),
+                SqlMigration.classpath(9, "card_content_hash"),
+                new StoredCardContentHash()
+        );
+    }
+}
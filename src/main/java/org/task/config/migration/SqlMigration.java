@@ -0,0 +1,113 @@
+package org.task.config.migration;
+
+import org.task.exception.DataBaseConnectionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Migration backed by {@code db/migration/V<version>__<description>.sql} on the classpath. A script whose
+ * first line is {@value #NON_TRANSACTIONAL} runs each statement in its own transaction, which keeps long
+ * index builds from holding one huge transaction open.
+ */
+public final class SqlMigration implements Migration {
+    static final String NON_TRANSACTIONAL = "-- migration: non-transactional";
+    private static final String LOCATION = "db/migration/";
+
+    private final int version;
+    private final String description;
+    private final String script;
+    private final int checksum;
+
+    private SqlMigration(int version, String description, String script) {
+        this.version = version;
+        this.description = description;
+        this.script = script.replace("\r\n", "\n");
+
+        final CRC32 crc = new CRC32();
+        crc.update(this.script.getBytes(StandardCharsets.UTF_8));
+        this.checksum = (int) crc.getValue();
+    }
+
+    public static SqlMigration classpath(int version, String name) {
+        final String resource = LOCATION + "V" + version + "__" + name + ".sql";
+
+        try (InputStream input = SqlMigration.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) throw new DataBaseConnectionException("Migration script not found: " + resource);
+            return new SqlMigration(version, name.replace('_', ' '),
+                    new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new DataBaseConnectionException("Cannot read migration script: " + resource, e);
+        }
+    }
+
+    @Override
+    public int version() {
+        return version;
+    }
+
+    @Override
+    public String description() {
+        return description;
+    }
+
+    @Override
+    public Integer checksum() {
+        return checksum;
+    }
+
+    @Override
+    public boolean transactional() {
+        return !script.startsWith(NON_TRANSACTIONAL);
+    }
+
+    @Override
+    public void migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements(script)) stmt.execute(sql);
+        }
+    }
+
+    /**
+     * Splits a script on semicolons, ignoring those inside quoted literals and {@code --} comments.
+     */
+    static List<String> statements(String script) {
+        final List<String> statements = new ArrayList<>();
+        final StringBuilder current = new StringBuilder();
+        boolean inQuote = false;
+
+        for (int i = 0; i < script.length(); i++) {
+            final char c = script.charAt(i);
+
+            if (!inQuote && c == '-' && i + 1 < script.length() && script.charAt(i + 1) == '-') {
+                final int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end;
+                current.append('\n');
+                continue;
+            }
+            if (c == '\'') inQuote = !inQuote;
+
+            if (c == ';' && !inQuote) {
+                addStatement(statements, current);
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        addStatement(statements, current);
+
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder sql) {
+        final String statement = sql.toString().strip();
+        if (!statement.isEmpty()) statements.add(statement);
+    }
+}
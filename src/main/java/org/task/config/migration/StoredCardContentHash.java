@@ -0,0 +1,100 @@
+package org.task.config.migration;
+
+import org.task.utils.CardFingerprint;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Turns V9's generated {@code cards.content_hash} into a plain column that CardRepository fills on every
+ * write. The generated column was computed through a Java alias, so the database file could only be
+ * opened, scripted or restored with {@link CardFingerprint} on the classpath. The hash is recomputed here
+ * in id order, one committed batch at a time; every step checks what is already done, so a rerun after a
+ * failure picks up the remaining rows.
+ */
+public final class StoredCardContentHash extends JavaMigration {
+    private static final Logger logger = Logger.getLogger(StoredCardContentHash.class.getName());
+
+    public StoredCardContentHash() {
+        super(10, "stored card content hash", false);
+    }
+
+    @Override
+    public void migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (isGenerated(conn)) {
+                stmt.execute("DROP INDEX IF EXISTS idx_cards_deck_hash");
+                stmt.execute("ALTER TABLE cards DROP COLUMN content_hash");
+            }
+            stmt.execute("DROP ALIAS IF EXISTS CARD_FINGERPRINT");
+            stmt.execute("ALTER TABLE cards ADD COLUMN IF NOT EXISTS content_hash BIGINT");
+        }
+
+        final long filled = fillContentHashes(conn);
+        logger.log(Level.INFO, "Stored content hashes of {0} cards", filled);
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_cards_deck_hash ON cards(deck_id, content_hash)");
+        }
+    }
+
+    private static boolean isGenerated(Connection conn) throws SQLException {
+        final String sql = """
+                    SELECT IS_GENERATED FROM INFORMATION_SCHEMA.COLUMNS
+                    WHERE TABLE_NAME = 'CARDS' AND COLUMN_NAME = 'CONTENT_HASH'
+                """;
+
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() && "ALWAYS".equals(rs.getString(1));
+        }
+    }
+
+    private static long fillContentHashes(Connection conn) throws SQLException {
+        final String selectSql = """
+                    SELECT id, question, answer FROM cards
+                    WHERE id > ? AND content_hash IS NULL
+                    ORDER BY id
+                    LIMIT ?
+                """;
+        final String updateSql = "UPDATE cards SET content_hash = ? WHERE id = ?";
+
+        final boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        long filled = 0;
+
+        try (PreparedStatement select = conn.prepareStatement(selectSql);
+             PreparedStatement update = conn.prepareStatement(updateSql)) {
+            long lastId = Long.MIN_VALUE;
+            int rows;
+            do {
+                select.setLong(1, lastId);
+                select.setInt(2, DEFAULT_BATCH_SIZE);
+                rows = 0;
+
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = rs.getLong(1);
+                        update.setLong(1, CardFingerprint.of(rs.getString(2), rs.getString(3)));
+                        update.setLong(2, lastId);
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                if (rows > 0) update.executeBatch();
+                conn.commit();
+                filled += rows;
+            } while (rows == DEFAULT_BATCH_SIZE);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,385 @@
+package org.task.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.task.config.DatabaseExecutor;
+import org.task.exception.NotFoundException;
+import org.task.models.dto.DeckHeader;
+import org.task.models.dto.DeckRequest;
+import org.task.models.dto.ImportJob;
+import org.task.models.dto.SearchHit;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+import org.task.service.CardService;
+import org.task.service.DeckService;
+import org.task.service.ExportImportService;
+import org.task.service.ImportJobService;
+import org.task.service.SearchService;
+import org.task.service.manager.ServiceManagement;
+import org.task.utils.FileGlob;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Non-interactive commands for scripts, e.g. {@code import 'nightly/*.csv' --merge} or
+ * {@code export-all --format json --dir backups}. Every unit of work (a file, a deck, a search term) runs
+ * as its own task on the shared {@link DatabaseExecutor}, so concurrency is bounded by
+ * {@code db.pool.maxConnections}, and all tasks share one service graph.
+ * <p>
+ * Output is one JSON object per line: a line per unit of work as it completes, then a summary line with
+ * {@code "status":"done"}; {@code watch} also prints a metrics line every report interval. The exit code
+ * is 0 when every unit succeeded, 1 when any failed and 2 on invalid usage.
+ */
+public class BatchController {
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = """
+            Usage: <command> [arguments] [options]
+              import <file-glob>...      import CSV/JSON/NDJSON decks; CSV decks are named after the file
+                  [--merge]              merge into an existing deck of the same name instead of failing
+              export <deck-glob>...      export decks whose name matches
+              export-all                 export every deck
+                  [--format csv|json|ndjson] [--dir exports]
+              search <term>...           search all decks, or one with [--deck <name>] [--limit n]
+              stats                      card count per deck
+              watch                      import deck files as they land in --dir (default inbox),
+                  [--merge]              moving them to --archive/--quarantine (default <dir>/archive, <dir>/quarantine)
+                  [--settle <millis>]    unchanged for this long before import, default 2000
+                  [--workers n]          files imported at once, at most db.pool.maxConnections
+                  [--report <seconds>]   metrics line interval, default 60; [--for <seconds>] stop after
+              Common: [--timeout <seconds>] per unit of work, default 600""";
+    private static final Set<String> FLAGS = Set.of("merge");
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(10);
+
+    private final DeckService deckService;
+    private final CardService cardService;
+    private final ImportJobService importJobService;
+    private final ServiceManagement serviceManagement;
+    private final ExportImportService exportImportService;
+    private final DatabaseExecutor executor;
+    private final PrintStream out;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public BatchController(ServiceManagement serviceManagement, ExportImportService exportImportService,
+                           DatabaseExecutor executor, PrintStream out) {
+        this.deckService = serviceManagement.getDeckService();
+        this.cardService = serviceManagement.getCardService();
+        this.importJobService = serviceManagement.getImportJobService();
+        this.serviceManagement = serviceManagement;
+        this.exportImportService = exportImportService;
+        this.executor = executor;
+        this.out = out;
+    }
+
+    public int run(String[] args) {
+        final List<String> arguments = new ArrayList<>();
+        final Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--")) arguments.add(args[i]);
+            else if (FLAGS.contains(args[i].substring(2))) options.put(args[i].substring(2), "true");
+            else if (i + 1 < args.length) options.put(args[i].substring(2), args[++i]);
+            else return usage("Missing value for " + args[i]);
+        }
+
+        try {
+            final Duration timeout = options.containsKey("timeout")
+                    ? Duration.ofSeconds(Long.parseLong(options.get("timeout")))
+                    : DEFAULT_TIMEOUT;
+
+            return switch (args.length == 0 ? "" : args[0]) {
+                case "import" -> arguments.isEmpty()
+                        ? usage("import needs at least one file glob")
+                        : importFiles(arguments, options.containsKey("merge"), timeout);
+                case "export" -> arguments.isEmpty()
+                        ? usage("export needs at least one deck name glob")
+                        : exportDecks("export", arguments, options, timeout);
+                case "export-all" -> exportDecks("export-all", List.of("*"), options, timeout);
+                case "search" -> arguments.isEmpty()
+                        ? usage("search needs at least one term")
+                        : search(arguments, options, timeout);
+                case "stats" -> stats();
+                case "watch" -> watch(options, timeout);
+                default -> usage(args.length == 0 ? "No command given" : "Unknown command: " + args[0]);
+            };
+        } catch (IllegalArgumentException e) {
+            return usage(e.getMessage());
+        }
+    }
+
+    private int importFiles(List<String> globs, boolean merge, Duration timeout) {
+        final Set<Path> files = new LinkedHashSet<>();
+        for (String glob : globs) {
+            try {
+                files.addAll(FileGlob.expand(glob));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot expand " + glob + ": " + e.getMessage());
+            }
+        }
+
+        final Batch batch = new Batch("import");
+        for (Path file : files) batch.submit(file.toString(), () -> importFile(file, merge), timeout);
+        return batch.finish();
+    }
+
+    private Map<String, Object> importFile(Path file, boolean merge) {
+        final String fileName = file.getFileName().toString();
+        final int dot = fileName.lastIndexOf('.');
+        final String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+
+        final Deck imported;
+        try {
+            imported = switch (extension) {
+                case "json" -> exportImportService.importDeckFromJson(file);
+                case "ndjson" -> exportImportService.importDeckFromNdjson(file);
+                case "csv" -> exportImportService.importDeckFromCsv(file, fileName.substring(0, dot),
+                        "Imported from " + fileName);
+                default -> throw new IllegalArgumentException("Unsupported file type: " + fileName);
+            };
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+
+        final ImportJob job;
+        try {
+            final Optional<ImportJob> unfinished = importJobService.findResumable(file);
+            if (unfinished.isPresent()) {
+                job = unfinished.get();
+            } else {
+                final DeckRequest request = new DeckRequest(imported.getName(), imported.getDescription());
+                final Deck deck = merge ? deckService.upsertDeck(request) : deckService.createDeck(request);
+                job = importJobService.start(file, deck.getId(), imported.getCards().size());
+            }
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+
+        final ImportJob finished = importJobService.run(job, imported.getCards());
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("deck", imported.getName());
+        result.put("deckId", finished.deckId());
+        result.put("cards", finished.cardsImported());
+        result.put("duplicates", finished.recordsTotal() - finished.cardsImported());
+        if (job.recordsDone() > 0) result.put("resumedAt", job.recordsDone());
+        return result;
+    }
+
+    private int exportDecks(String command, List<String> globs, Map<String, String> options, Duration timeout) {
+        final String format = options.getOrDefault("format", "csv").toLowerCase(Locale.ROOT);
+        if (!format.equals("csv") && !format.equals("json") && !format.equals("ndjson"))
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        final Path dir = Path.of(options.getOrDefault("dir", "exports"));
+
+        final List<Pattern> patterns = globs.stream().map(FileGlob::namePattern).toList();
+        final Batch batch = new Batch(command);
+        for (DeckHeader header : deckService.getDeckHeaders()) {
+            if (patterns.stream().noneMatch(pattern -> pattern.matcher(header.name()).matches())) continue;
+
+            final Path file = dir.resolve(fileNameOf(header.name()) + "." + format);
+            batch.submit(header.name(), () -> exportDeck(header, file, format), timeout);
+        }
+        return batch.finish();
+    }
+
+    private Map<String, Object> exportDeck(DeckHeader header, Path file, String format) {
+        try {
+            final long cards;
+            if (format.equals("ndjson")) {
+                try (Stream<Card> stream = cardService.streamCardsByDeckId(header.id())) {
+                    exportImportService.exportDeckToNdjson(header.toDeck(), stream::iterator, file);
+                }
+                cards = header.cardCount();
+            } else {
+                final Deck deck = deckService.getDeckById(header.id());
+                if (format.equals("json")) exportImportService.exportDeckToJson(deck, file);
+                else exportImportService.exportDeckToCsv(deck, file);
+                cards = deck.getCardCount();
+            }
+
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put("file", file.toString());
+            result.put("cards", cards);
+            result.put("bytes", Files.size(file));
+            return result;
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private int search(List<String> terms, Map<String, String> options, Duration timeout) {
+        final int limit = Integer.parseInt(options.getOrDefault("limit", String.valueOf(SearchService.DEFAULT_LIMIT)));
+        final Long deckId;
+        try {
+            deckId = options.containsKey("deck") ? deckService.getDeckByName(options.get("deck")).getId() : null;
+        } catch (NotFoundException e) {
+            throw new IllegalArgumentException("Deck not found: " + options.get("deck"));
+        }
+
+        final SearchService searchService = serviceManagement.getSearchService();
+        try {
+            searchService.warmUp();
+
+            final Batch batch = new Batch("search");
+            for (String term : terms) {
+                batch.submit(term, () -> {
+                    final List<Map<String, Object>> hits = new ArrayList<>();
+                    for (SearchHit hit : searchService.search(term, deckId, limit)) {
+                        final Map<String, Object> row = new LinkedHashMap<>();
+                        row.put("cardId", hit.card().getId());
+                        row.put("deckId", hit.card().getDeckId());
+                        row.put("score", hit.score());
+                        row.put("question", hit.card().getQuestion());
+                        row.put("answer", hit.card().getAnswer());
+                        hits.add(row);
+                    }
+                    return Map.of("hits", hits);
+                }, timeout);
+            }
+            return batch.finish();
+        } finally {
+            searchService.close();
+        }
+    }
+
+    private int stats() {
+        final long started = System.nanoTime();
+        long cards = 0;
+        final List<DeckHeader> headers = deckService.getDeckHeaders();
+
+        for (DeckHeader header : headers) {
+            final Map<String, Object> line = new LinkedHashMap<>();
+            line.put("command", "stats");
+            line.put("deck", header.name());
+            line.put("deckId", header.id());
+            line.put("cards", header.cardCount());
+            print(line);
+            cards += header.cardCount();
+        }
+
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("command", "stats");
+        summary.put("status", "done");
+        summary.put("decks", headers.size());
+        summary.put("cards", cards);
+        summary.put("millis", (System.nanoTime() - started) / 1_000_000);
+        print(summary);
+        return EXIT_OK;
+    }
+
+    private int watch(Map<String, String> options, Duration timeout) {
+        final Path inbox = Path.of(options.getOrDefault("dir", "inbox"));
+        final Path archive = Path.of(options.getOrDefault("archive", inbox.resolve("archive").toString()));
+        final Path quarantine = Path.of(options.getOrDefault("quarantine", inbox.resolve("quarantine").toString()));
+        final Duration settle = Duration.ofMillis(Long.parseLong(options.getOrDefault("settle", "2000")));
+        final int workers = Math.min(executor.getMaxConcurrency(),
+                Integer.parseInt(options.getOrDefault("workers", String.valueOf(executor.getMaxConcurrency()))));
+        final Duration report = Duration.ofSeconds(Long.parseLong(options.getOrDefault("report", "60")));
+        final Duration runFor = options.containsKey("for") ? Duration.ofSeconds(Long.parseLong(options.get("for"))) : null;
+        final boolean merge = options.containsKey("merge");
+
+        try (InboxWatcher watcher = new InboxWatcher(inbox, archive, quarantine, settle, workers, executor,
+                file -> importFile(file, merge), timeout, this::print)) {
+            watcher.run(runFor, report);
+
+            print(watcher.metricsLine("done"));
+            return watcher.metrics().failed() == 0 ? EXIT_OK : EXIT_FAILED;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot watch " + inbox + ": " + e.getMessage());
+        }
+    }
+
+    private int usage(String message) {
+        System.err.println(message);
+        System.err.println(USAGE);
+        return EXIT_USAGE;
+    }
+
+    private static String fileNameOf(String deckName) {
+        final String safe = deckName.replaceAll("[^\\p{L}\\p{N}._-]+", "_");
+        return safe.isEmpty() ? "deck" : safe;
+    }
+
+    static String messageOf(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) cause = cause.getCause();
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    private void print(Map<String, Object> line) {
+        final String json;
+        try {
+            json = objectMapper.writeValueAsString(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        synchronized (out) {
+            out.println(json);
+        }
+    }
+
+    /**
+     * Tasks of one command: each prints its own result line when it completes.
+     */
+    private final class Batch {
+        private final String command;
+        private final long started = System.nanoTime();
+        private final List<CompletableFuture<?>> tasks = new ArrayList<>();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        Batch(String command) {
+            this.command = command;
+        }
+
+        void submit(String input, Supplier<Map<String, Object>> work, Duration timeout) {
+            final long submitted = System.nanoTime();
+            tasks.add(executor.supplyAsync(work, timeout).handle((result, error) -> {
+                final Map<String, Object> line = new LinkedHashMap<>();
+                line.put("command", command);
+                line.put("input", input);
+                line.put("status", error == null ? "ok" : "error");
+                if (error == null) line.putAll(result);
+                else line.put("error", messageOf(error));
+                line.put("millis", (System.nanoTime() - submitted) / 1_000_000);
+
+                (error == null ? succeeded : failed).incrementAndGet();
+                print(line);
+                return null;
+            }));
+        }
+
+        int finish() {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+            final Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("command", command);
+            summary.put("status", "done");
+            summary.put("ok", succeeded.get());
+            summary.put("failed", failed.get());
+            summary.put("millis", (System.nanoTime() - started) / 1_000_000);
+            print(summary);
+            return failed.get() == 0 ? EXIT_OK : EXIT_FAILED;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.task.controller;
+
+import org.task.models.entity.Card;
+import org.task.service.CardService;
+
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+/**
+ * Console pager over cards in display order. Pages are fetched on demand and each is rendered into one
+ * buffer written with a single call, so showing a page costs the same on a deck of any size.
+ */
+final class CardPager {
+    static final int PAGE_SIZE = 20;
+    private static final DateTimeFormatter CREATED_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    /**
+     * Where pages come from: neighbouring pages by keyset, any page by position for jumps.
+     */
+    interface Source {
+        /**
+         * Up to {@code limit} cards after {@code anchor}, or from the start when it is null.
+         */
+        List<Card> after(Card anchor, int limit);
+
+        List<Card> before(Card anchor, int limit);
+
+        List<Card> at(long offset, int limit);
+
+        static Source of(List<Card> cards) {
+            return new ListSource(cards);
+        }
+
+        static Source ofDeck(CardService cardService, Long deckId) {
+            return new Source() {
+                @Override
+                public List<Card> after(Card anchor, int limit) {
+                    return cardService.getCardPage(deckId, anchor, limit);
+                }
+
+                @Override
+                public List<Card> before(Card anchor, int limit) {
+                    return cardService.getCardPageBefore(deckId, anchor, limit);
+                }
+
+                @Override
+                public List<Card> at(long offset, int limit) {
+                    return cardService.getCardPageAt(deckId, offset, limit);
+                }
+            };
+        }
+
+        /**
+         * The deck's cards containing {@code text}, matched by the database page by page.
+         */
+        static Source ofDeckSearch(CardService cardService, Long deckId, String text) {
+            return new Source() {
+                @Override
+                public List<Card> after(Card anchor, int limit) {
+                    return cardService.searchCardPage(deckId, text, anchor, limit);
+                }
+
+                @Override
+                public List<Card> before(Card anchor, int limit) {
+                    return cardService.searchCardPageBefore(deckId, text, anchor, limit);
+                }
+
+                @Override
+                public List<Card> at(long offset, int limit) {
+                    return cardService.searchCardPageAt(deckId, text, offset, limit);
+                }
+            };
+        }
+    }
+
+    private final Scanner scanner;
+    private final Source source;
+    private final long total;
+    private final boolean showCreated;
+    private List<Card> page = List.of();
+    private long offset;
+    private boolean moved = true;
+
+    CardPager(Scanner scanner, Source source, long total, boolean showCreated) {
+        this.scanner = scanner;
+        this.source = source;
+        this.total = total;
+        this.showCreated = showCreated;
+    }
+
+    /**
+     * Shows the first page and navigates until the user quits.
+     */
+    void run() {
+        page = source.after(null, PAGE_SIZE);
+        final long pages = Math.max(1, (total + PAGE_SIZE - 1) / PAGE_SIZE);
+
+        while (true) {
+            if (moved) System.out.print(render());
+            moved = false;
+            System.out.printf("Page %d/%d - [Enter/n]ext, [p]rev, page number, [q]uit: ",
+                    offset / PAGE_SIZE + 1, pages);
+
+            final String input = scanner.nextLine().trim().toLowerCase();
+            switch (input) {
+                case "q" -> {
+                    System.out.println();
+                    return;
+                }
+                case "", "n" -> {
+                    final List<Card> next = page.isEmpty() ? List.of() : source.after(page.getLast(), PAGE_SIZE);
+                    if (next.isEmpty()) System.out.println("This is the last page.");
+                    else move(next, offset + page.size());
+                }
+                case "p" -> {
+                    final List<Card> previous = offset == 0 ? List.of() : source.before(page.getFirst(), PAGE_SIZE);
+                    if (previous.isEmpty()) System.out.println("This is the first page.");
+                    else move(previous, Math.max(0, offset - previous.size()));
+                }
+                default -> jump(input, pages);
+            }
+        }
+    }
+
+    private void jump(String input, long pages) {
+        final long number;
+        try {
+            number = Long.parseLong(input);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid choice!");
+            return;
+        }
+
+        if (number < 1 || number > pages) {
+            System.out.printf("Page must be between 1 and %d.%n", pages);
+            return;
+        }
+
+        final List<Card> target = source.at((number - 1) * PAGE_SIZE, PAGE_SIZE);
+        if (target.isEmpty()) System.out.println("That page no longer exists.");
+        else move(target, (number - 1) * PAGE_SIZE);
+    }
+
+    private void move(List<Card> cards, long newOffset) {
+        page = cards;
+        offset = newOffset;
+        moved = true;
+    }
+
+    private StringBuilder render() {
+        final StringBuilder out = new StringBuilder(PAGE_SIZE * 160);
+        out.append('\n');
+        if (page.isEmpty()) return out.append("No cards.\n\n");
+
+        for (int i = 0; i < page.size(); i++) {
+            final Card card = page.get(i);
+            out.append(offset + i + 1).append(". Question: ").append(card.getQuestion()).append('\n');
+            out.append("   Answer: ").append(card.getAnswer()).append('\n');
+            out.append("   ID: ").append(card.getId());
+            if (showCreated) out.append(", Created: ").append(CREATED_FORMAT.format(card.getCreatedAt()));
+            out.append("\n\n");
+        }
+        return out;
+    }
+
+    /**
+     * Pages over cards already in memory, e.g. search hits.
+     */
+    private static final class ListSource implements Source {
+        private final List<Card> cards;
+        private Map<Long, Integer> positions;
+
+        ListSource(List<Card> cards) {
+            this.cards = cards;
+        }
+
+        @Override
+        public List<Card> after(Card anchor, int limit) {
+            return at(anchor == null ? 0 : positionOf(anchor) + 1, limit);
+        }
+
+        @Override
+        public List<Card> before(Card anchor, int limit) {
+            final int end = positionOf(anchor);
+            return cards.subList(Math.max(0, end - limit), end);
+        }
+
+        @Override
+        public List<Card> at(long offset, int limit) {
+            final int from = (int) Math.min(offset, cards.size());
+            return cards.subList(from, Math.min(from + limit, cards.size()));
+        }
+
+        private int positionOf(Card card) {
+            if (positions == null) {
+                positions = new HashMap<>(cards.size() * 4 / 3 + 1);
+                for (int i = 0; i < cards.size(); i++) positions.put(cards.get(i).getId(), i);
+            }
+            return positions.get(card.getId());
+        }
+    }
+}
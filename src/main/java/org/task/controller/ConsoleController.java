@@ -1,17 +1,42 @@
 package org.task.controller;
 
+import org.task.exception.NotFoundException;
+import org.task.exception.OptimisticLockException;
 import org.task.models.dto.CardRequest;
+import org.task.models.dto.DeckDelta;
+import org.task.models.dto.DeckHeader;
 import org.task.models.dto.DeckRequest;
+import org.task.models.dto.DeltaApplyResult;
+import org.task.models.dto.DuplicateCluster;
+import org.task.models.dto.ImportJob;
+import org.task.models.dto.SearchHit;
 import org.task.models.entity.Card;
 import org.task.models.entity.Deck;
 import org.task.service.CardService;
 import org.task.service.DeckService;
+import org.task.service.DuplicateService;
 import org.task.service.QuizService;
+import org.task.service.SearchService;
 import org.task.service.ExportImportService;
+import org.task.service.ImportJobService;
 import org.task.service.manager.ServiceManagement;
+import org.task.service.quiz.AdaptiveQuizOrder;
+import org.task.service.quiz.LazyQuizOrder;
+import org.task.storage.ColumnarDeckCache;
+import org.task.utils.TextNormalizer;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
 import java.util.Scanner;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
 import java.nio.file.Path;
 
 public class ConsoleController {
@@ -20,14 +45,25 @@ public class ConsoleController {
     private final ExportImportService exportImportService;
     private final DeckService deckService;
     private final CardService cardService;
+    private final SearchService searchService;
+    private final DuplicateService duplicateService;
+    private final ImportJobService importJobService;
+    private final ServiceManagement serviceManagement;
+    private CompletableFuture<String> startupSummary;
 
     private static final String PATH_NAME = "exports";
+    private static final int LAZY_QUIZ_MIN_CARDS = 5_000;
+    private static final int ADAPTIVE_QUIZ_QUESTIONS = 20;
 
     public ConsoleController(QuizService quizService,
                              ExportImportService exportImportService,
                              ServiceManagement serviceManagement) {
         this.deckService = serviceManagement.getDeckService();
         this.cardService = serviceManagement.getCardService();
+        this.searchService = serviceManagement.getSearchService();
+        this.duplicateService = serviceManagement.getDuplicateService();
+        this.importJobService = serviceManagement.getImportJobService();
+        this.serviceManagement = serviceManagement;
         this.scanner = new Scanner(System.in);
         this.quizService = quizService;
         this.exportImportService = exportImportService;
@@ -54,6 +90,9 @@ public class ConsoleController {
                     showExportImportMenu();
                     break;
                 case 4:
+                    searchAllDecks();
+                    break;
+                case 5:
                     running = false;
                     break;
                 default:
@@ -62,20 +101,27 @@ public class ConsoleController {
         }
 
         saveDataOnExit();
+        searchService.close();
         System.out.println("Goodbye!");
     }
 
     private void showMainMenu() {
+        if (startupSummary != null && startupSummary.isDone()) {
+            System.out.println(startupSummary.join());
+            startupSummary = null;
+        }
+
         System.out.println("=== Main Menu ===");
         System.out.println("1. Start Learning");
         System.out.println("2. Manage Decks");
         System.out.println("3. Import/Export");
-        System.out.println("4. Exit");
+        System.out.println("4. Search All Decks");
+        System.out.println("5. Exit");
         System.out.print("Your choice: ");
     }
 
     private void startLearningMode() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckHeader> decks = deckService.getDeckHeaders();
 
         if (decks.isEmpty()) {
             System.out.println("No available decks. Create a deck first.\n");
@@ -92,11 +138,32 @@ public class ConsoleController {
             return;
         }
 
-        final var selectedDeck = decks.get(choice - 1);
-        List<Card> cards = cardService.getCardsByDeckId(selectedDeck.getId());
-        selectedDeck.setCards(cards);
+        final DeckHeader selectedDeck = decks.get(choice - 1);
 
-        quizService.startQuiz(selectedDeck);
+        System.out.println("1. Shuffle all cards");
+        System.out.println("2. Adaptive drill (missed cards come up more often)");
+        System.out.print("Your choice: ");
+        if (getIntInput() == 2) {
+            final var sampler = serviceManagement.getAdaptiveSampler(System.getProperty("user.name"), selectedDeck.id());
+            quizService.startQuiz(selectedDeck.name(), new AdaptiveQuizOrder(
+                    sampler,
+                    cardService::getCardViewsByIds,
+                    Math.min(ADAPTIVE_QUIZ_QUESTIONS, sampler.size()),
+                    ThreadLocalRandom.current()));
+            return;
+        }
+
+        if (selectedDeck.cardCount() > LAZY_QUIZ_MIN_CARDS) {
+            // reading only the ids lets a huge deck start at once; text is fetched as the quiz advances
+            quizService.startQuiz(selectedDeck.name(), new LazyQuizOrder(
+                    cardService.getCardIdsByDeckId(selectedDeck.id()),
+                    cardService::getCardViewsByIds,
+                    ThreadLocalRandom.current().nextLong()));
+            return;
+        }
+
+        final ColumnarDeckCache deckCache = serviceManagement.getDeckCache();
+        quizService.startQuiz(selectedDeck.name(), deckCache.get(selectedDeck.id()));
     }
 
     private void manageDecks() {
@@ -151,15 +218,12 @@ public class ConsoleController {
     }
 
     private void loadDataOnStartup() {
-        try {
-            System.out.println("Loading data...");
-            final long deckCount = deckService.getDeckCount();
-            final long cardCount = cardService.getTotalCardCount();
-
-            System.out.printf("Loaded: %d decks, %d cards\n\n", deckCount, cardCount);
-        } catch (Exception e) {
-            System.err.println("Error loading data: " + e.getMessage());
-        }
+        // Counting is not needed to show the menu, so it runs off the startup path and is printed once ready;
+        // both counts go through the database executor, which bounds them by the connection pool
+        startupSummary = deckService.getDeckCountAsync()
+                .thenCombine(cardService.getTotalCardCountAsync(),
+                        (deckCount, cardCount) -> String.format("Loaded: %d decks, %d cards%n", deckCount, cardCount))
+                .exceptionally(e -> "Error loading data: " + e.getMessage());
     }
 
     private void saveDataOnExit() {
@@ -178,7 +242,11 @@ public class ConsoleController {
             System.out.println("2. Import Deck from JSON");
             System.out.println("3. Export Deck to CSV");
             System.out.println("4. Import Deck from CSV");
-            System.out.println("5. Back to Main Menu");
+            System.out.println("5. Export Deck Changes (incremental JSON)");
+            System.out.println("6. Apply Deck Changes from JSON");
+            System.out.println("7. Export Deck to NDJSON (one card per line)");
+            System.out.println("8. Import Deck from NDJSON");
+            System.out.println("9. Back to Main Menu");
             System.out.print("Your choice: ");
 
             int choice = getIntInput();
@@ -197,6 +265,18 @@ public class ConsoleController {
                     importDeckFromCsv();
                     break;
                 case 5:
+                    exportDeckDelta();
+                    break;
+                case 6:
+                    applyDeckDelta();
+                    break;
+                case 7:
+                    exportDeckToNdjson();
+                    break;
+                case 8:
+                    importDeckFromNdjson();
+                    break;
+                case 9:
                     managing = false;
                     break;
                 default:
@@ -205,7 +285,7 @@ public class ConsoleController {
         }
     }
 
-    private void showDecksList(List<Deck> decks) {
+    private void showDecksList(List<DeckHeader> decks) {
         if (decks.isEmpty()) {
             System.out.println("No available decks.");
             return;
@@ -213,12 +293,12 @@ public class ConsoleController {
 
         System.out.println("Available decks:");
         for (int i = 0; i < decks.size(); i++) {
-            Deck deck = decks.get(i);
+            DeckHeader deck = decks.get(i);
             System.out.printf("%d. %s (%d cards) - %s\n",
                     i + 1,
-                    deck.getName(),
-                    deck.getCardCount(),
-                    deck.getDescription() != null ? deck.getDescription() : "No description"
+                    deck.name(),
+                    deck.cardCount(),
+                    deck.description() != null ? deck.description() : "No description"
             );
         }
         System.out.println();
@@ -248,7 +328,7 @@ public class ConsoleController {
         System.out.println("\n=== All Decks ===");
 
         try {
-            List<Deck> decks = deckService.getAllDecks();
+            List<DeckHeader> decks = deckService.getDeckHeaders();
 
             if (decks.isEmpty()) {
                 System.out.println("No decks created.\n");
@@ -265,7 +345,7 @@ public class ConsoleController {
     }
 
     private void manageCards() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckHeader> decks = deckService.getDeckHeaders();
 
         if (decks.isEmpty()) {
             System.out.println("No available decks. Create a deck first.\n");
@@ -282,7 +362,7 @@ public class ConsoleController {
             return;
         }
 
-        final Deck selectedDeck = decks.get(choice - 1);
+        final Deck selectedDeck = decks.get(choice - 1).toDeck();
         manageCardsInDeck(selectedDeck);
     }
 
@@ -293,9 +373,12 @@ public class ConsoleController {
             System.out.println("1. Add Card");
             System.out.println("2. View All Cards");
             System.out.println("3. Edit Card");
-            System.out.println("4. Delete Card");
+            System.out.println("4. Delete Cards");
             System.out.println("5. Search Cards");
-            System.out.println("6. Back to Deck Management");
+            System.out.println("6. Find Near-Duplicate Cards");
+            System.out.println("7. Move Cards to Another Deck");
+            System.out.println("8. Find and Replace Text");
+            System.out.println("9. Back to Deck Management");
             System.out.print("Your choice: ");
 
             final int choice = getIntInput();
@@ -317,6 +400,15 @@ public class ConsoleController {
                     searchCardsInDeck(deck);
                     break;
                 case 6:
+                    findNearDuplicatesInDeck(deck);
+                    break;
+                case 7:
+                    moveCardsToDeck(deck);
+                    break;
+                case 8:
+                    replaceTextInDeck(deck);
+                    break;
+                case 9:
                     managing = false;
                     break;
                 default:
@@ -352,25 +444,15 @@ public class ConsoleController {
         System.out.printf("\n=== Cards in Deck '%s' ===\n", deck.getName());
 
         try {
-            List<Card> cards = cardService.getCardsByDeckId(deck.getId());
+            final long count = cardService.getCardCountByDeckId(deck.getId());
 
-            if (cards.isEmpty()) {
+            if (count == 0) {
                 System.out.println("No cards in the deck.\n");
                 return;
             }
 
-            for (int i = 0; i < cards.size(); i++) {
-                Card card = cards.get(i);
-                System.out.printf("%d. Question: %s\n", i + 1, card.getQuestion());
-                System.out.printf("   Answer: %s\n", card.getAnswer());
-                System.out.printf("   ID: %d, Created: %s\n\n",
-                        card.getId(),
-                        card.getCreatedAt().format(java.time.format.DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))
-                );
-            }
-
-            System.out.println("Press Enter to continue...");
-            scanner.nextLine();
+            System.out.printf("%d cards\n", count);
+            new CardPager(scanner, CardPager.Source.ofDeck(cardService, deck.getId()), count, true).run();
 
         } catch (Exception e) {
             System.err.println("Error getting cards: " + e.getMessage() + "\n");
@@ -379,24 +461,22 @@ public class ConsoleController {
 
     private void editCardInDeck(Deck deck) {
         try {
-            List<Card> cards = cardService.getCardsByDeckId(deck.getId());
+            final long count = cardService.getCardCountByDeckId(deck.getId());
 
-            if (cards.isEmpty()) {
+            if (count == 0) {
                 System.out.println("No cards in the deck to edit.\n");
                 return;
             }
 
             System.out.printf("\n=== Editing Card in Deck '%s' ===\n", deck.getName());
-            showCardsList(cards);
-            System.out.print("Enter card number to edit: ");
-
-            final int choice = getIntInput();
-            if (choice < 1 || choice > cards.size()) {
+            final List<Card> selected = selectCards(deck, count, "Enter card number to edit: ");
+            if (selected.size() != 1) {
                 System.out.println("Invalid choice!\n");
                 return;
             }
 
-            final Card cardToEdit = cards.get(choice - 1);
+            // the version shown here is the one the edit is checked against
+            final Card cardToEdit = selected.getFirst();
             System.out.printf("Current question: %s\n", cardToEdit.getQuestion());
             System.out.printf("Current answer: %s\n\n", cardToEdit.getAnswer());
 
@@ -406,9 +486,13 @@ public class ConsoleController {
             String finalQuestion = newQuestion.isEmpty() ? cardToEdit.getQuestion() : newQuestion;
             String finalAnswer = newAnswer.isEmpty() ? cardToEdit.getAnswer() : newAnswer;
 
-            cardService.update(cardToEdit.getId(), new CardRequest(finalQuestion, finalAnswer, deck.getId()));
+            cardService.update(cardToEdit.getId(), new CardRequest(finalQuestion, finalAnswer, deck.getId()),
+                    cardToEdit.getVersion());
             System.out.printf("Card successfully updated!\n\n");
 
+        } catch (OptimisticLockException e) {
+            System.err.println("The card was changed by someone else while you edited it. "
+                    + "Nothing was saved; open it again to see the current version.\n");
         } catch (Exception e) {
             System.err.println("Error editing card: " + e.getMessage() + "\n");
         }
@@ -416,33 +500,29 @@ public class ConsoleController {
 
     private void deleteCardFromDeck(Deck deck) {
         try {
-            List<Card> cards = cardService.getCardsByDeckId(deck.getId());
+            final long count = cardService.getCardCountByDeckId(deck.getId());
 
-            if (cards.isEmpty()) {
+            if (count == 0) {
                 System.out.println("No cards in the deck to delete.\n");
                 return;
             }
 
-            System.out.printf("\n=== Deleting Card from Deck '%s' ===\n", deck.getName());
-            showCardsList(cards);
-            System.out.print("Enter card number to delete: ");
-
-            final int choice = getIntInput();
-            if (choice < 1 || choice > cards.size()) {
+            System.out.printf("\n=== Deleting Cards from Deck '%s' ===\n", deck.getName());
+            final List<Card> selected = selectCards(deck, count, "Enter card numbers to delete (e.g. 2 or 1,3,5-8): ");
+            if (selected.isEmpty()) {
                 System.out.println("Invalid choice!\n");
                 return;
             }
 
-            final Card cardToDelete = cards.get(choice - 1);
-            System.out.printf("Are you sure you want to delete card:\n");
-            System.out.printf("Question: %s\n", cardToDelete.getQuestion());
-            System.out.printf("Answer: %s\n", cardToDelete.getAnswer());
+            System.out.printf("Are you sure you want to delete %d card(s):\n", selected.size());
+            selected.stream().limit(5).forEach(card -> System.out.printf("Question: %s\n", card.getQuestion()));
+            if (selected.size() > 5) System.out.printf("... and %d more\n", selected.size() - 5);
             System.out.print("Enter 'yes' to confirm: ");
 
             String confirmation = scanner.nextLine().trim().toLowerCase();
             if ("yes".equals(confirmation)) {
-                cardService.delete(cardToDelete.getId());
-                System.out.println("Card successfully deleted!\n");
+                final int deleted = cardService.deleteAll(selected.stream().map(Card::getId).toList());
+                System.out.printf("%d card(s) successfully deleted!\n\n", deleted);
             } else {
                 System.out.println("Deletion cancelled.\n");
             }
@@ -452,6 +532,106 @@ public class ConsoleController {
         }
     }
 
+    private void moveCardsToDeck(Deck deck) {
+        try {
+            final long count = cardService.getCardCountByDeckId(deck.getId());
+
+            if (count == 0) {
+                System.out.println("No cards in the deck to move.\n");
+                return;
+            }
+
+            System.out.printf("\n=== Moving Cards from Deck '%s' ===\n", deck.getName());
+            final List<Card> selected = selectCards(deck, count, "Enter card numbers to move (e.g. 2 or 1,3,5-8): ");
+            if (selected.isEmpty()) {
+                System.out.println("Invalid choice!\n");
+                return;
+            }
+
+            final List<DeckHeader> targets = deckService.getDeckHeaders().stream()
+                    .filter(header -> !header.id().equals(deck.getId()))
+                    .toList();
+            if (targets.isEmpty()) {
+                System.out.println("No other deck to move the cards to.\n");
+                return;
+            }
+
+            showDecksList(targets);
+            System.out.print("Select target deck: ");
+
+            final int choice = getIntInput();
+            if (choice < 1 || choice > targets.size()) {
+                System.out.println("Invalid choice!\n");
+                return;
+            }
+
+            final DeckHeader target = targets.get(choice - 1);
+            final int moved = cardService.moveCards(selected.stream().map(Card::getId).toList(), target.id());
+            System.out.printf("%d card(s) moved to '%s'.\n\n", moved, target.name());
+
+        } catch (Exception e) {
+            System.err.println("Error moving cards: " + e.getMessage() + "\n");
+        }
+    }
+
+    private void replaceTextInDeck(Deck deck) {
+        System.out.printf("\n=== Find and Replace in Deck '%s' ===\n", deck.getName());
+
+        String target = getStringInput("Text to find (case-sensitive): ");
+        if (target.isEmpty()) {
+            System.out.println("Text to find cannot be empty!\n");
+            return;
+        }
+
+        String replacement = getStringInput("Replace with: ");
+
+        try {
+            final int changed = cardService.replaceText(deck.getId(), target, replacement);
+            System.out.printf("Text replaced in %d card(s).\n\n", changed);
+        } catch (Exception e) {
+            System.err.println("Error replacing text: " + e.getMessage() + "\n");
+        }
+    }
+
+    /**
+     * Pages through the deck, then reads card numbers such as {@code 3} or {@code 1,4,7-9} as shown by the
+     * pager and fetches only those cards, one page per run of consecutive numbers. Empty when any part is
+     * invalid.
+     */
+    private List<Card> selectCards(Deck deck, long count, String prompt) {
+        System.out.println("Note the numbers of the cards you want, then enter 'q'.");
+        new CardPager(scanner, CardPager.Source.ofDeck(cardService, deck.getId()), count, false).run();
+
+        final String input = getStringInput(prompt);
+        final NavigableSet<Long> numbers = new TreeSet<>();
+
+        try {
+            for (String part : input.split(",")) {
+                final String[] range = part.trim().split("-", 2);
+                final long from = Long.parseLong(range[0].trim());
+                final long to = range.length == 2 ? Long.parseLong(range[1].trim()) : from;
+
+                if (from < 1 || to > count || from > to) return List.of();
+                for (long number = from; number <= to; number++) numbers.add(number);
+            }
+        } catch (NumberFormatException e) {
+            return List.of();
+        }
+
+        final List<Card> cards = new ArrayList<>(numbers.size());
+        long runStart = numbers.first();
+        long previous = runStart;
+        for (long number : numbers.tailSet(runStart, false)) {
+            if (number != previous + 1) {
+                cards.addAll(cardService.getCardPageAt(deck.getId(), runStart - 1, (int) (previous - runStart + 1)));
+                runStart = number;
+            }
+            previous = number;
+        }
+        cards.addAll(cardService.getCardPageAt(deck.getId(), runStart - 1, (int) (previous - runStart + 1)));
+        return cards;
+    }
+
     private void searchCardsInDeck(Deck deck) {
         System.out.printf("\n=== Search Cards in Deck '%s' ===\n", deck.getName());
 
@@ -462,43 +642,99 @@ public class ConsoleController {
         }
 
         try {
-            List<Card> allCards = cardService.getCardsByDeckId(deck.getId());
-            List<Card> matchingCards = allCards.stream()
-                    .filter(card -> card.getQuestion().toLowerCase().contains(searchTerm.toLowerCase()) ||
-                                   card.getAnswer().toLowerCase().contains(searchTerm.toLowerCase()))
-                    .toList();
+            // matched by the database page by page, rather than by the search index, which trails writes by
+            // its sync interval
+            final String normalizedTerm = TextNormalizer.normalize(searchTerm);
+            final long count = cardService.countCardsMatching(deck.getId(), normalizedTerm);
 
-            if (matchingCards.isEmpty()) {
+            if (count == 0) {
                 System.out.printf("No cards found containing '%s'.\n\n", searchTerm);
                 return;
             }
 
-            System.out.printf("Found %d cards:\n\n", matchingCards.size());
-            for (int i = 0; i < matchingCards.size(); i++) {
-                Card card = matchingCards.get(i);
-                System.out.printf("%d. Question: %s\n", i + 1, card.getQuestion());
-                System.out.printf("   Answer: %s\n", card.getAnswer());
-                System.out.printf("   ID: %d\n\n", card.getId());
+            System.out.printf("Found %d cards:\n", count);
+            new CardPager(scanner, CardPager.Source.ofDeckSearch(cardService, deck.getId(), normalizedTerm), count,
+                    false).run();
+
+        } catch (Exception e) {
+            System.err.println("Error searching cards: " + e.getMessage() + "\n");
+        }
+    }
+
+    private void findNearDuplicatesInDeck(Deck deck) {
+        System.out.printf("\n=== Near-Duplicate Cards in Deck '%s' ===\n", deck.getName());
+
+        try {
+            final List<Card> cards = cardService.getCardsByDeckId(deck.getId());
+            final List<DuplicateCluster> clusters =
+                    duplicateService.findNearDuplicates(cards, DuplicateService.DEFAULT_SIMILARITY);
+
+            if (clusters.isEmpty()) {
+                System.out.printf("No near-duplicates found among %d cards.\n\n", cards.size());
+                return;
+            }
+
+            System.out.printf("Found %d groups of similar cards:\n\n", clusters.size());
+            for (int i = 0; i < clusters.size(); i++) {
+                final DuplicateCluster cluster = clusters.get(i);
+                System.out.printf("%d. %d cards, similarity >= %.0f%%\n",
+                        i + 1, cluster.cards().size(), cluster.similarity() * 100);
+                for (Card card : cluster.cards())
+                    System.out.printf("   [ID %d] %s -> %s\n", card.getId(), card.getQuestion(), card.getAnswer());
+                System.out.println();
             }
 
             System.out.println("Press Enter to continue...");
             scanner.nextLine();
 
         } catch (Exception e) {
-            System.err.println("Error searching cards: " + e.getMessage() + "\n");
+            System.err.println("Error finding duplicates: " + e.getMessage() + "\n");
         }
     }
 
-    private void showCardsList(List<Card> cards) {
-        for (int i = 0; i < cards.size(); i++) {
-            Card card = cards.get(i);
-            System.out.printf("%d. %s -> %s\n", i + 1, card.getQuestion(), card.getAnswer());
+    private void searchAllDecks() {
+        System.out.println("\n=== Search All Decks ===");
+
+        String searchTerm = getStringInput("Enter search term (prefix with 're:' for a regular expression): ");
+        if (searchTerm.isEmpty()) {
+            System.out.println("Search term cannot be empty!\n");
+            return;
+        }
+
+        try {
+            searchService.warmUp();
+
+            final long started = System.nanoTime();
+            final List<SearchHit> hits = searchTerm.startsWith("re:")
+                    ? searchService.searchRegex(Pattern.compile(searchTerm.substring(3)), null, SearchService.DEFAULT_LIMIT)
+                    : searchService.search(searchTerm, null, SearchService.DEFAULT_LIMIT);
+            final long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            if (hits.isEmpty()) {
+                System.out.printf("No cards found for '%s' among %d cards.\n\n", searchTerm, searchService.size());
+                return;
+            }
+
+            System.out.printf("Top %d of %d cards (%d ms):\n\n", hits.size(), searchService.size(), elapsedMillis);
+            for (int i = 0; i < hits.size(); i++) {
+                Card card = hits.get(i).card();
+                System.out.printf("%d. Question: %s\n", i + 1, card.getQuestion());
+                System.out.printf("   Answer: %s\n", card.getAnswer());
+                System.out.printf("   ID: %d, Deck ID: %d\n\n", card.getId(), card.getDeckId());
+            }
+
+            System.out.println("Press Enter to continue...");
+            scanner.nextLine();
+
+        } catch (PatternSyntaxException e) {
+            System.out.println("Invalid regular expression: " + e.getDescription() + "\n");
+        } catch (Exception e) {
+            System.err.println("Error searching cards: " + e.getMessage() + "\n");
         }
-        System.out.println();
     }
 
     private void deleteDeck() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckHeader> decks = deckService.getDeckHeaders();
 
         if (decks.isEmpty()) {
             System.out.println("No decks to delete.\n");
@@ -515,7 +751,7 @@ public class ConsoleController {
             return;
         }
 
-        final Deck deckToDelete = decks.get(choice - 1);
+        final Deck deckToDelete = decks.get(choice - 1).toDeck();
         System.out.printf("Are you sure you want to delete deck '%s'?\n", deckToDelete.getName());
         System.out.print("This will also delete all cards in the deck. Enter 'yes' to confirm: ");
 
@@ -533,7 +769,7 @@ public class ConsoleController {
     }
 
     private void exportDeckToJson() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckHeader> decks = deckService.getDeckHeaders();
 
         if (decks.isEmpty()) {
             System.out.println("No decks available for export.\n");
@@ -550,7 +786,7 @@ public class ConsoleController {
             return;
         }
 
-        final var selectedDeck = decks.get(choice - 1);
+        final var selectedDeck = decks.get(choice - 1).toDeck();
 
         List<Card> cards = cardService.getCardsByDeckId(selectedDeck.getId());
         selectedDeck.setCards(cards);
@@ -584,33 +820,57 @@ public class ConsoleController {
             final Path filePath = Path.of(PATH_NAME, fileName);
             final var importedDeck = exportImportService.importDeckFromJson(filePath);
 
-            final var createdDeck = deckService.createDeck(new DeckRequest(
-                    importedDeck.getName(),
-                    importedDeck.getDescription()
-            ));
+            saveImportedDeck(importedDeck, filePath);
 
-            int cardsCreated = 0;
-            if (importedDeck.getCards() != null) {
-                for (Card card : importedDeck.getCards()) {
-                    cardService.create(new CardRequest(
-                            card.getQuestion(),
-                            card.getAnswer(),
-                            createdDeck.getId()
-                    ));
-                    cardsCreated++;
-                }
+        } catch (Exception e) {
+            System.err.println("Import error: " + e.getMessage() + "\n");
+        }
+    }
+
+    private void saveImportedDeck(Deck importedDeck, Path filePath) throws IOException {
+        final Optional<ImportJob> unfinished = importJobService.findResumable(filePath);
+        if (unfinished.isPresent()) {
+            final ImportJob job = unfinished.get();
+            final String confirmation = getStringInput(String.format(
+                    "An earlier import of this file stopped after %d of %d records. Enter 'yes' to resume it: ",
+                    job.recordsDone(), job.recordsTotal())).toLowerCase();
+            if ("yes".equals(confirmation)) {
+                final ImportJob finished = importJobService.run(job, importedDeck.getCards());
+                System.out.printf("Import resumed at record %d: %d cards imported from %s (%d duplicates skipped)\n\n",
+                        job.recordsDone() + 1, finished.cardsImported(), filePath,
+                        finished.recordsTotal() - finished.cardsImported());
+                return;
             }
+        }
 
-            System.out.printf("Deck '%s' successfully imported with %d cards from %s\n\n",
-                    createdDeck.getName(), cardsCreated, filePath);
+        Deck targetDeck;
+        try {
+            targetDeck = deckService.getDeckByName(importedDeck.getName());
 
-        } catch (Exception e) {
-            System.err.println("Import error: " + e.getMessage() + "\n");
+            final String confirmation = getStringInput(String.format(
+                    "Deck '%s' already exists. Enter 'yes' to merge the new cards into it: ",
+                    targetDeck.getName())).toLowerCase();
+            if (!"yes".equals(confirmation)) {
+                System.out.println("Import cancelled.\n");
+                return;
+            }
+        } catch (NotFoundException e) {
+            targetDeck = deckService.createDeck(new DeckRequest(
+                    importedDeck.getName(),
+                    importedDeck.getDescription()
+            ));
         }
+
+        final ImportJob job = importJobService.start(filePath, targetDeck.getId(), importedDeck.getCards().size());
+        final ImportJob finished = importJobService.run(job, importedDeck.getCards());
+
+        System.out.printf("Deck '%s' successfully imported with %d cards from %s (%d duplicates skipped)\n\n",
+                targetDeck.getName(), finished.cardsImported(), filePath,
+                finished.recordsTotal() - finished.cardsImported());
     }
 
     private void exportDeckToCsv() {
-        List<Deck> decks = deckService.getAllDecks();
+        List<DeckHeader> decks = deckService.getDeckHeaders();
 
         if (decks.isEmpty()) {
             System.out.println("No decks available for export.\n");
@@ -627,7 +887,7 @@ public class ConsoleController {
             return;
         }
 
-        Deck selectedDeck = decks.get(choice - 1);
+        Deck selectedDeck = decks.get(choice - 1).toDeck();
 
         // Load cards for the deck
         List<Card> cards = cardService.getCardsByDeckId(selectedDeck.getId());
@@ -670,26 +930,131 @@ public class ConsoleController {
             Path filePath = Path.of("exports", fileName);
             Deck importedDeck = exportImportService.importDeckFromCsv(filePath, deckName, deckDescription);
 
-            final var createdDeck = deckService.createDeck(new DeckRequest(
-                    importedDeck.getName(),
-                    importedDeck.getDescription()
-            ));
+            saveImportedDeck(importedDeck, filePath);
 
-            int cardsCreated = 0;
-            if (importedDeck.getCards() != null) {
-                for (Card card : importedDeck.getCards()) {
-                    cardService.create(new CardRequest(
-                            card.getQuestion(),
-                            card.getAnswer(),
-                            createdDeck.getId()
-                    ));
-                    cardsCreated++;
-                }
-            }
+        } catch (Exception e) {
+            System.err.println("Import error: " + e.getMessage() + "\n");
+        }
+    }
+
+    private void exportDeckToNdjson() {
+        List<DeckHeader> decks = deckService.getDeckHeaders();
+
+        if (decks.isEmpty()) {
+            System.out.println("No decks available for export.\n");
+            return;
+        }
+
+        System.out.println("\n=== Export Deck to NDJSON ===");
+        showDecksList(decks);
+        System.out.print("Enter deck number to export: ");
+
+        final int choice = getIntInput();
+        if (choice < 1 || choice > decks.size()) {
+            System.out.println("Invalid choice!\n");
+            return;
+        }
+
+        final DeckHeader selectedDeck = decks.get(choice - 1);
+
+        String fileName = getStringInput("Enter file name (without extension): ");
+        if (fileName.isEmpty()) {
+            System.out.println("File name cannot be empty!\n");
+            return;
+        }
+
+        final Path filePath = Path.of(PATH_NAME, fileName + ".ndjson");
+        try (Stream<Card> cards = cardService.streamCardsByDeckId(selectedDeck.id())) {
+            exportImportService.exportDeckToNdjson(selectedDeck.toDeck(), cards::iterator, filePath);
+            System.out.printf("Deck '%s' successfully exported to %s\n\n", selectedDeck.name(), filePath);
+        } catch (Exception e) {
+            System.err.println("Export error: " + e.getMessage() + "\n");
+        }
+    }
+
+    private void importDeckFromNdjson() {
+        System.out.println("\n=== Import Deck from NDJSON ===");
+        String fileName = getStringInput("Enter file name (with extension): ");
+
+        if (fileName.isEmpty()) {
+            System.out.println("File name cannot be empty!\n");
+            return;
+        }
+
+        try {
+            final Path filePath = Path.of(PATH_NAME, fileName);
+            saveImportedDeck(exportImportService.importDeckFromNdjson(filePath), filePath);
+        } catch (Exception e) {
+            System.err.println("Import error: " + e.getMessage() + "\n");
+        }
+    }
+
+    private void exportDeckDelta() {
+        List<DeckHeader> decks = deckService.getDeckHeaders();
+
+        if (decks.isEmpty()) {
+            System.out.println("No decks available for export.\n");
+            return;
+        }
+
+        System.out.println("\n=== Export Deck Changes ===");
+        showDecksList(decks);
+        System.out.print("Enter deck number to export: ");
+
+        final int choice = getIntInput();
+        if (choice < 1 || choice > decks.size()) {
+            System.out.println("Invalid choice!\n");
+            return;
+        }
+
+        final var selectedDeck = decks.get(choice - 1).toDeck();
+
+        final String watermarkInput = getStringInput("Enter watermark of the previous export (or Enter for full export): ");
+        final Long since;
+        try {
+            since = watermarkInput.isEmpty() ? null : Long.parseLong(watermarkInput);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid watermark! Expected the number printed by the previous export.\n");
+            return;
+        }
+
+        String fileName = getStringInput("Enter file name (without extension): ");
+        if (fileName.isEmpty()) {
+            System.out.println("File name cannot be empty!\n");
+            return;
+        }
+
+        try {
+            final DeckDelta delta = cardService.getDeckDelta(selectedDeck, since);
+            final Path filePath = Path.of(PATH_NAME, fileName + ".json");
+            exportImportService.exportDeckDeltaToJson(delta, filePath);
+
+            System.out.printf("Exported %d changed and %d deleted cards of deck '%s' to %s\n",
+                    delta.cards().size(), delta.tombstones().size(), selectedDeck.getName(), filePath);
+            System.out.printf("New watermark: %s\n\n", delta.watermark());
+        } catch (Exception e) {
+            System.err.println("Export error: " + e.getMessage() + "\n");
+        }
+    }
+
+    private void applyDeckDelta() {
+        System.out.println("\n=== Apply Deck Changes from JSON ===");
+        String fileName = getStringInput("Enter file name (with extension): ");
+
+        if (fileName.isEmpty()) {
+            System.out.println("File name cannot be empty!\n");
+            return;
+        }
+
+        try {
+            final Path filePath = Path.of(PATH_NAME, fileName);
+            final DeckDelta delta = exportImportService.importDeckDeltaFromJson(filePath);
 
-            System.out.printf("Deck '%s' successfully imported with %d cards from %s\n\n",
-                    createdDeck.getName(), cardsCreated, filePath);
+            final Deck targetDeck = deckService.upsertDeck(new DeckRequest(delta.deckName(), delta.description()));
 
+            final DeltaApplyResult result = cardService.applyDelta(targetDeck.getId(), delta);
+            System.out.printf("Deck '%s' updated from %s: %d inserted, %d updated, %d deleted\n\n",
+                    targetDeck.getName(), filePath, result.inserted(), result.updated(), result.deleted());
         } catch (Exception e) {
             System.err.println("Import error: " + e.getMessage() + "\n");
         }
@@ -0,0 +1,289 @@
+package org.task.controller;
+
+import org.task.config.DatabaseExecutor;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Imports every CSV, JSON or NDJSON file that lands in an inbox directory. A file is picked up once its
+ * size and modification time have not changed for the settle period, so copies still being written are
+ * left alone; writers that rename a finished temp file into place are picked up on the next tick.
+ * <p>
+ * Settled files run on the shared {@link DatabaseExecutor}, at most {@code maxInFlight} at a time; the rest
+ * wait in the inbox. Each file is then moved to the archive or, when its import failed, the quarantine
+ * directory, and one result line is reported. Files already in the inbox at start are picked up as well.
+ */
+final class InboxWatcher implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(InboxWatcher.class.getName());
+    private static final int LATENCY_WINDOW = 1_024;
+
+    /**
+     * Totals since start; latency percentiles cover the last {@value #LATENCY_WINDOW} files.
+     */
+    record Metrics(long imported, long failed, long cards, long bytes, double filesPerSecond,
+                   double cardsPerSecond, long p50Millis, long p90Millis, long maxMillis) {
+    }
+
+    private record Observed(long size, FileTime modified, long since) {
+    }
+
+    private final Path inbox;
+    private final Path archive;
+    private final Path quarantine;
+    private final Duration settle;
+    private final int maxInFlight;
+    private final DatabaseExecutor executor;
+    private final Function<Path, Map<String, Object>> importer;
+    private final Duration timeout;
+    private final Consumer<Map<String, Object>> out;
+    private final WatchService watchService;
+
+    private final Map<Path, Observed> pending = new HashMap<>();
+    private final Map<Path, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder imported = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cards = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private long latencyCount;
+    private final long started = System.nanoTime();
+    private volatile boolean closed;
+
+    InboxWatcher(Path inbox, Path archive, Path quarantine, Duration settle, int maxInFlight,
+                 DatabaseExecutor executor, Function<Path, Map<String, Object>> importer, Duration timeout,
+                 Consumer<Map<String, Object>> out) throws IOException {
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be positive");
+
+        this.inbox = Files.createDirectories(inbox);
+        this.archive = Files.createDirectories(archive);
+        this.quarantine = Files.createDirectories(quarantine);
+        this.settle = settle;
+        this.maxInFlight = maxInFlight;
+        this.executor = executor;
+        this.importer = importer;
+        this.timeout = timeout;
+        this.out = out;
+        this.watchService = inbox.getFileSystem().newWatchService();
+        inbox.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    /**
+     * Watches on the calling thread until {@code runFor} elapses (forever when null) or {@link #close()} is
+     * called, then waits for the imports still running.
+     */
+    void run(Duration runFor, Duration reportEvery) throws IOException {
+        final long deadline = runFor == null ? Long.MAX_VALUE : System.nanoTime() + runFor.toNanos();
+        final long tickMillis = Math.clamp(settle.toMillis() / 4, 10, 500);
+        long nextReport = reportEvery == null ? Long.MAX_VALUE : System.nanoTime() + reportEvery.toNanos();
+
+        logger.log(Level.INFO, "Watching {0} for deck files", inbox.toAbsolutePath());
+        scan();
+
+        try {
+            while (!closed && System.nanoTime() < deadline) {
+                final WatchKey key = watchService.poll(tickMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) scan();
+                        else observe(inbox.resolve((Path) event.context()));
+                    }
+                    if (!key.reset()) throw new IOException("Inbox is no longer accessible: " + inbox);
+                }
+
+                submitSettled();
+
+                if (System.nanoTime() >= nextReport) {
+                    out.accept(metricsLine("metrics"));
+                    nextReport += reportEvery.toNanos();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed from another thread
+        }
+
+        CompletableFuture.allOf(inFlight.values().toArray(CompletableFuture[]::new)).join();
+    }
+
+    Metrics metrics() {
+        final double seconds = Math.max(1e-9, (System.nanoTime() - started) / 1e9);
+        final long[] window;
+        synchronized (latencies) {
+            window = Arrays.copyOf(latencies, (int) Math.min(latencyCount, LATENCY_WINDOW));
+        }
+        Arrays.sort(window);
+
+        return new Metrics(imported.sum(), failed.sum(), cards.sum(), bytes.sum(),
+                (imported.sum() + failed.sum()) / seconds, cards.sum() / seconds,
+                percentile(window, 0.50), percentile(window, 0.90), window.length == 0 ? 0 : window[window.length - 1]);
+    }
+
+    Map<String, Object> metricsLine(String status) {
+        final Metrics metrics = metrics();
+        final Map<String, Object> line = new LinkedHashMap<>();
+        line.put("command", "watch");
+        line.put("status", status);
+        line.put("ok", metrics.imported());
+        line.put("failed", metrics.failed());
+        line.put("cards", metrics.cards());
+        line.put("bytes", metrics.bytes());
+        line.put("filesPerSecond", Math.round(metrics.filesPerSecond() * 100) / 100.0);
+        line.put("cardsPerSecond", Math.round(metrics.cardsPerSecond()));
+        line.put("p50Millis", metrics.p50Millis());
+        line.put("p90Millis", metrics.p90Millis());
+        line.put("maxMillis", metrics.maxMillis());
+        return line;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to close inbox watch service", e);
+        }
+    }
+
+    private void scan() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox)) {
+            for (Path file : files) observe(file);
+        }
+    }
+
+    private void observe(Path file) {
+        if (pending.containsKey(file) || inFlight.containsKey(file) || !accepts(file)) return;
+
+        final BasicFileAttributes attributes = attributesOf(file);
+        if (attributes != null && attributes.isRegularFile()) {
+            pending.put(file, new Observed(attributes.size(), attributes.lastModifiedTime(), System.nanoTime()));
+        }
+    }
+
+    private void submitSettled() {
+        final long now = System.nanoTime();
+        final Iterator<Map.Entry<Path, Observed>> entries = pending.entrySet().iterator();
+
+        while (entries.hasNext() && inFlight.size() < maxInFlight) {
+            final Map.Entry<Path, Observed> entry = entries.next();
+            final BasicFileAttributes attributes = attributesOf(entry.getKey());
+            if (attributes == null) {
+                entries.remove();
+                continue;
+            }
+
+            final Observed last = entry.getValue();
+            if (attributes.size() != last.size() || !attributes.lastModifiedTime().equals(last.modified())) {
+                entry.setValue(new Observed(attributes.size(), attributes.lastModifiedTime(), now));
+            } else if (now - last.since() >= settle.toNanos()) {
+                entries.remove();
+                submit(entry.getKey(), attributes.size());
+            }
+        }
+    }
+
+    private void submit(Path file, long size) {
+        final long submitted = System.nanoTime();
+        final CompletableFuture<?> task = executor.supplyAsync(() -> importer.apply(file), timeout)
+                .handle((result, error) -> {
+                    final long millis = (System.nanoTime() - submitted) / 1_000_000;
+                    final Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("command", "watch");
+                    line.put("input", file.getFileName().toString());
+                    line.put("status", error == null ? "ok" : "error");
+                    if (error == null) line.putAll(result);
+                    else line.put("error", BatchController.messageOf(error));
+
+                    record(error == null, result, size, millis);
+                    line.put("movedTo", moveTo(error == null ? archive : quarantine, file));
+                    line.put("millis", millis);
+                    out.accept(line);
+                    return null;
+                });
+
+        inFlight.put(file, task);
+        task.whenComplete((ignored, error) -> inFlight.remove(file));
+    }
+
+    private void record(boolean ok, Map<String, Object> result, long size, long millis) {
+        if (ok) {
+            imported.increment();
+            bytes.add(size);
+            if (result.get("cards") instanceof Number count) cards.add(count.longValue());
+        } else {
+            failed.increment();
+        }
+
+        synchronized (latencies) {
+            latencies[(int) (latencyCount++ % LATENCY_WINDOW)] = millis;
+        }
+    }
+
+    /**
+     * Moves the file under a free name in {@code dir}; returns the new path, or null if it had to stay put.
+     */
+    private String moveTo(Path dir, Path file) {
+        final String name = file.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+        Path target = dir.resolve(name);
+        for (int n = 1; Files.exists(target); n++) {
+            target = dir.resolve(name.substring(0, dot) + "-" + n + name.substring(dot));
+        }
+
+        try {
+            return Files.move(file, target).toString();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to move {0} to {1}: {2}", new Object[]{file, dir, e.getMessage()});
+            return null;
+        }
+    }
+
+    private static boolean accepts(Path file) {
+        final String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return !name.startsWith(".")
+                && (name.endsWith(".csv") || name.endsWith(".json") || name.endsWith(".ndjson"));
+    }
+
+    private static BasicFileAttributes attributesOf(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot read {0}: {1}", new Object[]{file, e.getMessage()});
+            return null;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) return 0;
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+}
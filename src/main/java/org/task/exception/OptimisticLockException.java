@@ -0,0 +1,10 @@
+package org.task.exception;
+
+/**
+ * A compare-and-set write lost against a concurrent writer; re-read the row and try again.
+ */
+public class OptimisticLockException extends RuntimeException {
+    public OptimisticLockException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package org.task.exception;
+
+/**
+ * The CSV file uses a construct the mapped reader does not handle; callers fall back to commons-csv.
+ */
+public class UnsupportedCsvDialectException extends FileParserException {
+    public UnsupportedCsvDialectException(String message) {
+        super(message);
+    }
+}
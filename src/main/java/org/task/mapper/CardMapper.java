@@ -2,27 +2,64 @@ package org.task.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
+import org.task.models.dto.CardView;
 import org.task.models.entity.Card;
+import org.task.utils.StringInterner;
 import org.task.utils.TimeConverter;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.UUID;
 
 @Mapper
 public interface CardMapper {
     CardMapper INSTANCE = Mappers.getMapper(CardMapper.class);
 
     default Card toCard(ResultSet resultSet) throws SQLException {
-        Long id = resultSet.getLong("id");
-        if (resultSet.wasNull()) id = null;
-
-        return Card.builder()
-                .id(id)
-                .question(resultSet.getString("question"))
-                .answer(resultSet.getString("answer"))
-                .deckId(resultSet.getLong("deck_id"))
-                .createdAt(TimeConverter.mapTimestamp(resultSet, "created_at"))
-                .updatedAt(TimeConverter.mapTimestamp(resultSet, "updated_at"))
-                .build();
+        return cardReader(resultSet).read(resultSet);
+    }
+
+    /**
+     * Row reader for full card rows; resolve once per result set and call for every row.
+     */
+    default RowReader<Card> cardReader(ResultSet resultSet) throws SQLException {
+        final int id = resultSet.findColumn("id");
+        final int uid = resultSet.findColumn("uid");
+        final int question = resultSet.findColumn("question");
+        final int answer = resultSet.findColumn("answer");
+        final int deckId = resultSet.findColumn("deck_id");
+        final int createdAt = resultSet.findColumn("created_at");
+        final int updatedAt = resultSet.findColumn("updated_at");
+        final int version = resultSet.findColumn("version");
+        final var interner = StringInterner.shared();
+
+        return rs -> {
+            Long cardId = rs.getLong(id);
+            if (rs.wasNull()) cardId = null;
+
+            return Card.builder()
+                    .id(cardId)
+                    .uid(rs.getObject(uid, UUID.class))
+                    .question(interner.intern(rs.getString(question)))
+                    .answer(interner.intern(rs.getString(answer)))
+                    .deckId(rs.getLong(deckId))
+                    .createdAt(TimeConverter.mapTimestamp(rs, createdAt))
+                    .updatedAt(TimeConverter.mapTimestamp(rs, updatedAt))
+                    .version(rs.getLong(version))
+                    .build();
+        };
+    }
+
+    /**
+     * Row reader for {@code id, question, answer} projections.
+     */
+    default RowReader<CardView> cardViewReader(ResultSet resultSet) throws SQLException {
+        final int id = resultSet.findColumn("id");
+        final int question = resultSet.findColumn("question");
+        final int answer = resultSet.findColumn("answer");
+        final var interner = StringInterner.shared();
+
+        return rs -> new CardView(rs.getLong(id), interner.intern(rs.getString(question)),
+                interner.intern(rs.getString(answer)));
     }
 }
@@ -2,6 +2,7 @@ package org.task.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.factory.Mappers;
+import org.task.models.dto.DeckHeader;
 import org.task.models.entity.Deck;
 import org.task.utils.TimeConverter;
 
@@ -13,12 +14,44 @@ public interface DeckMapper {
     DeckMapper INSTANCE = Mappers.getMapper(DeckMapper.class);
 
     default Deck toDeck(ResultSet rs) throws SQLException {
-        return Deck.builder()
-                .id(rs.getLong("id"))
-                .name(rs.getString("name"))
-                .description(rs.getString("description"))
-                .createdAt(TimeConverter.mapTimestamp(rs, "created_at"))
-                .updatedAt(TimeConverter.mapTimestamp(rs, "updated_at"))
+        return deckReader(rs).read(rs);
+    }
+
+    default RowReader<Deck> deckReader(ResultSet resultSet) throws SQLException {
+        final int id = resultSet.findColumn("id");
+        final int name = resultSet.findColumn("name");
+        final int description = resultSet.findColumn("description");
+        final int createdAt = resultSet.findColumn("created_at");
+        final int updatedAt = resultSet.findColumn("updated_at");
+        final int version = resultSet.findColumn("version");
+
+        return rs -> Deck.builder()
+                .id(rs.getLong(id))
+                .name(rs.getString(name))
+                .description(rs.getString(description))
+                .createdAt(TimeConverter.mapTimestamp(rs, createdAt))
+                .updatedAt(TimeConverter.mapTimestamp(rs, updatedAt))
+                .version(rs.getLong(version))
                 .build();
     }
+
+    /**
+     * Row reader for deck headers; expects a {@code card_count} column next to the deck columns.
+     */
+    default RowReader<DeckHeader> deckHeaderReader(ResultSet resultSet) throws SQLException {
+        final int id = resultSet.findColumn("id");
+        final int name = resultSet.findColumn("name");
+        final int description = resultSet.findColumn("description");
+        final int cardCount = resultSet.findColumn("card_count");
+        final int createdAt = resultSet.findColumn("created_at");
+        final int updatedAt = resultSet.findColumn("updated_at");
+
+        return rs -> new DeckHeader(
+                rs.getLong(id),
+                rs.getString(name),
+                rs.getString(description),
+                rs.getLong(cardCount),
+                TimeConverter.mapTimestamp(rs, createdAt),
+                TimeConverter.mapTimestamp(rs, updatedAt));
+    }
 }
@@ -0,0 +1,13 @@
+package org.task.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads the current row of the {@link ResultSet} it was created for. Readers resolve column positions
+ * once when created, so mapping a row costs index lookups only.
+ */
+@FunctionalInterface
+public interface RowReader<T> {
+    T read(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,16 @@
+package org.task.models.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A card deleted from, or moved out of, a deck. {@code cardUid} is null for tombstones written before
+ * cards had uids; those cannot be matched in another database.
+ */
+public record CardTombstone(
+        Long cardId,
+        UUID cardUid,
+        Long deckId,
+        LocalDateTime deletedAt
+) {
+}
@@ -0,0 +1,11 @@
+package org.task.models.dto;
+
+/**
+ * Card projection for list views: no timestamps and no deck id.
+ */
+public record CardView(
+        Long id,
+        String question,
+        String answer
+) {
+}
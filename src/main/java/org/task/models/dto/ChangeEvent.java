@@ -0,0 +1,24 @@
+package org.task.models.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the append-only change log. {@code seq} grows monotonically, so a consumer only needs
+ * to remember the last sequence number it has applied.
+ */
+public record ChangeEvent(
+        long seq,
+        EntityType entityType,
+        Long entityId,
+        Long deckId,
+        Operation operation,
+        LocalDateTime changedAt
+) {
+    public enum EntityType {
+        DECK, CARD
+    }
+
+    public enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+}
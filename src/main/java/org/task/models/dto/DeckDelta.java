@@ -0,0 +1,26 @@
+package org.task.models.dto;
+
+import org.task.models.entity.Card;
+
+import java.util.List;
+
+/**
+ * Incremental export of a deck: the cards changed in the change log seq window {@code (since, watermark]}
+ * and the cards deleted in the same window; a full export has no {@code since}. The {@code watermark} is
+ * the source database's committed seq when the delta was read, and the {@code since} value for the next
+ * incremental export. Cards and tombstones carry uids, which is how the delta finds them in another
+ * database.
+ */
+public record DeckDelta(
+        String deckName,
+        String description,
+        Long since,
+        long watermark,
+        List<Card> cards,
+        List<CardTombstone> tombstones
+) {
+    public DeckDelta {
+        cards = cards != null ? cards : List.of();
+        tombstones = tombstones != null ? tombstones : List.of();
+    }
+}
@@ -0,0 +1,30 @@
+package org.task.models.dto;
+
+import org.task.models.entity.Deck;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deck projection for deck lists: the card count comes from the database instead of loading the cards.
+ */
+public record DeckHeader(
+        Long id,
+        String name,
+        String description,
+        long cardCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    /**
+     * A {@link Deck} carrying only the header fields, for flows that take a deck but do not need its cards.
+     */
+    public Deck toDeck() {
+        return Deck.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package org.task.models.dto;
+
+public record DeltaApplyResult(
+        int inserted,
+        int updated,
+        int deleted
+) {
+}
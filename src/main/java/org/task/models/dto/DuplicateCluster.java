@@ -0,0 +1,15 @@
+package org.task.models.dto;
+
+import org.task.models.entity.Card;
+
+import java.util.List;
+
+/**
+ * Cards judged near-duplicates of each other; {@code similarity} is the lowest estimated Jaccard
+ * similarity of the pairs that joined the cluster.
+ */
+public record DuplicateCluster(
+        List<Card> cards,
+        double similarity
+) {
+}
@@ -0,0 +1,26 @@
+package org.task.models.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of importing one file into one deck. {@code recordsDone} counts parsed records of the file,
+ * duplicates included, that are committed; a resumed import continues with the record after it.
+ */
+public record ImportJob(
+        Long id,
+        String sourcePath,
+        long sourceSize,
+        long sourceModified,
+        Long deckId,
+        long recordsTotal,
+        long recordsDone,
+        long cardsImported,
+        Status status,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    public enum Status {
+        RUNNING, FAILED, DONE
+    }
+}
@@ -0,0 +1,11 @@
+package org.task.models.dto;
+
+import org.task.models.entity.Card;
+
+public record SearchHit(
+        Card card,
+        int score
+) {
+    public static final int QUESTION_MATCH = 2;
+    public static final int ANSWER_MATCH = 1;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.UUID;
 
 @Data
 @Builder
@@ -14,10 +15,21 @@ import java.util.Objects;
 @NoArgsConstructor
 public class Card {
     private Long id;
+
+    /**
+     * Identity of the card across databases, carried in exports; ids are only unique within one database.
+     * A card imported from an export keeps the uid of the card it was exported from.
+     */
+    private UUID uid;
     private String question;
     private String answer;
     private Long deckId;
 
+    /**
+     * Row version read with the card; null means unknown, which makes updates unconditional.
+     */
+    private Long version;
+
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -19,6 +19,11 @@ public class Deck {
     private String name;
     private String description;
 
+    /**
+     * Row version read with the deck; null means unknown, which makes updates unconditional.
+     */
+    private Long version;
+
     @Builder.Default
     private List<Card> cards = new ArrayList<>();
 
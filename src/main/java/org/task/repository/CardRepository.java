@@ -1,20 +1,123 @@
 package org.task.repository;
 
 import org.task.config.DatabaseManager;
+import org.task.exception.OptimisticLockException;
+import org.task.exception.RepositoryException;
 import org.task.mapper.CardMapper;
+import org.task.models.dto.CardTombstone;
+import org.task.models.dto.CardView;
+import org.task.models.dto.DeckDelta;
+import org.task.models.dto.DeltaApplyResult;
+import org.task.models.dto.ChangeEvent.EntityType;
+import org.task.models.dto.ChangeEvent.Operation;
 import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
 import org.task.repository.configuration.AbstractRepository;
+import org.task.utils.CardFingerprint;
+import org.task.utils.TimeConverter;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class CardRepository extends AbstractRepository<Card, Long> {
     private static final Logger logger = Logger.getLogger(CardRepository.class.getName());
+    private static final int BATCH_SIZE = 500;
+
+    // Lookups that IndexAdvisor explains against the live schema; it reads these constants, so both run
+    // the same SQL.
+    public static final String FIND_ALL_SQL = "SELECT * FROM cards ORDER BY created_at DESC";
+    public static final String COUNT_BY_DECK_ID_SQL = "SELECT COUNT(*) FROM cards WHERE deck_id = ?";
+    // H2 ranks the foreign key's deck_id index equal to the composite one and would then sort; the hint
+    // plus the full index order lets it stream rows already in (created_at, id) order
+    public static final String FIND_BY_DECK_ID_SQL = """
+                SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                WHERE deck_id = ?
+                ORDER BY deck_id, created_at, id
+            """;
+    public static final String FIND_VIEWS_BY_DECK_ID_SQL = """
+                SELECT id, question, answer FROM cards USE INDEX (idx_cards_deck_created)
+                WHERE deck_id = ?
+                ORDER BY deck_id, created_at, id
+            """;
+    public static final String FIND_IDS_BY_DECK_ID_SQL = """
+                SELECT id FROM cards USE INDEX (idx_cards_deck_created)
+                WHERE deck_id = ?
+                ORDER BY deck_id, created_at, id
+            """;
+    public static final String FIND_PAGE_BY_DECK_ID_SQL = """
+                SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                WHERE deck_id = ? AND (created_at, id) > (?, ?)
+                ORDER BY deck_id, created_at, id
+                LIMIT ?
+            """;
+    public static final String FIND_PAGE_BY_DECK_ID_BEFORE_SQL = """
+                SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                WHERE deck_id = ? AND (created_at, id) < (?, ?)
+                ORDER BY deck_id DESC, created_at DESC, id DESC
+                LIMIT ?
+            """;
+    // Deck search walks the same index range as the deck pages and keeps the rows whose text matches, so a
+    // page reads only as far as it takes to find its cards
+    public static final String COUNT_MATCHING_BY_DECK_ID_SQL = """
+                SELECT COUNT(*) FROM cards
+                WHERE deck_id = ? AND (LOWER(question) LIKE ? ESCAPE '\\' OR LOWER(answer) LIKE ? ESCAPE '\\')
+            """;
+    public static final String FIND_MATCHING_PAGE_BY_DECK_ID_SQL = """
+                SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                WHERE deck_id = ? AND (created_at, id) > (?, ?)
+                  AND (LOWER(question) LIKE ? ESCAPE '\\' OR LOWER(answer) LIKE ? ESCAPE '\\')
+                ORDER BY deck_id, created_at, id
+                LIMIT ?
+            """;
+    public static final String FIND_MATCHING_PAGE_BY_DECK_ID_BEFORE_SQL = """
+                SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                WHERE deck_id = ? AND (created_at, id) < (?, ?)
+                  AND (LOWER(question) LIKE ? ESCAPE '\\' OR LOWER(answer) LIKE ? ESCAPE '\\')
+                ORDER BY deck_id DESC, created_at DESC, id DESC
+                LIMIT ?
+            """;
+    // A delta window is a range of change log seqs, not of timestamps: seqs are held back behind open
+    // transactions (ChangeLogRepository.findCommittedSeq), client clocks and transaction start times are not
+    public static final String FIND_CHANGED_BETWEEN_SQL = """
+                SELECT * FROM cards
+                WHERE deck_id = ? AND id IN (
+                    SELECT entity_id FROM change_log
+                    WHERE seq > ? AND seq <= ? AND entity_type = 'CARD'
+                )
+                ORDER BY id
+            """;
+    public static final String FIND_TOMBSTONES_BETWEEN_SQL = """
+                SELECT card_id, card_uid, deck_id, deleted_at FROM card_tombstones t
+                WHERE deck_id = ? AND card_id IN (
+                    SELECT entity_id FROM change_log
+                    WHERE seq > ? AND seq <= ? AND entity_type = 'CARD'
+                ) AND NOT EXISTS (SELECT 1 FROM cards c WHERE c.id = t.card_id AND c.deck_id = t.deck_id)
+                ORDER BY card_id
+            """;
+    /**
+     * Takes the comma-separated {@code ?} of one batch of hashes: H2 looks up an explicit IN list through
+     * the index but scans for {@code = ANY(?)}.
+     */
+    public static final String FIND_VIEWS_BY_CONTENT_HASHES_SQL =
+            "SELECT id, question, answer FROM cards WHERE deck_id = ? AND content_hash IN (%s)";
+    /**
+     * Takes the comma-separated {@code ?} of one batch of ids, for the same reason as
+     * {@link #FIND_VIEWS_BY_CONTENT_HASHES_SQL}.
+     */
+    public static final String FIND_BY_IDS_SQL = "SELECT * FROM cards WHERE id IN (%s)";
+
+    private static final String UPDATE_CONTENT_HASH_SQL = "UPDATE cards SET content_hash = ? WHERE id = ?";
 
     public CardRepository(DatabaseManager databaseManager) {
         super(databaseManager);
@@ -23,17 +126,21 @@ public class CardRepository extends AbstractRepository<Card, Long> {
     @Override
     public Card save(Card entity) {
         final String sql = """
-                    INSERT INTO cards (question, answer, deck_id, created_at, updated_at) 
-                    VALUES (?, ?, ?, ?, ?)
+                    INSERT INTO cards (question, answer, deck_id, created_at, updated_at, uid, content_hash) 
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
                 """;
 
-        return executeWithConnection(conn -> {
+        return executeInTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                if (entity.getUid() == null) entity.setUid(UUID.randomUUID());
+
                 stmt.setString(1, entity.getQuestion());
                 stmt.setString(2, entity.getAnswer());
                 stmt.setLong(3, entity.getDeckId());
                 stmt.setTimestamp(4, Timestamp.valueOf(entity.getCreatedAt()));
                 stmt.setTimestamp(5, Timestamp.valueOf(entity.getUpdatedAt()));
+                stmt.setObject(6, entity.getUid());
+                stmt.setLong(7, CardFingerprint.of(entity.getQuestion(), entity.getAnswer()));
 
                 final int affectedRows = stmt.executeUpdate();
                 if (affectedRows == 0) throw new SQLException("Creating card failed, no rows affected");
@@ -41,6 +148,9 @@ public class CardRepository extends AbstractRepository<Card, Long> {
                 try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         entity.setId(generatedKeys.getLong(1));
+                        entity.setVersion(0L);
+                        ChangeLogRepository.record(conn, EntityType.CARD, entity.getId(), entity.getDeckId(),
+                                Operation.INSERT);
                         logger.log(Level.INFO, "Card saved with ID: {0}", entity.getId());
                         return entity;
                     } else {
@@ -51,29 +161,64 @@ public class CardRepository extends AbstractRepository<Card, Long> {
         });
     }
 
+    /**
+     * Compare-and-set update: succeeds only while the row still has the entity's version, then bumps it.
+     * An entity without a version is written unconditionally.
+     *
+     * @throws OptimisticLockException if another writer updated the card since it was read
+     */
     @Override
     public Card update(Card entity) {
+        return updateIfExists(entity).orElseThrow(() ->
+                new RepositoryException("Updating card failed, card not found with ID: " + entity.getId()));
+    }
+
+    /**
+     * {@link #update(Card)} in one statement that also returns the stored row: the entity takes its deck,
+     * uid, timestamps and new version, so a caller need not read the card first.
+     *
+     * @return the updated entity, or empty if there is no card with its id
+     * @throws OptimisticLockException if another writer updated the card since it was read
+     */
+    public Optional<Card> updateIfExists(Card entity) {
         final String sql = """
-                    UPDATE cards 
-                    SET question = ?, answer = ?, updated_at = ? 
-                    WHERE id = ?
+                    SELECT * FROM FINAL TABLE (
+                        UPDATE cards
+                        SET question = ?, answer = ?, content_hash = ?, updated_at = ?, version = version + 1
+                        WHERE id = ? AND version = COALESCE(?, version)
+                    )
                 """;
 
-        return executeWithConnection(conn -> {
+        return executeInTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                entity.setUpdatedAt(LocalDateTime.now());
+                final LocalDateTime updatedAt = LocalDateTime.now();
 
                 stmt.setString(1, entity.getQuestion());
                 stmt.setString(2, entity.getAnswer());
-                stmt.setTimestamp(3, Timestamp.valueOf(entity.getUpdatedAt()));
-                stmt.setLong(4, entity.getId());
+                stmt.setLong(3, CardFingerprint.of(entity.getQuestion(), entity.getAnswer()));
+                stmt.setTimestamp(4, Timestamp.valueOf(updatedAt));
+                stmt.setLong(5, entity.getId());
+                stmt.setObject(6, entity.getVersion(), Types.BIGINT);
 
-                final int affectedRows = stmt.executeUpdate();
-                if (affectedRows == 0)
-                    throw new SQLException("Updating card failed, card not found with ID: " + entity.getId());
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        if (entity.getVersion() != null && findDeckId(conn, entity.getId()) != null)
+                            throw new OptimisticLockException("Card " + entity.getId()
+                                    + " was changed concurrently, expected version " + entity.getVersion());
+                        return Optional.<Card>empty();
+                    }
+                    final Card stored = CardMapper.INSTANCE.toCard(rs);
+                    entity.setUid(stored.getUid());
+                    entity.setDeckId(stored.getDeckId());
+                    entity.setCreatedAt(stored.getCreatedAt());
+                    entity.setUpdatedAt(stored.getUpdatedAt());
+                    entity.setVersion(stored.getVersion());
+                }
+
+                ChangeLogRepository.record(conn, EntityType.CARD, entity.getId(), entity.getDeckId(), Operation.UPDATE);
 
                 logger.log(Level.INFO, "Card updated with ID: {0}", entity.getId());
-                return entity;
+                return Optional.of(entity);
             }
         });
     }
@@ -96,14 +241,13 @@ public class CardRepository extends AbstractRepository<Card, Long> {
 
     @Override
     public List<Card> findAll() {
-        final String sql = "SELECT * FROM cards ORDER BY created_at DESC";
-
         return executeWithConnection(conn -> {
             List<Card> cards = new ArrayList<>();
-            try (PreparedStatement stmt = conn.prepareStatement(sql);
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_ALL_SQL);
                  ResultSet rs = stmt.executeQuery()) {
 
-                while (rs.next()) cards.add(CardMapper.INSTANCE.toCard(rs));
+                final var reader = CardMapper.INSTANCE.cardReader(rs);
+                while (rs.next()) cards.add(reader.read(rs));
             }
             return cards;
         });
@@ -111,16 +255,28 @@ public class CardRepository extends AbstractRepository<Card, Long> {
 
     @Override
     public boolean deleteById(Long id) {
+        final String tombstoneSql = """
+                    MERGE INTO card_tombstones (card_id, card_uid, deck_id, deleted_at) KEY (card_id, deck_id)
+                    SELECT id, uid, deck_id, CURRENT_TIMESTAMP FROM cards WHERE id = ?
+                """;
         final String sql = "DELETE FROM cards WHERE id = ?";
 
-        return executeWithConnection(conn -> {
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return executeInTransaction(conn -> {
+            try (PreparedStatement tombstoneStmt = conn.prepareStatement(tombstoneSql);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                tombstoneStmt.setLong(1, id);
+                tombstoneStmt.executeUpdate();
+
+                final Long deckId = findDeckId(conn, id);
                 stmt.setLong(1, id);
 
                 final int affectedRows = stmt.executeUpdate();
                 final boolean deleted = affectedRows > 0;
 
-                if (deleted) logger.log(Level.INFO, "Card deleted with ID: {0}", id);
+                if (deleted) {
+                    ChangeLogRepository.record(conn, EntityType.CARD, id, deckId, Operation.DELETE);
+                    logger.log(Level.INFO, "Card deleted with ID: {0}", id);
+                }
 
                 return deleted;
             }
@@ -163,10 +319,8 @@ public class CardRepository extends AbstractRepository<Card, Long> {
     }
 
     public long countByDeckId(Long deckId) {
-        final String sql = "SELECT COUNT(*) FROM cards WHERE deck_id = ?";
-
         return executeWithConnection(conn -> {
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement stmt = conn.prepareStatement(COUNT_BY_DECK_ID_SQL)) {
                 stmt.setLong(1, deckId);
 
                 try (ResultSet rs = stmt.executeQuery()) {
@@ -180,10 +334,19 @@ public class CardRepository extends AbstractRepository<Card, Long> {
     }
 
     public boolean deleteByDeckId(Long deckId) {
+        final String tombstoneSql = """
+                    MERGE INTO card_tombstones (card_id, card_uid, deck_id, deleted_at) KEY (card_id, deck_id)
+                    SELECT id, uid, deck_id, CURRENT_TIMESTAMP FROM cards WHERE deck_id = ?
+                """;
         final String sql = "DELETE FROM cards WHERE deck_id = ?";
 
-        return executeWithConnection(conn -> {
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return executeInTransaction(conn -> {
+            try (PreparedStatement tombstoneStmt = conn.prepareStatement(tombstoneSql);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                tombstoneStmt.setLong(1, deckId);
+                tombstoneStmt.executeUpdate();
+                ChangeLogRepository.recordCardsOfDeck(conn, deckId, Operation.DELETE);
+
                 stmt.setLong(1, deckId);
 
                 final int affectedRows = stmt.executeUpdate();
@@ -197,22 +360,559 @@ public class CardRepository extends AbstractRepository<Card, Long> {
         });
     }
 
-    public List<Card> findByDeckId(Long deckId) {
-        final String sql = "SELECT * FROM cards WHERE deck_id = ? ORDER BY created_at ASC";
+    /**
+     * Inserts many cards in one transaction, sending statements in batches, with a change log entry per card
+     * like {@link #save(Card)}. Generated ids and version 0 are set on the given cards.
+     *
+     * @return the number of cards inserted
+     */
+    public int saveAll(Collection<Card> cards) {
+        if (cards.isEmpty()) return 0;
+
+        return executeInTransaction(conn -> {
+            final int inserted = insertAll(conn, cards);
+            logger.log(Level.INFO, "Bulk inserted {0} cards", inserted);
+            return inserted;
+        });
+    }
+
+    /**
+     * Inserts one batch of an import and moves the job's checkpoint to {@code recordsDone} in the same
+     * transaction, so after a failure the checkpoint covers exactly the cards that were committed.
+     */
+    public int saveImportBatch(Collection<Card> cards, Long jobId, long recordsDone) {
+        return executeInTransaction(conn -> {
+            final int inserted = cards.isEmpty() ? 0 : insertAll(conn, cards);
+            ImportJobRepository.checkpoint(conn, jobId, recordsDone, inserted);
+            return inserted;
+        });
+    }
+
+    private static int insertAll(Connection conn, Collection<Card> cards) throws SQLException {
+        final String sql = """
+                    INSERT INTO cards (question, answer, deck_id, created_at, updated_at, uid, content_hash)
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
+                """;
+
+        final List<Card> batch = new ArrayList<>(Math.min(cards.size(), BATCH_SIZE));
+        int inserted = 0;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Card card : cards) {
+                if (card.getUid() == null) card.setUid(UUID.randomUUID());
+
+                stmt.setString(1, card.getQuestion());
+                stmt.setString(2, card.getAnswer());
+                stmt.setLong(3, card.getDeckId());
+                stmt.setTimestamp(4, Timestamp.valueOf(card.getCreatedAt()));
+                stmt.setTimestamp(5, Timestamp.valueOf(card.getUpdatedAt()));
+                stmt.setObject(6, card.getUid());
+                stmt.setLong(7, CardFingerprint.of(card.getQuestion(), card.getAnswer()));
+                stmt.addBatch();
+                batch.add(card);
+
+                if (batch.size() == BATCH_SIZE) inserted += flushInserts(conn, stmt, batch);
+            }
+
+            if (!batch.isEmpty()) inserted += flushInserts(conn, stmt, batch);
+        }
+        return inserted;
+    }
+
+    private static int flushInserts(Connection conn, PreparedStatement stmt, List<Card> batch) throws SQLException {
+        final int inserted = sum(stmt.executeBatch());
+        final List<Long> ids = new ArrayList<>(batch.size());
+
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            for (Card card : batch) {
+                if (!generatedKeys.next()) throw new SQLException("Creating cards failed, no ID obtained");
+
+                card.setId(generatedKeys.getLong(1));
+                card.setVersion(0L);
+                ids.add(card.getId());
+            }
+        }
+
+        ChangeLogRepository.recordCards(conn, ids, Operation.INSERT);
+        batch.clear();
+        return inserted;
+    }
+
+    /**
+     * Updates question and answer of many cards in one transaction, sending statements in batches. This is
+     * a last-writer-wins bulk edit: versions are bumped but not compared.
+     *
+     * @return the number of cards updated; ids that no longer exist are skipped
+     */
+    public int updateAll(Collection<Card> cards) {
+        final String sql = """
+                    UPDATE cards SET question = ?, answer = ?, content_hash = ?, updated_at = ?, version = version + 1
+                    WHERE id = ?
+                """;
+
+        return executeInTransaction(conn -> {
+            final Timestamp now;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT LOCALTIMESTAMP");
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                now = rs.getTimestamp(1);
+            }
+            final List<Long> pending = new ArrayList<>(Math.min(cards.size(), BATCH_SIZE));
+            int updated = 0;
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (Card card : cards) {
+                    card.setUpdatedAt(now.toLocalDateTime());
+
+                    stmt.setString(1, card.getQuestion());
+                    stmt.setString(2, card.getAnswer());
+                    stmt.setLong(3, CardFingerprint.of(card.getQuestion(), card.getAnswer()));
+                    stmt.setTimestamp(4, now);
+                    stmt.setLong(5, card.getId());
+                    stmt.addBatch();
+                    pending.add(card.getId());
+
+                    if (pending.size() == BATCH_SIZE) {
+                        updated += sum(stmt.executeBatch());
+                        ChangeLogRepository.recordCards(conn, pending, Operation.UPDATE);
+                        pending.clear();
+                    }
+                }
+
+                if (!pending.isEmpty()) {
+                    updated += sum(stmt.executeBatch());
+                    ChangeLogRepository.recordCards(conn, pending, Operation.UPDATE);
+                }
+            }
 
+            logger.log(Level.INFO, "Bulk updated {0} cards", updated);
+            return updated;
+        });
+    }
+
+    /**
+     * Deletes the given cards in one transaction, leaving tombstones and change log entries like
+     * {@link #deleteById(Long)} does.
+     *
+     * @return the number of cards deleted
+     */
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return 0;
+
+        final String tombstoneSql = """
+                    MERGE INTO card_tombstones (card_id, card_uid, deck_id, deleted_at) KEY (card_id, deck_id)
+                    SELECT id, uid, deck_id, CURRENT_TIMESTAMP FROM cards WHERE id = ANY(?)
+                """;
+        final String sql = "DELETE FROM cards WHERE id = ANY(?)";
+
+        return executeInTransaction(conn -> {
+            final Array idArray = conn.createArrayOf("BIGINT", ids.toArray());
+
+            try (PreparedStatement tombstoneStmt = conn.prepareStatement(tombstoneSql);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                tombstoneStmt.setArray(1, idArray);
+                tombstoneStmt.executeUpdate();
+                ChangeLogRepository.recordCards(conn, ids, Operation.DELETE);
+                stmt.setArray(1, idArray);
+
+                final int deleted = stmt.executeUpdate();
+                logger.log(Level.INFO, "Bulk deleted {0} cards", deleted);
+                return deleted;
+            }
+        });
+    }
+
+    /**
+     * Moves cards to another deck in one transaction. The source decks get a tombstone for each card
+     * that left, so their delta exports report it as gone, and the change log carries an entry for
+     * both the old and the new deck. A card coming back to a deck it left loses its tombstone there.
+     *
+     * @return the number of cards moved; cards already in the target deck are not counted
+     */
+    public int moveToDeck(Collection<Long> ids, Long targetDeckId) {
+        if (ids.isEmpty()) return 0;
+
+        final String selectSql = "SELECT id FROM cards WHERE id = ANY(?) AND deck_id <> ?";
+        final String tombstoneSql = """
+                    MERGE INTO card_tombstones (card_id, card_uid, deck_id, deleted_at) KEY (card_id, deck_id)
+                    SELECT id, uid, deck_id, CURRENT_TIMESTAMP FROM cards WHERE id = ANY(?)
+                """;
+        final String returnSql = "DELETE FROM card_tombstones WHERE card_id = ANY(?) AND deck_id = ?";
+        final String sql = "UPDATE cards SET deck_id = ?, updated_at = ?, version = version + 1 WHERE id = ANY(?)";
+
+        return executeInTransaction(conn -> {
+            final List<Long> movable = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                stmt.setArray(1, conn.createArrayOf("BIGINT", ids.toArray()));
+                stmt.setLong(2, targetDeckId);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) movable.add(rs.getLong(1));
+                }
+            }
+            if (movable.isEmpty()) return 0;
+
+            final Array idArray = conn.createArrayOf("BIGINT", movable.toArray());
+            try (PreparedStatement tombstoneStmt = conn.prepareStatement(tombstoneSql);
+                 PreparedStatement returnStmt = conn.prepareStatement(returnSql);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                tombstoneStmt.setArray(1, idArray);
+                tombstoneStmt.executeUpdate();
+                returnStmt.setArray(1, idArray);
+                returnStmt.setLong(2, targetDeckId);
+                returnStmt.executeUpdate();
+                ChangeLogRepository.recordCards(conn, movable, Operation.UPDATE);
+
+                stmt.setLong(1, targetDeckId);
+                stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                stmt.setArray(3, idArray);
+                final int moved = stmt.executeUpdate();
+
+                // second entry under the target deck, now that deck_id points there
+                ChangeLogRepository.recordCards(conn, movable, Operation.UPDATE);
+
+                logger.log(Level.INFO, "Moved {0} cards to deck ID: {1}", new Object[]{moved, targetDeckId});
+                return moved;
+            }
+        });
+    }
+
+    /**
+     * Replaces every occurrence of {@code target} in the questions and answers of one deck, as a single
+     * set-based update. Matching is literal and case-sensitive. Like {@link #updateAll(Collection)}, this is
+     * last-writer-wins: versions are bumped but not compared. The content hashes of the changed cards are
+     * then recomputed from the text the update returned.
+     *
+     * @return the number of cards changed
+     */
+    public int replaceTextInDeck(Long deckId, String target, String replacement) {
+        final String sql = """
+                    SELECT id, question, answer FROM FINAL TABLE (
+                        UPDATE cards
+                        SET question = REPLACE(question, ?, ?), answer = REPLACE(answer, ?, ?), updated_at = ?,
+                            version = version + 1
+                        WHERE deck_id = ? AND (LOCATE(?, question) > 0 OR LOCATE(?, answer) > 0)
+                    )
+                """;
+
+        return executeInTransaction(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, target);
+                stmt.setString(2, replacement);
+                stmt.setString(3, target);
+                stmt.setString(4, replacement);
+                stmt.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                stmt.setLong(6, deckId);
+                stmt.setString(7, target);
+                stmt.setString(8, target);
+
+                final List<Long> ids = new ArrayList<>();
+                try (ResultSet rs = stmt.executeQuery();
+                     PreparedStatement hashStmt = conn.prepareStatement(UPDATE_CONTENT_HASH_SQL)) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                        hashStmt.setLong(1, CardFingerprint.of(rs.getString(2), rs.getString(3)));
+                        hashStmt.setLong(2, rs.getLong(1));
+                        hashStmt.addBatch();
+                    }
+                    if (!ids.isEmpty()) hashStmt.executeBatch();
+                }
+                final int changed = ChangeLogRepository.recordCards(conn, ids, Operation.UPDATE);
+                logger.log(Level.INFO, "Replaced text in {0} cards of deck ID: {1}", new Object[]{changed, deckId});
+                return changed;
+            }
+        });
+    }
+
+    public List<Card> findByDeckId(Long deckId) {
         return executeWithConnection(conn -> {
             List<Card> cards = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_DECK_ID_SQL)) {
+                stmt.setLong(1, deckId);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    final var reader = CardMapper.INSTANCE.cardReader(rs);
+                    while (rs.next()) cards.add(reader.read(rs));
+                }
+            }
+            return cards;
+        });
+    }
+
+    public CompletableFuture<List<Card>> findByDeckIdAsync(Long deckId) {
+        return supplyAsync(() -> findByDeckId(deckId));
+    }
+
+    /**
+     * Keyset page of a deck in display order: up to {@code limit} cards after {@code after}, or from the
+     * start when it is null. The row comparison is an index range, so any page costs {@code limit} rows.
+     */
+    public List<Card> findPageByDeckId(Long deckId, Card after, int limit) {
+        final String sql = after == null
+                ? """
+                    SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                    WHERE deck_id = ?
+                    ORDER BY deck_id, created_at, id
+                    LIMIT ?
+                """
+                : FIND_PAGE_BY_DECK_ID_SQL;
+
+        return findPage(sql, deckId, after, limit);
+    }
+
+    /**
+     * Up to {@code limit} cards right before {@code before} in display order, read backwards along the index.
+     */
+    public List<Card> findPageByDeckIdBefore(Long deckId, Card before, int limit) {
+        final List<Card> cards = findPage(FIND_PAGE_BY_DECK_ID_BEFORE_SQL, deckId, before, limit);
+        Collections.reverse(cards);
+        return cards;
+    }
+
+    /**
+     * Page starting at a position, for jumps: skipped rows are still walked in the index but not read.
+     */
+    public List<Card> findPageByDeckIdAt(Long deckId, long offset, int limit) {
+        final String sql = """
+                    SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                    WHERE deck_id = ?
+                    ORDER BY deck_id, created_at, id
+                    LIMIT ? OFFSET ?
+                """;
+
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, deckId);
+                stmt.setInt(2, limit);
+                stmt.setLong(3, offset);
+                return readCards(stmt, limit);
+            }
+        });
+    }
+
+    public long countMatchingByDeckId(Long deckId, String text) {
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(COUNT_MATCHING_BY_DECK_ID_SQL)) {
+                stmt.setLong(1, deckId);
+                setContainsPattern(stmt, 2, text);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getLong(1) : 0L;
+                }
+            }
+        });
+    }
+
+    /**
+     * Keyset page of the deck's cards whose question or answer contains {@code text}, ignoring case, in
+     * display order: up to {@code limit} after {@code after}, or from the start when it is null.
+     */
+    public List<Card> findMatchingPageByDeckId(Long deckId, String text, Card after, int limit) {
+        final String sql = after == null
+                ? """
+                    SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                    WHERE deck_id = ?
+                      AND (LOWER(question) LIKE ? ESCAPE '\\' OR LOWER(answer) LIKE ? ESCAPE '\\')
+                    ORDER BY deck_id, created_at, id
+                    LIMIT ?
+                """
+                : FIND_MATCHING_PAGE_BY_DECK_ID_SQL;
+
+        return findMatchingPage(sql, deckId, text, after, limit);
+    }
+
+    public List<Card> findMatchingPageByDeckIdBefore(Long deckId, String text, Card before, int limit) {
+        final List<Card> cards = findMatchingPage(FIND_MATCHING_PAGE_BY_DECK_ID_BEFORE_SQL, deckId, text, before, limit);
+        Collections.reverse(cards);
+        return cards;
+    }
+
+    public List<Card> findMatchingPageByDeckIdAt(Long deckId, String text, long offset, int limit) {
+        final String sql = """
+                    SELECT * FROM cards USE INDEX (idx_cards_deck_created)
+                    WHERE deck_id = ?
+                      AND (LOWER(question) LIKE ? ESCAPE '\\' OR LOWER(answer) LIKE ? ESCAPE '\\')
+                    ORDER BY deck_id, created_at, id
+                    LIMIT ? OFFSET ?
+                """;
+
+        return executeWithConnection(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setLong(1, deckId);
+                setContainsPattern(stmt, 2, text);
+                stmt.setInt(4, limit);
+                stmt.setLong(5, offset);
+                return readCards(stmt, limit);
+            }
+        });
+    }
+
+    private List<Card> findMatchingPage(String sql, Long deckId, String text, Card anchor, int limit) {
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                stmt.setLong(index++, deckId);
+                if (anchor != null) {
+                    stmt.setTimestamp(index++, Timestamp.valueOf(anchor.getCreatedAt()));
+                    stmt.setLong(index++, anchor.getId());
+                }
+                index = setContainsPattern(stmt, index, text);
+                stmt.setInt(index, limit);
+                return readCards(stmt, limit);
+            }
+        });
+    }
+
+    /**
+     * Binds a lower-cased {@code %text%} LIKE pattern, with its wildcards escaped, to the question and the
+     * answer parameters; returns the next parameter index.
+     */
+    private static int setContainsPattern(PreparedStatement stmt, int index, String text) throws SQLException {
+        final String pattern = "%" + text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        stmt.setString(index, pattern);
+        stmt.setString(index + 1, pattern);
+        return index + 2;
+    }
+
+    private List<Card> findPage(String sql, Long deckId, Card anchor, int limit) {
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                stmt.setLong(index++, deckId);
+                if (anchor != null) {
+                    stmt.setTimestamp(index++, Timestamp.valueOf(anchor.getCreatedAt()));
+                    stmt.setLong(index++, anchor.getId());
+                }
+                stmt.setInt(index, limit);
+                return readCards(stmt, limit);
+            }
+        });
+    }
+
+    private static List<Card> readCards(PreparedStatement stmt, int expected) throws SQLException {
+        final List<Card> cards = new ArrayList<>(expected);
+        try (ResultSet rs = stmt.executeQuery()) {
+            final var reader = CardMapper.INSTANCE.cardReader(rs);
+            while (rs.next()) cards.add(reader.read(rs));
+        }
+        return cards;
+    }
+
+    /**
+     * Ids of a deck's cards in display order, read from the index alone.
+     */
+    public List<Long> findIdsByDeckId(Long deckId) {
+        return executeWithConnection(conn -> {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_IDS_BY_DECK_ID_SQL)) {
+                stmt.setLong(1, deckId);
 
                 try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next()) cards.add(CardMapper.INSTANCE.toCard(rs));
+                    while (rs.next()) ids.add(rs.getLong(1));
+                }
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * The given cards, in no particular order, read by primary key a batch of ids at a time; unknown ids
+     * are skipped.
+     */
+    public List<Card> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        final List<Long> all = List.copyOf(ids);
+        return executeWithConnection(conn -> {
+            List<Card> cards = new ArrayList<>(all.size());
+            for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+                final List<Long> batch = all.subList(from, Math.min(from + BATCH_SIZE, all.size()));
+                final String sql = FIND_BY_IDS_SQL.formatted(String.join(", ", Collections.nCopies(batch.size(), "?")));
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < batch.size(); i++) stmt.setLong(i + 1, batch.get(i));
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        final var reader = CardMapper.INSTANCE.cardReader(rs);
+                        while (rs.next()) cards.add(reader.read(rs));
+                    }
                 }
             }
             return cards;
         });
     }
 
+    /**
+     * Id, question and answer of the given cards, in no particular order; unknown ids are skipped.
+     */
+    public List<CardView> findViewsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        final String sql = "SELECT id, question, answer FROM cards WHERE id = ANY(?)";
+
+        return executeWithConnection(conn -> {
+            List<CardView> views = new ArrayList<>(ids.size());
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setArray(1, conn.createArrayOf("BIGINT", ids.toArray()));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    final var reader = CardMapper.INSTANCE.cardViewReader(rs);
+                    while (rs.next()) views.add(reader.read(rs));
+                }
+            }
+            return views;
+        });
+    }
+
+    /**
+     * Id, question and answer of a deck's cards in display order; timestamps and deck id stay in the database.
+     */
+    public List<CardView> findViewsByDeckId(Long deckId) {
+        return executeWithConnection(conn -> {
+            List<CardView> views = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_VIEWS_BY_DECK_ID_SQL)) {
+                stmt.setLong(1, deckId);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    final var reader = CardMapper.INSTANCE.cardViewReader(rs);
+                    while (rs.next()) views.add(reader.read(rs));
+                }
+            }
+            return views;
+        });
+    }
+
+    /**
+     * Id, question and answer of the deck's cards whose content hash is one of {@code hashes}, looked up
+     * through idx_cards_deck_hash a batch of hashes at a time. Equal hashes do not prove equal text; callers
+     * compare it.
+     */
+    public List<CardView> findViewsByContentHashes(Long deckId, Collection<Long> hashes) {
+        if (hashes.isEmpty()) return List.of();
+
+        final List<Long> all = List.copyOf(hashes);
+        return executeWithConnection(conn -> {
+            List<CardView> views = new ArrayList<>();
+            for (int from = 0; from < all.size(); from += BATCH_SIZE) {
+                final List<Long> batch = all.subList(from, Math.min(from + BATCH_SIZE, all.size()));
+                final String sql = FIND_VIEWS_BY_CONTENT_HASHES_SQL.formatted(
+                        String.join(", ", Collections.nCopies(batch.size(), "?")));
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setLong(1, deckId);
+                    for (int i = 0; i < batch.size(); i++) stmt.setLong(i + 2, batch.get(i));
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        final var reader = CardMapper.INSTANCE.cardViewReader(rs);
+                        while (rs.next()) views.add(reader.read(rs));
+                    }
+                }
+            }
+            return views;
+        });
+    }
+
     public List<Card> findByTextContaining(String searchText) {
         final String sql = """
                     SELECT * FROM cards 
@@ -229,10 +929,203 @@ public class CardRepository extends AbstractRepository<Card, Long> {
                 stmt.setString(2, searchPattern);
 
                 try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next()) cards.add(CardMapper.INSTANCE.toCard(rs));
+                    final var reader = CardMapper.INSTANCE.cardReader(rs);
+                    while (rs.next()) cards.add(reader.read(rs));
                 }
             }
             return cards;
         });
     }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            // drivers may report SUCCESS_NO_INFO (-2) for a batched statement that did run
+            total += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(count, 0);
+        }
+        return total;
+    }
+
+    private static Long findDeckId(Connection conn, Long cardId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT deck_id FROM cards WHERE id = ?")) {
+            stmt.setLong(1, cardId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Reads the delta of a deck since the change log seq {@code since} in one repeatable-read transaction:
+     * the deck's cards and tombstones with a change log entry in {@code (since, watermark]}, or every card
+     * when {@code since} is null. The watermark is {@link ChangeLogRepository#findCommittedSeq(Connection)},
+     * read first so the snapshot holds every entry up to it; no transaction still open can commit below it.
+     */
+    public DeckDelta findDelta(Deck deck, Long since) {
+        return executeInTransaction(conn -> {
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+
+            final long committed = ChangeLogRepository.findCommittedSeq(conn);
+            // a purge can leave the log behind the previous watermark; the window is then empty
+            final long watermark = since != null ? Math.max(committed, since) : committed;
+
+            return new DeckDelta(
+                    deck.getName(),
+                    deck.getDescription(),
+                    since,
+                    watermark,
+                    since != null ? findChangedBetween(conn, deck.getId(), since, watermark)
+                            : findAllOfDeck(conn, deck.getId()),
+                    since != null ? findTombstonesBetween(conn, deck.getId(), since, watermark) : List.of());
+        });
+    }
+
+    /**
+     * Applies a delta export to a deck in one transaction, matching cards by uid within the deck: a matched
+     * card takes the delta's text, an unmatched one is inserted with the delta's uid, and a tombstone
+     * deletes the deck's card with its uid, leaving a tombstone here too. Cards and tombstones without a
+     * uid come from exports older than uids; such cards are inserted and such tombstones skipped.
+     * <p>
+     * Like {@link #updateAll(Collection)}, this is a last-writer-wins write: the delta replaces whatever
+     * the deck holds, versions are bumped but not compared. Written cards are stamped with this database's
+     * time, not the source's, and logged like any other change, so the next delta of this deck carries them.
+     */
+    public DeltaApplyResult applyDelta(Long deckId, DeckDelta delta) {
+        final String updateSql = """
+                    SELECT id FROM FINAL TABLE (
+                        UPDATE cards
+                        SET question = ?, answer = ?, content_hash = ?, updated_at = ?, version = version + 1
+                        WHERE deck_id = ? AND uid = ?
+                    )
+                """;
+        final String tombstoneSql = """
+                    MERGE INTO card_tombstones (card_id, card_uid, deck_id, deleted_at) KEY (card_id, deck_id)
+                    SELECT id, uid, deck_id, CURRENT_TIMESTAMP FROM cards WHERE deck_id = ? AND uid = ?
+                """;
+        final String deleteSql = "SELECT id FROM OLD TABLE (DELETE FROM cards WHERE deck_id = ? AND uid = ?)";
+
+        return executeInTransaction(conn -> {
+            final Timestamp now;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT LOCALTIMESTAMP");
+                 ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                now = rs.getTimestamp(1);
+            }
+            final List<Card> inserts = new ArrayList<>();
+            int updated = 0;
+            int deleted = 0;
+
+            try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                for (Card card : delta.cards()) {
+                    if (card.getUid() != null) {
+                        stmt.setString(1, card.getQuestion());
+                        stmt.setString(2, card.getAnswer());
+                        stmt.setLong(3, CardFingerprint.of(card.getQuestion(), card.getAnswer()));
+                        stmt.setTimestamp(4, now);
+                        stmt.setLong(5, deckId);
+                        stmt.setObject(6, card.getUid());
+
+                        boolean matched = false;
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                ChangeLogRepository.record(conn, EntityType.CARD, rs.getLong(1), deckId,
+                                        Operation.UPDATE);
+                                matched = true;
+                            }
+                        }
+                        if (matched) {
+                            updated++;
+                            continue;
+                        }
+                    }
+
+                    inserts.add(Card.builder()
+                            .uid(card.getUid())
+                            .question(card.getQuestion())
+                            .answer(card.getAnswer())
+                            .deckId(deckId)
+                            .createdAt(Objects.requireNonNullElse(card.getCreatedAt(), now.toLocalDateTime()))
+                            .updatedAt(now.toLocalDateTime())
+                            .build());
+                }
+            }
+            final int inserted = inserts.isEmpty() ? 0 : insertAll(conn, inserts);
+
+            try (PreparedStatement tombstoneStmt = conn.prepareStatement(tombstoneSql);
+                 PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                for (CardTombstone tombstone : delta.tombstones()) {
+                    if (tombstone.cardUid() == null) continue;
+
+                    for (PreparedStatement each : List.of(tombstoneStmt, stmt)) {
+                        each.setLong(1, deckId);
+                        each.setObject(2, tombstone.cardUid());
+                    }
+                    tombstoneStmt.executeUpdate();
+
+                    boolean matched = false;
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ChangeLogRepository.record(conn, EntityType.CARD, rs.getLong(1), deckId,
+                                    Operation.DELETE);
+                            matched = true;
+                        }
+                    }
+                    if (matched) deleted++;
+                }
+            }
+
+            logger.log(Level.INFO, "Applied delta to deck ID: {0} ({1} inserted, {2} updated, {3} deleted)",
+                    new Object[]{deckId, inserted, updated, deleted});
+            return new DeltaApplyResult(inserted, updated, deleted);
+        });
+    }
+
+    private static List<Card> findAllOfDeck(Connection conn, Long deckId) throws SQLException {
+        List<Card> cards = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_DECK_ID_SQL)) {
+            stmt.setLong(1, deckId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                final var reader = CardMapper.INSTANCE.cardReader(rs);
+                while (rs.next()) cards.add(reader.read(rs));
+            }
+        }
+        return cards;
+    }
+
+    private static List<Card> findChangedBetween(Connection conn, Long deckId, long since, long until)
+            throws SQLException {
+        List<Card> cards = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_CHANGED_BETWEEN_SQL)) {
+            stmt.setLong(1, deckId);
+            stmt.setLong(2, since);
+            stmt.setLong(3, until);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                final var reader = CardMapper.INSTANCE.cardReader(rs);
+                while (rs.next()) cards.add(reader.read(rs));
+            }
+        }
+        return cards;
+    }
+
+    private static List<CardTombstone> findTombstonesBetween(Connection conn, Long deckId, long since, long until)
+            throws SQLException {
+        List<CardTombstone> tombstones = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_TOMBSTONES_BETWEEN_SQL)) {
+            stmt.setLong(1, deckId);
+            stmt.setLong(2, since);
+            stmt.setLong(3, until);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) tombstones.add(new CardTombstone(
+                        rs.getLong("card_id"),
+                        rs.getObject("card_uid", UUID.class),
+                        rs.getLong("deck_id"),
+                        TimeConverter.mapTimestamp(rs, "deleted_at")));
+            }
+        }
+        return tombstones;
+    }
 }
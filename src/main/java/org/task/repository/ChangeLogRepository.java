@@ -0,0 +1,289 @@
+package org.task.repository;
+
+import org.task.config.DatabaseManager;
+import org.task.exception.RepositoryException;
+import org.task.models.dto.ChangeEvent;
+import org.task.models.dto.ChangeEvent.EntityType;
+import org.task.models.dto.ChangeEvent.Operation;
+import org.task.utils.TimeConverter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only log of inserts, updates and deletes of decks and cards. Writers call the static
+ * {@code record*} methods with their own connection so the log entry commits together with the change.
+ * Entries are never updated or deleted one by one, so this is not a CRUD repository; old entries are
+ * only dropped in bulk by {@link #purgeUpTo(long)}.
+ * <p>
+ * Entries recorded inside a transaction are also kept per connection until the transaction ends, so
+ * {@link DatabaseManager#commit(Connection)} can hand them to in-process listeners without polling.
+ * <p>
+ * Seqs are taken at insert time but become visible at commit, so a reader that saw seq 7 may still see
+ * seq 6 appear later. {@link #findCommittedSeq()} is the resume point that cannot happen to: the lowest seq
+ * of every open transaction is kept until it ends, and a transaction's first entry is inserted under the
+ * same lock the committed seq is read under. Only writers in this process are tracked.
+ */
+public class ChangeLogRepository {
+    private static final Logger logger = Logger.getLogger(ChangeLogRepository.class.getName());
+    private static final Map<Connection, List<ChangeEvent>> PENDING = new ConcurrentHashMap<>();
+    private static final Map<Connection, Long> OPEN_FLOORS = new ConcurrentHashMap<>();
+    private static final ReentrantLock FIRST_ENTRY_LOCK = new ReentrantLock();
+
+    // Lookups that IndexAdvisor explains against the live schema
+    public static final String FIND_AFTER_SQL = "SELECT * FROM change_log WHERE seq > ? ORDER BY seq ASC LIMIT ?";
+
+    private final DatabaseManager databaseManager;
+
+    public ChangeLogRepository(DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+    }
+
+    public static void record(Connection conn, EntityType entityType, Long entityId, Long deckId,
+                              Operation operation) throws SQLException {
+        final String sql = """
+                    SELECT * FROM FINAL TABLE (
+                        INSERT INTO change_log (entity_type, entity_id, deck_id, operation)
+                        VALUES (?, ?, ?, ?)
+                    )
+                """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, entityType.name());
+            stmt.setLong(2, entityId);
+            if (deckId != null) stmt.setLong(3, deckId);
+            else stmt.setNull(3, Types.BIGINT);
+            stmt.setString(4, operation.name());
+            collect(conn, stmt);
+        }
+    }
+
+    /**
+     * One entry per existing card among {@code cardIds}, under the deck the card is in right now.
+     */
+    public static int recordCards(Connection conn, Collection<Long> cardIds, Operation operation)
+            throws SQLException {
+        if (cardIds.isEmpty()) return 0;
+
+        final String sql = """
+                    SELECT * FROM FINAL TABLE (
+                        INSERT INTO change_log (entity_type, entity_id, deck_id, operation)
+                        SELECT 'CARD', id, deck_id, ? FROM cards WHERE id = ANY(?) ORDER BY id
+                    )
+                """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, operation.name());
+            stmt.setArray(2, conn.createArrayOf("BIGINT", cardIds.toArray()));
+            return collect(conn, stmt);
+        }
+    }
+
+    public static int recordCardsOfDeck(Connection conn, Long deckId, Operation operation) throws SQLException {
+        final String sql = """
+                    SELECT * FROM FINAL TABLE (
+                        INSERT INTO change_log (entity_type, entity_id, deck_id, operation)
+                        SELECT 'CARD', id, deck_id, ? FROM cards WHERE deck_id = ? ORDER BY id
+                    )
+                """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, operation.name());
+            stmt.setLong(2, deckId);
+            return collect(conn, stmt);
+        }
+    }
+
+    /**
+     * Removes and returns the entries recorded on {@code conn} since its transaction began, in seq order.
+     * Called once when the transaction commits or rolls back, before it does.
+     */
+    public static List<ChangeEvent> takeRecorded(Connection conn) {
+        final List<ChangeEvent> recorded = PENDING.remove(conn);
+        return recorded != null ? recorded : List.of();
+    }
+
+    /**
+     * Forgets the open transaction on {@code conn}; called once it has committed or rolled back.
+     */
+    public static void transactionEnded(Connection conn) {
+        OPEN_FLOORS.remove(conn);
+    }
+
+    /**
+     * The highest seq up to which every entry is committed or rolled back: the latest visible seq, held
+     * back below the lowest seq of any transaction still open. Everything this returns stays put, so it is
+     * a safe watermark and resume point. Read on {@code conn}, so a repeatable-read transaction starting
+     * with this call sees all the entries up to it.
+     */
+    public static long findCommittedSeq(Connection conn) throws SQLException {
+        FIRST_ENTRY_LOCK.lock();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT COALESCE(MAX(seq), 0) FROM change_log");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            long committed = rs.getLong(1);
+            for (long floor : OPEN_FLOORS.values()) committed = Math.min(committed, floor - 1);
+            return committed;
+        } finally {
+            FIRST_ENTRY_LOCK.unlock();
+        }
+    }
+
+    private static int collect(Connection conn, PreparedStatement stmt) throws SQLException {
+        final boolean inTransaction = !conn.getAutoCommit();
+        if (inTransaction && OPEN_FLOORS.containsKey(conn)) return read(conn, stmt, true);
+
+        // a transaction's first entries, or self-committing ones: between taking their seq and registering
+        // it (or committing) findCommittedSeq must not run
+        FIRST_ENTRY_LOCK.lock();
+        try {
+            return read(conn, stmt, inTransaction);
+        } finally {
+            FIRST_ENTRY_LOCK.unlock();
+        }
+    }
+
+    private static int read(Connection conn, PreparedStatement stmt, boolean inTransaction) throws SQLException {
+        int count = 0;
+
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                if (inTransaction) {
+                    final ChangeEvent event = toChangeEvent(rs);
+                    PENDING.computeIfAbsent(conn, key -> new ArrayList<>()).add(event);
+                    OPEN_FLOORS.merge(conn, event.seq(), Math::min);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public List<ChangeEvent> findAfter(long seq, int limit) {
+        return executeWithConnection(conn -> {
+            List<ChangeEvent> events = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_AFTER_SQL)) {
+                stmt.setLong(1, seq);
+                stmt.setInt(2, limit);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) events.add(toChangeEvent(rs));
+                }
+            }
+            return events;
+        });
+    }
+
+    public long findLatestSeq() {
+        final String sql = "SELECT COALESCE(MAX(seq), 0) FROM change_log";
+
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+
+                if (rs.next()) return rs.getLong(1);
+                return 0L;
+            }
+        });
+    }
+
+    public long findCommittedSeq() {
+        return executeWithConnection(ChangeLogRepository::findCommittedSeq);
+    }
+
+    /**
+     * Drops entries up to {@code seq}. Delta exports and tailers resuming from a purged seq lose the
+     * changes recorded by the dropped entries.
+     */
+    public int purgeUpTo(long seq) {
+        final String sql = "DELETE FROM change_log WHERE seq <= ?";
+
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, seq);
+
+                final int purged = stmt.executeUpdate();
+                if (purged > 0) logger.log(Level.INFO, "Purged {0} change log entries up to seq {1}",
+                        new Object[]{purged, seq});
+
+                return purged;
+            }
+        });
+    }
+
+    public Optional<ChangeEvent> findBySeq(long seq) {
+        final String sql = "SELECT * FROM change_log WHERE seq = ?";
+
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, seq);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) return Optional.of(toChangeEvent(rs));
+                }
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * The entries among {@code seqs} that exist, in seq order; an explicit IN list, which H2 looks up
+     * through the primary key.
+     */
+    public List<ChangeEvent> findBySeqs(Collection<Long> seqs) {
+        if (seqs.isEmpty()) return List.of();
+
+        final String sql = "SELECT * FROM change_log WHERE seq IN (" + "?, ".repeat(seqs.size() - 1) + "?) ORDER BY seq";
+
+        return executeWithConnection(conn -> {
+            List<ChangeEvent> events = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                for (long seq : seqs) stmt.setLong(index++, seq);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) events.add(toChangeEvent(rs));
+                }
+            }
+            return events;
+        });
+    }
+
+    private <R> R executeWithConnection(DatabaseOperation<R> operation) {
+        try (Connection conn = databaseManager.getConnection()) {
+            return operation.execute(conn);
+        } catch (SQLException e) {
+            throw new RepositoryException("Database operation failed", e);
+        }
+    }
+
+    private static ChangeEvent toChangeEvent(ResultSet rs) throws SQLException {
+        Long deckId = rs.getLong("deck_id");
+        if (rs.wasNull()) deckId = null;
+
+        return new ChangeEvent(
+                rs.getLong("seq"),
+                EntityType.valueOf(rs.getString("entity_type")),
+                rs.getLong("entity_id"),
+                deckId,
+                Operation.valueOf(rs.getString("operation")),
+                TimeConverter.mapTimestamp(rs, "changed_at"));
+    }
+
+    @FunctionalInterface
+    private interface DatabaseOperation<R> {
+        R execute(Connection conn) throws SQLException;
+    }
+}
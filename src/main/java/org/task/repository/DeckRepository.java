@@ -1,7 +1,13 @@
 package org.task.repository;
 
+import org.h2.api.ErrorCode;
 import org.task.config.DatabaseManager;
+import org.task.exception.EntityAlreadyExists;
+import org.task.exception.OptimisticLockException;
 import org.task.mapper.DeckMapper;
+import org.task.models.dto.DeckHeader;
+import org.task.models.dto.ChangeEvent.EntityType;
+import org.task.models.dto.ChangeEvent.Operation;
 import org.task.models.entity.Deck;
 import org.task.repository.configuration.AbstractRepository;
 
@@ -10,11 +16,16 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class DeckRepository extends AbstractRepository<Deck, Long> {
     private static final Logger logger = Logger.getLogger(DeckRepository.class.getName());
+
+    // Lookups that IndexAdvisor explains against the live schema
+    public static final String FIND_ALL_SQL = "SELECT * FROM decks ORDER BY created_at DESC";
+    public static final String FIND_BY_NAME_SQL = "SELECT * FROM decks WHERE name = ?";
     private final CardRepository cardRepository;
 
     public DeckRepository(DatabaseManager databaseManager, CardRepository cardRepository) {
@@ -22,58 +33,96 @@ public class DeckRepository extends AbstractRepository<Deck, Long> {
         this.cardRepository = cardRepository;
     }
 
+    /**
+     * @throws EntityAlreadyExists if the name is taken, including by a deck inserted concurrently
+     */
     @Override
     public Deck save(Deck entity) {
+        return executeInTransaction(conn -> insert(conn, entity));
+    }
+
+    /**
+     * Compare-and-set update: succeeds only while the row still has the entity's version, then bumps it.
+     * An entity without a version is written unconditionally.
+     *
+     * @throws OptimisticLockException if another writer updated the deck since it was read
+     * @throws EntityAlreadyExists     if the new name belongs to another deck
+     */
+    @Override
+    public Deck update(Deck entity) {
         final String sql = """
-                    INSERT INTO decks (name, description, created_at, updated_at) 
-                    VALUES (?, ?, ?, ?)
+                    SELECT version FROM FINAL TABLE (
+                        UPDATE decks
+                        SET name = ?, description = ?, updated_at = ?, version = version + 1
+                        WHERE id = ? AND version = COALESCE(?, version)
+                    )
                 """;
 
-        return executeWithConnection(conn -> {
-            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        return executeInTransaction(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                final LocalDateTime updatedAt = LocalDateTime.now();
 
                 stmt.setString(1, entity.getName());
                 stmt.setString(2, entity.getDescription());
-                stmt.setTimestamp(3, Timestamp.valueOf(entity.getCreatedAt()));
-                stmt.setTimestamp(4, Timestamp.valueOf(entity.getUpdatedAt()));
-
-                if (stmt.executeUpdate() == 0)
-                    throw new SQLException("Creating deck failed, no rows affected");
+                stmt.setTimestamp(3, Timestamp.valueOf(updatedAt));
+                stmt.setLong(4, entity.getId());
+                stmt.setObject(5, entity.getVersion(), Types.BIGINT);
 
-                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        entity.setId(generatedKeys.getLong(1));
-                        logger.log(Level.INFO, "Deck saved with ID: {0}", entity.getId());
-                        return entity;
-                    } else throw new SQLException("Creating deck failed, no ID obtained");
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        if (entity.getVersion() != null && existsById(conn, entity.getId()))
+                            throw new OptimisticLockException("Deck " + entity.getId()
+                                    + " was changed concurrently, expected version " + entity.getVersion());
+                        throw new SQLException("Updating deck failed, deck not found with ID: " + entity.getId());
+                    }
+                    entity.setVersion(rs.getLong(1));
+                } catch (SQLException e) {
+                    throw duplicateNameOr(e, entity.getName());
                 }
+                entity.setUpdatedAt(updatedAt);
+
+                ChangeLogRepository.record(conn, EntityType.DECK, entity.getId(), entity.getId(), Operation.UPDATE);
+
+                logger.log(Level.INFO, "Deck updated with ID: {0}", entity.getId());
+                return entity;
             }
         });
     }
 
-    @Override
-    public Deck update(Deck entity) {
+    /**
+     * Updates the description of the deck with the entity's name, or inserts the deck if there is none,
+     * without reading first and without locks. The returned deck carries no cards.
+     *
+     * @throws OptimisticLockException if a concurrent writer inserted the same name between the update
+     *                                 and the insert; the caller should retry
+     */
+    public Deck upsertByName(Deck entity) {
         final String sql = """
-                    UPDATE decks 
-                    SET name = ?, description = ?, updated_at = ? 
-                    WHERE id = ?
+                    SELECT * FROM FINAL TABLE (
+                        UPDATE decks SET description = COALESCE(?, description), updated_at = ?, version = version + 1
+                        WHERE name = ?
+                    )
                 """;
 
-        return executeWithConnection(conn -> {
+        return executeInTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                entity.setUpdatedAt(LocalDateTime.now());
-
-                stmt.setString(1, entity.getName());
-                stmt.setString(2, entity.getDescription());
-                stmt.setTimestamp(3, Timestamp.valueOf(entity.getUpdatedAt()));
-                stmt.setLong(4, entity.getId());
-
-                if (stmt.executeUpdate() == 0)
-                    throw new SQLException("Updating deck failed, deck not found with ID: " + entity.getId());
+                stmt.setString(1, entity.getDescription());
+                stmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                stmt.setString(3, entity.getName());
 
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        final Deck deck = DeckMapper.INSTANCE.toDeck(rs);
+                        ChangeLogRepository.record(conn, EntityType.DECK, deck.getId(), deck.getId(), Operation.UPDATE);
+                        return deck;
+                    }
+                }
+            }
 
-                logger.log(Level.INFO, "Deck updated with ID: {0}", entity.getId());
-                return entity;
+            try {
+                return insert(conn, entity);
+            } catch (EntityAlreadyExists e) {
+                throw new OptimisticLockException("Deck " + entity.getName() + " was inserted concurrently");
             }
         });
     }
@@ -100,15 +149,14 @@ public class DeckRepository extends AbstractRepository<Deck, Long> {
 
     @Override
     public List<Deck> findAll() {
-        final String sql = "SELECT * FROM decks ORDER BY created_at DESC";
-
         return executeWithConnection(conn -> {
             List<Deck> decks = new ArrayList<>();
-            try (PreparedStatement stmt = conn.prepareStatement(sql);
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_ALL_SQL);
                  ResultSet rs = stmt.executeQuery()) {
 
+                final var reader = DeckMapper.INSTANCE.deckReader(rs);
                 while (rs.next()) {
-                    Deck deck = DeckMapper.INSTANCE.toDeck(rs);
+                    Deck deck = reader.read(rs);
                     deck.setCards(cardRepository.findByDeckId(deck.getId()));
                     decks.add(deck);
                 }
@@ -117,17 +165,49 @@ public class DeckRepository extends AbstractRepository<Deck, Long> {
         });
     }
 
+    /**
+     * Deck list without the cards: one query, with each deck's card count computed by the database.
+     */
+    public List<DeckHeader> findAllHeaders() {
+        final String sql = """
+                    SELECT d.id, d.name, d.description, d.created_at, d.updated_at,
+                           (SELECT COUNT(*) FROM cards c WHERE c.deck_id = d.id) AS card_count
+                    FROM decks d
+                    ORDER BY d.created_at DESC
+                """;
+
+        return executeWithConnection(conn -> {
+            List<DeckHeader> headers = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+
+                final var reader = DeckMapper.INSTANCE.deckHeaderReader(rs);
+                while (rs.next()) headers.add(reader.read(rs));
+            }
+            return headers;
+        });
+    }
+
+    public CompletableFuture<List<DeckHeader>> findAllHeadersAsync() {
+        return supplyAsync(this::findAllHeaders);
+    }
+
     @Override
     public boolean deleteById(Long id) {
         final String sql = "DELETE FROM decks WHERE id = ?";
 
-        return executeWithConnection(conn -> {
+        return executeInTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                // ON DELETE CASCADE removes the cards silently, so log them before the deck goes away
+                final int cascaded = ChangeLogRepository.recordCardsOfDeck(conn, id, Operation.DELETE);
                 stmt.setLong(1, id);
 
                 final boolean deleted = stmt.executeUpdate() > 0;
 
-                if (deleted) logger.log(Level.INFO, "Deck deleted with ID: {0}", id);
+                if (deleted) {
+                    ChangeLogRepository.record(conn, EntityType.DECK, id, id, Operation.DELETE);
+                    logger.log(Level.INFO, "Deck deleted with ID: {0} ({1} cards)", new Object[]{id, cascaded});
+                }
 
                 return deleted;
             }
@@ -168,11 +248,62 @@ public class DeckRepository extends AbstractRepository<Deck, Long> {
         });
     }
 
-    public Optional<Deck> findByName(String name) {
-        final String sql = "SELECT * FROM decks WHERE name = ?";
+    private Deck insert(Connection conn, Deck entity) throws SQLException {
+        final String sql = """
+                    INSERT INTO decks (name, description, created_at, updated_at)
+                    VALUES (?, ?, ?, ?)
+                """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setString(1, entity.getName());
+            stmt.setString(2, entity.getDescription());
+            stmt.setTimestamp(3, Timestamp.valueOf(entity.getCreatedAt()));
+            stmt.setTimestamp(4, Timestamp.valueOf(entity.getUpdatedAt()));
+
+            try {
+                if (stmt.executeUpdate() == 0)
+                    throw new SQLException("Creating deck failed, no rows affected");
+            } catch (SQLException e) {
+                throw duplicateNameOr(e, entity.getName());
+            }
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    entity.setId(generatedKeys.getLong(1));
+                    entity.setVersion(0L);
+                    ChangeLogRepository.record(conn, EntityType.DECK, entity.getId(), entity.getId(),
+                            Operation.INSERT);
+                    logger.log(Level.INFO, "Deck saved with ID: {0}", entity.getId());
+                    return entity;
+                } else throw new SQLException("Creating deck failed, no ID obtained");
+            }
+        }
+    }
+
+    private static boolean existsById(Connection conn, Long id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM decks WHERE id = ?")) {
+            stmt.setLong(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
 
+    /**
+     * The unique constraint on name is what actually guards against two decks with one name; a
+     * violation surfaces the same way as the service's up-front check.
+     */
+    private static SQLException duplicateNameOr(SQLException e, String name) {
+        if (e.getErrorCode() == ErrorCode.DUPLICATE_KEY_1)
+            throw new EntityAlreadyExists("Deck with name " + name + " already exists");
+        return e;
+    }
+
+    public Optional<Deck> findByName(String name) {
         return executeWithConnection(conn -> {
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_NAME_SQL)) {
                 stmt.setString(1, name);
 
                 try (ResultSet rs = stmt.executeQuery()) {
@@ -0,0 +1,226 @@
+package org.task.repository;
+
+import org.task.config.DatabaseManager;
+import org.task.models.dto.ImportJob;
+import org.task.models.dto.ImportJob.Status;
+import org.task.repository.configuration.AbstractRepository;
+import org.task.utils.TimeConverter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Import jobs and their checkpoints. Card writers call {@link #checkpoint} with their own connection so
+ * the checkpoint commits together with the cards it covers.
+ */
+public class ImportJobRepository extends AbstractRepository<ImportJob, Long> {
+    private static final Logger logger = Logger.getLogger(ImportJobRepository.class.getName());
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    // Lookups that IndexAdvisor explains against the live schema
+    public static final String FIND_RESUMABLE_SQL = """
+                SELECT * FROM import_jobs
+                WHERE source_path = ? AND status <> 'DONE' AND source_size = ? AND source_modified = ?
+                ORDER BY id DESC
+                LIMIT 1
+            """;
+
+    public ImportJobRepository(DatabaseManager databaseManager) {
+        super(databaseManager);
+    }
+
+    public static void checkpoint(Connection conn, Long jobId, long recordsDone, int cardsImported)
+            throws SQLException {
+        final String sql = """
+                    UPDATE import_jobs
+                    SET records_done = ?, cards_imported = cards_imported + ?, updated_at = CURRENT_TIMESTAMP
+                    WHERE id = ? AND status = 'RUNNING'
+                """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, recordsDone);
+            stmt.setInt(2, cardsImported);
+            stmt.setLong(3, jobId);
+            if (stmt.executeUpdate() == 0) throw new SQLException("Import job " + jobId + " is not running");
+        }
+    }
+
+    /**
+     * The newest unfinished job for this exact file (same path, size and modification time).
+     */
+    public Optional<ImportJob> findResumable(String sourcePath, long sourceSize, long sourceModified) {
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(FIND_RESUMABLE_SQL)) {
+                stmt.setString(1, sourcePath);
+                stmt.setLong(2, sourceSize);
+                stmt.setLong(3, sourceModified);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) return Optional.of(toImportJob(rs));
+                }
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Sets the job's status; a job taken back to {@code RUNNING} clears its error.
+     */
+    public boolean updateStatus(Long id, Status status, String error) {
+        final String sql = "UPDATE import_jobs SET status = ?, error = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, status.name());
+                if (error != null) stmt.setString(2, error.length() > MAX_ERROR_LENGTH
+                        ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                else stmt.setNull(2, Types.VARCHAR);
+                stmt.setLong(3, id);
+                return stmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public ImportJob save(ImportJob job) {
+        final String sql = """
+                    INSERT INTO import_jobs (source_path, source_size, source_modified, deck_id, records_total,
+                                             records_done, cards_imported, status)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """;
+
+        final long id = executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setString(1, job.sourcePath());
+                stmt.setLong(2, job.sourceSize());
+                stmt.setLong(3, job.sourceModified());
+                stmt.setLong(4, job.deckId());
+                stmt.setLong(5, job.recordsTotal());
+                stmt.setLong(6, job.recordsDone());
+                stmt.setLong(7, job.cardsImported());
+                stmt.setString(8, job.status().name());
+                stmt.executeUpdate();
+
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) return generatedKeys.getLong(1);
+                    throw new SQLException("Creating import job failed, no ID obtained");
+                }
+            }
+        });
+
+        logger.log(Level.INFO, "Started import job {0} for {1}", new Object[]{id, job.sourcePath()});
+        return findById(id).orElseThrow();
+    }
+
+    @Override
+    public ImportJob update(ImportJob job) {
+        final String sql = """
+                    UPDATE import_jobs
+                    SET records_done = ?, cards_imported = ?, status = ?, error = ?, updated_at = CURRENT_TIMESTAMP
+                    WHERE id = ?
+                """;
+
+        executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, job.recordsDone());
+                stmt.setLong(2, job.cardsImported());
+                stmt.setString(3, job.status().name());
+                stmt.setString(4, job.error());
+                stmt.setLong(5, job.id());
+                stmt.executeUpdate();
+            }
+        });
+        return findById(job.id()).orElseThrow();
+    }
+
+    @Override
+    public Optional<ImportJob> findById(Long id) {
+        final String sql = "SELECT * FROM import_jobs WHERE id = ?";
+
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, id);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) return Optional.of(toImportJob(rs));
+                }
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public List<ImportJob> findAll() {
+        final String sql = "SELECT * FROM import_jobs ORDER BY id DESC";
+
+        return executeWithConnection(conn -> {
+            final List<ImportJob> jobs = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) jobs.add(toImportJob(rs));
+            }
+            return jobs;
+        });
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        final String sql = "DELETE FROM import_jobs WHERE id = ?";
+
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, id);
+                return stmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    @Override
+    public boolean delete(ImportJob job) {
+        return deleteById(job.id());
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public long count() {
+        final String sql = "SELECT COUNT(*) FROM import_jobs";
+
+        return executeWithConnection(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+
+                if (rs.next()) return rs.getLong(1);
+                return 0L;
+            }
+        });
+    }
+
+    private static ImportJob toImportJob(ResultSet rs) throws SQLException {
+        return new ImportJob(
+                rs.getLong("id"),
+                rs.getString("source_path"),
+                rs.getLong("source_size"),
+                rs.getLong("source_modified"),
+                rs.getLong("deck_id"),
+                rs.getLong("records_total"),
+                rs.getLong("records_done"),
+                rs.getLong("cards_imported"),
+                Status.valueOf(rs.getString("status")),
+                rs.getString("error"),
+                TimeConverter.mapTimestamp(rs, "created_at"),
+                TimeConverter.mapTimestamp(rs, "updated_at"));
+    }
+}
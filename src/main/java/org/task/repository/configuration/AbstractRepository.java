@@ -5,6 +5,10 @@ import org.task.exception.RepositoryException;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public abstract class AbstractRepository<T, I> implements BaseRepository<T, I> {
     protected final DatabaseManager databaseManager;
@@ -13,6 +17,28 @@ public abstract class AbstractRepository<T, I> implements BaseRepository<T, I> {
         this.databaseManager = databaseManager;
     }
 
+    @Override
+    public CompletableFuture<Optional<T>> findByIdAsync(I id) {
+        return supplyAsync(() -> findById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<T>> findAllAsync() {
+        return supplyAsync(this::findAll);
+    }
+
+    @Override
+    public CompletableFuture<Long> countAsync() {
+        return supplyAsync(this::count);
+    }
+
+    /**
+     * Runs a blocking repository call on the database executor.
+     */
+    protected <R> CompletableFuture<R> supplyAsync(Supplier<R> call) {
+        return databaseManager.getExecutor().supplyAsync(call);
+    }
+
     protected <R> R executeWithConnection(DatabaseOperation<R> operation) {
         try (Connection conn = databaseManager.getConnection()) {
             return operation.execute(conn);
@@ -29,6 +55,22 @@ public abstract class AbstractRepository<T, I> implements BaseRepository<T, I> {
         }
     }
 
+    protected <R> R executeInTransaction(DatabaseOperation<R> operation) {
+        try (Connection conn = databaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                final R result = operation.execute(conn);
+                databaseManager.commit(conn);
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                databaseManager.rollback(conn);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RepositoryException("Database transaction failed", e);
+        }
+    }
+
     @FunctionalInterface
     protected interface DatabaseOperation<R> {
         R execute(Connection conn) throws SQLException;
@@ -2,6 +2,7 @@ package org.task.repository.configuration;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface BaseRepository<T, I> {
     T save(T entity);
@@ -19,4 +20,10 @@ public interface BaseRepository<T, I> {
     boolean existsById(I id);
 
     long count();
+
+    CompletableFuture<Optional<T>> findByIdAsync(I id);
+
+    CompletableFuture<List<T>> findAllAsync();
+
+    CompletableFuture<Long> countAsync();
 }
@@ -1,26 +1,117 @@
 package org.task.service;
 
+import org.task.exception.OptimisticLockException;
 import org.task.models.dto.CardRequest;
+import org.task.models.dto.CardView;
+import org.task.models.dto.DeckDelta;
+import org.task.models.dto.DeltaApplyResult;
 import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public interface CardService {
     String CARD_NOT_FOUND = "Card Not Found";
 
     Card create(CardRequest request);
 
+    /**
+     * Creates all cards in one transaction.
+     */
+    List<Card> createAll(List<CardRequest> requests);
+
     List<Card> getCards();
 
     Card getCardById(Long cardId);
 
-    Card update(Long cardId, CardRequest request);
+    CompletableFuture<Card> getCardByIdAsync(Long cardId);
+
+    /**
+     * Edits a card only while it is still at {@code expectedVersion}, the version the caller read it at.
+     *
+     * @throws OptimisticLockException if the card changed since the caller read it
+     */
+    Card update(Long cardId, CardRequest request, Long expectedVersion);
 
     boolean delete(Long cardId);
 
+    /**
+     * Bulk edit in one transaction. Last writer wins: versions are bumped but not compared.
+     */
+    int updateAll(Map<Long, CardRequest> updates);
+
+    int deleteAll(Collection<Long> cardIds);
+
+    int moveCards(Collection<Long> cardIds, Long targetDeckId);
+
+    /**
+     * Set-based text replacement over a deck. Last writer wins, like {@link #updateAll(Map)}.
+     */
+    int replaceText(Long deckId, String target, String replacement);
+
     List<Card> getCardsByDeckId(Long id);
 
+    CompletableFuture<List<Card>> getCardsByDeckIdAsync(Long deckId);
+
+    /**
+     * The deck's cards in display order, fetched page by page as the stream is consumed.
+     */
+    Stream<Card> streamCardsByDeckId(Long deckId);
+
+    List<CardView> getCardViewsByDeckId(Long deckId);
+
+    /**
+     * Up to {@code limit} cards of the deck following {@code after} in display order, from the start when null.
+     */
+    List<Card> getCardPage(Long deckId, Card after, int limit);
+
+    List<Card> getCardPageBefore(Long deckId, Card before, int limit);
+
+    List<Card> getCardPageAt(Long deckId, long offset, int limit);
+
+    /**
+     * Up to {@code limit} cards of the deck whose question or answer contains {@code text}, ignoring case,
+     * following {@code after} in display order, from the start when null. Matched in the database, a page
+     * at a time.
+     */
+    List<Card> searchCardPage(Long deckId, String text, Card after, int limit);
+
+    List<Card> searchCardPageBefore(Long deckId, String text, Card before, int limit);
+
+    List<Card> searchCardPageAt(Long deckId, String text, long offset, int limit);
+
+    long countCardsMatching(Long deckId, String text);
+
+    long getCardCountByDeckId(Long deckId);
+
+    List<Long> getCardIdsByDeckId(Long deckId);
+
+    List<CardView> getCardViewsByIds(Collection<Long> cardIds);
+
+    /**
+     * The given cards in no particular order; ids of cards that no longer exist are skipped.
+     */
+    List<Card> getCardsByIds(Collection<Long> cardIds);
+
     long getTotalCardCount();
 
+    CompletableFuture<Long> getTotalCardCountAsync();
+
     List<Card> searchCards(String searchText, Long id);
+
+    /**
+     * Changes of a deck after the watermark {@code since} of a previous delta, or the whole deck when
+     * {@code since} is null.
+     */
+    DeckDelta getDeckDelta(Deck deck, Long since);
+
+    /**
+     * Applies a delta export to a deck, matching cards by uid, all or nothing. Last writer wins: the delta
+     * overwrites local edits of the cards it carries.
+     */
+    DeltaApplyResult applyDelta(Long deckId, DeckDelta delta);
 }
@@ -0,0 +1,38 @@
+package org.task.service;
+
+import org.task.models.dto.ChangeEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ChangeLogService {
+    int DEFAULT_BATCH_SIZE = 500;
+
+    List<ChangeEvent> getChangesAfter(long seq, int limit);
+
+    long getLatestSequence();
+
+    /**
+     * The latest sequence with no entry at or below it left to commit: where a tailer can start without
+     * missing the changes of transactions still open.
+     */
+    long getCommittedSequence();
+
+    int purgeUpTo(long seq);
+
+    /**
+     * Starts a background consumer that delivers every committed change after {@code fromSeq} in sequence
+     * order, never passing an entry an open transaction may still commit. Changes arrive in batches of up to
+     * {@link #DEFAULT_BATCH_SIZE}, one per read of the log, so a consumer can handle a batch at once.
+     * Closing the returned tailer stops polling; {@link ChangeLogTailer#getLastSeq()} is the resume point.
+     */
+    ChangeLogTailer tail(long fromSeq, Duration pollInterval, Consumer<List<ChangeEvent>> consumer);
+
+    interface ChangeLogTailer extends AutoCloseable {
+        long getLastSeq();
+
+        @Override
+        void close();
+    }
+}
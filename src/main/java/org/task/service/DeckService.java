@@ -1,19 +1,39 @@
 package org.task.service;
 
+import org.task.models.dto.DeckHeader;
 import org.task.models.dto.DeckRequest;
 import org.task.models.entity.Deck;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface DeckService {
     String DECK_NOT_FOUND = "Deck not found";
 
     Deck createDeck(DeckRequest request);
 
+    /**
+     * Creates the deck, or updates the description of the deck that already has this name. Safe against
+     * concurrent callers using the same name.
+     */
+    Deck upsertDeck(DeckRequest request);
+
     List<Deck> getAllDecks();
 
+    List<DeckHeader> getDeckHeaders();
+
+    CompletableFuture<List<DeckHeader>> getDeckHeadersAsync();
+
     Deck getDeckById(Long id);
 
+    CompletableFuture<Deck> getDeckByIdAsync(Long id);
+
+    /**
+     * Loads the decks concurrently; completes with them in {@code ids} order, or exceptionally as soon as
+     * one of them is missing or fails.
+     */
+    CompletableFuture<List<Deck>> getDecksByIdsAsync(List<Long> ids);
+
     Deck getDeckByName(String name);
 
     boolean deleteDeck(Long id);
@@ -21,4 +41,6 @@ public interface DeckService {
     Deck updateDeck(Deck deck);
 
     long getDeckCount();
+
+    CompletableFuture<Long> getDeckCountAsync();
 }
@@ -0,0 +1,18 @@
+package org.task.service;
+
+import org.task.models.dto.DuplicateCluster;
+import org.task.models.entity.Card;
+
+import java.util.List;
+
+public interface DuplicateService {
+    double DEFAULT_SIMILARITY = 0.8;
+
+    /**
+     * Returns the incoming cards that are neither already in the deck nor repeated earlier in the batch,
+     * comparing normalized question and answer text. Content hashes only select the cards to compare.
+     */
+    List<Card> withoutDuplicates(Long deckId, List<Card> incoming);
+
+    List<DuplicateCluster> findNearDuplicates(List<Card> cards, double minSimilarity);
+}
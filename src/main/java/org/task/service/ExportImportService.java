@@ -1,5 +1,7 @@
 package org.task.service;
 
+import org.task.models.dto.DeckDelta;
+import org.task.models.entity.Card;
 import org.task.models.entity.Deck;
 
 import java.io.IOException;
@@ -11,6 +13,7 @@ public interface ExportImportService {
     String CREATED_AT = "Created_At";
     String UPDATED_AT = "Updated_At";
     String[] CSV_HEADERS = {"Question", "Answer", CREATED_AT, UPDATED_AT};
+    String NDJSON_FORMAT = "flashcards-ndjson";
     DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     void exportDeckToJson(Deck deck, Path filePath) throws IOException;
@@ -20,4 +23,19 @@ public interface ExportImportService {
     void exportDeckToCsv(Deck deck, Path filePath) throws IOException;
 
     Deck importDeckFromCsv(Path filePath, String deckName, String deckDescription) throws IOException;
+
+    /**
+     * Writes a header line with the deck's fields, then one line per card as {@code cards} yields them, so
+     * the deck never has to be in memory at once. The deck's own card list is ignored.
+     */
+    void exportDeckToNdjson(Deck deck, Iterable<Card> cards, Path filePath) throws IOException;
+
+    /**
+     * Reads an NDJSON deck, parsing newline-aligned ranges of the card lines in parallel.
+     */
+    Deck importDeckFromNdjson(Path filePath) throws IOException;
+
+    void exportDeckDeltaToJson(DeckDelta delta, Path filePath) throws IOException;
+
+    DeckDelta importDeckDeltaFromJson(Path filePath) throws IOException;
 }
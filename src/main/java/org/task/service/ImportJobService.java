@@ -0,0 +1,29 @@
+package org.task.service;
+
+import org.task.models.dto.ImportJob;
+import org.task.models.entity.Card;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+public interface ImportJobService {
+    int CHECKPOINT_INTERVAL = 500;
+
+    /**
+     * The failed or interrupted import of this file, if the file has not changed since.
+     */
+    Optional<ImportJob> findResumable(Path source) throws IOException;
+
+    ImportJob start(Path source, Long deckId, int recordsTotal) throws IOException;
+
+    /**
+     * Imports the file's parsed records into the job's deck from its checkpoint on, committing the cards
+     * and the checkpoint together every {@value #CHECKPOINT_INTERVAL} records. Duplicates are skipped as
+     * in a plain import. The job ends {@code DONE}, or {@code FAILED} before the error is rethrown.
+     */
+    ImportJob run(ImportJob job, List<Card> records);
+
+    List<ImportJob> getJobs();
+}
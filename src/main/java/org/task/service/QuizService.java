@@ -1,10 +1,16 @@
 package org.task.service;
 
 import org.task.models.entity.Deck;
+import org.task.service.quiz.QuizOrder;
+import org.task.storage.ColumnarDeck;
 
 public interface QuizService {
     void startQuiz(Deck deck);
 
+    void startQuiz(String deckName, ColumnarDeck cards);
+
+    void startQuiz(String deckName, QuizOrder order);
+
     static boolean isCorrectAnswer(String userAnswer, String correctAnswer) {
         return userAnswer.equalsIgnoreCase(correctAnswer.trim());
     }
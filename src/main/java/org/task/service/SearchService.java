@@ -0,0 +1,36 @@
+package org.task.service;
+
+import org.task.models.dto.SearchHit;
+import org.task.models.entity.Card;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public interface SearchService extends AutoCloseable {
+    int DEFAULT_LIMIT = 50;
+
+    /**
+     * Loads every card into the index once and keeps it current by tailing the change log.
+     */
+    void warmUp();
+
+    void index(Collection<Card> cards);
+
+    void upsert(Card card);
+
+    void remove(Long cardId);
+
+    int size();
+
+    /**
+     * Case-insensitive substring search over the whole index, or a single deck when {@code deckId} is set.
+     * Hits in the question rank above hits in the answer only; at most {@code limit} hits are returned.
+     */
+    List<SearchHit> search(String term, Long deckId, int limit);
+
+    List<SearchHit> searchRegex(Pattern pattern, Long deckId, int limit);
+
+    @Override
+    void close();
+}
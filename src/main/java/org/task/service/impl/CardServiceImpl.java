@@ -2,13 +2,24 @@ package org.task.service.impl;
 
 import org.task.exception.NotFoundException;
 import org.task.models.dto.CardRequest;
+import org.task.models.dto.CardView;
+import org.task.models.dto.DeckDelta;
+import org.task.models.dto.DeltaApplyResult;
 import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
 import org.task.repository.CardRepository;
 import org.task.service.CardService;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 public class CardServiceImpl implements CardService {
+    private static final int STREAM_PAGE_SIZE = 1_000;
+
     private final CardRepository cardRepository;
 
     public CardServiceImpl(CardRepository cardRepository) {
@@ -21,6 +32,16 @@ public class CardServiceImpl implements CardService {
         return cardRepository.save(new Card(request.question(), request.answer(), request.deckId()));
     }
 
+    @Override
+    public List<Card> createAll(List<CardRequest> requests) {
+        final List<Card> cards = requests.stream()
+                .map(request -> new Card(request.question(), request.answer(), request.deckId()))
+                .toList();
+
+        cardRepository.saveAll(cards);
+        return cards;
+    }
+
     @Override
     public List<Card> getCards() {
         return cardRepository.findAll();
@@ -33,14 +54,26 @@ public class CardServiceImpl implements CardService {
     }
 
     @Override
-    public Card update(Long cardId, CardRequest request) {
-        Card existingCard = cardRepository.findById(cardId)
-                .orElseThrow(() -> new NotFoundException(CARD_NOT_FOUND));
+    public CompletableFuture<Card> getCardByIdAsync(Long cardId) {
+        return cardRepository.findByIdAsync(cardId)
+                .thenApply(card -> card.orElseThrow(() -> new NotFoundException(CARD_NOT_FOUND)));
+    }
 
-        existingCard.setQuestion(request.question());
-        existingCard.setAnswer(request.answer());
+    @Override
+    public Card update(Long cardId, CardRequest request, Long expectedVersion) {
+        Objects.requireNonNull(expectedVersion, "Expected version is required");
 
-        return cardRepository.update(existingCard);
+        // the versioned update is the only check: an edit made since the caller read the card fails
+        // instead of being overwritten, and the rest of the card comes back from the updated row
+        final Card card = Card.builder()
+                .id(cardId)
+                .question(request.question())
+                .answer(request.answer())
+                .version(expectedVersion)
+                .build();
+
+        return cardRepository.updateIfExists(card)
+                .orElseThrow(() -> new NotFoundException(CARD_NOT_FOUND));
     }
 
     @Override
@@ -48,18 +81,140 @@ public class CardServiceImpl implements CardService {
         return cardRepository.deleteById(cardId);
     }
 
+    @Override
+    public int updateAll(Map<Long, CardRequest> updates) {
+        if (updates.isEmpty()) return 0;
+
+        final List<Card> cards = updates.entrySet().stream()
+                .map(update -> Card.builder()
+                        .id(update.getKey())
+                        .question(update.getValue().question())
+                        .answer(update.getValue().answer())
+                        .deckId(update.getValue().deckId())
+                        .build())
+                .toList();
+        return cardRepository.updateAll(cards);
+    }
+
+    @Override
+    public int deleteAll(Collection<Long> cardIds) {
+        return cardRepository.deleteByIds(cardIds);
+    }
+
+    @Override
+    public int moveCards(Collection<Long> cardIds, Long targetDeckId) {
+        return cardRepository.moveToDeck(cardIds, targetDeckId);
+    }
+
+    @Override
+    public int replaceText(Long deckId, String target, String replacement) {
+        if (target == null || target.isEmpty()) throw new IllegalArgumentException("Text to replace cannot be empty");
+
+        return cardRepository.replaceTextInDeck(deckId, target, Objects.requireNonNullElse(replacement, ""));
+    }
+
     @Override
     public List<Card> getCardsByDeckId(Long id) {
         return cardRepository.findByDeckId(id);
     }
 
+    @Override
+    public CompletableFuture<List<Card>> getCardsByDeckIdAsync(Long deckId) {
+        return cardRepository.findByDeckIdAsync(deckId);
+    }
+
+    @Override
+    public Stream<Card> streamCardsByDeckId(Long deckId) {
+        return Stream.iterate(cardRepository.findPageByDeckId(deckId, null, STREAM_PAGE_SIZE),
+                        page -> !page.isEmpty(),
+                        page -> page.size() < STREAM_PAGE_SIZE
+                                ? List.of()
+                                : cardRepository.findPageByDeckId(deckId, page.getLast(), STREAM_PAGE_SIZE))
+                .flatMap(List::stream);
+    }
+
+    @Override
+    public List<CardView> getCardViewsByDeckId(Long deckId) {
+        return cardRepository.findViewsByDeckId(deckId);
+    }
+
+    @Override
+    public List<Card> getCardPage(Long deckId, Card after, int limit) {
+        return cardRepository.findPageByDeckId(deckId, after, limit);
+    }
+
+    @Override
+    public List<Card> getCardPageBefore(Long deckId, Card before, int limit) {
+        return cardRepository.findPageByDeckIdBefore(deckId, before, limit);
+    }
+
+    @Override
+    public List<Card> getCardPageAt(Long deckId, long offset, int limit) {
+        return cardRepository.findPageByDeckIdAt(deckId, offset, limit);
+    }
+
+    @Override
+    public List<Card> searchCardPage(Long deckId, String text, Card after, int limit) {
+        return cardRepository.findMatchingPageByDeckId(deckId, text, after, limit);
+    }
+
+    @Override
+    public List<Card> searchCardPageBefore(Long deckId, String text, Card before, int limit) {
+        return cardRepository.findMatchingPageByDeckIdBefore(deckId, text, before, limit);
+    }
+
+    @Override
+    public List<Card> searchCardPageAt(Long deckId, String text, long offset, int limit) {
+        return cardRepository.findMatchingPageByDeckIdAt(deckId, text, offset, limit);
+    }
+
+    @Override
+    public long countCardsMatching(Long deckId, String text) {
+        return cardRepository.countMatchingByDeckId(deckId, text);
+    }
+
+    @Override
+    public long getCardCountByDeckId(Long deckId) {
+        return cardRepository.countByDeckId(deckId);
+    }
+
+    @Override
+    public List<Long> getCardIdsByDeckId(Long deckId) {
+        return cardRepository.findIdsByDeckId(deckId);
+    }
+
+    @Override
+    public List<CardView> getCardViewsByIds(Collection<Long> cardIds) {
+        return cardRepository.findViewsByIds(cardIds);
+    }
+
+    @Override
+    public List<Card> getCardsByIds(Collection<Long> cardIds) {
+        return cardRepository.findByIds(cardIds);
+    }
+
     @Override
     public long getTotalCardCount() {
         return cardRepository.count();
     }
 
+    @Override
+    public CompletableFuture<Long> getTotalCardCountAsync() {
+        return cardRepository.countAsync();
+    }
+
     @Override
     public List<Card> searchCards(String searchText, Long id) {
         return cardRepository.findByTextContaining(searchText);
     }
+
+    @Override
+    public DeckDelta getDeckDelta(Deck deck, Long since) {
+        return cardRepository.findDelta(deck, since);
+    }
+
+    @Override
+    public DeltaApplyResult applyDelta(Long deckId, DeckDelta delta) {
+        return cardRepository.applyDelta(deckId, delta);
+    }
 }
@@ -0,0 +1,143 @@
+package org.task.service.impl;
+
+import org.task.models.dto.ChangeEvent;
+import org.task.repository.ChangeLogRepository;
+import org.task.service.ChangeLogService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ChangeLogServiceImpl implements ChangeLogService {
+    private static final Logger logger = Logger.getLogger(ChangeLogServiceImpl.class.getName());
+    private static final int MAX_WATCHED_GAPS = 1_000;
+
+    private final ChangeLogRepository changeLogRepository;
+
+    public ChangeLogServiceImpl(ChangeLogRepository changeLogRepository) {
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    @Override
+    public List<ChangeEvent> getChangesAfter(long seq, int limit) {
+        return changeLogRepository.findAfter(seq, limit);
+    }
+
+    @Override
+    public long getLatestSequence() {
+        return changeLogRepository.findLatestSeq();
+    }
+
+    @Override
+    public long getCommittedSequence() {
+        return changeLogRepository.findCommittedSeq();
+    }
+
+    @Override
+    public int purgeUpTo(long seq) {
+        return changeLogRepository.purgeUpTo(seq);
+    }
+
+    @Override
+    public ChangeLogTailer tail(long fromSeq, Duration pollInterval, Consumer<List<ChangeEvent>> consumer) {
+        return new PollingTailer(fromSeq, pollInterval, consumer);
+    }
+
+    private final class PollingTailer implements ChangeLogTailer {
+        private final Consumer<List<ChangeEvent>> consumer;
+        private final ScheduledExecutorService scheduler;
+        // only touched by the scheduler thread
+        private final NavigableSet<Long> gaps = new TreeSet<>();
+        private volatile long lastSeq;
+
+        private PollingTailer(long fromSeq, Duration pollInterval, Consumer<List<ChangeEvent>> consumer) {
+            this.lastSeq = fromSeq;
+            this.consumer = consumer;
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "change-log-tailer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Delivers entries up to the committed seq only: above it the tailer waits, however long the
+         * transaction holding the next seq runs. A hole below it is a rollback or a purged entry, or an
+         * entry of another process sharing the database, which the committed seq does not wait for.
+         */
+        private void poll() {
+            try {
+                recheckGaps();
+
+                final long committed = getCommittedSequence();
+                while (lastSeq < committed && !scheduler.isShutdown()) {
+                    final List<ChangeEvent> batch = getChangesAfter(lastSeq, DEFAULT_BATCH_SIZE);
+                    final List<ChangeEvent> deliverable = new ArrayList<>(batch.size());
+                    long deliveredSeq = lastSeq;
+                    for (ChangeEvent event : batch) {
+                        if (event.seq() > committed) break;
+
+                        watchGaps(deliveredSeq + 1, event.seq());
+                        deliverable.add(event);
+                        deliveredSeq = event.seq();
+                    }
+                    if (!deliverable.isEmpty()) consumer.accept(deliverable);
+                    lastSeq = deliveredSeq;
+                    if (batch.size() < DEFAULT_BATCH_SIZE || batch.getLast().seq() > committed) {
+                        watchGaps(lastSeq + 1, committed + 1);
+                        lastSeq = committed;
+                    }
+                }
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Change log tailer failed after seq " + lastSeq + ", will retry", e);
+            }
+        }
+
+        /**
+         * Remembers the holes in {@code [from, to)} to look them up again on later polls, keeping the
+         * newest {@link #MAX_WATCHED_GAPS}: a rolled back entry never shows up and ages out.
+         */
+        private void watchGaps(long from, long to) {
+            for (long seq = Math.max(from, to - MAX_WATCHED_GAPS); seq < to; seq++) gaps.add(seq);
+            while (gaps.size() > MAX_WATCHED_GAPS) gaps.pollFirst();
+        }
+
+        /**
+         * Delivers entries that filled a hole since it was passed over, out of sequence order.
+         */
+        private void recheckGaps() {
+            if (gaps.isEmpty()) return;
+
+            final List<ChangeEvent> filled = changeLogRepository.findBySeqs(gaps);
+            if (filled.isEmpty()) return;
+
+            consumer.accept(filled);
+            filled.forEach(event -> gaps.remove(event.seq()));
+        }
+
+        @Override
+        public long getLastSeq() {
+            return lastSeq;
+        }
+
+        @Override
+        public void close() {
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) scheduler.shutdownNow();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                scheduler.shutdownNow();
+            }
+        }
+    }
+}
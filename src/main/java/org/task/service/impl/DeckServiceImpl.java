@@ -2,14 +2,16 @@ package org.task.service.impl;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import org.task.exception.EntityAlreadyExists;
 import org.task.exception.NotFoundException;
+import org.task.models.dto.DeckHeader;
 import org.task.models.dto.DeckRequest;
 import org.task.models.entity.Deck;
 import org.task.repository.DeckRepository;
 import org.task.service.DeckService;
+import org.task.utils.OptimisticRetry;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class DeckServiceImpl implements DeckService {
     private final DeckRepository deckRepository;
@@ -20,24 +22,56 @@ public class DeckServiceImpl implements DeckService {
 
     @Override
     public Deck createDeck(DeckRequest request) {
-        deckRepository.findByName(request.name()).ifPresent(deck -> {
-            throw new EntityAlreadyExists("Deck with name " + request.name() + " already exists");
-        });
-
+        // the unique name constraint is the check; save reports a taken name as EntityAlreadyExists
         return deckRepository.save(new Deck(request.name(), request.description()));
     }
 
+    @Override
+    public Deck upsertDeck(DeckRequest request) {
+        return OptimisticRetry.run(() -> deckRepository.upsertByName(new Deck(request.name(), request.description())));
+    }
+
     @Override
     public List<Deck> getAllDecks() {
         return deckRepository.findAll();
     }
 
+    @Override
+    public List<DeckHeader> getDeckHeaders() {
+        return deckRepository.findAllHeaders();
+    }
+
+    @Override
+    public CompletableFuture<List<DeckHeader>> getDeckHeadersAsync() {
+        return deckRepository.findAllHeadersAsync();
+    }
+
     @Override
     public Deck getDeckById(@NotNull Long id) {
         return deckRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(DECK_NOT_FOUND));
     }
 
+    @Override
+    public CompletableFuture<Deck> getDeckByIdAsync(@NotNull Long id) {
+        return deckRepository.findByIdAsync(id)
+                .thenApply(deck -> deck.orElseThrow(() -> new NotFoundException(DECK_NOT_FOUND)));
+    }
+
+    @Override
+    public CompletableFuture<List<Deck>> getDecksByIdsAsync(List<Long> ids) {
+        final List<CompletableFuture<Deck>> decks = ids.stream().map(this::getDeckByIdAsync).toList();
+        final CompletableFuture<List<Deck>> all = CompletableFuture.allOf(decks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> decks.stream().map(CompletableFuture::join).toList());
+
+        // allOf waits for every deck; fail fast on the first error instead
+        decks.forEach(deck -> deck.exceptionally(error -> {
+            all.completeExceptionally(error);
+            return null;
+        }));
+        return all;
+    }
+
     @Override
     public Deck getDeckByName(@NotBlank String name) {
         return deckRepository.findByName(name)
@@ -58,4 +92,9 @@ public class DeckServiceImpl implements DeckService {
     public long getDeckCount() {
         return deckRepository.count();
     }
+
+    @Override
+    public CompletableFuture<Long> getDeckCountAsync() {
+        return deckRepository.countAsync();
+    }
 }
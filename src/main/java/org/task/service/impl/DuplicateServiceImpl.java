@@ -0,0 +1,163 @@
+package org.task.service.impl;
+
+import org.task.models.dto.CardView;
+import org.task.models.dto.DuplicateCluster;
+import org.task.models.entity.Card;
+import org.task.repository.CardRepository;
+import org.task.service.DuplicateService;
+import org.task.utils.CardFingerprint;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Exact duplicates are found by content hash and confirmed by comparing the normalized text. Near-duplicates
+ * use MinHash signatures with locality sensitive hashing: signatures are split into bands, cards sharing any
+ * band hash become candidates and only candidates are compared, so a large corpus is never compared pairwise.
+ */
+public class DuplicateServiceImpl implements DuplicateService {
+    private static final Logger logger = Logger.getLogger(DuplicateServiceImpl.class.getName());
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = 4;
+    private static final int SIGNATURE_LENGTH = BANDS * ROWS_PER_BAND;
+    /**
+     * Bucket size above which members are compared with the bucket's first card only, keeping a bucket
+     * linear rather than quadratic. Such buckets come from many cards sharing a band, e.g. templated
+     * questions; pairs among the other members are then found only through another band they share or
+     * through the first card, so clusters there can be incomplete.
+     */
+    private static final int MAX_PAIRWISE_BUCKET = 64;
+
+    private final CardRepository cardRepository;
+
+    public DuplicateServiceImpl(CardRepository cardRepository) {
+        this.cardRepository = cardRepository;
+    }
+
+    @Override
+    public List<Card> withoutDuplicates(Long deckId, List<Card> incoming) {
+        final List<String> texts = new ArrayList<>(incoming.size());
+        final List<Long> hashes = new ArrayList<>(incoming.size());
+        for (Card card : incoming) {
+            final String text = CardFingerprint.canonicalText(card.getQuestion(), card.getAnswer());
+            texts.add(text);
+            hashes.add(CardFingerprint.ofCanonical(text));
+        }
+
+        // canonical texts seen per hash: a hash match is a duplicate only when the text matches as well
+        final Map<Long, List<String>> seen = new HashMap<>();
+        if (deckId != null) {
+            for (CardView card : cardRepository.findViewsByContentHashes(deckId, new HashSet<>(hashes))) {
+                final String text = CardFingerprint.canonicalText(card.question(), card.answer());
+                seen.computeIfAbsent(CardFingerprint.ofCanonical(text), hash -> new ArrayList<>(1)).add(text);
+            }
+        }
+
+        final List<Card> unique = new ArrayList<>(incoming.size());
+        for (int i = 0; i < incoming.size(); i++) {
+            final List<String> known = seen.computeIfAbsent(hashes.get(i), hash -> new ArrayList<>(1));
+            if (!known.contains(texts.get(i))) {
+                known.add(texts.get(i));
+                unique.add(incoming.get(i));
+            }
+        }
+
+        if (unique.size() < incoming.size())
+            logger.log(Level.INFO, "Skipped {0} duplicate cards", incoming.size() - unique.size());
+
+        return unique;
+    }
+
+    @Override
+    public List<DuplicateCluster> findNearDuplicates(List<Card> cards, double minSimilarity) {
+        final int size = cards.size();
+        final long[][] signatures = new long[size][];
+        IntStream.range(0, size).parallel().forEach(i -> signatures[i] = CardFingerprint.minHash(
+                cards.get(i).getQuestion(), cards.get(i).getAnswer(), SIGNATURE_LENGTH));
+
+        final Map<Long, List<Integer>> buckets = new ConcurrentHashMap<>();
+        IntStream.range(0, size).parallel().forEach(i -> {
+            for (int band = 0; band < BANDS; band++) {
+                buckets.compute(bandKey(signatures[i], band), (key, members) -> {
+                    final List<Integer> bucket = members != null ? members : new ArrayList<>();
+                    bucket.add(i);
+                    return bucket;
+                });
+            }
+        });
+
+        final ConcurrentLinkedQueue<SimilarPair> pairs = new ConcurrentLinkedQueue<>();
+        buckets.values().parallelStream()
+                .filter(members -> members.size() > 1)
+                .forEach(members -> collectPairs(members, signatures, minSimilarity, pairs));
+
+        return cluster(cards, pairs);
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++)
+            key = key * 31 + signature[row];
+        return key;
+    }
+
+    private static void collectPairs(List<Integer> members, long[][] signatures, double minSimilarity,
+                                     ConcurrentLinkedQueue<SimilarPair> pairs) {
+        final int[] indexes = members.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+        final int anchors = indexes.length > MAX_PAIRWISE_BUCKET ? 1 : indexes.length;
+
+        for (int a = 0; a < anchors; a++) {
+            for (int b = a + 1; b < indexes.length; b++) {
+                final double similarity = CardFingerprint.estimatedSimilarity(
+                        signatures[indexes[a]], signatures[indexes[b]]);
+                if (similarity >= minSimilarity) pairs.add(new SimilarPair(indexes[a], indexes[b], similarity));
+            }
+        }
+    }
+
+    private static List<DuplicateCluster> cluster(List<Card> cards, Iterable<SimilarPair> pairs) {
+        final int[] parent = IntStream.range(0, cards.size()).toArray();
+        final Map<Integer, Double> minSimilarity = new HashMap<>();
+
+        for (SimilarPair pair : pairs) {
+            final int first = find(parent, pair.first());
+            final int second = find(parent, pair.second());
+            final double similarity = Math.min(pair.similarity(), Math.min(
+                    minSimilarity.getOrDefault(first, 1.0), minSimilarity.getOrDefault(second, 1.0)));
+
+            if (first != second) parent[second] = first;
+            minSimilarity.put(first, similarity);
+        }
+
+        final Map<Integer, List<Card>> members = new HashMap<>();
+        for (int i = 0; i < cards.size(); i++) {
+            members.computeIfAbsent(find(parent, i), root -> new ArrayList<>()).add(cards.get(i));
+        }
+
+        return members.entrySet().stream()
+                .filter(entry -> entry.getValue().size() > 1)
+                .map(entry -> new DuplicateCluster(entry.getValue(), minSimilarity.get(entry.getKey())))
+                .sorted(Comparator.comparingInt((DuplicateCluster c) -> c.cards().size()).reversed())
+                .toList();
+    }
+
+    private static int find(int[] parent, int index) {
+        while (parent[index] != index) {
+            parent[index] = parent[parent[index]];
+            index = parent[index];
+        }
+        return index;
+    }
+
+    private record SimilarPair(int first, int second, double similarity) {
+    }
+}
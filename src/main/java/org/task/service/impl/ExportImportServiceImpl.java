@@ -1,32 +1,40 @@
 package org.task.service.impl;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
 import org.task.exception.FileParserException;
+import org.task.models.dto.DeckDelta;
 import org.task.models.entity.Card;
 import org.task.models.entity.Deck;
 import org.task.service.ExportImportService;
+import org.task.utils.CsvCardWriter;
 import org.task.utils.FileParser;
+import org.task.utils.NdjsonCards;
+import org.task.utils.StringInterner;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ExportImportServiceImpl implements ExportImportService {
 
+    private static final int NDJSON_BUFFER_BYTES = 1 << 16;
+
     private final ObjectMapper objectMapper;
     private static final Logger logger = Logger.getLogger(ExportImportServiceImpl.class.getName());
 
@@ -43,92 +51,51 @@ public class ExportImportServiceImpl implements ExportImportService {
     public void exportDeckToJson(Deck deck, Path filePath) throws IOException {
         Files.createDirectories(filePath.getParent());
 
-        try {
-            CompletableFuture<Void> writeOperation = CompletableFuture.runAsync(() -> {
-                try {
-                    String jsonContent = objectMapper.writeValueAsString(deck);
-
-                    Files.write(filePath, jsonContent.getBytes(),
-                            StandardOpenOption.CREATE,
-                            StandardOpenOption.WRITE,
-                            StandardOpenOption.TRUNCATE_EXISTING,
-                            StandardOpenOption.SYNC);
-
-                } catch (IOException e) {
-                    throw new FileParserException("Failed to write JSON file: " + e.getMessage());
-                }
-            });
-
-            writeOperation.get();
-
-            if (!Files.exists(filePath) || Files.size(filePath) == 0)
-                throw new IOException("File was not created successfully: " + filePath);
-        } catch (ExecutionException e) {
-            logger.log(Level.SEVERE, "Failed to export deck to JSON: " + e.getMessage(), e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.log(Level.SEVERE, "Export was interrupted " + e.getMessage(), e);
-        }
+        Files.write(filePath, objectMapper.writeValueAsBytes(deck),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.SYNC);
+
+        if (!Files.exists(filePath) || Files.size(filePath) == 0)
+            throw new IOException("File was not created successfully: " + filePath);
     }
 
     @Override
     public Deck importDeckFromJson(Path filePath) throws IOException {
         if (!Files.exists(filePath)) throw new IOException("File not found: " + filePath);
 
-        return objectMapper.readValue(filePath.toFile(), Deck.class);
+        final Deck deck = objectMapper.readValue(filePath.toFile(), Deck.class);
+        internCardText(deck.getCards());
+        return deck;
     }
 
     @Override
     public void exportDeckToCsv(Deck deck, Path filePath) throws IOException {
         Files.createDirectories(filePath.getParent());
 
-        try {
-            CompletableFuture<Void> writeOperation = CompletableFuture.runAsync(() ->
-                    writeCsvFile(deck, filePath)
-            );
-
-            writeOperation.get();
-            FileParser.validateFileCreation(filePath, "CSV");
-
-        } catch (ExecutionException e) {
-            logger.log(Level.SEVERE, "Failed to export deck to CSV: " + e.getMessage(), e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.log(Level.SEVERE, "Export was interrupted" + e.getMessage(), e);
-        }
+        writeCsvFile(deck, filePath);
+        FileParser.validateFileCreation(filePath, "CSV");
     }
 
-    private void writeCsvFile(Deck deck, Path filePath) {
-        try (CSVPrinter csvPrinter = createCsvPrinter(filePath)) {
-            FileParser.writeCsvHeader(deck, csvPrinter);
-            FileParser.writeCsvCards(deck, csvPrinter);
-            csvPrinter.flush();
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to write CSV file: " + e.getMessage(), e);
-        }
-    }
+    private void writeCsvFile(Deck deck, Path filePath) throws IOException {
+        try (CsvCardWriter writer = new CsvCardWriter(filePath)) {
+            writer.writeHeader();
+            if (deck.getCards() == null) return;
 
-    private CSVPrinter createCsvPrinter(Path filePath) throws IOException {
-        return new CSVPrinter(
-                Files.newBufferedWriter(filePath, StandardOpenOption.CREATE,
-                        StandardOpenOption.WRITE,
-                        StandardOpenOption.TRUNCATE_EXISTING),
-                CSVFormat.DEFAULT.builder()
-                        .build());
+            for (Card card : deck.getCards()) {
+                if (card != null) writer.writeCard(card);
+            }
+        }
     }
 
     @Override
     public Deck importDeckFromCsv(Path filePath, String deckName, String deckDescription) throws IOException {
         if (!Files.exists(filePath)) throw new IOException("File not found: " + filePath);
 
-        List<Card> cards = new LinkedList<>();
+        final List<Card> cards = FileParser.readCards(filePath);
 
-        try (var csvParser = FileParser.createCSVParser(filePath)) {
-            csvParser.forEach(csv -> {
-                final var card = FileParser.parseCardFromRecord(csv);
-                if (card != null) cards.add(card);
-            });
-        }
+        logger.log(Level.FINE, "Card text pool after CSV import: {0}", StringInterner.shared());
 
         return Deck.builder()
                 .name(deckName)
@@ -138,4 +105,94 @@ public class ExportImportServiceImpl implements ExportImportService {
                 .updatedAt(LocalDateTime.now())
                 .build();
     }
+
+    @Override
+    public void exportDeckToNdjson(Deck deck, Iterable<Card> cards, Path filePath) throws IOException {
+        Files.createDirectories(filePath.getParent());
+
+        long written = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(filePath,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), NDJSON_BUFFER_BYTES);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("format", NDJSON_FORMAT);
+            generator.writeStringField("name", deck.getName());
+            if (deck.getDescription() != null) generator.writeStringField("description", deck.getDescription());
+            if (deck.getCreatedAt() != null) generator.writeStringField("createdAt", deck.getCreatedAt().toString());
+            if (deck.getUpdatedAt() != null) generator.writeStringField("updatedAt", deck.getUpdatedAt().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+
+            for (Card card : cards) {
+                NdjsonCards.write(generator, card);
+                written++;
+            }
+        }
+
+        FileParser.validateFileCreation(filePath, "NDJSON");
+        logger.log(Level.FINE, "Exported {0} cards of deck {1} as NDJSON", new Object[]{written, deck.getName()});
+    }
+
+    @Override
+    public Deck importDeckFromNdjson(Path filePath) throws IOException {
+        if (!Files.exists(filePath)) throw new IOException("File not found: " + filePath);
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long cardsStart = NdjsonCards.nextLineStart(channel, 0, size);
+
+            final ByteBuffer headerLine = ByteBuffer.allocate((int) cardsStart);
+            while (headerLine.hasRemaining()) {
+                if (channel.read(headerLine, headerLine.position()) < 0) break;
+            }
+            final JsonNode header = objectMapper.readTree(headerLine.array(), 0, headerLine.position());
+            if (header == null || !NDJSON_FORMAT.equals(header.path("format").asText()))
+                throw new FileParserException("Not an NDJSON deck file: " + filePath);
+
+            final List<Card> cards = NdjsonCards.parse(objectMapper.getFactory(), channel, cardsStart, size,
+                    ForkJoinPool.commonPool());
+
+            return Deck.builder()
+                    .name(header.path("name").asText())
+                    .description(header.path("description").asText(null))
+                    .cards(cards)
+                    .createdAt(header.hasNonNull("createdAt")
+                            ? LocalDateTime.parse(header.get("createdAt").asText()) : LocalDateTime.now())
+                    .updatedAt(header.hasNonNull("updatedAt")
+                            ? LocalDateTime.parse(header.get("updatedAt").asText()) : LocalDateTime.now())
+                    .build();
+        }
+    }
+
+    @Override
+    public void exportDeckDeltaToJson(DeckDelta delta, Path filePath) throws IOException {
+        Files.createDirectories(filePath.getParent());
+
+        objectMapper.writeValue(filePath.toFile(), delta);
+        FileParser.validateFileCreation(filePath, "JSON");
+
+        logger.log(Level.INFO, "Exported delta of deck {0}: {1} changed, {2} deleted, watermark {3}",
+                new Object[]{delta.deckName(), delta.cards().size(), delta.tombstones().size(), delta.watermark()});
+    }
+
+    @Override
+    public DeckDelta importDeckDeltaFromJson(Path filePath) throws IOException {
+        if (!Files.exists(filePath)) throw new IOException("File not found: " + filePath);
+
+        final DeckDelta delta = objectMapper.readValue(filePath.toFile(), DeckDelta.class);
+        internCardText(delta.cards());
+        return delta;
+    }
+
+    private static void internCardText(List<Card> cards) {
+        final var interner = StringInterner.shared();
+        cards.forEach(card -> {
+            card.setQuestion(interner.intern(card.getQuestion()));
+            card.setAnswer(interner.intern(card.getAnswer()));
+        });
+
+        logger.log(Level.FINE, "Card text pool after JSON import: {0}", interner);
+    }
 }
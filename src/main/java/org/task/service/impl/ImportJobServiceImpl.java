@@ -0,0 +1,107 @@
+package org.task.service.impl;
+
+import org.task.models.dto.ImportJob;
+import org.task.models.dto.ImportJob.Status;
+import org.task.models.entity.Card;
+import org.task.repository.CardRepository;
+import org.task.repository.ImportJobRepository;
+import org.task.service.DuplicateService;
+import org.task.service.ImportJobService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ImportJobServiceImpl implements ImportJobService {
+    private static final Logger logger = Logger.getLogger(ImportJobServiceImpl.class.getName());
+
+    private final ImportJobRepository importJobRepository;
+    private final CardRepository cardRepository;
+    private final DuplicateService duplicateService;
+
+    public ImportJobServiceImpl(ImportJobRepository importJobRepository, CardRepository cardRepository,
+                                DuplicateService duplicateService) {
+        this.importJobRepository = importJobRepository;
+        this.cardRepository = cardRepository;
+        this.duplicateService = duplicateService;
+    }
+
+    @Override
+    public Optional<ImportJob> findResumable(Path source) throws IOException {
+        if (!Files.exists(source)) return Optional.empty();
+
+        return importJobRepository.findResumable(sourcePathOf(source), Files.size(source),
+                Files.getLastModifiedTime(source).toMillis());
+    }
+
+    @Override
+    public ImportJob start(Path source, Long deckId, int recordsTotal) throws IOException {
+        return importJobRepository.save(new ImportJob(null, sourcePathOf(source), Files.size(source),
+                Files.getLastModifiedTime(source).toMillis(), deckId, recordsTotal, 0, 0, Status.RUNNING,
+                null, null, null));
+    }
+
+    @Override
+    public ImportJob run(ImportJob job, List<Card> records) {
+        if (records.size() != job.recordsTotal()) {
+            throw new IllegalStateException(String.format("Import job %d expects %d records, the file has %d",
+                    job.id(), job.recordsTotal(), records.size()));
+        }
+        if (job.status() != Status.RUNNING) importJobRepository.updateStatus(job.id(), Status.RUNNING, null);
+        if (job.recordsDone() > 0) {
+            logger.log(Level.INFO, "Resuming import job {0} at record {1} of {2}",
+                    new Object[]{job.id(), job.recordsDone(), job.recordsTotal()});
+        }
+
+        try {
+            // records are sliced by index below, which must not walk a linked list from the start each time
+            final List<Card> indexed = records instanceof RandomAccess ? records : new ArrayList<>(records);
+            final List<Card> remaining = indexed.subList((int) job.recordsDone(), indexed.size());
+
+            // the deck already holds the committed records, so deduplicating the rest against it matches a
+            // single uninterrupted import
+            final Set<Card> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+            unique.addAll(duplicateService.withoutDuplicates(job.deckId(), remaining));
+
+            long done = job.recordsDone();
+            for (int from = 0; from < remaining.size(); from += CHECKPOINT_INTERVAL) {
+                final List<Card> chunk = remaining.subList(from, Math.min(from + CHECKPOINT_INTERVAL, remaining.size()));
+                final List<Card> batch = new ArrayList<>(chunk.size());
+                for (Card card : chunk) {
+                    if (unique.contains(card)) batch.add(new Card(card.getQuestion(), card.getAnswer(), job.deckId()));
+                }
+
+                done += chunk.size();
+                cardRepository.saveImportBatch(batch, job.id(), done);
+            }
+        } catch (RuntimeException e) {
+            importJobRepository.updateStatus(job.id(), Status.FAILED,
+                    e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            throw e;
+        }
+
+        importJobRepository.updateStatus(job.id(), Status.DONE, null);
+        final ImportJob finished = importJobRepository.findById(job.id()).orElseThrow();
+        logger.log(Level.INFO, "Import job {0} done: {1} cards from {2} records",
+                new Object[]{finished.id(), finished.cardsImported(), finished.recordsTotal()});
+        return finished;
+    }
+
+    @Override
+    public List<ImportJob> getJobs() {
+        return importJobRepository.findAll();
+    }
+
+    private static String sourcePathOf(Path source) {
+        return source.toAbsolutePath().normalize().toString();
+    }
+}
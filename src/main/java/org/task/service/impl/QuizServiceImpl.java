@@ -1,11 +1,14 @@
 package org.task.service.impl;
 
-import org.task.models.entity.Card;
+import org.task.models.dto.CardView;
 import org.task.models.entity.Deck;
 import org.task.service.QuizService;
+import org.task.service.quiz.ColumnarQuizOrder;
+import org.task.service.quiz.QuizOrder;
+import org.task.storage.ColumnarDeck;
 
-import java.util.Collections;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.task.service.QuizService.isCorrectAnswer;
 
@@ -18,25 +21,34 @@ public class QuizServiceImpl implements QuizService {
 
     @Override
     public void startQuiz(Deck deck) {
-        if (deck.getCards().isEmpty()) {
+        startQuiz(deck.getName(), ColumnarDeck.of(deck.getId(), deck.getCards()));
+    }
+
+    @Override
+    public void startQuiz(String deckName, ColumnarDeck cards) {
+        startQuiz(deckName, new ColumnarQuizOrder(cards, ThreadLocalRandom.current().nextLong()));
+    }
+
+    @Override
+    public void startQuiz(String deckName, QuizOrder order) {
+        if (order.size() == 0) {
             System.out.println("The deck doesn't have enough cards for winning!");
             return;
         }
 
-        final var cards = deck.getCards();
-        Collections.shuffle(cards);
-
         int correct = 0;
-        final int total = cards.size();
+        int asked = 0;
+        final int total = order.size();
 
-        System.out.println("\n=== Start of quiz: " + deck.getName() + " ===");
+        System.out.println("\n=== Start of quiz: " + deckName + " ===");
         System.out.println("Number of cards: " + total);
         System.out.println("Enter 'quit' to exit the quiz\n");
 
-        for (int i = 0; i < cards.size(); i++) {
-            final Card card = cards.get(i);
+        while (order.hasNext()) {
+            final CardView card = order.next();
+            final String answer = card.answer();
 
-            System.out.printf("Question %d/%d: %s\n", i + 1, total, card.getQuestion());
+            System.out.printf("Question %d/%d: %s\n", ++asked, total, card.question());
             System.out.print("Your answer: ");
 
             final String userAnswer = scanner.nextLine().trim();
@@ -46,16 +58,20 @@ public class QuizServiceImpl implements QuizService {
                 return;
             }
 
-            if (isCorrectAnswer(userAnswer, card.getAnswer())) {
+            final boolean right = isCorrectAnswer(userAnswer, answer);
+            order.recordAnswer(card, right);
+
+            if (right) {
                 System.out.println("✓ Right!\n");
                 correct++;
             } else {
                 System.out.println("✗ Wrong!");
-                System.out.println("The correct answer is: " + card.getAnswer() + "\n");
+                System.out.println("The correct answer is: " + answer + "\n");
             }
         }
 
-        showQuizResults(correct, total);
+        // cards deleted mid-quiz are skipped, so score against what was actually asked
+        showQuizResults(correct, asked);
     }
 
     private void showQuizResults(int correct, int total) {
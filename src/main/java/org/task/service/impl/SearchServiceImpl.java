@@ -0,0 +1,360 @@
+package org.task.service.impl;
+
+import org.task.models.dto.ChangeEvent;
+import org.task.models.dto.SearchHit;
+import org.task.models.entity.Card;
+import org.task.service.CardService;
+import org.task.service.ChangeLogService;
+import org.task.service.SearchService;
+import org.task.storage.HeapTextStore;
+import org.task.storage.TextStore;
+import org.task.utils.TextNormalizer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over pre-normalized card text. A query is split across a {@link ForkJoinPool}
+ * over a snapshot sorted by id, which is also the ranking's tie-break, so the result is exactly the top
+ * {@code limit} hits: a leaf stops after {@code limit} question hits of its own, and once any leaf has them,
+ * every leaf stops at the id of its last one, since nothing past it can rank higher. All indexed text lives
+ * in a {@link TextStore}, which may be off-heap.
+ */
+public class SearchServiceImpl implements SearchService {
+    private static final Logger logger = Logger.getLogger(SearchServiceImpl.class.getName());
+    private static final int LEAF_SIZE = 4096;
+    private static final Duration SYNC_INTERVAL = Duration.ofSeconds(1);
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingInt(SearchHit::score).reversed()
+            .thenComparing(hit -> hit.card().getId());
+
+    private final CardService cardService;
+    private final ChangeLogService changeLogService;
+    private final ForkJoinPool pool;
+    private final TextStore textStore;
+    private final Map<Long, IndexedCard> entries = new ConcurrentHashMap<>();
+    // ids upserted or removed since the snapshot was last brought up to date; written under the write lock
+    private final NavigableSet<Long> changed = new TreeSet<>();
+    // searches read text through handles, so handles may only be freed while no search is running
+    private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    private volatile IndexedCard[] snapshot = new IndexedCard[0];
+    private volatile boolean dirty;
+    private ChangeLogService.ChangeLogTailer tailer;
+
+    public SearchServiceImpl(CardService cardService, ChangeLogService changeLogService) {
+        this(cardService, changeLogService, new HeapTextStore());
+    }
+
+    public SearchServiceImpl(CardService cardService, ChangeLogService changeLogService, TextStore textStore) {
+        this.cardService = cardService;
+        this.changeLogService = changeLogService;
+        this.textStore = textStore;
+        this.pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public synchronized void warmUp() {
+        if (tailer != null) return;
+
+        final long fromSeq = changeLogService.getCommittedSequence();
+        index(cardService.getCards());
+        tailer = changeLogService.tail(fromSeq, SYNC_INTERVAL, this::apply);
+
+        logger.log(Level.INFO, "Search index warmed up with {0} cards ({1} bytes of text)",
+                new Object[]{entries.size(), textStore.liveBytes()});
+    }
+
+    @Override
+    public void index(Collection<Card> cards) {
+        indexLock.writeLock().lock();
+        try {
+            entries.values().forEach(this::release);
+            entries.clear();
+            cards.forEach(this::upsert);
+
+            snapshot = entries.values().stream()
+                    .sorted(Comparator.comparingLong(IndexedCard::id))
+                    .toArray(IndexedCard[]::new);
+            changed.clear();
+            dirty = false;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(Card card) {
+        if (card == null || card.getId() == null) return;
+
+        indexLock.writeLock().lock();
+        try {
+            final IndexedCard previous = entries.put(card.getId(), IndexedCard.of(card, textStore));
+            if (previous != null) release(previous);
+            changed.add(card.getId());
+            dirty = true;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long cardId) {
+        indexLock.writeLock().lock();
+        try {
+            final IndexedCard removed = entries.remove(cardId);
+            if (removed != null) {
+                release(removed);
+                changed.add(cardId);
+                dirty = true;
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public List<SearchHit> search(String term, Long deckId, int limit) {
+        final String normalizedTerm = TextNormalizer.normalize(term);
+        if (normalizedTerm.isEmpty()) return List.of();
+
+        return execute(text -> TextNormalizer.contains(text, normalizedTerm), deckId, limit);
+    }
+
+    @Override
+    public List<SearchHit> searchRegex(Pattern pattern, Long deckId, int limit) {
+        final Pattern foldedPattern = Pattern.compile(pattern.pattern(),
+                pattern.flags() | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+        return execute(text -> foldedPattern.matcher(text).find(), deckId, limit);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (tailer != null) tailer.close();
+        pool.shutdown();
+    }
+
+    private List<SearchHit> execute(Predicate<CharSequence> matcher, Long deckId, int limit) {
+        if (limit <= 0) return List.of();
+
+        indexLock.readLock().lock();
+        try {
+            final IndexedCard[] corpus = currentSnapshot();
+            final List<SearchHit> hits = pool.invoke(new SearchTask(
+                    corpus, 0, corpus.length, textStore, matcher, deckId, limit, new AtomicLong(Long.MAX_VALUE)));
+
+            hits.sort(RANKING);
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    private void release(IndexedCard entry) {
+        textStore.free(entry.question());
+        textStore.free(entry.answer());
+        textStore.free(entry.normalizedQuestion());
+        textStore.free(entry.normalizedAnswer());
+    }
+
+    /**
+     * Brings the snapshot up to date with the changes since the last search. Called under the read lock,
+     * so no writer runs meanwhile and every search that could read the old array waits here first.
+     */
+    private IndexedCard[] currentSnapshot() {
+        if (!dirty) return snapshot;
+
+        synchronized (this) {
+            if (dirty) {
+                snapshot = merge(snapshot);
+                changed.clear();
+                dirty = false;
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Edits of cards already in the snapshot overwrite their slots; inserts and removals take one ordered
+     * merge of the changed ids into the snapshot, so the corpus is never sorted again.
+     */
+    private IndexedCard[] merge(IndexedCard[] current) {
+        final int[] slots = new int[changed.size()];
+        int edited = 0;
+        for (Long id : changed) {
+            final int slot = slotOf(current, id);
+            if (slot < 0 || !entries.containsKey(id)) break;
+            slots[edited++] = slot;
+        }
+        if (edited == slots.length) {
+            for (int slot : slots) current[slot] = entries.get(current[slot].id());
+            return current;
+        }
+
+        final IndexedCard[] merged = new IndexedCard[entries.size()];
+        int from = 0;
+        int size = 0;
+        for (Long id : changed) {
+            while (from < current.length && current[from].id() < id) merged[size++] = current[from++];
+            if (from < current.length && current[from].id() == id) from++;
+
+            final IndexedCard entry = entries.get(id);
+            if (entry != null) merged[size++] = entry;
+        }
+        while (from < current.length) merged[size++] = current[from++];
+        return merged;
+    }
+
+    private static int slotOf(IndexedCard[] corpus, long id) {
+        int low = 0;
+        int high = corpus.length - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final long middleId = corpus[middle].id();
+            if (middleId < id) low = middle + 1;
+            else if (middleId > id) high = middle - 1;
+            else return middle;
+        }
+        return -1;
+    }
+
+    /**
+     * Applies one tailer batch by reading the current state of every card it mentions in one lookup: a card
+     * that is gone is removed whatever the events say, which also covers events delivered out of order.
+     */
+    private void apply(List<ChangeEvent> events) {
+        final Set<Long> cardIds = new LinkedHashSet<>();
+        for (ChangeEvent event : events) {
+            if (event.entityType() == ChangeEvent.EntityType.CARD) cardIds.add(event.entityId());
+        }
+        if (cardIds.isEmpty()) return;
+
+        final List<Card> cards = cardService.getCardsByIds(cardIds);
+        indexLock.writeLock().lock();
+        try {
+            final Set<Long> found = new HashSet<>(cards.size());
+            for (Card card : cards) {
+                upsert(card);
+                found.add(card.getId());
+            }
+            for (Long cardId : cardIds) {
+                if (!found.contains(cardId)) remove(cardId);
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Text handles into the {@link TextStore}; the entry itself holds no strings.
+     */
+    private record IndexedCard(long id, Long deckId, int question, int answer,
+                               int normalizedQuestion, int normalizedAnswer) {
+        static IndexedCard of(Card card, TextStore textStore) {
+            return new IndexedCard(card.getId(), card.getDeckId(),
+                    textStore.store(Objects.requireNonNullElse(card.getQuestion(), "")),
+                    textStore.store(Objects.requireNonNullElse(card.getAnswer(), "")),
+                    textStore.store(TextNormalizer.normalize(card.getQuestion())),
+                    textStore.store(TextNormalizer.normalize(card.getAnswer())));
+        }
+
+        Card toCard(TextStore textStore) {
+            return Card.builder()
+                    .id(id)
+                    .deckId(deckId)
+                    .question(textStore.get(question).toString())
+                    .answer(textStore.get(answer).toString())
+                    .createdAt(null)
+                    .updatedAt(null)
+                    .build();
+        }
+    }
+
+    private static final class SearchTask extends RecursiveTask<List<SearchHit>> {
+        private final IndexedCard[] corpus;
+        private final int from;
+        private final int to;
+        private final TextStore textStore;
+        private final Predicate<CharSequence> matcher;
+        private final Long deckId;
+        private final int limit;
+        // id of the last of some leaf's limit question hits: nothing after it can make the top limit
+        private final AtomicLong cutoff;
+
+        private SearchTask(IndexedCard[] corpus, int from, int to, TextStore textStore,
+                           Predicate<CharSequence> matcher, Long deckId, int limit, AtomicLong cutoff) {
+            this.corpus = corpus;
+            this.from = from;
+            this.to = to;
+            this.textStore = textStore;
+            this.matcher = matcher;
+            this.deckId = deckId;
+            this.limit = limit;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected List<SearchHit> compute() {
+            if (from >= to || corpus[from].id() > cutoff.get()) return new ArrayList<>();
+            if (to - from <= LEAF_SIZE) return scan();
+
+            final int middle = (from + to) >>> 1;
+            final SearchTask left = new SearchTask(corpus, from, middle, textStore, matcher, deckId, limit, cutoff);
+            final SearchTask right = new SearchTask(corpus, middle, to, textStore, matcher, deckId, limit, cutoff);
+
+            left.fork();
+            final List<SearchHit> hits = right.compute();
+            hits.addAll(left.join());
+            return hits;
+        }
+
+        private List<SearchHit> scan() {
+            final List<SearchHit> hits = new ArrayList<>();
+            int localQuestionHits = 0;
+            int localAnswerHits = 0;
+
+            for (int i = from; i < to && corpus[i].id() <= cutoff.get(); i++) {
+                final IndexedCard entry = corpus[i];
+                if (deckId != null && !deckId.equals(entry.deckId())) continue;
+
+                if (matcher.test(textStore.get(entry.normalizedQuestion()))) {
+                    hits.add(new SearchHit(entry.toCard(textStore), SearchHit.QUESTION_MATCH));
+                    if (++localQuestionHits == limit) {
+                        cutoff.accumulateAndGet(entry.id(), Math::min);
+                        break;
+                    }
+                } else if (localAnswerHits < limit && cutoff.get() == Long.MAX_VALUE
+                        && matcher.test(textStore.get(entry.normalizedAnswer()))) {
+                    hits.add(new SearchHit(entry.toCard(textStore), SearchHit.ANSWER_MATCH));
+                    localAnswerHits++;
+                }
+            }
+            return hits;
+        }
+    }
+}
@@ -1,10 +1,42 @@
 package org.task.service.manager;
 
 import org.task.service.CardService;
+import org.task.service.ChangeLogService;
 import org.task.service.DeckService;
+import org.task.service.DuplicateService;
+import org.task.service.ImportJobService;
+import org.task.service.SearchService;
+import org.task.service.quiz.AdaptiveSampler;
+import org.task.storage.ColumnarDeckCache;
 
-public sealed interface ServiceManagement permits ServiceManagementImpl {
+public sealed interface ServiceManagement extends AutoCloseable permits ServiceManagementImpl {
     CardService getCardService();
 
     DeckService getDeckService();
+
+    ChangeLogService getChangeLogService();
+
+    SearchService getSearchService();
+
+    DuplicateService getDuplicateService();
+
+    ImportJobService getImportJobService();
+
+    /**
+     * Deck cache invalidated when a transaction of this process commits, and by tailing the change log
+     * for writes made by other processes.
+     */
+    ColumnarDeckCache getDeckCache();
+
+    /**
+     * The learner's sampler for the deck, synced with the deck's current card ids. Weights live for the
+     * lifetime of the application.
+     */
+    AdaptiveSampler getAdaptiveSampler(String learner, Long deckId);
+
+    /**
+     * Stops the background work started by the shared services.
+     */
+    @Override
+    void close();
 }
@@ -1,16 +1,44 @@
 package org.task.service.manager;
 
+import org.task.config.CommitListener;
 import org.task.config.DatabaseManager;
 import org.task.repository.CardRepository;
+import org.task.repository.ChangeLogRepository;
 import org.task.repository.DeckRepository;
+import org.task.repository.ImportJobRepository;
 import org.task.service.CardService;
+import org.task.service.ChangeLogService;
 import org.task.service.DeckService;
+import org.task.service.DuplicateService;
+import org.task.service.ImportJobService;
+import org.task.service.SearchService;
 import org.task.service.impl.CardServiceImpl;
+import org.task.service.impl.ChangeLogServiceImpl;
 import org.task.service.impl.DeckServiceImpl;
+import org.task.service.impl.DuplicateServiceImpl;
+import org.task.service.impl.ImportJobServiceImpl;
+import org.task.service.impl.SearchServiceImpl;
+import org.task.service.quiz.AdaptiveSampler;
+import org.task.storage.ColumnarDeckCache;
+import org.task.storage.HeapTextStore;
+import org.task.storage.OffHeapTextArena;
+import org.task.storage.TextStore;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ServiceManagementImpl implements ServiceManagement {
+    private static final long DECK_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+    private static final Duration DECK_CACHE_SYNC_INTERVAL = Duration.ofSeconds(1);
+
     private final DatabaseManager databaseManager;
     private final CardRepository cardRepository;
+    private SearchService searchService;
+    private ColumnarDeckCache deckCache;
+    private CommitListener deckCacheListener;
+    private ChangeLogService.ChangeLogTailer deckCacheTailer;
+    private final Map<SamplerKey, AdaptiveSampler> samplers = new ConcurrentHashMap<>();
 
     public ServiceManagementImpl(DatabaseManager databaseManager) {
         this.databaseManager = databaseManager;
@@ -26,4 +54,66 @@ public final class ServiceManagementImpl implements ServiceManagement {
     public DeckService getDeckService() {
         return new DeckServiceImpl(new DeckRepository(databaseManager, cardRepository));
     }
+
+    @Override
+    public ChangeLogService getChangeLogService() {
+        return new ChangeLogServiceImpl(new ChangeLogRepository(databaseManager));
+    }
+
+    @Override
+    public synchronized SearchService getSearchService() {
+        if (searchService == null) {
+            final TextStore textStore = "offheap".equalsIgnoreCase(databaseManager.getProperty("search.textStorage", "heap"))
+                    ? new OffHeapTextArena()
+                    : new HeapTextStore();
+            searchService = new SearchServiceImpl(getCardService(), getChangeLogService(), textStore);
+        }
+        return searchService;
+    }
+
+    @Override
+    public DuplicateService getDuplicateService() {
+        return new DuplicateServiceImpl(cardRepository);
+    }
+
+    @Override
+    public ImportJobService getImportJobService() {
+        return new ImportJobServiceImpl(new ImportJobRepository(databaseManager), cardRepository,
+                getDuplicateService());
+    }
+
+    @Override
+    public synchronized ColumnarDeckCache getDeckCache() {
+        if (deckCache == null) {
+            final ChangeLogService changeLogService = getChangeLogService();
+            final long fromSeq = changeLogService.getCommittedSequence();
+
+            deckCache = new ColumnarDeckCache(cardRepository::findByDeckId, DECK_CACHE_MAX_BYTES);
+            deckCacheListener = deckCache::applyAll;
+            databaseManager.addCommitListener(deckCacheListener);
+            // the tailer only matters for writes of other processes sharing the database
+            deckCacheTailer = changeLogService.tail(fromSeq, DECK_CACHE_SYNC_INTERVAL, deckCache::applyAll);
+        }
+        return deckCache;
+    }
+
+    @Override
+    public AdaptiveSampler getAdaptiveSampler(String learner, Long deckId) {
+        final AdaptiveSampler sampler = samplers.computeIfAbsent(new SamplerKey(learner, deckId),
+                key -> new AdaptiveSampler());
+        sampler.sync(cardRepository.findIdsByDeckId(deckId));
+        return sampler;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (deckCacheTailer != null) {
+            deckCacheTailer.close();
+            databaseManager.removeCommitListener(deckCacheListener);
+        }
+        if (searchService != null) searchService.close();
+    }
+
+    private record SamplerKey(String learner, Long deckId) {
+    }
 }
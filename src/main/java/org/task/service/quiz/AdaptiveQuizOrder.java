@@ -0,0 +1,67 @@
+package org.task.service.quiz;
+
+import org.task.models.dto.CardView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Drill of a fixed number of questions drawn with replacement from an {@link AdaptiveSampler}; each
+ * answer reweights the card before the next draw. Only the drawn card is loaded, and a card deleted since
+ * the sampler was synced is dropped from it and redrawn.
+ */
+public final class AdaptiveQuizOrder implements QuizOrder {
+    private final AdaptiveSampler sampler;
+    private final Function<Collection<Long>, List<CardView>> loader;
+    private final RandomGenerator random;
+    private final int questions;
+    private CardView pending;
+    private int asked;
+
+    public AdaptiveQuizOrder(AdaptiveSampler sampler, Function<Collection<Long>, List<CardView>> loader,
+                             int questions, RandomGenerator random) {
+        if (questions < 0) throw new IllegalArgumentException("questions must not be negative");
+
+        this.sampler = sampler;
+        this.loader = loader;
+        this.questions = questions;
+        this.random = random;
+    }
+
+    @Override
+    public int size() {
+        return questions;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (pending == null && asked < questions) {
+            final OptionalLong cardId = sampler.next(random);
+            if (cardId.isEmpty()) return false;
+
+            final List<CardView> loaded = loader.apply(List.of(cardId.getAsLong()));
+            if (loaded.isEmpty()) sampler.remove(cardId.getAsLong());
+            else pending = loaded.getFirst();
+        }
+        return pending != null;
+    }
+
+    @Override
+    public CardView next() {
+        if (!hasNext()) throw new NoSuchElementException();
+
+        final CardView card = pending;
+        pending = null;
+        asked++;
+        return card;
+    }
+
+    @Override
+    public void recordAnswer(CardView card, boolean correct) {
+        sampler.recordAnswer(card.id(), correct);
+    }
+}
@@ -0,0 +1,124 @@
+package org.task.service.quiz;
+
+import org.task.utils.AliasTable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * One learner's weighting of one deck's cards: a miss doubles a card's weight and a right answer halves
+ * it, within fixed bounds, so missed cards come up more often.
+ * <p>
+ * Draws are O(1) from an {@link AliasTable} built over the weights as they were at the last rebuild.
+ * Answers update the weights in place and each draw is accepted with probability
+ * {@code current / (built * drift)}, where {@code drift} bounds how far any weight has grown since the
+ * rebuild, so draws follow the current weights exactly. The table is rebuilt once drift or the number of
+ * updates makes rejections expensive.
+ */
+public final class AdaptiveSampler {
+    static final double INITIAL_WEIGHT = 1.0;
+    static final double MIN_WEIGHT = 1.0 / 8;
+    static final double MAX_WEIGHT = 16.0;
+    private static final double MISS_FACTOR = 2.0;
+    private static final double HIT_FACTOR = 0.5;
+    private static final double MAX_DRIFT = 4.0;
+    private static final int REBUILD_INTERVAL = 64;
+
+    private long[] cardIds = new long[0];
+    private double[] weights = new double[0];
+    private Map<Long, Integer> slots = Map.of();
+    private double[] built;
+    private AliasTable table;
+    private double drift;
+    private int updates;
+    private int live;
+
+    /**
+     * Aligns the sampler with the deck's current card ids: known cards keep their weight, new cards start
+     * at {@link #INITIAL_WEIGHT} and cards no longer listed are dropped.
+     */
+    public synchronized void sync(List<Long> deckCardIds) {
+        final long[] ids = new long[deckCardIds.size()];
+        final double[] next = new double[ids.length];
+        final Map<Long, Integer> nextSlots = new HashMap<>(ids.length * 4 / 3 + 1);
+
+        int count = 0;
+        for (Long id : deckCardIds) {
+            if (nextSlots.putIfAbsent(id, count) != null) continue;
+
+            final Integer slot = slots.get(id);
+            ids[count] = id;
+            next[count] = slot != null && weights[slot] > 0 ? weights[slot] : INITIAL_WEIGHT;
+            count++;
+        }
+
+        this.cardIds = count == ids.length ? ids : Arrays.copyOf(ids, count);
+        this.weights = count == next.length ? next : Arrays.copyOf(next, count);
+        this.slots = nextSlots;
+        this.live = count;
+        rebuild();
+    }
+
+    /**
+     * A card id drawn in proportion to the current weights, or empty once no card is left.
+     */
+    public synchronized OptionalLong next(RandomGenerator random) {
+        if (live == 0) return OptionalLong.empty();
+        if (updates >= REBUILD_INTERVAL) rebuild();
+
+        while (true) {
+            final int slot = table.sample(random);
+            if (random.nextDouble() * built[slot] * drift < weights[slot]) return OptionalLong.of(cardIds[slot]);
+        }
+    }
+
+    public synchronized void recordAnswer(long cardId, boolean correct) {
+        final Integer slot = slots.get(cardId);
+        if (slot == null || weights[slot] == 0) return;
+
+        final double weight = weights[slot] * (correct ? HIT_FACTOR : MISS_FACTOR);
+        updateWeight(slot, Math.clamp(weight, MIN_WEIGHT, MAX_WEIGHT));
+    }
+
+    /**
+     * Stops drawing a card, e.g. one deleted since the last {@link #sync(List)}.
+     */
+    public synchronized void remove(long cardId) {
+        final Integer slot = slots.get(cardId);
+        if (slot == null || weights[slot] == 0) return;
+
+        live--;
+        updateWeight(slot, 0);
+    }
+
+    public synchronized double weightOf(long cardId) {
+        final Integer slot = slots.get(cardId);
+        return slot == null ? 0 : weights[slot];
+    }
+
+    /**
+     * Number of cards that can still be drawn.
+     */
+    public synchronized int size() {
+        return live;
+    }
+
+    private void updateWeight(int slot, double weight) {
+        weights[slot] = weight;
+        updates++;
+        drift = Math.max(drift, weight / built[slot]);
+
+        if (drift > MAX_DRIFT && live > 0) rebuild();
+    }
+
+    private void rebuild() {
+        built = weights.clone();
+        table = live == 0 ? null : new AliasTable(built);
+        drift = 1.0;
+        updates = 0;
+    }
+}
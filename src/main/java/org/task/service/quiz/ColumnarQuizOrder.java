@@ -0,0 +1,40 @@
+package org.task.service.quiz;
+
+import org.task.models.dto.CardView;
+import org.task.storage.ColumnarDeck;
+import org.task.utils.IndexPermutation;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Shuffled walk over a loaded {@link ColumnarDeck}: each position is mapped through an
+ * {@link IndexPermutation}, so nothing is copied or reordered and the deck stays shareable.
+ */
+public final class ColumnarQuizOrder implements QuizOrder {
+    private final ColumnarDeck.Cursor cursor;
+    private final IndexPermutation permutation;
+    private int position;
+
+    public ColumnarQuizOrder(ColumnarDeck deck, long seed) {
+        this.cursor = deck.cursor();
+        this.permutation = new IndexPermutation(deck.size(), seed);
+    }
+
+    @Override
+    public int size() {
+        return permutation.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < permutation.size();
+    }
+
+    @Override
+    public CardView next() {
+        if (!hasNext()) throw new NoSuchElementException();
+
+        cursor.moveTo(permutation.at(position++));
+        return new CardView(cursor.id(), cursor.question(), cursor.answer());
+    }
+}
@@ -0,0 +1,77 @@
+package org.task.service.quiz;
+
+import org.task.models.dto.CardView;
+import org.task.utils.IndexPermutation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Shuffled quiz over a deck's card ids that loads card text in small batches as the quiz reaches them,
+ * so a quiz over a large deck starts after reading only the ids.
+ * <p>
+ * Cards deleted after the ids were read are skipped; {@link #size()} stays the number of ids.
+ */
+public final class LazyQuizOrder implements QuizOrder {
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    private final long[] cardIds;
+    private final IndexPermutation permutation;
+    private final Function<Collection<Long>, List<CardView>> loader;
+    private final int batchSize;
+    private final Deque<CardView> buffer = new ArrayDeque<>();
+    private int position;
+
+    public LazyQuizOrder(List<Long> cardIds, Function<Collection<Long>, List<CardView>> loader, long seed) {
+        this(cardIds, loader, seed, DEFAULT_BATCH_SIZE);
+    }
+
+    public LazyQuizOrder(List<Long> cardIds, Function<Collection<Long>, List<CardView>> loader, long seed,
+                         int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batchSize must be positive");
+
+        this.cardIds = cardIds.stream().mapToLong(Long::longValue).toArray();
+        this.permutation = new IndexPermutation(this.cardIds.length, seed);
+        this.loader = loader;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int size() {
+        return cardIds.length;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (buffer.isEmpty() && position < cardIds.length) fill();
+        return !buffer.isEmpty();
+    }
+
+    @Override
+    public CardView next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return buffer.poll();
+    }
+
+    private void fill() {
+        final int end = Math.min(position + batchSize, cardIds.length);
+        final List<Long> batch = new ArrayList<>(end - position);
+        for (; position < end; position++) batch.add(cardIds[permutation.at(position)]);
+
+        // the loader returns rows in its own order; put them back into permutation order
+        final Map<Long, CardView> loaded = new HashMap<>();
+        for (CardView card : loader.apply(batch)) loaded.put(card.id(), card);
+
+        for (Long id : batch) {
+            final CardView card = loaded.get(id);
+            if (card != null) buffer.add(card);
+        }
+    }
+}
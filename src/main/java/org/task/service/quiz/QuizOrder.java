@@ -0,0 +1,23 @@
+package org.task.service.quiz;
+
+import org.task.models.dto.CardView;
+
+import java.util.Iterator;
+
+/**
+ * The sequence of cards a quiz asks, produced as the quiz advances instead of as a shuffled list. Orders
+ * never modify the deck they draw from, so cached decks can be quizzed concurrently.
+ */
+public interface QuizOrder extends Iterator<CardView> {
+
+    /**
+     * Number of questions the quiz will ask.
+     */
+    int size();
+
+    /**
+     * Feedback for the card returned last by {@link #next()}; orders that adapt to the learner use it.
+     */
+    default void recordAnswer(CardView card, boolean correct) {
+    }
+}
@@ -0,0 +1,344 @@
+package org.task.storage;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.task.models.dto.ChangeEvent;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+import org.task.utils.CardFingerprint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Line-per-change journal that carries the full row behind each change log entry, so an in-memory
+ * database can be rebuilt as "last snapshot + journal". Entries are appended in commit order and every
+ * entry is replayed: each one carries the row as it was committed, so replaying changes the snapshot
+ * already contains only rewrites them with the same or a later image. Sequence numbers cannot decide what
+ * the snapshot covers, because they are taken when a transaction writes, not when it commits.
+ */
+public class ChangeJournal implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(ChangeJournal.class.getName());
+    private static final String ROTATED_SUFFIX = ".prev";
+
+    private final Path file;
+    private final Path rotatedFile;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    public ChangeJournal(Path file) {
+        this.file = file;
+        this.rotatedFile = file.resolveSibling(file.getFileName() + ROTATED_SUFFIX);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * A change together with the row it produced; {@code card} or {@code deck} is null for deletes and
+     * for the entity type the change is not about.
+     */
+    public record Entry(ChangeEvent event, Card card, Deck deck) {
+    }
+
+    public void append(Entry entry) {
+        append(List.of(entry));
+    }
+
+    /**
+     * Appends the entries of one transaction with a single write. Once written they survive a crash of
+     * the process; {@link #sync()} makes them survive a power loss.
+     */
+    public synchronized void append(List<Entry> entries) {
+        try {
+            final StringBuilder lines = new StringBuilder(entries.size() * 256);
+            for (Entry entry : entries) lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+
+            final ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            final FileChannel out = channel();
+            while (buffer.hasRemaining()) out.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to change journal " + file, e);
+        }
+    }
+
+    /**
+     * Forces appended entries to the storage device.
+     */
+    public synchronized void sync() {
+        if (channel == null) return;
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync change journal " + file, e);
+        }
+    }
+
+    /**
+     * Moves the current journal aside so a snapshot can be taken; entries appended from now on go to a
+     * fresh file. The rotated file is kept until {@link #discardRotated()} confirms the snapshot landed;
+     * if an earlier snapshot failed, the current entries are added to the end of its rotated file.
+     */
+    public synchronized void rotate() {
+        try {
+            if (channel != null) channel.force(false);
+            closeChannel();
+            if (!Files.exists(file)) return;
+
+            if (!Files.exists(rotatedFile)) {
+                Files.move(file, rotatedFile);
+                return;
+            }
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(rotatedFile, StandardOpenOption.READ,
+                         StandardOpenOption.WRITE)) {
+                endLine(out);
+                final long size = in.size();
+                for (long position = 0; position < size; )
+                    position += in.transferTo(position, size - position, out);
+                out.force(false);
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rotate change journal " + file, e);
+        }
+    }
+
+    public void discardRotated() {
+        try {
+            Files.deleteIfExists(rotatedFile);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot delete rotated journal: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies every journaled change in commit order, oldest file first, and copies the change log
+     * entries themselves so sequence numbers keep growing after a restart. Referential integrity is off
+     * meanwhile: a card may be replayed into a deck the snapshot no longer has, before the journaled
+     * deletes remove both.
+     *
+     * @return the number of entries applied
+     */
+    public synchronized int replay(Connection conn) throws SQLException {
+        int applied = 0;
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+        try {
+            for (Path source : new Path[]{rotatedFile, file}) {
+                if (Files.exists(source)) applied += replay(conn, source);
+            }
+        } finally {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+
+        logger.log(Level.INFO, "Replayed {0} journal entries", applied);
+        return applied;
+    }
+
+    private int replay(Connection conn, Path source) throws SQLException {
+        int applied = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+
+                final Entry entry;
+                try {
+                    entry = objectMapper.readValue(line, Entry.class);
+                } catch (IOException e) {
+                    // A torn line is expected where a crash interrupted an append
+                    logger.log(Level.WARNING, "Skipping unreadable journal line in {0}", source);
+                    continue;
+                }
+
+                apply(conn, entry);
+                applied++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read change journal " + source, e);
+        }
+        return applied;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (channel != null) channel.force(false);
+            closeChannel();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot close change journal: {0}", e.getMessage());
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            endLine(channel);
+        }
+        return channel;
+    }
+
+    /**
+     * Positions the channel at the end of the file, first terminating a line torn by a crash so the next
+     * entry starts on a line of its own.
+     */
+    private static void endLine(FileChannel channel) throws IOException {
+        final long size = channel.size();
+        channel.position(size);
+        if (size == 0) return;
+
+        final ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        if (last.get(0) != '\n') channel.write(ByteBuffer.wrap(new byte[]{'\n'}));
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private static void apply(Connection conn, Entry entry) throws SQLException {
+        final ChangeEvent event = entry.event();
+
+        if (event.entityType() == ChangeEvent.EntityType.CARD) {
+            if (event.operation() == ChangeEvent.Operation.DELETE) deleteCard(conn, event);
+            else if (entry.card() != null) mergeCard(conn, entry.card());
+        } else {
+            if (event.operation() == ChangeEvent.Operation.DELETE) deleteDeck(conn, event.entityId());
+            else if (entry.deck() != null) mergeDeck(conn, entry.deck());
+        }
+
+        final String sql = """
+                    MERGE INTO change_log (seq, entity_type, entity_id, deck_id, operation, changed_at)
+                    KEY (seq) VALUES (?, ?, ?, ?, ?, ?)
+                """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, event.seq());
+            stmt.setString(2, event.entityType().name());
+            stmt.setLong(3, event.entityId());
+            if (event.deckId() != null) stmt.setLong(4, event.deckId());
+            else stmt.setNull(4, Types.BIGINT);
+            stmt.setString(5, event.operation().name());
+            stmt.setTimestamp(6, toTimestamp(event.changedAt()));
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void mergeCard(Connection conn, Card card) throws SQLException {
+        // a card that changed decks leaves a tombstone behind, as the move itself did
+        final String movedSql = """
+                    MERGE INTO card_tombstones (card_id, card_uid, deck_id, deleted_at) KEY (card_id, deck_id)
+                    SELECT id, uid, deck_id, ? FROM cards WHERE id = ? AND deck_id <> ?
+                """;
+        final String returnedSql = "DELETE FROM card_tombstones WHERE card_id = ? AND deck_id = ?";
+        try (PreparedStatement movedStmt = conn.prepareStatement(movedSql);
+             PreparedStatement returnedStmt = conn.prepareStatement(returnedSql)) {
+            movedStmt.setTimestamp(1, toTimestamp(card.getUpdatedAt()));
+            movedStmt.setLong(2, card.getId());
+            movedStmt.setLong(3, card.getDeckId());
+            if (movedStmt.executeUpdate() > 0) {
+                returnedStmt.setLong(1, card.getId());
+                returnedStmt.setLong(2, card.getDeckId());
+                returnedStmt.executeUpdate();
+            }
+        }
+
+        final String sql = """
+                    MERGE INTO cards (id, question, answer, deck_id, created_at, updated_at, version, uid, content_hash)
+                    KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, COALESCE(?, RANDOM_UUID()), ?)
+                """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, card.getId());
+            stmt.setString(2, card.getQuestion());
+            stmt.setString(3, card.getAnswer());
+            stmt.setLong(4, card.getDeckId());
+            stmt.setTimestamp(5, toTimestamp(card.getCreatedAt()));
+            stmt.setTimestamp(6, toTimestamp(card.getUpdatedAt()));
+            stmt.setLong(7, Objects.requireNonNullElse(card.getVersion(), 0L));
+            stmt.setObject(8, card.getUid());
+            stmt.setLong(9, CardFingerprint.of(card.getQuestion(), card.getAnswer()));
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void deleteCard(Connection conn, ChangeEvent event) throws SQLException {
+        if (event.deckId() != null) {
+            final String sql = """
+                        MERGE INTO card_tombstones (card_id, card_uid, deck_id, deleted_at) KEY (card_id, deck_id)
+                        SELECT id, uid, ?, ? FROM cards WHERE id = ?
+                    """;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, event.deckId());
+                stmt.setTimestamp(2, toTimestamp(event.changedAt()));
+                stmt.setLong(3, event.entityId());
+                stmt.executeUpdate();
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM cards WHERE id = ?")) {
+            stmt.setLong(1, event.entityId());
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void mergeDeck(Connection conn, Deck deck) throws SQLException {
+        final String sql = """
+                    MERGE INTO decks (id, name, description, created_at, updated_at, version)
+                    KEY (id) VALUES (?, ?, ?, ?, ?, ?)
+                """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, deck.getId());
+            stmt.setString(2, deck.getName());
+            stmt.setString(3, deck.getDescription());
+            stmt.setTimestamp(4, toTimestamp(deck.getCreatedAt()));
+            stmt.setTimestamp(5, toTimestamp(deck.getUpdatedAt()));
+            stmt.setLong(6, Objects.requireNonNullElse(deck.getVersion(), 0L));
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void deleteDeck(Connection conn, Long deckId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM decks WHERE id = ?")) {
+            stmt.setLong(1, deckId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime != null ? dateTime : LocalDateTime.now());
+    }
+}
@@ -0,0 +1,204 @@
+package org.task.storage;
+
+import org.task.models.entity.Card;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Read-only, column-oriented copy of a deck's cards. Ids and timestamps live in primitive arrays and all
+ * question/answer text is packed as UTF-8 into one shared arena, so a card costs a few dozen bytes plus its
+ * text instead of a {@link Card} object graph. Cards are read through a reusable {@link Cursor}.
+ */
+public final class ColumnarDeck {
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final long deckId;
+    private final long[] ids;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    // question i spans [offsets[2i], offsets[2i+1]), answer i spans [offsets[2i+1], offsets[2i+2])
+    private final int[] offsets;
+    private final byte[] text;
+
+    private ColumnarDeck(long deckId, long[] ids, long[] createdAt, long[] updatedAt, int[] offsets, byte[] text) {
+        this.deckId = deckId;
+        this.ids = ids;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.offsets = offsets;
+        this.text = text;
+    }
+
+    public static ColumnarDeck of(Long deckId, List<Card> cards) {
+        final int size = cards.size();
+        final long[] ids = new long[size];
+        final long[] createdAt = new long[size];
+        final long[] updatedAt = new long[size];
+        final int[] offsets = new int[2 * size + 1];
+        final byte[][] encoded = new byte[2 * size][];
+
+        long textLength = 0;
+        for (int i = 0; i < size; i++) {
+            final Card card = cards.get(i);
+            ids[i] = card.getId() != null ? card.getId() : 0L;
+            createdAt[i] = toEpochMicros(card.getCreatedAt());
+            updatedAt[i] = toEpochMicros(card.getUpdatedAt());
+            encoded[2 * i] = encode(card.getQuestion());
+            encoded[2 * i + 1] = encode(card.getAnswer());
+            textLength += encoded[2 * i].length + encoded[2 * i + 1].length;
+        }
+
+        if (textLength > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Deck text exceeds 2 GB arena limit: " + textLength + " bytes");
+
+        final byte[] text = new byte[(int) textLength];
+        int position = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            offsets[i] = position;
+            System.arraycopy(encoded[i], 0, text, position, encoded[i].length);
+            position += encoded[i].length;
+        }
+        offsets[encoded.length] = position;
+
+        return new ColumnarDeck(deckId != null ? deckId : 0L, ids, createdAt, updatedAt, offsets, text);
+    }
+
+    public long getDeckId() {
+        return deckId;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /**
+     * Approximate heap retained by the column arrays and the text arena.
+     */
+    public long retainedBytes() {
+        return 8L * ids.length * 3 + 4L * offsets.length + text.length;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public Card toCard(int index) {
+        return cursor().moveTo(index).toCard();
+    }
+
+    private static byte[] encode(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        if (dateTime == null) return NO_TIMESTAMP;
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        if (micros == NO_TIMESTAMP) return null;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Flyweight view over one row at a time. A cursor starts before the first card; it is not thread-safe,
+     * but any number of cursors can read the same deck concurrently.
+     */
+    public final class Cursor {
+        private int index = -1;
+
+        private Cursor() {
+        }
+
+        public boolean next() {
+            if (index + 1 >= ids.length) return false;
+            index++;
+            return true;
+        }
+
+        public Cursor moveTo(int index) {
+            if (index < 0 || index >= ids.length)
+                throw new IndexOutOfBoundsException("Card index " + index + " out of bounds for size " + ids.length);
+            this.index = index;
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public long id() {
+            return ids[index];
+        }
+
+        public long deckId() {
+            return deckId;
+        }
+
+        public long createdAtEpochMicros() {
+            return createdAt[index];
+        }
+
+        public LocalDateTime createdAt() {
+            return fromEpochMicros(createdAt[index]);
+        }
+
+        public LocalDateTime updatedAt() {
+            return fromEpochMicros(updatedAt[index]);
+        }
+
+        public String question() {
+            return decode(2 * index);
+        }
+
+        public String answer() {
+            return decode(2 * index + 1);
+        }
+
+        public boolean questionContains(byte[] utf8Needle) {
+            return contains(2 * index, utf8Needle);
+        }
+
+        public boolean answerContains(byte[] utf8Needle) {
+            return contains(2 * index + 1, utf8Needle);
+        }
+
+        public Card toCard() {
+            return Card.builder()
+                    .id(id())
+                    .deckId(deckId)
+                    .question(question())
+                    .answer(answer())
+                    .createdAt(createdAt())
+                    .updatedAt(updatedAt())
+                    .build();
+        }
+
+        private String decode(int field) {
+            return new String(text, offsets[field], offsets[field + 1] - offsets[field], StandardCharsets.UTF_8);
+        }
+
+        private boolean contains(int field, byte[] needle) {
+            final int start = offsets[field];
+            final int last = offsets[field + 1] - needle.length;
+
+            outer:
+            for (int i = start; i <= last; i++) {
+                for (int j = 0; j < needle.length; j++) {
+                    if (text[i + j] != needle[j]) continue outer;
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.task.storage;
+
+import org.task.models.dto.ChangeEvent;
+import org.task.models.entity.Card;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Least-recently-used cache of {@link ColumnarDeck}s bounded by retained bytes rather than entry count,
+ * so a few huge decks cannot crowd out the heap. The owner must invalidate a deck when its cards change,
+ * see {@link #applyAll(Collection)}.
+ */
+public class ColumnarDeckCache {
+    private static final Logger logger = Logger.getLogger(ColumnarDeckCache.class.getName());
+
+    private final Function<Long, List<Card>> loader;
+    private final long maxBytes;
+    private final Map<Long, ColumnarDeck> decks = new LinkedHashMap<>(16, 0.75f, true);
+    private long retainedBytes;
+    private long generation;
+    private long hits;
+    private long misses;
+
+    public ColumnarDeckCache(Function<Long, List<Card>> loader, long maxBytes) {
+        this.loader = loader;
+        this.maxBytes = maxBytes;
+    }
+
+    public ColumnarDeck get(Long deckId) {
+        final long loadGeneration;
+        synchronized (this) {
+            final ColumnarDeck cached = decks.get(deckId);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        final ColumnarDeck loaded = ColumnarDeck.of(deckId, loader.apply(deckId));
+        put(deckId, loaded, loadGeneration);
+        return loaded;
+    }
+
+    public synchronized void invalidate(Long deckId) {
+        generation++;
+        final ColumnarDeck removed = decks.remove(deckId);
+        if (removed != null) retainedBytes -= removed.retainedBytes();
+    }
+
+    /**
+     * Invalidates every deck a batch of changes touched, once per deck: those of a committed transaction or
+     * of one change log read.
+     */
+    public void applyAll(Collection<ChangeEvent> events) {
+        events.stream()
+                .map(ChangeEvent::deckId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(this::invalidate);
+    }
+
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    public synchronized double getHitRate() {
+        final long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private synchronized void put(Long deckId, ColumnarDeck deck, long loadGeneration) {
+        // an invalidation raced with the load, so the loaded rows may already be stale
+        if (loadGeneration != generation) return;
+
+        if (deck.retainedBytes() > maxBytes) {
+            logger.log(Level.FINE, "Deck {0} is larger than the cache, not cached", deckId);
+            return;
+        }
+
+        final ColumnarDeck previous = decks.put(deckId, deck);
+        if (previous != null) retainedBytes -= previous.retainedBytes();
+        retainedBytes += deck.retainedBytes();
+
+        final Iterator<Map.Entry<Long, ColumnarDeck>> eldest = decks.entrySet().iterator();
+        while (retainedBytes > maxBytes && eldest.hasNext()) {
+            final Map.Entry<Long, ColumnarDeck> entry = eldest.next();
+            if (entry.getKey().equals(deckId)) continue;
+
+            retainedBytes -= entry.getValue().retainedBytes();
+            eldest.remove();
+        }
+    }
+}
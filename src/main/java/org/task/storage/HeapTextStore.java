@@ -0,0 +1,70 @@
+package org.task.storage;
+
+import java.util.Arrays;
+
+/**
+ * {@link TextStore} keeping ordinary {@link String}s on the heap.
+ */
+public final class HeapTextStore implements TextStore {
+    private String[] texts = new String[1024];
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int slotCount;
+    private int size;
+    private long liveBytes;
+
+    @Override
+    public int store(CharSequence text) {
+        final int handle;
+        if (freeCount > 0) {
+            handle = freeSlots[--freeCount];
+        } else {
+            if (slotCount == texts.length) texts = Arrays.copyOf(texts, texts.length * 2);
+            handle = slotCount++;
+        }
+
+        texts[handle] = text.toString();
+        liveBytes += 2L * text.length();
+        size++;
+        return handle;
+    }
+
+    @Override
+    public CharSequence get(int handle) {
+        final String text = texts[handle];
+        return text != null ? text : "";
+    }
+
+    @Override
+    public void free(int handle) {
+        final String text = texts[handle];
+        if (text == null) return;
+
+        texts[handle] = null;
+        liveBytes -= 2L * text.length();
+        size--;
+
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        freeSlots[freeCount++] = handle;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long liveBytes() {
+        return liveBytes;
+    }
+
+    @Override
+    public long allocatedBytes() {
+        return liveBytes;
+    }
+
+    @Override
+    public void compact() {
+        // freed strings are reclaimed by the garbage collector
+    }
+}
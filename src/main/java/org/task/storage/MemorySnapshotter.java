@@ -0,0 +1,280 @@
+package org.task.storage;
+
+import org.task.mapper.CardMapper;
+import org.task.mapper.DeckMapper;
+import org.task.models.dto.ChangeEvent;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Durability for an in-memory H2 database: a compressed {@code SCRIPT} snapshot written periodically in
+ * the background, plus a {@link ChangeJournal} written on the commit path between snapshots.
+ * <p>
+ * A repository transaction returns only after its cards and decks are appended to the journal and the
+ * journal is forced to disk, so a crash loses no change whose write returned. Only cards and decks are
+ * journaled; import job checkpoints are restored as of the last snapshot.
+ */
+public class MemorySnapshotter implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(MemorySnapshotter.class.getName());
+    private static final int ROW_BATCH_SIZE = 1_000;
+    private static final String FILE_URL_PREFIX = "jdbc:h2:file:";
+    private static final String H2_FILE_SUFFIX = ".mv.db";
+    private static final List<String> IDENTITY_COLUMNS = List.of("decks.id", "cards.id", "change_log.seq",
+            "import_jobs.id");
+
+    private final Supplier<Connection> connections;
+    private final Path snapshotFile;
+    private final ChangeJournal journal;
+    private final Object journalLock = new Object();
+    private ScheduledExecutorService scheduler;
+
+    public MemorySnapshotter(Supplier<Connection> connections, Path snapshotFile, ChangeJournal journal) {
+        this.connections = connections;
+        this.snapshotFile = snapshotFile;
+        this.journal = journal;
+    }
+
+    /**
+     * Loads the newest snapshot into the empty in-memory database or, on the first start in memory mode,
+     * copies the on-disk database behind {@code fileUrl}. Must run before the schema is created.
+     */
+    public void restore(Connection conn, String fileUrl, String user, String password) throws SQLException {
+        if (Files.exists(snapshotFile)) {
+            final long started = System.nanoTime();
+            runScript(conn, snapshotFile);
+            logger.log(Level.INFO, "Restored snapshot {0} in {1} ms",
+                    new Object[]{snapshotFile, (System.nanoTime() - started) / 1_000_000});
+            return;
+        }
+
+        if (fileUrl == null || !fileUrl.startsWith(FILE_URL_PREFIX) || !Files.exists(databaseFile(fileUrl))) {
+            logger.log(Level.INFO, "No snapshot or database file found, starting with an empty database");
+            return;
+        }
+
+        final Path export = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".import");
+        try (Connection source = DriverManager.getConnection(fileUrl, user, password)) {
+            writeScript(source, export);
+            runScript(conn, export);
+            logger.log(Level.INFO, "Loaded on-disk database {0} into memory", fileUrl);
+        } finally {
+            deleteQuietly(export);
+        }
+    }
+
+    /**
+     * Replays the journal on top of the restored snapshot and realigns identity columns with the ids the
+     * journal brought back. Must run after the schema exists.
+     */
+    public void replayJournal(Connection conn) throws SQLException {
+        journal.replay(conn);
+
+        try (Statement stmt = conn.createStatement()) {
+            for (String column : IDENTITY_COLUMNS) {
+                final String table = column.substring(0, column.indexOf('.'));
+                final String name = column.substring(column.indexOf('.') + 1);
+
+                try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(" + name + "), 0) + 1 FROM " + table)) {
+                    rs.next();
+                    stmt.execute("ALTER TABLE " + table + " ALTER COLUMN " + name + " RESTART WITH " + rs.getLong(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Commits a transaction that recorded {@code changes} and journals them before returning. The rows
+     * are read on the committing connection; the commit and the append happen under one lock, so the
+     * journal keeps commit order, and the journal is forced to disk before the caller continues. If the
+     * append or the sync fails the transaction stays committed in memory but is not durable, and the
+     * failure is thrown.
+     */
+    public void commit(Connection conn, List<ChangeEvent> changes) throws SQLException {
+        final List<ChangeJournal.Entry> entries = readEntries(conn, changes);
+
+        synchronized (journalLock) {
+            conn.commit();
+            journal.append(entries);
+        }
+        journal.sync();
+    }
+
+    /**
+     * Starts writing a snapshot every {@code snapshotInterval}. A first snapshot is taken right away when
+     * none exists yet, e.g. after importing the on-disk database.
+     */
+    public synchronized void start(Duration snapshotInterval) {
+        if (scheduler != null) return;
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "memory-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final long initialDelay = Files.exists(snapshotFile) ? snapshotInterval.toMillis() : 0;
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, initialDelay, snapshotInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+
+        logger.log(Level.INFO, "In-memory persistence started, snapshot every {0} to {1}",
+                new Object[]{snapshotInterval, snapshotFile});
+    }
+
+    /**
+     * Writes a consistent snapshot to a temporary file and atomically replaces the previous one. The
+     * journal is rotated first, so entries that might not be covered by the snapshot stay on disk.
+     */
+    public synchronized void snapshot() {
+        final long started = System.nanoTime();
+        final Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+        synchronized (journalLock) {
+            journal.rotate();
+        }
+        try (Connection conn = connections.get()) {
+            writeScript(conn, temp);
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (SQLException e) {
+            deleteQuietly(temp);
+            throw new IllegalStateException("Cannot write snapshot " + snapshotFile, e);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Cannot replace snapshot " + snapshotFile, e);
+        }
+        journal.discardRotated();
+
+        logger.log(Level.INFO, "Snapshot written to {0} in {1} ms",
+                new Object[]{snapshotFile, (System.nanoTime() - started) / 1_000_000});
+    }
+
+    /**
+     * Stops the periodic snapshots and takes a final one; call before shutting the in-memory database down.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) return;
+
+        scheduler.shutdownNow();
+        scheduler = null;
+
+        snapshotQuietly();
+        journal.close();
+    }
+
+    /**
+     * Pairs every change with the row as this transaction leaves it; deletes, and rows deleted later in
+     * the same transaction, carry none.
+     */
+    private static List<ChangeJournal.Entry> readEntries(Connection conn, List<ChangeEvent> changes)
+            throws SQLException {
+        final Set<Long> cardIds = new LinkedHashSet<>();
+        final Set<Long> deckIds = new LinkedHashSet<>();
+        for (ChangeEvent event : changes) {
+            if (event.operation() == ChangeEvent.Operation.DELETE) continue;
+            if (event.entityType() == ChangeEvent.EntityType.CARD) cardIds.add(event.entityId());
+            else deckIds.add(event.entityId());
+        }
+
+        final Map<Long, Card> cards = findRows(conn, "cards", cardIds, CardMapper.INSTANCE::toCard, Card::getId);
+        final Map<Long, Deck> decks = findRows(conn, "decks", deckIds, DeckMapper.INSTANCE::toDeck, Deck::getId);
+
+        final List<ChangeJournal.Entry> entries = new ArrayList<>(changes.size());
+        for (ChangeEvent event : changes) {
+            final boolean deleted = event.operation() == ChangeEvent.Operation.DELETE;
+            if (event.entityType() == ChangeEvent.EntityType.CARD)
+                entries.add(new ChangeJournal.Entry(event, deleted ? null : cards.get(event.entityId()), null));
+            else entries.add(new ChangeJournal.Entry(event, null, deleted ? null : decks.get(event.entityId())));
+        }
+        return entries;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Snapshot failed: {0}", e.getMessage());
+        }
+    }
+
+    private static <T> Map<Long, T> findRows(Connection conn, String table, Collection<Long> ids,
+                                             RowReader<T> reader, Function<T, Long> idOf) throws SQLException {
+        final Map<Long, T> rows = new HashMap<>(ids.size() * 4 / 3 + 1);
+        if (ids.isEmpty()) return rows;
+
+        final List<Long> all = List.copyOf(ids);
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM " + table + " WHERE id = ANY(?)")) {
+            for (int from = 0; from < all.size(); from += ROW_BATCH_SIZE) {
+                final List<Long> batch = all.subList(from, Math.min(from + ROW_BATCH_SIZE, all.size()));
+                stmt.setArray(1, conn.createArrayOf("BIGINT", batch.toArray()));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        final T row = reader.read(rs);
+                        rows.put(idOf.apply(row), row);
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static void writeScript(Connection conn, Path target) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SCRIPT TO ? COMPRESSION ZIP")) {
+            stmt.setString(1, target.toAbsolutePath().toString());
+            stmt.execute();
+        }
+    }
+
+    private static void runScript(Connection conn, Path source) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("RUNSCRIPT FROM ? COMPRESSION ZIP")) {
+            stmt.setString(1, source.toAbsolutePath().toString());
+            stmt.execute();
+        }
+    }
+
+    private static Path databaseFile(String fileUrl) {
+        final String rest = fileUrl.substring(FILE_URL_PREFIX.length());
+        final int options = rest.indexOf(';');
+        return Path.of((options < 0 ? rest : rest.substring(0, options)) + H2_FILE_SUFFIX);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Cannot delete {0}", path);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,146 @@
+package org.task.storage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link TextStore} that keeps text outside the Java heap in append-only direct-buffer segments, so the
+ * garbage collector never has to trace or copy it. Text is stored as UTF-16 and {@link #get(int)} returns
+ * a {@link java.nio.CharBuffer} view over the segment, which is a {@link CharSequence} without any copy.
+ * <p>
+ * Freed text only becomes garbage inside its segment; once garbage exceeds half of the allocated bytes the
+ * live text is copied into fresh segments. Handles are slot numbers and survive compaction. A replaced
+ * segment is released by the JVM once no earlier view refers to it any more.
+ */
+public final class OffHeapTextArena implements TextStore {
+    private static final Logger logger = Logger.getLogger(OffHeapTextArena.class.getName());
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final double COMPACTION_THRESHOLD = 0.5;
+    private static final int FREE = -1;
+
+    private final int segmentBytes;
+    private List<ByteBuffer> segments = new ArrayList<>();
+    private int writeOffset;
+
+    // slot -> (segment index << 32 | byte offset) and length in chars, FREE for unused slots
+    private long[] locations = new long[1024];
+    private int[] lengths = new int[1024];
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int slotCount;
+    private int size;
+    private long liveBytes;
+    private long allocatedBytes;
+
+    public OffHeapTextArena() {
+        this(DEFAULT_SEGMENT_BYTES);
+    }
+
+    public OffHeapTextArena(int segmentBytes) {
+        if (segmentBytes < 2) throw new IllegalArgumentException("Segment must hold at least one char");
+        this.segmentBytes = segmentBytes & ~1;
+    }
+
+    @Override
+    public int store(CharSequence text) {
+        final int handle = nextSlot();
+        locations[handle] = write(text);
+        lengths[handle] = text.length();
+
+        liveBytes += 2L * text.length();
+        size++;
+        return handle;
+    }
+
+    @Override
+    public CharSequence get(int handle) {
+        final int length = lengths[handle];
+        if (length == FREE || length == 0) return "";
+
+        final long location = locations[handle];
+        final ByteBuffer segment = segments.get((int) (location >>> 32));
+        return segment.slice((int) location, 2 * length).asCharBuffer();
+    }
+
+    @Override
+    public void free(int handle) {
+        if (lengths[handle] == FREE) return;
+
+        liveBytes -= 2L * lengths[handle];
+        lengths[handle] = FREE;
+        size--;
+
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        freeSlots[freeCount++] = handle;
+
+        if (allocatedBytes > segmentBytes && liveBytes < allocatedBytes * (1 - COMPACTION_THRESHOLD)) compact();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long liveBytes() {
+        return liveBytes;
+    }
+
+    @Override
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public void compact() {
+        final long before = allocatedBytes;
+        final List<ByteBuffer> oldSegments = segments;
+
+        segments = new ArrayList<>();
+        writeOffset = 0;
+        allocatedBytes = 0;
+
+        for (int handle = 0; handle < slotCount; handle++) {
+            final int length = lengths[handle];
+            if (length == FREE) continue;
+
+            final long location = locations[handle];
+            final ByteBuffer source = oldSegments.get((int) (location >>> 32));
+            locations[handle] = write(source.slice((int) location, 2 * length).asCharBuffer());
+        }
+
+        logger.log(Level.FINE, "Compacted off-heap text arena from {0} to {1} bytes",
+                new Object[]{before, allocatedBytes});
+    }
+
+    private int nextSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+
+        if (slotCount == locations.length) {
+            locations = Arrays.copyOf(locations, locations.length * 2);
+            lengths = Arrays.copyOf(lengths, lengths.length * 2);
+        }
+        return slotCount++;
+    }
+
+    private long write(CharSequence text) {
+        final int bytes = 2 * text.length();
+        if (segments.isEmpty() || writeOffset + bytes > segments.getLast().capacity()) {
+            final ByteBuffer segment = ByteBuffer.allocateDirect(Math.max(segmentBytes, bytes));
+            segments.add(segment);
+            allocatedBytes += segment.capacity();
+            writeOffset = 0;
+        }
+
+        final ByteBuffer segment = segments.getLast();
+        final int offset = writeOffset;
+        for (int i = 0; i < text.length(); i++) segment.putChar(offset + 2 * i, text.charAt(i));
+        writeOffset += bytes;
+
+        return ((long) (segments.size() - 1) << 32) | offset;
+    }
+}
@@ -0,0 +1,29 @@
+package org.task.storage;
+
+/**
+ * Slot-addressed storage for card text. Handles stay valid until {@link #free(int)} is called, including
+ * across {@link #compact()}, so callers can keep plain {@code int}s instead of {@link String} references.
+ * <p>
+ * Implementations are not synchronized: concurrent {@link #get(int)} calls are safe, but callers must keep
+ * writes ({@code store}, {@code free}, {@code compact}) exclusive of each other and of reads.
+ */
+public interface TextStore {
+
+    int store(CharSequence text);
+
+    /**
+     * Returns the stored text. Implementations may return a view over their own storage, which is only
+     * meant to be read before the handle is freed.
+     */
+    CharSequence get(int handle);
+
+    void free(int handle);
+
+    int size();
+
+    long liveBytes();
+
+    long allocatedBytes();
+
+    void compact();
+}
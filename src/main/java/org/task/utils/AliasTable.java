@@ -0,0 +1,66 @@
+package org.task.utils;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Discrete distribution over {@code [0, n)} with non-negative weights, sampled in O(1) with Vose's alias
+ * method: each slot keeps the probability of keeping its own index and the index it otherwise aliases to.
+ * Building is O(n); the table is immutable afterwards and safe to sample from several threads.
+ */
+public final class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+
+    public AliasTable(double[] weights) {
+        final int n = weights.length;
+        if (n == 0) throw new IllegalArgumentException("weights must not be empty");
+
+        double total = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight))
+                throw new IllegalArgumentException("weights must be finite and non-negative: " + weight);
+            total += weight;
+        }
+        if (total == 0) throw new IllegalArgumentException("at least one weight must be positive");
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // scaled so the average slot holds exactly 1; small slots are topped up from large ones
+        final double[] scaled = new double[n];
+        final int[] small = new int[n];
+        final int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) small[smallCount++] = more;
+            else large[largeCount++] = more;
+        }
+
+        // whatever is left is 1 up to rounding error
+        while (largeCount > 0) probability[large[--largeCount]] = 1.0;
+        while (smallCount > 0) probability[small[--smallCount]] = 1.0;
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    public int sample(RandomGenerator random) {
+        final int slot = random.nextInt(probability.length);
+        return random.nextDouble() < probability[slot] ? slot : alias[slot];
+    }
+}
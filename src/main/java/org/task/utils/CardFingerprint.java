@@ -0,0 +1,88 @@
+package org.task.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Content hashes of card text. {@link #of(String, String)} identifies exact duplicates after normalization;
+ * {@link #minHash(String, String, int)} produces MinHash signatures whose agreement rate estimates the
+ * Jaccard similarity of two cards' character 3-gram sets.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CardFingerprint {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int SHINGLE_LENGTH = 3;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public static String canonicalText(String question, String answer) {
+        return collapse(question) + '\u0000' + collapse(answer);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the canonical text, finalized with a 64-bit mixer. With a million cards the
+     * chance of any collision is below one in ten million.
+     */
+    public static long of(String question, String answer) {
+        return ofCanonical(canonicalText(question, answer));
+    }
+
+    /**
+     * {@link #of(String, String)} for text already passed through {@link #canonicalText(String, String)}.
+     */
+    public static long ofCanonical(String text) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    public static long[] minHash(String question, String answer, int signatureLength) {
+        final String text = collapse(question) + ' ' + collapse(answer);
+        final long[] signature = new long[signatureLength];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        final int shingles = Math.max(1, text.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            final long shingle = shingleHash(text, start, Math.min(text.length(), start + SHINGLE_LENGTH));
+
+            for (int i = 0; i < signatureLength; i++) {
+                final long value = mix(shingle ^ (0x9e3779b97f4a7c15L * (i + 1)));
+                if (value < signature[i]) signature[i] = value;
+            }
+        }
+        return signature;
+    }
+
+    public static double estimatedSimilarity(long[] first, long[] second) {
+        int equal = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) equal++;
+        }
+        return (double) equal / first.length;
+    }
+
+    private static String collapse(String text) {
+        return WHITESPACE.matcher(TextNormalizer.normalize(text)).replaceAll(" ").trim();
+    }
+
+    private static long shingleHash(String text, int from, int to) {
+        long hash = FNV_OFFSET;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,210 @@
+package org.task.utils;
+
+import org.task.models.entity.Card;
+import org.task.service.ExportImportService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Writes card CSV byte for byte like a {@code CSVPrinter} with {@code CSVFormat.DEFAULT}: minimal quoting,
+ * {@code ""} inside quotes and CRLF record ends. Fields are escaped straight into one reusable char
+ * buffer, timestamps are formatted by hand and reused while consecutive cards share a second, and the
+ * encoded bytes go to the file in large direct-buffer writes.
+ */
+public final class CsvCardWriter implements Closeable {
+    static final int BUFFER_BYTES = 1 << 20;
+    private static final int BUFFER_CHARS = 1 << 16;
+    private static final int TIMESTAMP_LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+    private static final char QUOTE = '"';
+    private static final char COMMA = ',';
+    private static final char COMMENT = '#';
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private char[] chars = new char[BUFFER_CHARS];
+    private int count;
+
+    private final SecondCache created = new SecondCache();
+    private final SecondCache updated = new SecondCache();
+
+    public CsvCardWriter(Path filePath) throws IOException {
+        this.channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * The blank line the deck exports start with, then the column names.
+     */
+    public void writeHeader() throws IOException {
+        endRecord();
+        final String[] headers = ExportImportService.CSV_HEADERS;
+        for (int i = 0; i < headers.length; i++) value(headers[i], i == 0);
+        endRecord();
+    }
+
+    public void writeCard(Card card) throws IOException {
+        value(card.getQuestion(), true);
+        value(card.getAnswer(), false);
+        timestamp(card.getCreatedAt(), created);
+        timestamp(card.getUpdatedAt(), updated);
+        endRecord();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            encode(true);
+            while (encoder.flush(bytes) == CoderResult.OVERFLOW) drainBytes();
+            drainBytes();
+        }
+    }
+
+    private void value(String value, boolean first) throws IOException {
+        if (!first) append(COMMA);
+        if (value == null) return;
+
+        final int length = value.length();
+        if (length == 0) {
+            // an empty first value is quoted so the record is not an empty line
+            if (first) {
+                append(QUOTE);
+                append(QUOTE);
+            }
+            return;
+        }
+
+        reserve(2 * length + 2);
+        value.getChars(0, length, chars, count);
+
+        final int end = count + length;
+        boolean quote = chars[count] <= COMMENT || chars[end - 1] <= ' ';
+        int quotes = 0;
+        for (int i = count; i < end; i++) {
+            final char c = chars[i];
+            if (c == QUOTE) quotes++;
+            else if (c == COMMA || c == '\n' || c == '\r') quote = true;
+        }
+        if (!quote && quotes == 0) {
+            count = end;
+            return;
+        }
+
+        // shift right from the end, doubling quotes, so the value is escaped in place
+        int target = end + quotes + 1;
+        chars[target] = QUOTE;
+        for (int i = end - 1; i >= count; i--) {
+            final char c = chars[i];
+            chars[--target] = c;
+            if (c == QUOTE) chars[--target] = QUOTE;
+        }
+        chars[count] = QUOTE;
+        count = end + quotes + 2;
+    }
+
+    private void timestamp(LocalDateTime time, SecondCache cache) throws IOException {
+        final int year = time != null ? time.getYear() : 0;
+        if (time != null && (year < 1 || year > 9999)) {
+            value(time.format(ExportImportService.DATE_FORMATTER), false);
+            return;
+        }
+
+        append(COMMA);
+        if (time == null) return;
+
+        reserve(TIMESTAMP_LENGTH);
+        System.arraycopy(cache.format(time), 0, chars, count, TIMESTAMP_LENGTH);
+        count += TIMESTAMP_LENGTH;
+    }
+
+    private void endRecord() throws IOException {
+        reserve(2);
+        chars[count++] = '\r';
+        chars[count++] = '\n';
+    }
+
+    private void append(char c) throws IOException {
+        reserve(1);
+        chars[count++] = c;
+    }
+
+    private void reserve(int length) throws IOException {
+        if (chars.length - count >= length) return;
+
+        encode(false);
+        if (chars.length - count < length) {
+            final char[] grown = new char[Math.max(chars.length * 2, count + length)];
+            System.arraycopy(chars, 0, grown, 0, count);
+            chars = grown;
+        }
+    }
+
+    /**
+     * Encodes the buffered chars; a trailing high surrogate stays buffered until its pair arrives.
+     */
+    private void encode(boolean endOfInput) throws IOException {
+        final CharBuffer input = CharBuffer.wrap(chars, 0, count);
+        while (true) {
+            final CoderResult result = encoder.encode(input, bytes, endOfInput);
+            if (result.isOverflow()) drainBytes();
+            else if (result.isUnderflow()) break;
+            else result.throwException();
+        }
+
+        final int remaining = input.remaining();
+        System.arraycopy(chars, input.position(), chars, 0, remaining);
+        count = remaining;
+    }
+
+    private void drainBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) channel.write(bytes);
+        bytes.clear();
+    }
+
+    /**
+     * {@code yyyy-MM-dd HH:mm:ss} of the last second seen in one column, formatted again only when the
+     * second changes.
+     */
+    private static final class SecondCache {
+        private final char[] text = new char[TIMESTAMP_LENGTH];
+        private LocalDateTime second;
+
+        char[] format(LocalDateTime time) {
+            if (second != null && time.getSecond() == second.getSecond() && time.getMinute() == second.getMinute()
+                    && time.getHour() == second.getHour() && time.toLocalDate().equals(second.toLocalDate()))
+                return text;
+
+            second = time;
+            digits(time.getYear(), 0, 4);
+            text[4] = '-';
+            digits(time.getMonthValue(), 5, 2);
+            text[7] = '-';
+            digits(time.getDayOfMonth(), 8, 2);
+            text[10] = ' ';
+            digits(time.getHour(), 11, 2);
+            text[13] = ':';
+            digits(time.getMinute(), 14, 2);
+            text[16] = ':';
+            digits(time.getSecond(), 17, 2);
+            return text;
+        }
+
+        private void digits(int value, int offset, int width) {
+            for (int i = offset + width - 1; i >= offset; i--) {
+                text[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.task.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FileGlob {
+    private static final Pattern GLOB_CHARS = Pattern.compile("[*?\\[{]");
+
+    /**
+     * Regular files matching a glob such as {@code imports/*.csv} or {@code nightly/**.json}, sorted. Only
+     * the directory below the last literal path segment is walked; a pattern without glob characters names
+     * a single file.
+     */
+    public static List<Path> expand(String pattern) throws IOException {
+        final Path path = Path.of(pattern);
+        Path base = path.getRoot() != null ? path.getRoot() : Path.of("");
+        int literal = 0;
+        for (Path part : path) {
+            if (GLOB_CHARS.matcher(part.toString()).find()) break;
+            base = base.resolve(part);
+            literal++;
+        }
+
+        if (literal == path.getNameCount()) return Files.isRegularFile(path) ? List.of(path) : List.of();
+
+        final Path rest = path.subpath(literal, path.getNameCount());
+        final PathMatcher matcher = path.getFileSystem().getPathMatcher("glob:" + rest);
+        final int depth = rest.toString().contains("**") ? Integer.MAX_VALUE : rest.getNameCount();
+        final Path start = base.toString().isEmpty() ? Path.of(".") : base;
+        if (!Files.isDirectory(start)) return List.of();
+
+        final Path resolveAgainst = base;
+        try (Stream<Path> files = Files.walk(start, depth)) {
+            return files.filter(Files::isRegularFile)
+                    .map(start::relativize)
+                    .filter(matcher::matches)
+                    .map(resolveAgainst::resolve)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Matches whole names against a glob with {@code *} (any run of characters) and {@code ?} (one character).
+     */
+    public static Pattern namePattern(String glob) {
+        final StringBuilder regex = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+
+        for (char c : glob.toCharArray()) {
+            if (c != '*' && c != '?') {
+                literal.append(c);
+                continue;
+            }
+            if (!literal.isEmpty()) regex.append(Pattern.quote(literal.toString()));
+            literal.setLength(0);
+            regex.append(c == '*' ? ".*" : ".");
+        }
+        if (!literal.isEmpty()) regex.append(Pattern.quote(literal.toString()));
+
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+}
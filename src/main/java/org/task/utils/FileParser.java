@@ -8,6 +8,7 @@ import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.StringUtils;
 import org.task.exception.FileParserException;
+import org.task.exception.UnsupportedCsvDialectException;
 import org.task.models.entity.Card;
 import org.task.models.entity.Deck;
 import org.task.service.ExportImportService;
@@ -16,7 +17,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,6 +37,27 @@ public final class FileParser {
                 .get().parse(Files.newBufferedReader(filePath));
     }
 
+    /**
+     * Cards of a CSV deck file, read by {@link MappedCsvReader}; files outside the dialect it handles are
+     * read with commons-csv instead.
+     */
+    public static List<Card> readCards(Path filePath) throws IOException {
+        try {
+            return MappedCsvReader.readCards(filePath);
+        } catch (UnsupportedCsvDialectException e) {
+            logger.log(Level.INFO, "Reading {0} with commons-csv: {1}", new Object[]{filePath, e.getMessage()});
+        }
+
+        final List<Card> cards = new ArrayList<>();
+        try (CSVParser csvParser = createCSVParser(filePath)) {
+            csvParser.forEach(csv -> {
+                final var card = parseCardFromRecord(csv);
+                if (card != null) cards.add(card);
+            });
+        }
+        return cards;
+    }
+
     public static Card parseCardFromRecord(CSVRecord csvRecord) {
         final var question = csvRecord.get("Question");
         final var answer = csvRecord.get("Answer");
@@ -42,9 +66,11 @@ public final class FileParser {
 
         final var timestamps = parseTimestamps(csvRecord);
 
+        final var interner = StringInterner.shared();
+
         return Card.builder()
-                .question(question.trim())
-                .answer(answer.trim())
+                .question(interner.intern(question.trim()))
+                .answer(interner.intern(answer.trim()))
                 .createdAt(timestamps[0])
                 .updatedAt(timestamps[1])
                 .build();
@@ -0,0 +1,68 @@
+package org.task.utils;
+
+/**
+ * Seeded pseudo-random bijection on {@code [0, size)} that needs no array: a balanced Feistel network
+ * over the smallest even-bit power of two covering {@code size}, restricted to the range by cycle walking.
+ * Position {@code i} maps to {@link #at(int)} in O(1) expected time, so a shuffled order over a huge deck
+ * costs nothing up front, and the same seed reproduces the same order.
+ */
+public final class IndexPermutation {
+    private static final int ROUNDS = 4;
+
+    private final int size;
+    private final int halfBits;
+    private final int halfMask;
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public IndexPermutation(int size, long seed) {
+        if (size < 0) throw new IllegalArgumentException("size must not be negative: " + size);
+
+        this.size = size;
+        final int bits = Math.max(2, 32 - Integer.numberOfLeadingZeros(Math.max(size - 1, 1)));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1 << halfBits) - 1;
+
+        long state = seed;
+        for (int round = 0; round < ROUNDS; round++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[round] = mix(state);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The index at position {@code position} of the permuted order.
+     */
+    public int at(int position) {
+        if (position < 0 || position >= size)
+            throw new IndexOutOfBoundsException("position " + position + " out of [0, " + size + ")");
+
+        // The domain is less than 4x size, so on average fewer than four steps land back in range
+        int value = position;
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return value;
+    }
+
+    private int encrypt(int value) {
+        int left = value >>> halfBits;
+        int right = value & halfMask;
+
+        for (long key : roundKeys) {
+            final int next = left ^ (int) (mix(right ^ key) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,275 @@
+package org.task.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.task.exception.FileParserException;
+import org.task.exception.UnsupportedCsvDialectException;
+import org.task.models.entity.Card;
+import org.task.service.ExportImportService;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads card CSV straight from a memory-mapped file: fields are located in the mapped bytes, only the
+ * question, answer and timestamp columns are decoded, and each row becomes a {@link Card} without an
+ * intermediate record. Column positions are resolved once from the header.
+ * <p>
+ * Handles what {@link FileParser#createCSVParser} reads: comma-separated RFC 4180 fields, double quotes
+ * with {@code ""} inside, quoted line breaks, CRLF/LF/CR record ends, empty lines skipped, values trimmed,
+ * header names matched ignoring case. Anything else, such as text after a closing quote or an unterminated
+ * quote, raises {@link UnsupportedCsvDialectException} so the caller can use commons-csv instead.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MappedCsvReader {
+    private static final Logger logger = Logger.getLogger(MappedCsvReader.class.getName());
+    private static final byte QUOTE = '"';
+    private static final byte COMMA = ',';
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final int TIMESTAMP_LENGTH = "yyyy-MM-dd HH:mm:ss".length();
+
+    public static List<Card> readCards(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new UnsupportedCsvDialectException("File too large to map: " + size);
+            if (size == 0) return new ArrayList<>();
+
+            return new Tokenizer(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)).readCards();
+        }
+    }
+
+    private static final class Tokenizer {
+        private final MappedByteBuffer buffer;
+        private final int limit;
+        private int pos;
+        private long record;
+
+        private int fieldCount;
+        private int[] starts = new int[8];
+        private int[] ends = new int[8];
+        private boolean[] escaped = new boolean[8];
+        private byte[] scratch = new byte[256];
+
+        Tokenizer(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            // UTF-8 byte order mark
+            if (limit >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+                    && buffer.get(2) == (byte) 0xBF) pos = 3;
+        }
+
+        List<Card> readCards() {
+            final List<Card> cards = new ArrayList<>();
+            if (!nextRecord()) return cards;
+
+            int question = -1;
+            int answer = -1;
+            int createdAt = -1;
+            int updatedAt = -1;
+            for (int i = 0; i < fieldCount; i++) {
+                final String name = decode(i);
+                if (name.isEmpty())
+                    throw new UnsupportedCsvDialectException("Missing header name in column " + (i + 1));
+
+                // like the case-insensitive header map of commons-csv, the last column of a name wins
+                if (name.equalsIgnoreCase("Question")) question = i;
+                else if (name.equalsIgnoreCase("Answer")) answer = i;
+                else if (name.equalsIgnoreCase(ExportImportService.CREATED_AT)) createdAt = i;
+                else if (name.equalsIgnoreCase(ExportImportService.UPDATED_AT)) updatedAt = i;
+            }
+            if (question < 0 || answer < 0)
+                throw new UnsupportedCsvDialectException("Header has no Question and Answer columns");
+
+            final int required = Math.max(question, answer);
+            final LocalDateTime now = LocalDateTime.now();
+            final StringInterner interner = StringInterner.shared();
+
+            while (nextRecord()) {
+                if (fieldCount <= required) {
+                    if (isBlankRecord()) continue;
+                    throw new FileParserException(String.format("Record %d has %d values, expected at least %d",
+                            record, fieldCount, required + 1));
+                }
+
+                final String questionText = decode(question);
+                final String answerText = decode(answer);
+                if (questionText.isBlank() && answerText.isBlank()) continue;
+
+                LocalDateTime created = now;
+                LocalDateTime updated = now;
+                try {
+                    if (hasValue(createdAt)) created = timestamp(createdAt);
+                    if (hasValue(updatedAt)) updated = timestamp(updatedAt);
+                } catch (DateTimeException e) {
+                    logger.log(Level.WARNING, "Failed to parse timestamps for record {0}", record);
+                }
+
+                cards.add(Card.builder()
+                        .question(interner.intern(questionText))
+                        .answer(interner.intern(answerText))
+                        .createdAt(created)
+                        .updatedAt(updated)
+                        .build());
+            }
+            return cards;
+        }
+
+        /**
+         * Locates the fields of the next non-empty record; false at the end of the file.
+         */
+        private boolean nextRecord() {
+            while (pos < limit && (buffer.get(pos) == LF || buffer.get(pos) == CR)) pos++;
+            if (pos >= limit) return false;
+
+            record++;
+            fieldCount = 0;
+            while (true) {
+                readField();
+                if (pos >= limit) return true;
+
+                final byte next = buffer.get(pos++);
+                if (next == COMMA) {
+                    if (pos >= limit) {
+                        addField(pos, pos, false);
+                        return true;
+                    }
+                    continue;
+                }
+                if (next == CR && pos < limit && buffer.get(pos) == LF) pos++;
+                return true;
+            }
+        }
+
+        private void readField() {
+            if (pos >= limit || buffer.get(pos) != QUOTE) {
+                int end = pos;
+                while (end < limit) {
+                    final byte b = buffer.get(end);
+                    if (b == COMMA || b == LF || b == CR) break;
+                    end++;
+                }
+                addField(pos, end, false);
+                pos = end;
+                return;
+            }
+
+            boolean hasEscapes = false;
+            int close = pos + 1;
+            while (true) {
+                if (close >= limit)
+                    throw new UnsupportedCsvDialectException("Unterminated quote in record " + record);
+                if (buffer.get(close) == QUOTE) {
+                    if (close + 1 < limit && buffer.get(close + 1) == QUOTE) {
+                        hasEscapes = true;
+                        close += 2;
+                        continue;
+                    }
+                    break;
+                }
+                close++;
+            }
+            addField(pos + 1, close, hasEscapes);
+
+            // commons-csv allows whitespace between the closing quote and the delimiter
+            pos = close + 1;
+            while (pos < limit && (buffer.get(pos) == ' ' || buffer.get(pos) == '\t')) pos++;
+            if (pos < limit && buffer.get(pos) != COMMA && buffer.get(pos) != LF && buffer.get(pos) != CR)
+                throw new UnsupportedCsvDialectException("Text after closing quote in record " + record);
+        }
+
+        private void addField(int start, int end, boolean hasEscapes) {
+            if (fieldCount == starts.length) {
+                starts = Arrays.copyOf(starts, fieldCount * 2);
+                ends = Arrays.copyOf(ends, fieldCount * 2);
+                escaped = Arrays.copyOf(escaped, fieldCount * 2);
+            }
+
+            // trim like String.trim; bytes of multi-byte UTF-8 characters are never <= ' '
+            while (start < end && buffer.get(start) <= ' ' && buffer.get(start) >= 0) start++;
+            while (end > start && buffer.get(end - 1) <= ' ' && buffer.get(end - 1) >= 0) end--;
+
+            starts[fieldCount] = start;
+            ends[fieldCount] = end;
+            escaped[fieldCount] = hasEscapes;
+            fieldCount++;
+        }
+
+        private String decode(int field) {
+            final int start = starts[field];
+            final int length = ends[field] - start;
+            if (length == 0) return "";
+            if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+
+            if (!escaped[field]) {
+                buffer.get(start, scratch, 0, length);
+                return new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+
+            int written = 0;
+            for (int i = start; i < start + length; i++) {
+                final byte b = buffer.get(i);
+                scratch[written++] = b;
+                if (b == QUOTE) i++;
+            }
+            return new String(scratch, 0, written, StandardCharsets.UTF_8);
+        }
+
+        private boolean hasValue(int field) {
+            return field >= 0 && field < fieldCount && ends[field] > starts[field];
+        }
+
+        private boolean isBlankRecord() {
+            for (int i = 0; i < fieldCount; i++) {
+                if (ends[i] > starts[i]) return false;
+            }
+            return true;
+        }
+
+        /**
+         * {@code yyyy-MM-dd HH:mm:ss} read from the digits in place; other shapes and out-of-range values
+         * go through {@link ExportImportService#DATE_FORMATTER}, which resolves them like before.
+         */
+        private LocalDateTime timestamp(int field) {
+            final int start = starts[field];
+            if (ends[field] - start == TIMESTAMP_LENGTH
+                    && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-' && buffer.get(start + 10) == ' '
+                    && buffer.get(start + 13) == ':' && buffer.get(start + 16) == ':') {
+                final int year = digits(start, 4);
+                final int month = digits(start + 5, 2);
+                final int day = digits(start + 8, 2);
+                final int hour = digits(start + 11, 2);
+                final int minute = digits(start + 14, 2);
+                final int second = digits(start + 17, 2);
+
+                // days up to 28 exist in every month; later ones may need the formatter's resolving
+                if ((hour | minute | second) >= 0 && year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= 28
+                        && hour < 24 && minute < 60 && second < 60) {
+                    return LocalDateTime.of(year, month, day, hour, minute, second);
+                }
+            }
+            return LocalDateTime.parse(decode(field), ExportImportService.DATE_FORMATTER);
+        }
+
+        private int digits(int from, int count) {
+            int value = 0;
+            for (int i = from; i < from + count; i++) {
+                final int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) return -1;
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+    }
+}
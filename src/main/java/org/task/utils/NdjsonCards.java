@@ -0,0 +1,186 @@
+package org.task.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.task.exception.FileParserException;
+import org.task.models.entity.Card;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Card lines of the NDJSON deck format: one {@code {"uid", "question", "answer", "createdAt", "updatedAt"}}
+ * object per line, where only question and answer are required. Lines are independent, so a file can be cut at any newline and the pieces parsed in
+ * parallel.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class NdjsonCards {
+    /**
+     * Ranges up to this size are parsed by one task; larger ones are split at a newline near the middle.
+     */
+    static final int CHUNK_BYTES = 1 << 20;
+    private static final int SCAN_BYTES = 8 * 1024;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    public static void write(JsonGenerator generator, Card card) throws IOException {
+        generator.writeStartObject();
+        if (card.getUid() != null) generator.writeStringField("uid", card.getUid().toString());
+        generator.writeStringField("question", card.getQuestion());
+        generator.writeStringField("answer", card.getAnswer());
+        if (card.getCreatedAt() != null)
+            generator.writeStringField("createdAt", TIMESTAMP.format(card.getCreatedAt()));
+        if (card.getUpdatedAt() != null)
+            generator.writeStringField("updatedAt", TIMESTAMP.format(card.getUpdatedAt()));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Parses the card lines in {@code [start, end)} of the file on {@code pool}; cards come back in file
+     * order. Blank lines are skipped.
+     */
+    public static List<Card> parse(JsonFactory factory, FileChannel channel, long start, long end,
+                                   ForkJoinPool pool) {
+        try {
+            return pool.invoke(new ChunkTask(factory, channel, start, end));
+        } catch (UncheckedIOException e) {
+            throw new FileParserException("Cannot read NDJSON cards: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Position just after the first newline at or after {@code from}, or {@code end} when there is none.
+     */
+    public static long nextLineStart(FileChannel channel, long from, long end) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BYTES);
+        long position = from;
+
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(SCAN_BYTES, end - position));
+            final int read = channel.read(buffer, position);
+            if (read <= 0) break;
+
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    private static List<Card> parseRange(JsonFactory factory, FileChannel channel, long start, long end)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) break;
+        }
+
+        final List<Card> cards = new ArrayList<>();
+        final StringInterner interner = StringInterner.shared();
+
+        try (JsonParser parser = factory.createParser(buffer.array(), 0, buffer.position())) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) throw malformed(parser, start, "expected a card object");
+
+                final Card card = new Card();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "uid" -> card.setUid(uid(parser, start));
+                        case "question" -> card.setQuestion(interner.intern(parser.getValueAsString()));
+                        case "answer" -> card.setAnswer(interner.intern(parser.getValueAsString()));
+                        case "createdAt" -> card.setCreatedAt(timestamp(parser, start));
+                        case "updatedAt" -> card.setUpdatedAt(timestamp(parser, start));
+                        default -> parser.skipChildren();
+                    }
+                }
+
+                if (card.getQuestion() == null || card.getAnswer() == null)
+                    throw malformed(parser, start, "question and answer are required");
+                if (card.getCreatedAt() == null) card.setCreatedAt(LocalDateTime.now());
+                if (card.getUpdatedAt() == null) card.setUpdatedAt(card.getCreatedAt());
+                cards.add(card);
+            }
+        } catch (JsonProcessingException e) {
+            final JsonLocation location = e.getLocation();
+            throw new FileParserException("Malformed NDJSON card near byte "
+                    + (start + (location != null ? location.getByteOffset() : 0)) + ": " + e.getOriginalMessage());
+        }
+        return cards;
+    }
+
+    private static LocalDateTime timestamp(JsonParser parser, long start) throws IOException {
+        final String value = parser.getValueAsString();
+        if (value == null || value.isEmpty()) return LocalDateTime.now();
+        try {
+            return LocalDateTime.parse(value, TIMESTAMP);
+        } catch (DateTimeParseException e) {
+            throw malformed(parser, start, "invalid timestamp " + value);
+        }
+    }
+
+    private static UUID uid(JsonParser parser, long start) throws IOException {
+        final String value = parser.getValueAsString();
+        if (value == null || value.isEmpty()) return null;
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw malformed(parser, start, "invalid uid " + value);
+        }
+    }
+
+    private static FileParserException malformed(JsonParser parser, long start, String reason) {
+        return new FileParserException("Malformed NDJSON card near byte "
+                + (start + parser.currentLocation().getByteOffset()) + ": " + reason);
+    }
+
+    private static final class ChunkTask extends RecursiveTask<List<Card>> {
+        private final JsonFactory factory;
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        ChunkTask(JsonFactory factory, FileChannel channel, long start, long end) {
+            this.factory = factory;
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected List<Card> compute() {
+            try {
+                final long split = end - start <= CHUNK_BYTES
+                        ? end
+                        : nextLineStart(channel, start + (end - start) / 2, end);
+                if (split >= end) return parseRange(factory, channel, start, end);
+
+                final ChunkTask right = new ChunkTask(factory, channel, split, end);
+                right.fork();
+                final List<Card> cards = new ChunkTask(factory, channel, start, split).compute();
+                cards.addAll(right.join());
+                return cards;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
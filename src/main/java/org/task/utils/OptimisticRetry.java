@@ -0,0 +1,53 @@
+package org.task.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.task.exception.OptimisticLockException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Re-runs a read-modify-write that lost a compare-and-set race. The action must re-read what it writes,
+ * otherwise every attempt fails the same way. Only for writes that can be merged with whatever won the
+ * race, such as an upsert by name; an edit based on what a user saw must fail instead of being retried.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class OptimisticRetry {
+    private static final Logger logger = Logger.getLogger(OptimisticRetry.class.getName());
+    public static final int DEFAULT_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF_MILLIS = 2;
+
+    public static <T> T run(Supplier<T> action) {
+        return run(DEFAULT_ATTEMPTS, action);
+    }
+
+    /**
+     * @throws OptimisticLockException from the last attempt when all of them conflicted
+     */
+    public static <T> T run(int attempts, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockException e) {
+                if (attempt >= attempts) throw e;
+
+                logger.log(Level.FINE, "Write conflict, retrying (attempt {0}): {1}",
+                        new Object[]{attempt, e.getMessage()});
+                backoff(attempt);
+            }
+        }
+    }
+
+    // Randomised so writers that collided once do not collide again in lockstep
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(BASE_BACKOFF_MILLIS << attempt) + 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OptimisticLockException("Interrupted while retrying a conflicting write");
+        }
+    }
+}
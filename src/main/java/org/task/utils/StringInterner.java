@@ -0,0 +1,89 @@
+package org.task.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe canonicalization pool for short, frequently repeated card text such as "Yes",
+ * "Java" or dates. Once the pool is full new values pass through unchanged, so memory use is capped and
+ * no eviction bookkeeping is needed on the hot path.
+ */
+public final class StringInterner {
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private static final StringInterner SHARED = new StringInterner(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_LENGTH);
+
+    private final Map<String, String> pool = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public StringInterner(int maxEntries, int maxLength) {
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+    }
+
+    public static StringInterner shared() {
+        return SHARED;
+    }
+
+    public String intern(String value) {
+        if (value == null) return null;
+
+        if (value.length() > maxLength) {
+            rejected.increment();
+            return value;
+        }
+
+        final String canonical = pool.get(value);
+        if (canonical != null) {
+            hits.increment();
+            return canonical;
+        }
+
+        misses.increment();
+        if (pool.size() >= maxEntries) {
+            rejected.increment();
+            return value;
+        }
+
+        final String raced = pool.putIfAbsent(value, value);
+        return raced != null ? raced : value;
+    }
+
+    public int size() {
+        return pool.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public double getHitRate() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public void clear() {
+        pool.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StringInterner{size=%d/%d, hitRate=%.1f%%, hits=%d, misses=%d, rejected=%d}",
+                size(), maxEntries, getHitRate() * 100, getHits(), getMisses(), getRejected());
+    }
+}
@@ -0,0 +1,42 @@
+package org.task.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TextNormalizer {
+
+    /**
+     * Folds text for case-insensitive matching: compatibility forms are unified (NFKC) and the result is
+     * lower-cased with the root locale so the outcome does not depend on the JVM default locale.
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) return "";
+
+        final String folded = Normalizer.isNormalized(text, Normalizer.Form.NFKC)
+                ? text
+                : Normalizer.normalize(text, Normalizer.Form.NFKC);
+
+        return folded.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * {@link String#contains} for any {@link CharSequence}, so text views need not be copied into strings.
+     */
+    public static boolean contains(CharSequence text, String needle) {
+        if (text instanceof String string) return string.contains(needle);
+
+        final int last = text.length() - needle.length();
+        outer:
+        for (int i = 0; i <= last; i++) {
+            for (int j = 0; j < needle.length(); j++) {
+                if (text.charAt(i + j) != needle.charAt(j)) continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -15,4 +15,9 @@ public class TimeConverter {
         Timestamp timestamp = resultSet.getTimestamp(columnName);
         return timestamp != null ? timestamp.toLocalDateTime() : null;
     }
+
+    public static LocalDateTime mapTimestamp(ResultSet resultSet, int columnIndex) throws SQLException {
+        Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
 }
@@ -0,0 +1,18 @@
+-- Seeds the demo deck into a brand-new database only; existing databases with decks are left alone.
+
+INSERT INTO decks (name, description)
+SELECT 'Demo Deck', 'Демонстраційна колода для ознайомлення з додатком'
+WHERE NOT EXISTS (SELECT 1 FROM decks);
+
+INSERT INTO cards (question, answer, deck_id)
+SELECT v.question, v.answer, d.id
+FROM (VALUES
+        ('Що таке Java?', 'Об''єктно-орієнтована мова програмування', 1),
+        ('Що таке JVM?', 'Java Virtual Machine - віртуальна машина Java', 2),
+        ('Що таке ООП?', 'Об''єктно-орієнтоване програмування', 3),
+        ('Що таке клас?', 'Шаблон для створення об''єктів', 4),
+        ('Що таке інкапсуляція?', 'Приховування внутрішньої реалізації класу', 5)
+     ) AS v(question, answer, position)
+JOIN decks d ON d.name = 'Demo Deck'
+WHERE NOT EXISTS (SELECT 1 FROM cards)
+ORDER BY v.position;
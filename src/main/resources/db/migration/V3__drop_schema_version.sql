@@ -0,0 +1,3 @@
+-- schema_version only recorded "bootstrapped or not"; schema_history replaces it.
+
+DROP TABLE IF EXISTS schema_version;
@@ -0,0 +1,13 @@
+-- migration: non-transactional
+-- findByDeckId filters on deck_id and orders by created_at, id: one composite index serves both, so the
+-- per-deck card list is read in index order instead of being sorted (the query names it with USE INDEX).
+-- idx_cards_deck_id is covered by the new index (and by the foreign key's own index); idx_decks_name
+-- duplicates the UNIQUE constraint index.
+
+CREATE INDEX IF NOT EXISTS idx_cards_deck_created ON cards(deck_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_cards_deck_id;
+
+DROP INDEX IF EXISTS idx_decks_name;
+
+ANALYZE;
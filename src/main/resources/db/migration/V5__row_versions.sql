@@ -0,0 +1,6 @@
+-- Row versions for optimistic concurrency: every update bumps version and compare-and-set writers that
+-- read an older version fail instead of overwriting a concurrent change. Existing rows start at 0.
+
+ALTER TABLE decks ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
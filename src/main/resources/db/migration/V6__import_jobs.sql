@@ -0,0 +1,21 @@
+-- Checkpoints of file imports: records_done advances in the same transaction as each batch of cards, so
+-- a failed or interrupted import resumes after the last committed batch. A job is matched to its file by
+-- path, size and modification time; a job dies with its deck.
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    source_path VARCHAR(1024) NOT NULL,
+    source_size BIGINT NOT NULL,
+    source_modified BIGINT NOT NULL,
+    deck_id BIGINT NOT NULL,
+    records_total BIGINT NOT NULL,
+    records_done BIGINT DEFAULT 0 NOT NULL,
+    cards_imported BIGINT DEFAULT 0 NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    error VARCHAR(1024),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (deck_id) REFERENCES decks(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_jobs_source ON import_jobs(source_path, status);
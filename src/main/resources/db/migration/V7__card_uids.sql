@@ -0,0 +1,10 @@
+-- Card identity that survives export and import: ids are auto-increment values local to one database,
+-- so full and delta exports carry the uid and a delta is applied by matching uids within the target deck.
+-- Existing cards get a fresh uid each; tombstones keep the uid of the card they stand for, and older
+-- tombstones, whose cards are gone, stay without one.
+
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS uid UUID DEFAULT RANDOM_UUID() NOT NULL;
+
+ALTER TABLE card_tombstones ADD COLUMN IF NOT EXISTS card_uid UUID;
+
+CREATE INDEX IF NOT EXISTS idx_cards_deck_uid ON cards(deck_id, uid);
@@ -0,0 +1,6 @@
+-- One tombstone per deck a card left, not one per card: a card moved from deck A to deck B and then
+-- deleted in B must stay deleted in A's delta exports as well, so the key becomes (card_id, deck_id).
+
+ALTER TABLE card_tombstones DROP PRIMARY KEY;
+
+ALTER TABLE card_tombstones ADD PRIMARY KEY (card_id, deck_id);
@@ -0,0 +1,10 @@
+-- Content hash of each card's normalized question and answer, kept by the database itself so every write
+-- path, including SQL-side text replacement, stays in step. Duplicate checks look up the hashes of an
+-- incoming batch through the index instead of loading the deck, and compare the text of any match.
+-- The column is computed by CardFingerprint.of; changing that function requires recomputing it.
+
+CREATE ALIAS IF NOT EXISTS CARD_FINGERPRINT DETERMINISTIC FOR 'org.task.utils.CardFingerprint.of';
+
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS content_hash BIGINT GENERATED ALWAYS AS (CARD_FINGERPRINT(question, answer));
+
+CREATE INDEX IF NOT EXISTS idx_cards_deck_hash ON cards(deck_id, content_hash);
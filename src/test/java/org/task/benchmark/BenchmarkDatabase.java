@@ -0,0 +1,53 @@
+package org.task.benchmark;
+
+import org.task.config.DatabaseManager;
+import org.task.config.migration.MigrationRunner;
+import org.task.config.migration.Migrations;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Migrated H2 database at a given URL, for the benchmark tools: a throwaway file under a temp directory
+ * for {@link LoadHarness}, or any database {@link DatasetGenerator} is pointed at.
+ */
+final class BenchmarkDatabase extends DatabaseManager {
+    // loadProperties runs inside the super constructor, before any field of this class is set
+    private static final ThreadLocal<String> URL = new ThreadLocal<>();
+
+    static BenchmarkDatabase at(String url) {
+        URL.set(url);
+        try {
+            return new BenchmarkDatabase();
+        } finally {
+            URL.remove();
+        }
+    }
+
+    static BenchmarkDatabase in(Path directory) {
+        return at("jdbc:h2:file:" + directory.resolve("load").toAbsolutePath()
+                + ";DB_CLOSE_DELAY=-1;CACHE_SIZE=32768;LOCK_TIMEOUT=10000");
+    }
+
+    @Override
+    protected Properties loadProperties() {
+        final Properties props = new Properties();
+        props.setProperty("db.url", URL.get());
+        props.setProperty("db.user", "sa");
+        props.setProperty("db.password", "");
+        props.setProperty("db.driver", "org.h2.Driver");
+        props.setProperty("db.pool.maxConnections", "10");
+        return props;
+    }
+
+    @Override
+    public void initializeDatabase() {
+        try (Connection conn = getConnection()) {
+            new MigrationRunner(Migrations.all()).migrate(conn);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.task.benchmark;
+
+import org.task.config.DatabaseManager;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+import org.task.repository.CardRepository;
+import org.task.repository.DeckRepository;
+import org.task.service.ExportImportService;
+import org.task.service.impl.ExportImportServiceImpl;
+import org.task.utils.AliasTable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic decks for local scale testing. Every deck is derived from the seed and its index
+ * alone, so a deck can be regenerated without the others and two runs with one spec produce the same data.
+ * Question and answer lengths (in code points) are log-normal around their medians; each word is written
+ * in a script drawn from the Unicode mix, so texts mix alphabets, CJK and supplementary-plane emoji.
+ * <p>
+ * Not a unit test; run manually through the {@code benchmark} profile, e.g. {@code mvn -Pbenchmark
+ * test-compile exec:java -Dexec.mainClass=org.task.benchmark.DatasetGenerator
+ * -Dexec.args="--target csv --decks 20 --cards 5000 --mix ascii:60,cyrillic:30,emoji:10"}.
+ * Targets: {@code db} migrates and fills the database at {@code --url} (default the application's file
+ * database), {@code csv}, {@code json} and {@code ndjson} write one file per deck into {@code --dir}
+ * (default {@code exports}).
+ */
+public class DatasetGenerator {
+    private static final int MAX_TEXT_LENGTH = 4_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    public enum Script {
+        ASCII('a', 'z'),
+        LATIN(0x00E0, 0x00F6),
+        CYRILLIC(0x0430, 0x044F),
+        GREEK(0x03B1, 0x03C9),
+        CJK(0x4E00, 0x4FFF),
+        EMOJI(0x1F600, 0x1F64F);
+
+        private final int first;
+        private final int last;
+
+        Script(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        int randomCodePoint(SplittableRandom random) {
+            return random.nextInt(first, last + 1);
+        }
+    }
+
+    /**
+     * @param lengthSigma spread of the log-normal text lengths; 0 makes every text exactly its median
+     * @param mix         relative weight of each script
+     */
+    public record Spec(int decks, int cardsPerDeck, int questionMedian, int answerMedian, double lengthSigma,
+                       Map<Script, Double> mix, long seed) {
+
+        public static Spec parse(Map<String, String> args) {
+            return new Spec(
+                    Integer.parseInt(args.getOrDefault("decks", "10")),
+                    Integer.parseInt(args.getOrDefault("cards", "1000")),
+                    Integer.parseInt(args.getOrDefault("question-median", "40")),
+                    Integer.parseInt(args.getOrDefault("answer-median", "80")),
+                    Double.parseDouble(args.getOrDefault("sigma", "0.6")),
+                    parseMix(args.getOrDefault("mix", "ascii:70,latin:10,cyrillic:10,cjk:5,emoji:5")),
+                    Long.parseLong(args.getOrDefault("seed", "42")));
+        }
+
+        private static Map<Script, Double> parseMix(String mix) {
+            final Map<Script, Double> weights = new EnumMap<>(Script.class);
+            for (String entry : mix.split(",")) {
+                final String[] parts = entry.split(":");
+                weights.put(Script.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                        parts.length > 1 ? Double.parseDouble(parts[1]) : 1.0);
+            }
+            return weights;
+        }
+    }
+
+    private final Spec spec;
+    private final Script[] scripts;
+    private final AliasTable scriptTable;
+
+    public DatasetGenerator(Spec spec) {
+        this.spec = spec;
+        this.scripts = spec.mix().keySet().toArray(Script[]::new);
+        this.scriptTable = new AliasTable(spec.mix().values().stream().mapToDouble(Double::doubleValue).toArray());
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        final Map<String, String> options = parseArgs(args);
+        final DatasetGenerator generator = new DatasetGenerator(Spec.parse(options));
+        final String target = options.getOrDefault("target", "csv");
+        final long started = System.nanoTime();
+
+        switch (target) {
+            case "db" -> {
+                final String url = options.getOrDefault("url", "jdbc:h2:file:./data/flashcards;AUTO_SERVER=TRUE");
+                final BenchmarkDatabase database = BenchmarkDatabase.at(url);
+                try {
+                    database.initializeDatabase();
+                    generator.fill(database);
+                } finally {
+                    database.getExecutor().close();
+                }
+            }
+            case "csv", "json", "ndjson" -> generator.writeFiles(Path.of(options.getOrDefault("dir", "exports")), target);
+            default -> throw new IllegalArgumentException("Unknown target: " + target);
+        }
+
+        System.out.printf("%d decks x %d cards written to %s in %d ms%n", generator.spec.decks(),
+                generator.spec.cardsPerDeck(), target, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Parses {@code --key value} pairs; also used by {@link LoadHarness}.
+     */
+    static Map<String, String> parseArgs(String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) throw new IllegalArgumentException("Expected --option, got " + args[i]);
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    public Spec spec() {
+        return spec;
+    }
+
+    public Deck deck(int index) {
+        final SplittableRandom random = new SplittableRandom(spec.seed() ^ (index * 0x9E3779B97F4A7C15L));
+        final Deck deck = new Deck(String.format("Generated Deck %04d", index),
+                "Synthetic deck " + index + " (seed " + spec.seed() + ")");
+        deck.setCreatedAt(EPOCH);
+        deck.setUpdatedAt(EPOCH);
+
+        final List<Card> cards = new ArrayList<>(spec.cardsPerDeck());
+        for (int i = 0; i < spec.cardsPerDeck(); i++) {
+            final Card card = new Card(text(random, spec.questionMedian()) + "?", text(random, spec.answerMedian()), null);
+            // spread over a year so created_at ordering and delta windows look like real use
+            final LocalDateTime createdAt = EPOCH.plusSeconds(random.nextLong(365L * 24 * 3600));
+            card.setCreatedAt(createdAt);
+            card.setUpdatedAt(createdAt);
+            cards.add(card);
+        }
+        deck.setCards(cards);
+        return deck;
+    }
+
+    /**
+     * Inserts every deck through the repositories, so each card gets its uid and change log entry like one
+     * created in the app; {@link CardRepository#saveAll} batches a deck's cards into one transaction. Then
+     * refreshes the planner statistics.
+     */
+    public void fill(DatabaseManager databaseManager) throws SQLException {
+        final CardRepository cardRepository = new CardRepository(databaseManager);
+        final DeckRepository deckRepository = new DeckRepository(databaseManager, cardRepository);
+
+        for (int index = 0; index < spec.decks(); index++) {
+            final Deck deck = deck(index);
+            final Long deckId = deckRepository.save(deck).getId();
+            for (Card card : deck.getCards()) card.setDeckId(deckId);
+            cardRepository.saveAll(deck.getCards());
+        }
+
+        try (Connection conn = databaseManager.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE");
+        }
+    }
+
+    /**
+     * Writes each deck through the application's own exporter, as {@code <dir>/generated-deck-NNNN.<format>}.
+     */
+    public List<Path> writeFiles(Path dir, String format) throws IOException {
+        final ExportImportService exporter = new ExportImportServiceImpl();
+        final List<Path> files = new ArrayList<>(spec.decks());
+
+        for (int index = 0; index < spec.decks(); index++) {
+            final Path file = dir.resolve(String.format("generated-deck-%04d.%s", index, format));
+            final Deck deck = deck(index);
+            switch (format) {
+                case "json" -> exporter.exportDeckToJson(deck, file);
+                case "ndjson" -> exporter.exportDeckToNdjson(deck, deck.getCards(), file);
+                default -> exporter.exportDeckToCsv(deck, file);
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * A word of 1-9 code points in a script drawn from the mix.
+     */
+    public String word(SplittableRandom random) {
+        final Script script = scripts[scriptTable.sample(random)];
+        final int length = random.nextInt(1, 10);
+
+        final StringBuilder word = new StringBuilder(length * 2);
+        for (int i = 0; i < length; i++) word.appendCodePoint(script.randomCodePoint(random));
+        return word.toString();
+    }
+
+    private String text(SplittableRandom random, int median) {
+        final double length = median * Math.exp(spec.lengthSigma() * random.nextGaussian());
+        final int target = (int) Math.clamp(Math.round(length), 1, MAX_TEXT_LENGTH);
+
+        final StringBuilder text = new StringBuilder(target * 2);
+        int codePoints = 0;
+        while (codePoints < target) {
+            if (codePoints > 0) {
+                text.append(' ');
+                codePoints++;
+            }
+            final String word = word(random);
+            text.append(word);
+            codePoints += word.codePointCount(0, word.length());
+        }
+        return text.toString();
+    }
+}
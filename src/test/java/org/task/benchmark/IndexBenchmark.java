@@ -0,0 +1,118 @@
+package org.task.benchmark;
+
+import org.task.config.IndexAdvisor;
+import org.task.config.migration.Migration;
+import org.task.config.migration.MigrationRunner;
+import org.task.config.migration.Migrations;
+import org.task.repository.CardRepository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Before/after comparison for the V4 index migration: loads a synthetic data set into an in-memory
+ * database migrated up to V3, prints the advisor's plans and per-query latencies, applies V4 and repeats.
+ * <p>
+ * Not a unit test; run manually through the {@code benchmark} profile, e.g. {@code mvn -Pbenchmark
+ * test-compile exec:java -Dexec.mainClass=org.task.benchmark.IndexBenchmark -Dexec.args="[decks] [cardsPerDeck]"}.
+ */
+public class IndexBenchmark {
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 2_000;
+
+    // Query shapes as issued before V4; the current findByDeckId names an index that V3 does not have
+    private static final List<IndexAdvisor.QueryShape> BEFORE_QUERIES = List.of(
+            new IndexAdvisor.QueryShape("cards.findByDeckId", "cards",
+                    "SELECT * FROM cards WHERE deck_id = ? ORDER BY created_at ASC",
+                    List.of("deck_id"), List.of("created_at")),
+            new IndexAdvisor.QueryShape("cards.firstPageOfDeck", "cards",
+                    "SELECT * FROM cards WHERE deck_id = ? ORDER BY created_at ASC LIMIT 20",
+                    List.of("deck_id"), List.of("created_at")),
+            new IndexAdvisor.QueryShape("cards.countByDeckId", "cards", CardRepository.COUNT_BY_DECK_ID_SQL,
+                    List.of("deck_id"), List.of())
+    );
+
+    // A paged read is where index order pays off most: the sorted plan stops after the page
+    private static final IndexAdvisor.QueryShape AFTER_FIRST_PAGE = new IndexAdvisor.QueryShape(
+            "cards.firstPageOfDeck", "cards",
+            "SELECT * FROM cards USE INDEX (idx_cards_deck_created) WHERE deck_id = ? "
+                    + "ORDER BY deck_id, created_at, id LIMIT 20",
+            List.of("deck_id"), List.of("created_at", "id"));
+
+    public static void main(String[] args) throws SQLException {
+        final int decks = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        final int cardsPerDeck = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        final List<Migration> migrations = Migrations.all();
+
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:index-benchmark", "sa", "")) {
+            new MigrationRunner(migrations.subList(0, 3)).migrate(conn);
+            load(conn, decks, cardsPerDeck);
+
+            System.out.printf("%d decks x %d cards%n", decks, cardsPerDeck);
+            report("Before (V3)", new IndexAdvisor(BEFORE_QUERIES), conn, decks);
+
+            new MigrationRunner(migrations).migrate(conn);
+            final List<IndexAdvisor.QueryShape> afterQueries = new ArrayList<>(IndexAdvisor.REPOSITORY_QUERIES);
+            afterQueries.add(1, AFTER_FIRST_PAGE);
+            report("After (V4)", new IndexAdvisor(afterQueries), conn, decks);
+        }
+    }
+
+    private static void load(Connection conn, int decks, int cardsPerDeck) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM cards");
+            stmt.execute("DELETE FROM decks");
+            stmt.execute("INSERT INTO decks (id, name, description) SELECT x, 'Deck ' || x, 'Benchmark deck' "
+                    + "FROM SYSTEM_RANGE(1, " + decks + ")");
+            // Interleave decks so a deck's cards are spread over the table, as with real imports over time
+            stmt.execute("INSERT INTO cards (question, answer, deck_id, created_at, updated_at) "
+                    + "SELECT 'Question ' || x, 'Answer ' || x, MOD(x, " + decks + ") + 1, "
+                    + "DATEADD('SECOND', x, TIMESTAMP '2024-01-01 00:00:00'), "
+                    + "DATEADD('SECOND', x, TIMESTAMP '2024-01-01 00:00:00') "
+                    + "FROM SYSTEM_RANGE(1, " + (long) decks * cardsPerDeck + ")");
+            stmt.execute("ANALYZE");
+        }
+    }
+
+    private static void report(String title, IndexAdvisor advisor, Connection conn, int decks) throws SQLException {
+        System.out.println("\n=== " + title + " ===");
+
+        for (IndexAdvisor.QueryPlan plan : advisor.explain(conn)) {
+            final String sql = plan.query().sql();
+            // only the per-deck lookups whose one parameter is the deck id are timed
+            if (!sql.contains("deck_id = ?") || sql.chars().filter(c -> c == '?').count() != 1) continue;
+
+            System.out.printf("%-28s index=%-28s sorted=%-5s %8.1f us/op%n",
+                    plan.query().name(), plan.index(), plan.sortedByIndex(), latencyMicros(conn, sql, decks));
+            if (plan.needsIndex()) System.out.println("  suggest: " + plan.suggestion());
+        }
+
+        for (IndexAdvisor.RedundantIndex index : advisor.findRedundantIndexes(conn)) {
+            System.out.printf("redundant %s.%s%s covered by %s%n",
+                    index.table(), index.index(), index.columns(), index.coveredBy());
+        }
+    }
+
+    private static double latencyMicros(Connection conn, String sql, int decks) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) run(stmt, i % decks + 1);
+
+            final long started = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) run(stmt, i % decks + 1);
+            return (System.nanoTime() - started) / 1_000.0 / MEASURED_ROUNDS;
+        }
+    }
+
+    private static void run(PreparedStatement stmt, long deckId) throws SQLException {
+        stmt.setLong(1, deckId);
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) rs.getLong(1);
+        }
+    }
+}
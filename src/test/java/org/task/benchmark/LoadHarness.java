@@ -0,0 +1,277 @@
+package org.task.benchmark;
+
+import org.task.models.dto.CardRequest;
+import org.task.models.dto.CardView;
+import org.task.models.dto.DeckHeader;
+import org.task.models.dto.DeckRequest;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+import org.task.service.CardService;
+import org.task.service.DeckService;
+import org.task.service.ExportImportService;
+import org.task.service.SearchService;
+import org.task.service.impl.ExportImportServiceImpl;
+import org.task.service.manager.ServiceManagement;
+import org.task.service.manager.ServiceManagementImpl;
+import org.task.service.quiz.AdaptiveQuizOrder;
+import org.task.utils.AliasTable;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * In-process load test: fills a throwaway file database under the temp directory with
+ * {@link DatasetGenerator}, then runs N learners on virtual threads against the service layer for a fixed
+ * time, each picking list, search, quiz, import or export by the configured mix. Reports per-operation
+ * throughput and latency percentiles, then deletes the database.
+ * <p>
+ * Not a unit test; run manually through the {@code benchmark} profile, e.g. {@code mvn -Pbenchmark
+ * test-compile exec:java -Dexec.args="--learners 32 --seconds 30 --decks 20 --cards 2000
+ * --ops list:30,search:30,quiz:30,import:5,export:5"}. Dataset options are those of {@link DatasetGenerator}.
+ */
+public class LoadHarness {
+    private static final int QUIZ_QUESTIONS = 10;
+    private static final double QUIZ_CORRECT_RATE = 0.7;
+    private static final int IMPORT_FILES = 8;
+    private static final int IMPORT_CARDS = 50;
+
+    enum Operation {LIST, SEARCH, QUIZ, IMPORT, EXPORT}
+
+    private final DatasetGenerator generator;
+    private final ServiceManagement services;
+    private final DeckService deckService;
+    private final CardService cardService;
+    private final SearchService searchService;
+    private final ExportImportService exportImportService = new ExportImportServiceImpl();
+    private final Path workDir;
+    private final List<Path> importFiles;
+    private final List<DeckHeader> decks;
+    private final AtomicInteger importCounter = new AtomicInteger();
+
+    LoadHarness(DatasetGenerator generator, ServiceManagement services, Path workDir) throws IOException {
+        this.generator = generator;
+        this.services = services;
+        this.deckService = services.getDeckService();
+        this.cardService = services.getCardService();
+        this.searchService = services.getSearchService();
+        this.workDir = workDir;
+
+        final var importSpec = new DatasetGenerator.Spec(IMPORT_FILES, IMPORT_CARDS,
+                generator.spec().questionMedian(), generator.spec().answerMedian(), generator.spec().lengthSigma(),
+                generator.spec().mix(), generator.spec().seed() + 1);
+        this.importFiles = new DatasetGenerator(importSpec).writeFiles(workDir.resolve("imports"), "csv");
+        this.decks = deckService.getDeckHeaders();
+        searchService.warmUp();
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = DatasetGenerator.parseArgs(args);
+        final int learners = Integer.parseInt(options.getOrDefault("learners", "16"));
+        final int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+        final Map<Operation, Double> mix = parseOps(options.getOrDefault("ops",
+                "list:30,search:30,quiz:30,import:5,export:5"));
+
+        // per-row INFO logging from the repositories would dominate the measurements
+        Logger.getLogger("").setLevel(Level.WARNING);
+        Arrays.stream(Logger.getLogger("").getHandlers()).forEach(handler -> handler.setLevel(Level.WARNING));
+
+        final Path workDir = Files.createTempDirectory("flashcards-load-");
+        final BenchmarkDatabase database = BenchmarkDatabase.in(workDir);
+        try {
+            database.initializeDatabase();
+            final DatasetGenerator generator = new DatasetGenerator(DatasetGenerator.Spec.parse(options));
+
+            final long fillStarted = System.nanoTime();
+            generator.fill(database);
+            System.out.printf("Loaded %d decks x %d cards in %d ms%n", generator.spec().decks(),
+                    generator.spec().cardsPerDeck(), (System.nanoTime() - fillStarted) / 1_000_000);
+
+            final ServiceManagement services = new ServiceManagementImpl(database);
+            final LoadHarness harness = new LoadHarness(generator, services, workDir);
+            try {
+                harness.run(learners, seconds, mix).print(System.out, learners, seconds);
+            } finally {
+                services.close();
+            }
+        } finally {
+            database.shutdown();
+            deleteRecursively(workDir);
+        }
+    }
+
+    Report run(int learners, int seconds, Map<Operation, Double> mix) throws Exception {
+        final Operation[] operations = mix.keySet().toArray(Operation[]::new);
+        final AliasTable table = new AliasTable(mix.values().stream().mapToDouble(Double::doubleValue).toArray());
+        final long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+        final List<Future<Recorder>> results = new ArrayList<>(learners);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int learner = 0; learner < learners; learner++) {
+                final int id = learner;
+                results.add(executor.submit(() -> learn(id, operations, table, deadline)));
+            }
+        }
+
+        final Report report = new Report();
+        for (Future<Recorder> result : results) report.merge(result.get());
+        return report;
+    }
+
+    private Recorder learn(int learner, Operation[] operations, AliasTable table, long deadline) {
+        final SplittableRandom random = new SplittableRandom(generator.spec().seed() * 31 + learner);
+        final Recorder recorder = new Recorder();
+
+        while (System.nanoTime() < deadline) {
+            final Operation operation = operations[table.sample(random)];
+            final long started = System.nanoTime();
+            try {
+                perform(operation, learner, random);
+                recorder.record(operation, System.nanoTime() - started);
+            } catch (Exception e) {
+                recorder.fail(operation);
+            }
+        }
+        return recorder;
+    }
+
+    private void perform(Operation operation, int learner, SplittableRandom random) throws IOException {
+        switch (operation) {
+            case LIST -> deckService.getDeckHeaders();
+            case SEARCH -> searchService.search(generator.word(random), null, SearchService.DEFAULT_LIMIT);
+            case QUIZ -> quiz(learner, randomDeck(random), random);
+            case IMPORT -> importDeck(random);
+            case EXPORT -> exportDeck(learner, randomDeck(random));
+        }
+    }
+
+    private void quiz(int learner, DeckHeader deck, SplittableRandom random) {
+        final var sampler = services.getAdaptiveSampler("learner-" + learner, deck.id());
+        final var order = new AdaptiveQuizOrder(sampler, cardService::getCardViewsByIds, QUIZ_QUESTIONS, random);
+
+        while (order.hasNext()) {
+            final CardView card = order.next();
+            order.recordAnswer(card, random.nextDouble() < QUIZ_CORRECT_RATE);
+        }
+    }
+
+    /**
+     * Same steps as the console's import: parse, create the deck, then create its cards one by one.
+     */
+    private void importDeck(SplittableRandom random) throws IOException {
+        final Path file = importFiles.get(random.nextInt(importFiles.size()));
+        final Deck imported = exportImportService.importDeckFromCsv(file,
+                "Imported " + importCounter.incrementAndGet(), "Imported by the load harness");
+
+        final Deck deck = deckService.createDeck(new DeckRequest(imported.getName(), imported.getDescription()));
+        for (Card card : imported.getCards()) {
+            cardService.create(new CardRequest(card.getQuestion(), card.getAnswer(), deck.getId()));
+        }
+    }
+
+    private void exportDeck(int learner, DeckHeader header) throws IOException {
+        final Deck deck = deckService.getDeckById(header.id());
+        exportImportService.exportDeckToCsv(deck, workDir.resolve("exports").resolve("learner-" + learner + ".csv"));
+    }
+
+    private DeckHeader randomDeck(SplittableRandom random) {
+        return decks.get(random.nextInt(decks.size()));
+    }
+
+    private static Map<Operation, Double> parseOps(String ops) {
+        final Map<Operation, Double> mix = new EnumMap<>(Operation.class);
+        for (String entry : ops.split(",")) {
+            final String[] parts = entry.split(":");
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Double.parseDouble(parts[1]));
+        }
+        return mix;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * One learner's latencies, kept per thread so recording never contends.
+     */
+    static final class Recorder {
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> failures = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos) {
+            final int count = counts.getOrDefault(operation, 0);
+            long[] values = latencies.computeIfAbsent(operation, key -> new long[256]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+        }
+
+        void fail(Operation operation) {
+            failures.merge(operation, 1, Integer::sum);
+        }
+    }
+
+    static final class Report {
+        private final Map<Operation, List<long[]>> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> failures = new EnumMap<>(Operation.class);
+
+        void merge(Recorder recorder) {
+            recorder.counts.forEach((operation, count) -> latencies
+                    .computeIfAbsent(operation, key -> new ArrayList<>())
+                    .add(Arrays.copyOf(recorder.latencies.get(operation), count)));
+            recorder.failures.forEach((operation, count) -> failures.merge(operation, count, Integer::sum));
+        }
+
+        void print(PrintStream out, int learners, int seconds) {
+            out.printf("%d learners for %d s%n", learners, seconds);
+            out.printf("%-8s %9s %7s %10s %9s %9s %9s %9s%n",
+                    "op", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+            long total = 0;
+            for (Operation operation : Operation.values()) {
+                final long[] sorted = latencies.getOrDefault(operation, List.of()).stream()
+                        .flatMapToLong(Arrays::stream).sorted().toArray();
+                final int errors = failures.getOrDefault(operation, 0);
+                if (sorted.length == 0 && errors == 0) continue;
+
+                total += sorted.length;
+                out.printf("%-8s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                        operation.name().toLowerCase(Locale.ROOT), sorted.length, errors,
+                        (double) sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                        percentile(sorted, 0.99), percentile(sorted, 1.0));
+            }
+            out.printf("%-8s %9d %7s %10.1f%n", "total", total, "", (double) total / seconds);
+        }
+
+        /**
+         * Nearest-rank percentile in milliseconds.
+         */
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) return Double.NaN;
+            final int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.task.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DatabaseExecutor Tests")
+class DatabaseExecutorTest {
+
+    private DatabaseExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should never run more tasks at once than the connection limit")
+    void supplyAsync_ShouldBoundConcurrency() {
+        // Given
+        executor = new DatabaseExecutor(3, Duration.ofSeconds(10));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        // When
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 50)
+                .mapToObj(i -> executor.supplyAsync(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(5);
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        assertThat(futures).extracting(CompletableFuture::join).containsExactlyElementsOf(
+                IntStream.range(0, 50).boxed().toList());
+        assertThat(peak.get()).isBetween(1, 3);
+    }
+
+    @Test
+    @DisplayName("Should fail with a timeout and interrupt the task")
+    void supplyAsync_ShouldTimeOutAndInterrupt() throws InterruptedException {
+        // Given
+        executor = new DatabaseExecutor(1, Duration.ofSeconds(10));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean finished = new AtomicBoolean();
+
+        // When
+        CompletableFuture<String> future = executor.supplyAsync(() -> {
+            try {
+                Thread.sleep(10_000);
+                finished.set(true);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "done";
+        }, Duration.ofMillis(50));
+
+        // Then
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(finished).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally when the task throws")
+    void supplyAsync_ShouldPropagateFailure() {
+        // Given
+        executor = new DatabaseExecutor(2, Duration.ofSeconds(10));
+
+        // When
+        CompletableFuture<Object> future = executor.supplyAsync(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // Then
+        assertThatThrownBy(future::join).hasCauseInstanceOf(IllegalStateException.class).hasMessageContaining("boom");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
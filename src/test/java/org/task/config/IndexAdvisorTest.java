@@ -0,0 +1,75 @@
+package org.task.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.config.migration.MigrationRunner;
+import org.task.config.migration.Migrations;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IndexAdvisor Tests")
+class IndexAdvisorTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:index-advisor-test-" + System.nanoTime(), "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    @DisplayName("Should find every repository query served by an index on the migrated schema")
+    void explain_ShouldReportNoMissingIndexes() throws SQLException {
+        // Given
+        new MigrationRunner(Migrations.all()).migrate(conn);
+
+        // When
+        List<IndexAdvisor.QueryPlan> plans = new IndexAdvisor().explain(conn);
+
+        // Then
+        assertThat(plans).hasSize(IndexAdvisor.REPOSITORY_QUERIES.size());
+        assertThat(plans).filteredOn(IndexAdvisor.QueryPlan::needsIndex)
+                .extracting(plan -> plan.query().name())
+                .doesNotContain("cards.findByDeckId", "decks.findByName", "change_log.findAfter");
+        assertThat(plans).filteredOn(plan -> plan.query().name().equals("cards.findByDeckId"))
+                .singleElement()
+                .satisfies(plan -> {
+                    assertThat(plan.index()).isEqualTo("IDX_CARDS_DECK_CREATED");
+                    assertThat(plan.sortedByIndex()).isTrue();
+                });
+        assertThat(new IndexAdvisor().findRedundantIndexes(conn)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should flag an unsorted lookup and indexes duplicated by constraints")
+    void advisor_ShouldFlagPreviousSchema() throws SQLException {
+        // Given
+        new MigrationRunner(Migrations.all().subList(0, 3)).migrate(conn);
+        IndexAdvisor advisor = new IndexAdvisor(List.of(new IndexAdvisor.QueryShape("cards.findByDeckId", "cards",
+                "SELECT * FROM cards WHERE deck_id = ? ORDER BY created_at ASC",
+                List.of("deck_id"), List.of("created_at"))));
+
+        // When
+        List<IndexAdvisor.QueryPlan> plans = advisor.explain(conn);
+        List<IndexAdvisor.RedundantIndex> redundant = advisor.findRedundantIndexes(conn);
+
+        // Then
+        assertThat(plans.getFirst().needsIndex()).isTrue();
+        assertThat(plans.getFirst().suggestion()).isEqualTo(
+                "CREATE INDEX IF NOT EXISTS idx_cards_deck_id_created_at ON cards(deck_id, created_at)");
+        assertThat(redundant).extracting(IndexAdvisor.RedundantIndex::index)
+                .containsExactlyInAnyOrder("IDX_CARDS_DECK_ID", "IDX_DECKS_NAME");
+    }
+}
@@ -0,0 +1,192 @@
+package org.task.config.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.exception.DataBaseConnectionException;
+import org.task.utils.CardFingerprint;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MigrationRunner Tests")
+class MigrationRunnerTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:migration-test-" + System.nanoTime(), "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    @DisplayName("Should apply all migrations to an empty database and seed the demo deck")
+    void migrate_ShouldBootstrapEmptyDatabase() throws SQLException {
+        // Given
+        MigrationRunner runner = new MigrationRunner(Migrations.all());
+
+        // When
+        int applied = runner.migrate(conn);
+
+        // Then
+        assertThat(applied).isEqualTo(Migrations.all().size());
+        assertThat(queryLong("SELECT COUNT(*) FROM schema_history")).isEqualTo(Migrations.all().size());
+        assertThat(queryLong("SELECT COUNT(*) FROM decks WHERE name = 'Demo Deck'")).isEqualTo(1);
+        assertThat(queryLong("SELECT COUNT(*) FROM cards")).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should do nothing on an up-to-date database")
+    void migrate_ShouldSkipAppliedMigrations() throws SQLException {
+        // Given
+        MigrationRunner runner = new MigrationRunner(Migrations.all());
+        runner.migrate(conn);
+
+        // When
+        int applied = runner.migrate(conn);
+
+        // Then
+        assertThat(applied).isZero();
+        assertThat(queryLong("SELECT COUNT(*) FROM cards")).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should not seed the demo deck into a database that already has decks")
+    void migrate_ShouldKeepExistingData() throws SQLException {
+        // Given
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE decks (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "name VARCHAR(255) NOT NULL UNIQUE, description TEXT, "
+                    + "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            stmt.execute("INSERT INTO decks (name) VALUES ('Mine')");
+        }
+
+        // When
+        new MigrationRunner(Migrations.all()).migrate(conn);
+
+        // Then
+        assertThat(queryLong("SELECT COUNT(*) FROM decks")).isEqualTo(1);
+        assertThat(queryLong("SELECT COUNT(*) FROM change_log")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when an applied migration was modified")
+    void migrate_ShouldRejectChecksumMismatch() throws SQLException {
+        // Given
+        new MigrationRunner(Migrations.all()).migrate(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("UPDATE schema_history SET checksum = checksum + 1 WHERE version = 1");
+        }
+
+        // When / Then
+        assertThatThrownBy(() -> new MigrationRunner(Migrations.all()).migrate(conn))
+                .isInstanceOf(DataBaseConnectionException.class)
+                .hasMessageContaining("V1");
+    }
+
+    @Test
+    @DisplayName("Should roll back a failing transactional migration and not record it")
+    void migrate_ShouldRollBackFailedMigration() throws SQLException {
+        // Given
+        Migration failing = new JavaMigration(1, "failing", true) {
+            @Override
+            public void migrate(Connection conn) throws SQLException {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE t (id INT)");
+                    stmt.execute("INSERT INTO t VALUES (1)");
+                    stmt.execute("INSERT INTO missing_table VALUES (1)");
+                }
+            }
+        };
+
+        // When / Then
+        assertThatThrownBy(() -> new MigrationRunner(List.of(failing)).migrate(conn))
+                .isInstanceOf(DataBaseConnectionException.class);
+        assertThat(queryLong("SELECT COUNT(*) FROM schema_history")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should backfill a table in committed batches")
+    void backfill_ShouldUpdateAllRowsInBatches() throws SQLException {
+        // Given
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE items (id BIGINT AUTO_INCREMENT PRIMARY KEY, label VARCHAR(16))");
+            stmt.execute("INSERT INTO items (label) SELECT NULL FROM SYSTEM_RANGE(1, 2500)");
+        }
+        Migration backfill = new JavaMigration(1, "label items", false) {
+            @Override
+            public void migrate(Connection conn) throws SQLException {
+                backfill(conn, "items", "UPDATE items SET label = 'done' WHERE id >= ? AND id < ? AND label IS NULL", 1000);
+            }
+        };
+
+        // When
+        new MigrationRunner(List.of(backfill)).migrate(conn);
+
+        // Then
+        assertThat(queryLong("SELECT COUNT(*) FROM items WHERE label = 'done'")).isEqualTo(2500);
+        assertThat(queryLong("SELECT checksum IS NULL FROM schema_history WHERE version = 1")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replace the alias-computed content hash with a stored one")
+    void migrate_ShouldStoreContentHashWithoutAlias() throws SQLException {
+        // Given
+        List<Migration> all = Migrations.all();
+        new MigrationRunner(all.subList(0, 9)).migrate(conn);
+
+        // When
+        new MigrationRunner(all).migrate(conn);
+
+        // Then
+        assertThat(queryLong("SELECT COUNT(*) FROM INFORMATION_SCHEMA.ROUTINES WHERE ROUTINE_NAME = 'CARD_FINGERPRINT'"))
+                .isZero();
+        assertThat(queryLong("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'CARDS' AND COLUMN_NAME = 'CONTENT_HASH' AND IS_GENERATED = 'NEVER'")).isEqualTo(1);
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT question, answer, content_hash FROM cards")) {
+            int cards = 0;
+            while (rs.next()) {
+                assertThat(rs.getLong(3)).isEqualTo(CardFingerprint.of(rs.getString(1), rs.getString(2)));
+                cards++;
+            }
+            assertThat(cards).isEqualTo(5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should split scripts on semicolons outside literals and comments")
+    void statements_ShouldRespectQuotesAndComments() {
+        // Given
+        String script = """
+                -- header; with semicolon
+                INSERT INTO t VALUES ('a;b', 'it''s');
+                DROP TABLE x;
+                """;
+
+        // When
+        List<String> statements = SqlMigration.statements(script);
+
+        // Then
+        assertThat(statements).containsExactly("INSERT INTO t VALUES ('a;b', 'it''s')", "DROP TABLE x");
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.task.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.models.entity.Card;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Scanner;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CardPager Tests")
+class CardPagerTest {
+
+    private static final Pattern PROMPT = Pattern.compile("Page (\\d+)/(\\d+) - ");
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private PrintStream originalOut;
+
+    @BeforeEach
+    void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Should page forward, back and by number over an in-memory list and stop at both ends")
+    void run_ShouldNavigateListSource() {
+        // Given
+        List<Card> cards = cards(45);
+        String input = String.join("\n", "p", "n", "n", "n", "p", "1", "3", "9", "x", "q") + "\n";
+
+        // When
+        String shown = run(cards, input);
+
+        // Then
+        assertThat(PROMPT.matcher(shown).results().map(result -> result.group(1)).toList())
+                .containsExactly("1", "1", "2", "3", "3", "2", "1", "3", "3", "3");
+        assertThat(PROMPT.matcher(shown).results().map(result -> result.group(2)).distinct().toList())
+                .containsExactly("3");
+        assertThat(shown)
+                .contains("This is the first page.", "This is the last page.",
+                        "Page must be between 1 and 3.", "Invalid choice!")
+                .doesNotContain("46. Question");
+    }
+
+    @Test
+    @DisplayName("Should number cards by their position in the list on every page")
+    void run_ShouldNumberCardsByListOffset() {
+        // Given
+        List<Card> cards = cards(45);
+
+        // When
+        String shown = run(cards, "n\nn\np\nq\n");
+
+        // Then
+        assertThat(pages(shown)).containsExactly(
+                List.of(1L, 20L), List.of(21L, 40L), List.of(41L, 45L), List.of(21L, 40L));
+        assertThat(shown)
+                .contains("1. Question: Question 1\n   Answer: Answer 1\n   ID: 1\n")
+                .contains("41. Question: Question 41\n")
+                .contains("45. Question: Question 45\n");
+    }
+
+    @Test
+    @DisplayName("Should show a single empty page when there are no cards")
+    void run_ShouldHandleEmptySource() {
+        // When
+        String shown = run(List.of(), "n\np\nq\n");
+
+        // Then
+        assertThat(shown)
+                .contains("No cards.", "Page 1/1", "This is the last page.", "This is the first page.");
+    }
+
+    private String run(List<Card> cards, String input) {
+        new CardPager(new Scanner(input), CardPager.Source.of(cards), cards.size(), false).run();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * First and last card number of every rendered page, in the order the pages were shown.
+     */
+    private static List<List<Long>> pages(String shown) {
+        final Pattern number = Pattern.compile("(?m)^(\\d+)\\. Question");
+        return PROMPT.splitAsStream(shown)
+                .map(segment -> number.matcher(segment).results().map(result -> Long.parseLong(result.group(1))).toList())
+                .filter(numbers -> !numbers.isEmpty())
+                .map(numbers -> List.of(numbers.getFirst(), numbers.getLast()))
+                .toList();
+    }
+
+    private static List<Card> cards(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(i -> {
+                    Card card = new Card("Question " + i, "Answer " + i, 1L);
+                    card.setId(i);
+                    return card;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,124 @@
+package org.task.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.task.config.DatabaseExecutor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("InboxWatcher Tests")
+class InboxWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final DatabaseExecutor executor = new DatabaseExecutor(2, Duration.ofSeconds(5));
+    private final List<Map<String, Object>> lines = new CopyOnWriteArrayList<>();
+    private final List<String> imported = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    @DisplayName("Should import settled files once, archive successes and quarantine failures")
+    void run_ShouldArchiveAndQuarantine() throws Exception {
+        // Given
+        Path inbox = tempDir.resolve("inbox");
+        Files.createDirectories(inbox);
+        Files.writeString(inbox.resolve("existing.csv"), "q,a");
+        Files.writeString(inbox.resolve("notes.txt"), "ignored");
+
+        InboxWatcher watcher = watcher(inbox, Duration.ofMillis(300));
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                watcher.run(null, null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // When
+        Path growing = inbox.resolve("growing.json");
+        Files.writeString(growing, "first half ");
+        Thread.sleep(100);
+        Files.writeString(growing, "second half", StandardOpenOption.APPEND);
+        Files.writeString(inbox.resolve("broken.csv"), "bad");
+
+        awaitLines(3);
+        watcher.close();
+        thread.join();
+
+        // Then
+        assertThat(imported).containsExactlyInAnyOrder("q,a", "first half second half", "bad");
+        assertThat(inbox.resolve("archive/existing.csv")).exists();
+        assertThat(inbox.resolve("archive/growing.json")).exists();
+        assertThat(inbox.resolve("quarantine/broken.csv")).exists();
+        assertThat(inbox.resolve("notes.txt")).exists();
+        assertThat(lines).filteredOn(line -> "error".equals(line.get("status")))
+                .singleElement()
+                .satisfies(line -> assertThat(line.get("error")).isEqualTo("Malformed file"));
+
+        InboxWatcher.Metrics metrics = watcher.metrics();
+        assertThat(metrics.imported()).isEqualTo(2);
+        assertThat(metrics.failed()).isEqualTo(1);
+        assertThat(metrics.cards()).isEqualTo(2);
+        assertThat(metrics.maxMillis()).isGreaterThanOrEqualTo(metrics.p50Millis());
+    }
+
+    @Test
+    @DisplayName("Should keep an existing archived file and archive the new one under a free name")
+    void run_ShouldNotOverwriteArchivedFiles() throws Exception {
+        // Given
+        Path inbox = tempDir.resolve("inbox");
+        Files.createDirectories(inbox.resolve("archive"));
+        Files.writeString(inbox.resolve("archive/deck.csv"), "old");
+        Files.writeString(inbox.resolve("deck.csv"), "new");
+
+        // When
+        try (InboxWatcher watcher = watcher(inbox, Duration.ofMillis(50))) {
+            watcher.run(Duration.ofMillis(500), null);
+        }
+
+        // Then
+        assertThat(inbox.resolve("archive/deck.csv")).hasContent("old");
+        assertThat(inbox.resolve("archive/deck-1.csv")).hasContent("new");
+        assertThat(lines).singleElement().satisfies(line -> assertThat(line.get("status")).isEqualTo("ok"));
+    }
+
+    private InboxWatcher watcher(Path inbox, Duration settle) throws IOException {
+        return new InboxWatcher(inbox, inbox.resolve("archive"), inbox.resolve("quarantine"), settle, 2,
+                executor, this::importFile, Duration.ofSeconds(5), lines::add);
+    }
+
+    private Map<String, Object> importFile(Path file) {
+        final String content;
+        try {
+            content = Files.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        imported.add(content);
+        if (content.equals("bad")) throw new IllegalStateException("Malformed file");
+        return Map.of("cards", 1);
+    }
+
+    private void awaitLines(int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (lines.size() < count && System.nanoTime() < deadline) Thread.sleep(20);
+        assertThat(lines).hasSize(count);
+    }
+}
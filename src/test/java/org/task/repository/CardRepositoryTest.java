@@ -0,0 +1,396 @@
+package org.task.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.task.config.DatabaseManager;
+import org.task.exception.OptimisticLockException;
+import org.task.models.dto.CardView;
+import org.task.models.dto.ChangeEvent.EntityType;
+import org.task.models.dto.ChangeEvent.Operation;
+import org.task.models.dto.DeckDelta;
+import org.task.models.dto.DeltaApplyResult;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+import org.task.service.ExportImportService;
+import org.task.service.impl.ExportImportServiceImpl;
+import org.task.utils.CardFingerprint;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CardRepository Tests")
+class CardRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager databaseManager;
+    private Connection keepAlive;
+    private CardRepository cardRepository;
+    private Deck source;
+    private Deck target;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        databaseManager = new InMemoryDatabase();
+        keepAlive = databaseManager.getConnection();
+        databaseManager.initializeDatabase();
+
+        cardRepository = new CardRepository(databaseManager);
+        DeckRepository deckRepository = new DeckRepository(databaseManager, cardRepository);
+        source = deckRepository.save(new Deck("Source", "Cards to clean up"));
+        target = deckRepository.save(new Deck("Target", "Cards moved here"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        databaseManager.getExecutor().close();
+        keepAlive.close();
+    }
+
+    @Test
+    @DisplayName("Should insert many cards in batches, assign their ids and log each insert")
+    void saveAll_ShouldInsertInBatches() throws SQLException {
+        // Given
+        List<Card> cards = IntStream.range(0, 1_100)
+                .mapToObj(i -> new Card("Bulk question " + i, "Bulk answer " + i, source.getId()))
+                .toList();
+        long logBefore = queryLong("SELECT COUNT(*) FROM change_log WHERE operation = 'INSERT'");
+
+        // When
+        int inserted = cardRepository.saveAll(cards);
+
+        // Then
+        assertThat(inserted).isEqualTo(1_100);
+        assertThat(cards).extracting(Card::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(cardRepository.findById(cards.getLast().getId()).orElseThrow().getQuestion())
+                .isEqualTo("Bulk question 1099");
+        assertThat(queryLong("SELECT COUNT(*) FROM change_log WHERE operation = 'INSERT'") - logBefore)
+                .isEqualTo(1_100);
+    }
+
+    @Test
+    @DisplayName("Should page a deck forwards, backwards and by position in display order, including ties")
+    void findPageByDeckId_ShouldWalkKeyset() {
+        // Given
+        LocalDateTime sameInstant = LocalDateTime.of(2024, 5, 1, 12, 0);
+        List<Card> cards = IntStream.range(0, 45)
+                .mapToObj(i -> {
+                    Card card = new Card("Question " + i, "Answer " + i, source.getId());
+                    card.setCreatedAt(i < 10 ? sameInstant : sameInstant.plusMinutes(i));
+                    return card;
+                })
+                .toList();
+        cardRepository.saveAll(cards);
+        List<Long> allIds = cardRepository.findIdsByDeckId(source.getId());
+
+        // When
+        List<Card> first = cardRepository.findPageByDeckId(source.getId(), null, 20);
+        List<Card> second = cardRepository.findPageByDeckId(source.getId(), first.getLast(), 20);
+        List<Card> third = cardRepository.findPageByDeckId(source.getId(), second.getLast(), 20);
+        List<Card> backToFirst = cardRepository.findPageByDeckIdBefore(source.getId(), second.getFirst(), 20);
+        List<Card> jumped = cardRepository.findPageByDeckIdAt(source.getId(), 40, 20);
+
+        // Then
+        assertThat(first).extracting(Card::getId).containsExactlyElementsOf(allIds.subList(0, 20));
+        assertThat(second).extracting(Card::getId).containsExactlyElementsOf(allIds.subList(20, 40));
+        assertThat(third).extracting(Card::getId).containsExactlyElementsOf(allIds.subList(40, 45));
+        assertThat(backToFirst).extracting(Card::getId).containsExactlyElementsOf(allIds.subList(0, 20));
+        assertThat(jumped).extracting(Card::getId).containsExactlyElementsOf(third.stream().map(Card::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should update many cards in batches and log each change")
+    void updateAll_ShouldUpdateInBatches() throws SQLException {
+        // Given
+        List<Card> cards = saveCards(source, 1_200);
+        cards.forEach(card -> card.setAnswer(card.getAnswer() + " (revised)"));
+        long logBefore = queryLong("SELECT COUNT(*) FROM change_log");
+
+        // When
+        int updated = cardRepository.updateAll(cards);
+
+        // Then
+        assertThat(updated).isEqualTo(1_200);
+        assertThat(queryLong("SELECT COUNT(*) FROM cards WHERE answer LIKE '% (revised)'")).isEqualTo(1_200);
+        assertThat(queryLong("SELECT COUNT(*) FROM change_log") - logBefore).isEqualTo(1_200);
+    }
+
+    @Test
+    @DisplayName("Should delete an id set, leave tombstones and ignore unknown ids")
+    void deleteByIds_ShouldDeleteAndTombstone() throws SQLException {
+        // Given
+        List<Card> cards = saveCards(source, 10);
+        List<Long> ids = List.of(cards.get(0).getId(), cards.get(3).getId(), 999_999L);
+
+        // When
+        int deleted = cardRepository.deleteByIds(ids);
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(cardRepository.countByDeckId(source.getId())).isEqualTo(8);
+        assertThat(queryLong("SELECT COUNT(*) FROM card_tombstones WHERE deck_id = " + source.getId())).isEqualTo(2);
+        assertThat(queryLong("SELECT COUNT(*) FROM change_log WHERE operation = 'DELETE'")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should move cards, tombstone them in the source deck and keep it when they are deleted later")
+    void moveToDeck_ShouldMoveAndTombstoneSource() throws SQLException {
+        // Given
+        List<Card> cards = saveCards(source, 5);
+        List<Long> ids = cards.stream().limit(3).map(Card::getId).toList();
+
+        // When
+        int moved = cardRepository.moveToDeck(ids, target.getId());
+        int movedAgain = cardRepository.moveToDeck(ids, target.getId());
+        boolean deleted = cardRepository.deleteById(ids.getFirst());
+
+        // Then
+        assertThat(moved).isEqualTo(3);
+        assertThat(movedAgain).isZero();
+        assertThat(deleted).isTrue();
+        assertThat(cardRepository.countByDeckId(source.getId())).isEqualTo(2);
+        assertThat(cardRepository.countByDeckId(target.getId())).isEqualTo(2);
+        assertThat(queryLong("SELECT COUNT(*) FROM card_tombstones WHERE deck_id = " + source.getId())).isEqualTo(3);
+        assertThat(queryLong("SELECT COUNT(*) FROM card_tombstones WHERE deck_id = " + target.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a deck's tombstone when a card moves back into it")
+    void moveToDeck_ShouldClearTombstoneOnReturn() throws SQLException {
+        // Given
+        Long cardId = saveCards(source, 1).getFirst().getId();
+        cardRepository.moveToDeck(List.of(cardId), target.getId());
+
+        // When
+        cardRepository.moveToDeck(List.of(cardId), source.getId());
+
+        // Then
+        assertThat(queryLong("SELECT COUNT(*) FROM card_tombstones WHERE deck_id = " + source.getId())).isZero();
+        assertThat(queryLong("SELECT COUNT(*) FROM card_tombstones WHERE deck_id = " + target.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replace text only in matching cards of the given deck")
+    void replaceTextInDeck_ShouldReplaceLiterally() throws SQLException {
+        // Given
+        cardRepository.save(new Card("What is JDK 8?", "JDK 8 added lambdas", source.getId()));
+        cardRepository.save(new Card("What is a record?", "A data carrier", source.getId()));
+        cardRepository.save(new Card("JDK 8 elsewhere", "untouched", target.getId()));
+
+        // When
+        int changed = cardRepository.replaceTextInDeck(source.getId(), "JDK 8", "JDK 21");
+
+        // Then
+        assertThat(changed).isEqualTo(1);
+        assertThat(cardRepository.findByDeckId(source.getId()))
+                .extracting(Card::getQuestion, Card::getAnswer)
+                .contains(tuple("What is JDK 21?", "JDK 21 added lambdas"));
+        assertThat(cardRepository.findByDeckId(target.getId()))
+                .extracting(Card::getQuestion).containsExactly("JDK 8 elsewhere");
+    }
+
+    @Test
+    @DisplayName("Should find a deck's cards by content hash, kept current by text replacement")
+    void findViewsByContentHashes_ShouldFollowTextChanges() {
+        // Given
+        Card card = cardRepository.save(new Card("What is JDK 8?", "A release", source.getId()));
+        cardRepository.save(new Card("What is JDK 8?", "A release", target.getId()));
+        long before = CardFingerprint.of("What is JDK 8?", "A release");
+        long after = CardFingerprint.of("  what is jdk 21? ", "a RELEASE");
+
+        // When
+        cardRepository.replaceTextInDeck(source.getId(), "JDK 8", "JDK 21");
+
+        // Then
+        assertThat(cardRepository.findViewsByContentHashes(source.getId(), List.of(before))).isEmpty();
+        assertThat(cardRepository.findViewsByContentHashes(source.getId(), List.of(before, after)))
+                .extracting(CardView::id).containsExactly(card.getId());
+    }
+
+    @Test
+    @DisplayName("Should bump the version on update and reject a writer holding a stale version")
+    void update_ShouldRejectStaleVersion() {
+        // Given
+        Card saved = cardRepository.save(new Card("Q", "A", source.getId()));
+        Card first = cardRepository.findById(saved.getId()).orElseThrow();
+        Card second = cardRepository.findById(saved.getId()).orElseThrow();
+
+        // When
+        first.setAnswer("first writer");
+        cardRepository.update(first);
+        second.setAnswer("second writer");
+
+        // Then
+        assertThat(first.getVersion()).isEqualTo(1L);
+        assertThatThrownBy(() -> cardRepository.update(second))
+                .isInstanceOf(OptimisticLockException.class);
+        assertThat(cardRepository.findById(saved.getId()).orElseThrow().getAnswer()).isEqualTo("first writer");
+    }
+
+    @Test
+    @DisplayName("Should update a card by id and version alone and fill in the rest from the stored row")
+    void updateIfExists_ShouldFillEntityFromStoredRow() {
+        // Given
+        Card saved = cardRepository.save(new Card("Q", "A", source.getId()));
+        Card edit = Card.builder().id(saved.getId()).question("Q2").answer("A2").version(0L).build();
+        Card missing = Card.builder().id(999_999L).question("Q").answer("A").version(0L).build();
+
+        // When
+        Optional<Card> updated = cardRepository.updateIfExists(edit);
+
+        // Then
+        assertThat(updated).hasValueSatisfying(card -> {
+            assertThat(card.getDeckId()).isEqualTo(source.getId());
+            assertThat(card.getUid()).isEqualTo(saved.getUid());
+            assertThat(card.getVersion()).isEqualTo(1L);
+        });
+        assertThat(cardRepository.updateIfExists(missing)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should bring a replica deck in line with its source through exported deltas matched by uid")
+    void applyDelta_ShouldReplayExportedChangesOnReplica() throws IOException {
+        // Given
+        ExportImportService exportImportService = new ExportImportServiceImpl();
+        List<Card> cards = saveCards(source, 3);
+        DeckDelta full = exportAndImport(exportImportService, cardRepository.findDelta(source, null));
+        DeltaApplyResult initial = cardRepository.applyDelta(target.getId(), full);
+
+        Card edited = cards.get(0);
+        edited.setQuestion("Edited question");
+        cardRepository.update(edited);
+        cardRepository.deleteById(cards.get(1).getId());
+        Card added = cardRepository.save(new Card("Added question", "Added answer", source.getId()));
+
+        // When
+        DeckDelta delta = exportAndImport(exportImportService, cardRepository.findDelta(source, full.watermark()));
+        DeltaApplyResult result = cardRepository.applyDelta(target.getId(), delta);
+
+        // Then
+        assertThat(initial).isEqualTo(new DeltaApplyResult(3, 0, 0));
+        assertThat(delta.watermark()).isGreaterThan(full.watermark());
+        assertThat(result).isEqualTo(new DeltaApplyResult(1, 1, 1));
+        assertThat(cardRepository.findByDeckId(target.getId()))
+                .extracting(Card::getUid, Card::getQuestion)
+                .containsExactlyInAnyOrder(
+                        tuple(edited.getUid(), "Edited question"),
+                        tuple(cards.get(2).getUid(), "Question 2"),
+                        tuple(added.getUid(), "Added question"));
+        assertThat(cardRepository.findByDeckId(source.getId())).extracting(Card::getQuestion)
+                .containsExactlyInAnyOrder("Edited question", "Question 2", "Added question");
+    }
+
+    @Test
+    @DisplayName("Should hold the delta watermark behind a transaction still open and export it once committed")
+    void findDelta_ShouldNotPassOpenTransaction() throws SQLException {
+        // Given
+        DeckDelta full = cardRepository.findDelta(source, null);
+        DeckDelta whileOpen;
+
+        try (Connection open = databaseManager.getConnection()) {
+            open.setAutoCommit(false);
+            try (Statement stmt = open.createStatement()) {
+                stmt.executeUpdate("INSERT INTO cards (question, answer, deck_id) VALUES ('Slow question', "
+                        + "'Slow answer', " + source.getId() + ")", Statement.RETURN_GENERATED_KEYS);
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    keys.next();
+                    ChangeLogRepository.record(open, EntityType.CARD, keys.getLong(1), source.getId(), Operation.INSERT);
+                }
+            }
+            cardRepository.save(new Card("Fast question", "Fast answer", source.getId()));
+
+            // When
+            whileOpen = cardRepository.findDelta(source, full.watermark());
+            databaseManager.commit(open);
+        }
+        DeckDelta afterCommit = cardRepository.findDelta(source, full.watermark());
+
+        // Then
+        assertThat(whileOpen.watermark()).isEqualTo(full.watermark());
+        assertThat(whileOpen.cards()).isEmpty();
+        assertThat(afterCommit.cards()).extracting(Card::getQuestion)
+                .containsExactly("Slow question", "Fast question");
+    }
+
+    @Test
+    @DisplayName("Should stamp cards a delta inserts with this database's time and carry them in its own deltas")
+    void applyDelta_ShouldStampInsertedCardsLocally() {
+        // Given
+        Card old = new Card("Old question", "Old answer", source.getId());
+        old.setCreatedAt(LocalDateTime.of(2020, 1, 1, 0, 0));
+        old.setUpdatedAt(old.getCreatedAt());
+        cardRepository.save(old);
+        DeckDelta sourceDelta = cardRepository.findDelta(source, null);
+        long targetWatermark = cardRepository.findDelta(target, null).watermark();
+
+        // When
+        cardRepository.applyDelta(target.getId(), sourceDelta);
+        DeckDelta targetDelta = cardRepository.findDelta(target, targetWatermark);
+
+        // Then
+        assertThat(targetDelta.cards()).singleElement().satisfies(card -> {
+            assertThat(card.getUid()).isEqualTo(old.getUid());
+            assertThat(card.getCreatedAt()).isEqualTo(old.getCreatedAt());
+            assertThat(card.getUpdatedAt()).isAfter(old.getUpdatedAt());
+        });
+    }
+
+    @Test
+    @DisplayName("Should page through a deck's matching cards by keyset, ignoring case and taking wildcards literally")
+    void findMatchingPage_ShouldPageMatchesInDisplayOrder() {
+        // Given
+        List<Card> cards = saveCards(source, 30);
+        cardRepository.save(new Card("Other 100% question", "Answer", source.getId()));
+        cardRepository.save(new Card("Question in target", "Answer", target.getId()));
+        List<Long> matching = cards.stream().filter(card -> card.getQuestion().startsWith("Question 1"))
+                .map(Card::getId).toList();
+
+        // When
+        List<Card> first = cardRepository.findMatchingPageByDeckId(source.getId(), "question 1", null, 5);
+        List<Card> second = cardRepository.findMatchingPageByDeckId(source.getId(), "question 1", first.getLast(), 5);
+        List<Card> back = cardRepository.findMatchingPageByDeckIdBefore(source.getId(), "question 1", second.getFirst(), 5);
+        List<Card> jumped = cardRepository.findMatchingPageByDeckIdAt(source.getId(), "question 1", 5, 5);
+
+        // Then
+        assertThat(cardRepository.countMatchingByDeckId(source.getId(), "question 1")).isEqualTo(matching.size());
+        assertThat(first).extracting(Card::getId).containsExactlyElementsOf(matching.subList(0, 5));
+        assertThat(second).extracting(Card::getId).containsExactlyElementsOf(matching.subList(5, 10));
+        assertThat(back).isEqualTo(first);
+        assertThat(jumped).isEqualTo(second);
+        assertThat(cardRepository.countMatchingByDeckId(source.getId(), "100%")).isEqualTo(1);
+        assertThat(cardRepository.countMatchingByDeckId(source.getId(), "_")).isZero();
+    }
+
+    private DeckDelta exportAndImport(ExportImportService exportImportService, DeckDelta delta) throws IOException {
+        Path file = tempDir.resolve("delta-" + System.nanoTime() + ".json");
+        exportImportService.exportDeckDeltaToJson(delta, file);
+        return exportImportService.importDeckDeltaFromJson(file);
+    }
+
+    private List<Card> saveCards(Deck deck, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> cardRepository.save(new Card("Question " + i, "Answer " + i, deck.getId())))
+                .toList();
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement stmt = keepAlive.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.task.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.config.DatabaseManager;
+import org.task.exception.RepositoryException;
+import org.task.models.dto.ChangeEvent;
+import org.task.models.dto.ChangeEvent.EntityType;
+import org.task.models.dto.ChangeEvent.Operation;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ChangeLogRepository Tests")
+class ChangeLogRepositoryTest {
+
+    private DatabaseManager databaseManager;
+    private Connection keepAlive;
+    private ChangeLogRepository changeLogRepository;
+    private CardRepository cardRepository;
+    private Deck deck;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        databaseManager = new InMemoryDatabase();
+        keepAlive = databaseManager.getConnection();
+        databaseManager.initializeDatabase();
+
+        changeLogRepository = new ChangeLogRepository(databaseManager);
+        cardRepository = new CardRepository(databaseManager);
+        deck = new DeckRepository(databaseManager, cardRepository).save(new Deck("Logged", "Changes"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        databaseManager.getExecutor().close();
+        keepAlive.close();
+    }
+
+    @Test
+    @DisplayName("Should log repository writes in commit order and find them by sequence")
+    void findAfter_ShouldReturnWritesInOrder() {
+        // Given
+        long fromSeq = changeLogRepository.findLatestSeq();
+        Card card = cardRepository.save(new Card("Question", "Answer", deck.getId()));
+        cardRepository.deleteById(card.getId());
+
+        // When
+        List<ChangeEvent> events = changeLogRepository.findAfter(fromSeq, 10);
+
+        // Then
+        assertThat(events).extracting(ChangeEvent::entityType, ChangeEvent::entityId, ChangeEvent::deckId,
+                        ChangeEvent::operation)
+                .containsExactly(
+                        tuple(EntityType.CARD, card.getId(), deck.getId(), Operation.INSERT),
+                        tuple(EntityType.CARD, card.getId(), deck.getId(), Operation.DELETE));
+        assertThat(changeLogRepository.findLatestSeq()).isEqualTo(events.get(1).seq());
+        assertThat(changeLogRepository.findBySeq(events.get(0).seq())).contains(events.get(0));
+    }
+
+    @Test
+    @DisplayName("Should purge entries up to a sequence and keep the later ones")
+    void purgeUpTo_ShouldKeepLaterEntries() {
+        // Given
+        Card first = cardRepository.save(new Card("First", "Answer", deck.getId()));
+        long firstSeq = changeLogRepository.findLatestSeq();
+        cardRepository.save(new Card("Second", "Answer", deck.getId()));
+
+        // When
+        changeLogRepository.purgeUpTo(firstSeq);
+
+        // Then
+        assertThat(changeLogRepository.findBySeq(firstSeq)).isEmpty();
+        assertThat(changeLogRepository.findAfter(0L, 10))
+                .singleElement()
+                .satisfies(event -> assertThat(event.entityId()).isNotEqualTo(first.getId()));
+    }
+
+    @Test
+    @DisplayName("Should hand committed entries to commit listeners and drop rolled back ones")
+    void commitListener_ShouldReceiveCommittedEntries() {
+        // Given
+        List<ChangeEvent> committed = new ArrayList<>();
+        databaseManager.addCommitListener(committed::addAll);
+        Card card = cardRepository.save(new Card("Question", "Answer", deck.getId()));
+
+        // When
+        assertThatThrownBy(() -> cardRepository.moveToDeck(List.of(card.getId()), -1L))
+                .isInstanceOf(RepositoryException.class);
+
+        // Then
+        assertThat(committed).extracting(ChangeEvent::entityId, ChangeEvent::operation)
+                .containsExactly(tuple(card.getId(), Operation.INSERT));
+        assertThat(committed).extracting(ChangeEvent::seq)
+                .containsExactly(changeLogRepository.findLatestSeq());
+    }
+
+    @Test
+    @DisplayName("Should keep the committed seq below a transaction still open, however many commits follow it")
+    void findCommittedSeq_ShouldStayBelowOpenTransaction() throws SQLException {
+        // Given
+        long before = changeLogRepository.findCommittedSeq();
+        Card card = cardRepository.save(new Card("Question", "Answer", deck.getId()));
+        long afterSave = changeLogRepository.findCommittedSeq();
+
+        try (Connection open = databaseManager.getConnection()) {
+            open.setAutoCommit(false);
+            ChangeLogRepository.record(open, EntityType.CARD, card.getId(), deck.getId(), Operation.UPDATE);
+            cardRepository.deleteById(card.getId());
+
+            // When
+            long whileOpen = changeLogRepository.findCommittedSeq();
+            databaseManager.commit(open);
+
+            // Then
+            assertThat(afterSave).isGreaterThan(before);
+            assertThat(whileOpen).isEqualTo(afterSave);
+            assertThat(changeLogRepository.findLatestSeq()).isGreaterThan(whileOpen + 1);
+        }
+        assertThat(changeLogRepository.findCommittedSeq()).isEqualTo(changeLogRepository.findLatestSeq());
+        assertThat(changeLogRepository.findBySeqs(List.of(afterSave + 1, afterSave + 2, -1L)))
+                .extracting(ChangeEvent::operation)
+                .containsExactly(Operation.UPDATE, Operation.DELETE);
+    }
+}
@@ -0,0 +1,105 @@
+package org.task.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.config.DatabaseManager;
+import org.task.exception.EntityAlreadyExists;
+import org.task.exception.OptimisticLockException;
+import org.task.models.entity.Deck;
+import org.task.utils.OptimisticRetry;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DeckRepository Tests")
+class DeckRepositoryTest {
+
+    private DatabaseManager databaseManager;
+    private Connection keepAlive;
+    private DeckRepository deckRepository;
+
+    @BeforeEach
+    void setUp() {
+        databaseManager = new InMemoryDatabase();
+        keepAlive = databaseManager.getConnection();
+        databaseManager.initializeDatabase();
+
+        deckRepository = new DeckRepository(databaseManager, new CardRepository(databaseManager));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        databaseManager.getExecutor().close();
+        keepAlive.close();
+    }
+
+    @Test
+    @DisplayName("Should report a duplicate name from the unique constraint as EntityAlreadyExists")
+    void save_ShouldThrowEntityAlreadyExists_WhenNameTaken() {
+        // Given
+        deckRepository.save(new Deck("Java", "first"));
+
+        // When & Then
+        assertThatThrownBy(() -> deckRepository.save(new Deck("Java", "second")))
+                .isInstanceOf(EntityAlreadyExists.class)
+                .hasMessageContaining("Deck with name Java already exists");
+    }
+
+    @Test
+    @DisplayName("Should reject an update based on a stale version")
+    void update_ShouldRejectStaleVersion() {
+        // Given
+        Deck saved = deckRepository.save(new Deck("Java", "Basics"));
+        Deck stale = deckRepository.findById(saved.getId()).orElseThrow();
+        Deck fresh = deckRepository.findById(saved.getId()).orElseThrow();
+        fresh.setDescription("Updated");
+        deckRepository.update(fresh);
+
+        // When & Then
+        stale.setDescription("Lost update");
+        assertThatThrownBy(() -> deckRepository.update(stale)).isInstanceOf(OptimisticLockException.class);
+        assertThat(deckRepository.findById(saved.getId()).orElseThrow().getDescription()).isEqualTo("Updated");
+    }
+
+    @Test
+    @DisplayName("Should insert on first upsert and update the description afterwards")
+    void upsertByName_ShouldInsertThenUpdate() {
+        // When
+        Deck inserted = deckRepository.upsertByName(new Deck("Spring", "v1"));
+        Deck updated = deckRepository.upsertByName(new Deck("Spring", "v2"));
+
+        // Then
+        assertThat(updated.getId()).isEqualTo(inserted.getId());
+        assertThat(inserted.getVersion()).isZero();
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(deckRepository.findByName("Spring").orElseThrow().getDescription()).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Should leave exactly one deck when many writers upsert the same name concurrently")
+    void upsertByName_ShouldConvergeUnderConcurrency() {
+        // Given
+        try (ExecutorService writers = Executors.newFixedThreadPool(8)) {
+            // When
+            List<CompletableFuture<Deck>> results = IntStream.range(0, 32)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> OptimisticRetry.run(10,
+                            () -> deckRepository.upsertByName(new Deck("Shared", "writer " + i))), writers))
+                    .toList();
+
+            // Then
+            assertThat(results).extracting(CompletableFuture::join)
+                    .extracting(Deck::getId)
+                    .containsOnly(results.getFirst().join().getId());
+        }
+        assertThat(deckRepository.findAll()).filteredOn(deck -> deck.getName().equals("Shared")).hasSize(1);
+    }
+}
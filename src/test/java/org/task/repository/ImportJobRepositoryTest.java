@@ -0,0 +1,104 @@
+package org.task.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.task.config.DatabaseManager;
+import org.task.exception.RepositoryException;
+import org.task.models.dto.ImportJob;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+import org.task.service.ImportJobService;
+import org.task.service.impl.DuplicateServiceImpl;
+import org.task.service.impl.ImportJobServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ImportJobRepository Tests")
+class ImportJobRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseManager databaseManager;
+    private Connection keepAlive;
+    private CardRepository cardRepository;
+    private ImportJobService importJobService;
+    private Deck deck;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        databaseManager = new InMemoryDatabase();
+        keepAlive = databaseManager.getConnection();
+        databaseManager.initializeDatabase();
+
+        cardRepository = new CardRepository(databaseManager);
+        importJobService = new ImportJobServiceImpl(new ImportJobRepository(databaseManager), cardRepository,
+                new DuplicateServiceImpl(cardRepository));
+        deck = new DeckRepository(databaseManager, cardRepository).save(new Deck("Imported", "From a file"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        databaseManager.getExecutor().close();
+        keepAlive.close();
+    }
+
+    @Test
+    @DisplayName("Should keep the committed batches of a failed import and resume after them without duplicates")
+    void run_ShouldResumeFromLastCheckpoint() throws IOException {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("deck.csv"), "Question,Answer\n");
+        List<Card> records = new ArrayList<>(IntStream.range(0, 1_200)
+                .mapToObj(i -> new Card("Question " + i, "Answer " + (i % 1_100), null))
+                .toList());
+        records.set(700, new Card(null, "Broken", null));
+        ImportJob job = importJobService.start(file, deck.getId(), records.size());
+
+        // When
+        assertThatThrownBy(() -> importJobService.run(job, records)).isInstanceOf(RepositoryException.class);
+        ImportJob failed = importJobService.findResumable(file).orElseThrow();
+
+        records.set(700, new Card("Question 700", "Answer 700", null));
+        ImportJob finished = importJobService.run(failed, records);
+
+        // Then
+        assertThat(failed.status()).isEqualTo(ImportJob.Status.FAILED);
+        assertThat(failed.recordsDone()).isEqualTo(ImportJobService.CHECKPOINT_INTERVAL);
+        assertThat(failed.cardsImported()).isEqualTo(ImportJobService.CHECKPOINT_INTERVAL);
+        assertThat(failed.error()).isNotBlank();
+
+        assertThat(finished.status()).isEqualTo(ImportJob.Status.DONE);
+        assertThat(finished.recordsDone()).isEqualTo(1_200);
+        assertThat(finished.cardsImported()).isEqualTo(1_200);
+        assertThat(cardRepository.countByDeckId(deck.getId())).isEqualTo(1_200);
+        assertThat(importJobService.findResumable(file)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not resume a job once its file has changed")
+    void findResumable_ShouldIgnoreChangedFile() throws IOException {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("deck.json"), "{}");
+        importJobService.start(file, deck.getId(), 10);
+
+        // When
+        Files.writeString(file, "{\"name\": \"changed\"}");
+
+        // Then
+        assertThat(importJobService.findResumable(file)).isEmpty();
+        assertThat(importJobService.getJobs()).singleElement()
+                .satisfies(job -> assertThat(job.status()).isEqualTo(ImportJob.Status.RUNNING));
+    }
+}
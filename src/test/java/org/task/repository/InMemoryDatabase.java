@@ -0,0 +1,35 @@
+package org.task.repository;
+
+import org.task.config.DatabaseManager;
+import org.task.config.migration.MigrationRunner;
+import org.task.config.migration.Migrations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Private, migrated H2 in-memory database for repository tests. The database lives while at least one
+ * connection is open, so tests hold one for their duration.
+ */
+class InMemoryDatabase extends DatabaseManager {
+
+    @Override
+    protected Properties loadProperties() {
+        final Properties props = new Properties();
+        props.setProperty("db.url", "jdbc:h2:mem:repository-test-" + System.nanoTime());
+        props.setProperty("db.user", "sa");
+        props.setProperty("db.password", "");
+        props.setProperty("db.driver", "org.h2.Driver");
+        return props;
+    }
+
+    @Override
+    public void initializeDatabase() {
+        try (Connection conn = getConnection()) {
+            new MigrationRunner(Migrations.all()).migrate(conn);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.task.exception.NotFoundException;
+import org.task.exception.OptimisticLockException;
 import org.task.models.dto.CardRequest;
 import org.task.models.entity.Card;
 import org.task.repository.CardRepository;
@@ -15,10 +16,14 @@ import org.task.repository.CardRepository;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -125,37 +130,29 @@ class CardServiceImplTest {
     void update_ShouldUpdateCardSuccessfully() {
         // Given
         CardRequest updateRequest = new CardRequest("Updated question", "Updated answer", 1L);
-        Card existingCard = Card.builder()
-                .id(1L)
-                .question("Old question")
-                .answer("Old answer")
-                .deckId(1L)
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .updatedAt(LocalDateTime.now().minusDays(1))
-                .build();
-
         Card updatedCard = Card.builder()
                 .id(1L)
                 .question("Updated question")
                 .answer("Updated answer")
                 .deckId(1L)
-                .createdAt(existingCard.getCreatedAt())
+                .version(4L)
+                .createdAt(LocalDateTime.now().minusDays(1))
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(existingCard));
-        when(cardRepository.update(any(Card.class))).thenReturn(updatedCard);
+        when(cardRepository.updateIfExists(any(Card.class))).thenReturn(Optional.of(updatedCard));
 
         // When
-        Card result = cardService.update(1L, updateRequest);
+        Card result = cardService.update(1L, updateRequest, 3L);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getQuestion()).isEqualTo("Updated question");
         assertThat(result.getAnswer()).isEqualTo("Updated answer");
 
-        verify(cardRepository).findById(1L);
-        verify(cardRepository).update(any(Card.class));
+        verify(cardRepository, never()).findById(any());
+        verify(cardRepository).updateIfExists(argThat(card -> card.getId() == 1L && card.getVersion() == 3L
+                && card.getQuestion().equals("Updated question")));
     }
 
     @Test
@@ -164,14 +161,27 @@ class CardServiceImplTest {
         // Given
         Long invalidId = 999L;
         CardRequest updateRequest = new CardRequest("Updated question", "Updated answer", 1L);
-        when(cardRepository.findById(invalidId)).thenReturn(Optional.empty());
+        when(cardRepository.updateIfExists(any(Card.class))).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> cardService.update(invalidId, updateRequest))
+        assertThatThrownBy(() -> cardService.update(invalidId, updateRequest, 0L))
                 .isInstanceOf(NotFoundException.class);
 
-        verify(cardRepository).findById(invalidId);
-        verify(cardRepository, never()).update(any(Card.class));
+        verify(cardRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should check the caller's version and surface a concurrent edit instead of retrying")
+    void update_ShouldFail_WhenCardChangedSinceCallerReadIt() {
+        // Given
+        CardRequest updateRequest = new CardRequest("Updated question", "Updated answer", 1L);
+        when(cardRepository.updateIfExists(any(Card.class))).thenThrow(new OptimisticLockException("conflict"));
+
+        // When & Then
+        assertThatThrownBy(() -> cardService.update(1L, updateRequest, 4L))
+                .isInstanceOf(OptimisticLockException.class);
+
+        verify(cardRepository).updateIfExists(argThat(card -> card.getVersion() == 4L));
     }
 
     @Test
@@ -204,6 +214,34 @@ class CardServiceImplTest {
         verify(cardRepository).deleteById(nonExistentId);
     }
 
+    @Test
+    @DisplayName("Should pass bulk updates to the repository as one batch")
+    void updateAll_ShouldUpdateInOneBatch() {
+        // Given
+        when(cardRepository.updateAll(anyCollection())).thenReturn(2);
+
+        // When
+        int result = cardService.updateAll(Map.of(
+                1L, new CardRequest("Q1", "A1", 1L),
+                2L, new CardRequest("Q2", "A2", 1L)));
+
+        // Then
+        assertThat(result).isEqualTo(2);
+        verify(cardRepository).updateAll(argThat(cards -> cards.size() == 2));
+        verify(cardRepository, never()).findById(any());
+        verify(cardRepository, never()).update(any());
+    }
+
+    @Test
+    @DisplayName("Should reject find-and-replace with empty search text")
+    void replaceText_ShouldRejectEmptyTarget() {
+        // When & Then
+        assertThatThrownBy(() -> cardService.replaceText(1L, "", "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(cardRepository);
+    }
+
     @Test
     @DisplayName("Should return cards by deck ID")
     void getCardsByDeckId_ShouldReturnCardsForDeck() {
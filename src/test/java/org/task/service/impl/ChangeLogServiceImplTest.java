@@ -0,0 +1,132 @@
+package org.task.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.task.models.dto.ChangeEvent;
+import org.task.models.dto.ChangeEvent.EntityType;
+import org.task.models.dto.ChangeEvent.Operation;
+import org.task.repository.ChangeLogRepository;
+import org.task.service.ChangeLogService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChangeLogService Tests")
+class ChangeLogServiceImplTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @InjectMocks
+    private ChangeLogServiceImpl changeLogService;
+
+    private static ChangeEvent event(long seq, LocalDateTime changedAt) {
+        return new ChangeEvent(seq, EntityType.CARD, seq * 10, 1L, Operation.INSERT, changedAt);
+    }
+
+    @Test
+    @DisplayName("Should return latest sequence from repository")
+    void getLatestSequence_ShouldDelegateToRepository() {
+        // Given
+        when(changeLogRepository.findLatestSeq()).thenReturn(42L);
+
+        // When & Then
+        assertThat(changeLogService.getLatestSequence()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should deliver events in sequence order and track resume point")
+    void tail_ShouldDeliverEventsInOrder() {
+        // Given
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        when(changeLogRepository.findCommittedSeq()).thenReturn(7L);
+        when(changeLogRepository.findAfter(eq(5L), anyInt())).thenReturn(List.of(event(6, old), event(7, old)));
+        List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+
+        // When
+        try (ChangeLogService.ChangeLogTailer tailer =
+                     changeLogService.tail(5L, Duration.ofMillis(10), received::addAll)) {
+            await(() -> tailer.getLastSeq() == 7L);
+
+            // Then
+            assertThat(received).extracting(ChangeEvent::seq).containsExactly(6L, 7L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should wait on a gap for as long as the transaction holding it stays open, then deliver it")
+    void tail_ShouldHoldBackBehindLongTransaction() throws InterruptedException {
+        // Given: seq 7 belongs to a transaction open for minutes, seq 8 committed long ago
+        LocalDateTime old = LocalDateTime.now().minusMinutes(5);
+        AtomicLong committed = new AtomicLong(6L);
+        AtomicReference<List<ChangeEvent>> afterSix = new AtomicReference<>(List.of(event(8, old)));
+        when(changeLogRepository.findCommittedSeq()).thenAnswer(invocation -> committed.get());
+        when(changeLogRepository.findAfter(eq(5L), anyInt())).thenReturn(List.of(event(6, old), event(8, old)));
+        when(changeLogRepository.findAfter(eq(6L), anyInt())).thenAnswer(invocation -> afterSix.get());
+        List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+
+        // When
+        try (ChangeLogService.ChangeLogTailer tailer =
+                     changeLogService.tail(5L, Duration.ofMillis(10), received::addAll)) {
+            await(() -> tailer.getLastSeq() == 6L);
+            Thread.sleep(100);
+            long heldAt = tailer.getLastSeq();
+            List<Long> heldBack = received.stream().map(ChangeEvent::seq).toList();
+
+            afterSix.set(List.of(event(7, old), event(8, old)));
+            committed.set(8L);
+            await(() -> tailer.getLastSeq() == 8L);
+
+            // Then
+            assertThat(heldAt).isEqualTo(6L);
+            assertThat(heldBack).containsExactly(6L);
+            assertThat(received).extracting(ChangeEvent::seq).containsExactly(6L, 7L, 8L);
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver an entry that fills a passed-over gap later, as another process's commit would")
+    void tail_ShouldRecheckPassedOverGaps() {
+        // Given
+        LocalDateTime old = LocalDateTime.now().minusMinutes(1);
+        AtomicReference<List<ChangeEvent>> filled = new AtomicReference<>(List.of());
+        when(changeLogRepository.findCommittedSeq()).thenReturn(8L);
+        when(changeLogRepository.findAfter(eq(5L), anyInt())).thenReturn(List.of(event(6, old), event(8, old)));
+        when(changeLogRepository.findBySeqs(anyCollection())).thenAnswer(invocation -> filled.get());
+        List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+
+        // When
+        try (ChangeLogService.ChangeLogTailer tailer =
+                     changeLogService.tail(5L, Duration.ofMillis(10), received::addAll)) {
+            await(() -> tailer.getLastSeq() == 8L);
+            filled.set(List.of(event(7, old)));
+            await(() -> received.size() == 3);
+
+            // Then
+            assertThat(received).extracting(ChangeEvent::seq).containsExactly(6L, 8L, 7L);
+        }
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("Condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.task.exception.EntityAlreadyExists;
 import org.task.exception.NotFoundException;
+import org.task.models.dto.DeckHeader;
 import org.task.models.dto.DeckRequest;
 import org.task.models.entity.Deck;
 import org.task.repository.DeckRepository;
@@ -17,6 +18,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -52,7 +54,6 @@ class DeckServiceImplTest {
     @DisplayName("Should create deck successfully when deck name doesn't exist")
     void createDeck_ShouldCreateDeckSuccessfully_WhenDeckNameDoesNotExist() {
         // Given
-        when(deckRepository.findByName(sampleDeckRequest.name())).thenReturn(Optional.empty());
         when(deckRepository.save(any(Deck.class))).thenReturn(sampleDeck);
 
         // When
@@ -63,23 +64,23 @@ class DeckServiceImplTest {
         assertThat(result.getName()).isEqualTo("Java Basics");
         assertThat(result.getDescription()).isEqualTo("Basic Java concepts");
 
-        verify(deckRepository).findByName("Java Basics");
+        verify(deckRepository, never()).findByName(any());
         verify(deckRepository).save(any(Deck.class));
     }
 
     @Test
-    @DisplayName("Should throw EntityAlreadyExists when deck name already exists")
+    @DisplayName("Should surface the unique name constraint as EntityAlreadyExists when deck name already exists")
     void createDeck_ShouldThrowEntityAlreadyExists_WhenDeckNameAlreadyExists() {
         // Given
-        when(deckRepository.findByName(sampleDeckRequest.name())).thenReturn(Optional.of(sampleDeck));
+        when(deckRepository.save(any(Deck.class)))
+                .thenThrow(new EntityAlreadyExists("Deck with name Java Basics already exists"));
 
         // When & Then
         assertThatThrownBy(() -> deckService.createDeck(sampleDeckRequest))
                 .isInstanceOf(EntityAlreadyExists.class)
                 .hasMessageContaining("Deck with name Java Basics already exists");
 
-        verify(deckRepository).findByName("Java Basics");
-        verify(deckRepository, never()).save(any(Deck.class));
+        verify(deckRepository, never()).findByName(any());
     }
 
     @Test
@@ -106,6 +107,25 @@ class DeckServiceImplTest {
         verify(deckRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Should return deck headers without loading cards")
+    void getDeckHeaders_ShouldReturnHeadersFromRepository() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        DeckHeader header = new DeckHeader(1L, "Java Basics", "Basic Java concepts", 12, now, now);
+        when(deckRepository.findAllHeaders()).thenReturn(List.of(header));
+
+        // When
+        List<DeckHeader> result = deckService.getDeckHeaders();
+
+        // Then
+        assertThat(result).containsExactly(header);
+        assertThat(result.getFirst().toDeck().getName()).isEqualTo("Java Basics");
+
+        verify(deckRepository).findAllHeaders();
+        verify(deckRepository, never()).findAll();
+    }
+
     @Test
     @DisplayName("Should return empty list when no decks exist")
     void getAllDecks_ShouldReturnEmptyList_WhenNoDecksExist() {
@@ -149,6 +169,38 @@ class DeckServiceImplTest {
         verify(deckRepository).findById(invalidId);
     }
 
+    @Test
+    @DisplayName("Should load several decks concurrently and keep the requested order")
+    void getDecksByIdsAsync_ShouldReturnDecksInRequestedOrder() {
+        // Given
+        Deck deck2 = Deck.builder().id(2L).name("Spring Boot").build();
+        CompletableFuture<Optional<Deck>> slowFirst = new CompletableFuture<>();
+        when(deckRepository.findByIdAsync(1L)).thenReturn(slowFirst);
+        when(deckRepository.findByIdAsync(2L)).thenReturn(CompletableFuture.completedFuture(Optional.of(deck2)));
+
+        // When
+        CompletableFuture<List<Deck>> result = deckService.getDecksByIdsAsync(List.of(1L, 2L));
+        slowFirst.complete(Optional.of(sampleDeck));
+
+        // Then
+        assertThat(result.join()).containsExactly(sampleDeck, deck2);
+    }
+
+    @Test
+    @DisplayName("Should fail without waiting for the other decks when one is missing")
+    void getDecksByIdsAsync_ShouldFailFast_WhenDeckMissing() {
+        // Given
+        when(deckRepository.findByIdAsync(1L)).thenReturn(new CompletableFuture<>());
+        when(deckRepository.findByIdAsync(999L)).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // When
+        CompletableFuture<List<Deck>> result = deckService.getDecksByIdsAsync(List.of(1L, 999L));
+
+        // Then
+        assertThat(result).isCompletedExceptionally();
+        assertThatThrownBy(result::join).hasCauseInstanceOf(NotFoundException.class);
+    }
+
     @Test
     @DisplayName("Should return deck when getDeckByName is called with valid name")
     void getDeckByName_ShouldReturnDeck_WhenValidNameProvided() {
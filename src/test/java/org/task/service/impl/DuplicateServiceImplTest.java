@@ -0,0 +1,108 @@
+package org.task.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.task.models.dto.CardView;
+import org.task.models.dto.DuplicateCluster;
+import org.task.models.entity.Card;
+import org.task.repository.CardRepository;
+import org.task.utils.CardFingerprint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DuplicateService Tests")
+class DuplicateServiceImplTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @InjectMocks
+    private DuplicateServiceImpl duplicateService;
+
+    private static Card card(Long id, String question, String answer) {
+        return Card.builder().id(id).question(question).answer(answer).build();
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 30; i++) text.append((char) ('a' + random.nextInt(26)));
+        return text.toString();
+    }
+
+    @Test
+    @DisplayName("Should skip cards already in the deck and repeats within the batch")
+    void withoutDuplicates_ShouldSkipExactDuplicates() {
+        // Given
+        when(cardRepository.findViewsByContentHashes(eq(1L), anyCollection()))
+                .thenReturn(List.of(new CardView(1L, "What is Java?", "A language")));
+        Card existing = card(null, "  what is   JAVA? ", "a language");
+        Card fresh = card(null, "What is Spring?", "A framework");
+        Card repeated = card(null, "What is Spring?", "A framework");
+
+        // When
+        List<Card> result = duplicateService.withoutDuplicates(1L, List.of(existing, fresh, repeated));
+
+        // Then
+        assertThat(result).containsExactly(fresh);
+        verify(cardRepository).findViewsByContentHashes(1L, Set.of(
+                CardFingerprint.of("What is Java?", "A language"), CardFingerprint.of("What is Spring?", "A framework")));
+    }
+
+    @Test
+    @DisplayName("Should keep a card whose hash matches a deck card with different text")
+    void withoutDuplicates_ShouldCompareText_WhenHashesCollide() {
+        // Given: the lookup returns a card with other text, as it would for a colliding hash
+        when(cardRepository.findViewsByContentHashes(eq(1L), anyCollection()))
+                .thenReturn(List.of(new CardView(1L, "What is Kotlin?", "A language")));
+        Card incoming = card(null, "What is Java?", "A language");
+
+        // When
+        List<Card> result = duplicateService.withoutDuplicates(1L, List.of(incoming));
+
+        // Then
+        assertThat(result).containsExactly(incoming);
+    }
+
+    @Test
+    @DisplayName("Should not query the repository for a deck that does not exist yet")
+    void withoutDuplicates_ShouldOnlyDeduplicateBatch_WhenNoDeck() {
+        // When
+        List<Card> result = duplicateService.withoutDuplicates(null,
+                List.of(card(null, "Q", "A"), card(null, "Q", "A")));
+
+        // Then
+        assertThat(result).hasSize(1);
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    @DisplayName("Should cluster near-duplicate cards and leave distinct cards alone")
+    void findNearDuplicates_ShouldReportClusters() {
+        // Given
+        List<Card> cards = new ArrayList<>();
+        cards.add(card(1L, "What is the Java Virtual Machine?", "It runs Java bytecode on any platform"));
+        cards.add(card(2L, "What is the Java Virtual Machine ?", "It runs Java bytecode on any platform."));
+        cards.add(card(3L, "What is the Java virtual machine?", "It runs Java bytecode on any platform!"));
+        Random random = new Random(42);
+        for (long i = 10; i < 200; i++) cards.add(card(i, randomText(random), randomText(random)));
+
+        // When
+        List<DuplicateCluster> clusters = duplicateService.findNearDuplicates(cards, 0.8);
+
+        // Then
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.getFirst().cards()).extracting(Card::getId).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(clusters.getFirst().similarity()).isGreaterThanOrEqualTo(0.8);
+    }
+}
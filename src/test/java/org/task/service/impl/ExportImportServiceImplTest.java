@@ -4,6 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.task.exception.FileParserException;
+import org.task.models.dto.CardTombstone;
+import org.task.models.dto.DeckDelta;
 import org.task.models.entity.Card;
 import org.task.models.entity.Deck;
 
@@ -13,6 +16,8 @@ import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -239,4 +244,82 @@ class ExportImportServiceImplTest {
         assertThat(importedDeck.getCards().get(0).getQuestion()).isEqualTo("What is Java?");
         assertThat(importedDeck.getCards().get(1).getQuestion()).isEqualTo("What is Spring?");
     }
+
+    @Test
+    @DisplayName("Should round-trip deck delta with watermark and tombstones")
+    void deckDelta_ShouldRoundTripThroughJson() throws IOException {
+        // Given
+        Path deltaFile = tempDir.resolve("delta.json");
+        long since = 40L;
+        long watermark = 57L;
+        CardTombstone tombstone = new CardTombstone(3L, UUID.randomUUID(), 1L, LocalDateTime.of(2023, 1, 2, 9, 0));
+        DeckDelta delta = new DeckDelta("Java Basics", "Basic Java concepts", since, watermark,
+                sampleDeck.getCards(), List.of(tombstone));
+
+        // When
+        exportImportService.exportDeckDeltaToJson(delta, deltaFile);
+        DeckDelta imported = exportImportService.importDeckDeltaFromJson(deltaFile);
+
+        // Then
+        assertThat(imported.deckName()).isEqualTo("Java Basics");
+        assertThat(imported.since()).isEqualTo(since);
+        assertThat(imported.watermark()).isEqualTo(watermark);
+        assertThat(imported.cards()).hasSize(2);
+        assertThat(imported.cards().getFirst().getQuestion()).isEqualTo("What is Java?");
+        assertThat(imported.tombstones()).containsExactly(tombstone);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a multi-chunk NDJSON deck in order, with escapes and emoji intact")
+    void ndjson_ShouldRoundTripAcrossChunks() throws IOException {
+        // Given
+        Path ndjsonFile = tempDir.resolve("big.ndjson");
+        LocalDateTime createdAt = LocalDateTime.of(2023, 1, 1, 10, 0, 30);
+        List<Card> cards = IntStream.range(0, 30_000)
+                .mapToObj(i -> Card.builder()
+                        .uid(UUID.randomUUID())
+                        .question("Question " + i + " \"quoted\" 😀?")
+                        .answer("Line one\nline two of answer " + i)
+                        .createdAt(createdAt.plusSeconds(i))
+                        .updatedAt(createdAt.plusSeconds(i))
+                        .build())
+                .toList();
+
+        // When
+        exportImportService.exportDeckToNdjson(sampleDeck, cards, ndjsonFile);
+        Deck imported = exportImportService.importDeckFromNdjson(ndjsonFile);
+
+        // Then
+        assertThat(Files.size(ndjsonFile)).isGreaterThan(2L << 20);
+        assertThat(Files.readAllLines(ndjsonFile)).hasSize(30_001);
+        assertThat(imported.getName()).isEqualTo("Java Basics");
+        assertThat(imported.getDescription()).isEqualTo("Basic Java concepts");
+        assertThat(imported.getCreatedAt()).isEqualTo(sampleDeck.getCreatedAt());
+        assertThat(imported.getCards()).extracting(Card::getQuestion)
+                .containsExactlyElementsOf(cards.stream().map(Card::getQuestion).toList());
+        assertThat(imported.getCards().get(12_345).getAnswer()).isEqualTo("Line one\nline two of answer 12345");
+        assertThat(imported.getCards().get(12_345).getUid()).isEqualTo(cards.get(12_345).getUid());
+        assertThat(imported.getCards().getLast().getCreatedAt()).isEqualTo(createdAt.plusSeconds(29_999));
+    }
+
+    @Test
+    @DisplayName("Should reject NDJSON without a deck header and report malformed card lines")
+    void importDeckFromNdjson_ShouldRejectMalformedFiles() throws IOException {
+        // Given
+        Path headerless = Files.writeString(tempDir.resolve("headerless.ndjson"),
+                "{\"question\":\"Q\",\"answer\":\"A\"}\n");
+        Path broken = Files.writeString(tempDir.resolve("broken.ndjson"),
+                "{\"format\":\"flashcards-ndjson\",\"name\":\"Broken\"}\n"
+                        + "{\"question\":\"Q\",\"answer\":\"A\"}\n"
+                        + "\n"
+                        + "{\"question\":\"Q2\"}\n");
+
+        // Then
+        assertThatThrownBy(() -> exportImportService.importDeckFromNdjson(headerless))
+                .isInstanceOf(FileParserException.class)
+                .hasMessageContaining("Not an NDJSON deck file");
+        assertThatThrownBy(() -> exportImportService.importDeckFromNdjson(broken))
+                .isInstanceOf(FileParserException.class)
+                .hasMessageContaining("question and answer are required");
+    }
 }
@@ -0,0 +1,201 @@
+package org.task.service.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.task.models.dto.ChangeEvent;
+import org.task.models.dto.SearchHit;
+import org.task.models.entity.Card;
+import org.task.service.CardService;
+import org.task.service.ChangeLogService;
+import org.task.storage.OffHeapTextArena;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchService Tests")
+class SearchServiceImplTest {
+
+    @Mock
+    private CardService cardService;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
+    private SearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchServiceImpl(cardService, changeLogService);
+        searchService.index(List.of(
+                card(1L, 1L, "What is Java?", "A programming language"),
+                card(2L, 1L, "What is the JVM?", "Java Virtual Machine"),
+                card(3L, 2L, "Що таке ООП?", "Об'єктно-орієнтоване програмування"),
+                card(4L, 2L, "What is Spring?", "A framework")
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchService.close();
+    }
+
+    private static Card card(Long id, Long deckId, String question, String answer) {
+        return Card.builder().id(id).deckId(deckId).question(question).answer(answer).build();
+    }
+
+    private static ChangeEvent event(long seq, Long cardId, ChangeEvent.Operation operation) {
+        return new ChangeEvent(seq, ChangeEvent.EntityType.CARD, cardId, 1L, operation, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should match case-insensitively and rank question hits first")
+    void search_ShouldRankQuestionHitsFirst() {
+        // When
+        List<SearchHit> hits = searchService.search("JAVA", null, 10);
+
+        // Then
+        assertThat(hits).extracting(hit -> hit.card().getId()).containsExactly(1L, 2L);
+        assertThat(hits).extracting(SearchHit::score)
+                .containsExactly(SearchHit.QUESTION_MATCH, SearchHit.ANSWER_MATCH);
+    }
+
+    @Test
+    @DisplayName("Should fold case of non-Latin text")
+    void search_ShouldFoldCyrillicCase() {
+        // When
+        List<SearchHit> hits = searchService.search("ооп", null, 10);
+
+        // Then
+        assertThat(hits).extracting(hit -> hit.card().getId()).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should restrict search to a single deck")
+    void search_ShouldFilterByDeck() {
+        // When
+        List<SearchHit> hits = searchService.search("what", 2L, 10);
+
+        // Then
+        assertThat(hits).extracting(hit -> hit.card().getId()).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should support regular expressions")
+    void searchRegex_ShouldMatchPattern() {
+        // When
+        List<SearchHit> hits = searchService.searchRegex(Pattern.compile("^what is (java|spring)\\?$"), null, 10);
+
+        // Then
+        assertThat(hits).extracting(hit -> hit.card().getId()).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should reflect upserts and removals")
+    void upsertAndRemove_ShouldUpdateIndex() {
+        // When
+        searchService.remove(1L);
+        searchService.upsert(card(5L, 1L, "Is Kotlin a JVM language?", "Yes"));
+
+        // Then
+        assertThat(searchService.size()).isEqualTo(4);
+        assertThat(searchService.search("jvm", null, 10))
+                .extracting(hit -> hit.card().getId()).containsExactly(2L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should return at most limit hits from a large corpus split across tasks")
+    void search_ShouldHonourLimitOnLargeCorpus() {
+        // Given
+        List<Card> cards = new ArrayList<>();
+        for (long i = 1; i <= 50_000; i++) cards.add(card(i, i % 7, "Question " + i, "Answer " + i));
+        searchService.index(cards);
+
+        // When
+        List<SearchHit> hits = searchService.search("question", null, 25);
+        List<SearchHit> exact = searchService.search("question 49999", null, 25);
+
+        // Then
+        assertThat(hits).hasSize(25).allMatch(hit -> hit.score() == SearchHit.QUESTION_MATCH);
+        assertThat(exact).extracting(hit -> hit.card().getId()).containsExactly(49_999L);
+    }
+
+    @Test
+    @DisplayName("Should return the best hits, not the first found, when the limit cuts the scan short")
+    void search_ShouldReturnTopRankedHitsAcrossTasks() {
+        // Given: question hits only in the last leaves, answer hits everywhere
+        List<Card> cards = new ArrayList<>();
+        for (long i = 1; i <= 50_000; i++) {
+            cards.add(i > 40_000 ? card(i, 1L, "Needle " + i, "Hay") : card(i, 1L, "Hay " + i, "Needle"));
+        }
+        searchService.index(cards);
+        searchService.upsert(card(30_000L, 1L, "Needle moved up", "Hay"));
+        searchService.remove(40_001L);
+
+        // When
+        List<SearchHit> hits = searchService.search("needle", null, 5);
+
+        // Then
+        assertThat(hits).extracting(hit -> hit.card().getId())
+                .containsExactly(30_000L, 40_002L, 40_003L, 40_004L, 40_005L);
+    }
+
+    @Test
+    @DisplayName("Should apply a tailer batch with one lookup of the cards it mentions")
+    void warmUp_ShouldApplyTailerBatchWithOneLookup() {
+        // Given
+        when(cardService.getCards()).thenReturn(List.of());
+        when(changeLogService.tail(anyLong(), any(), any())).thenReturn(mock(ChangeLogService.ChangeLogTailer.class));
+        when(cardService.getCardsByIds(any())).thenReturn(List.of(card(2L, 1L, "What is the JVM now?", "A VM")));
+        searchService.index(List.of(card(1L, 1L, "What is Java?", "A language")));
+        searchService.warmUp();
+        ArgumentCaptor<Consumer<List<ChangeEvent>>> consumer = ArgumentCaptor.captor();
+        verify(changeLogService).tail(anyLong(), any(), consumer.capture());
+
+        // When
+        consumer.getValue().accept(List.of(
+                event(7L, 1L, ChangeEvent.Operation.UPDATE), event(8L, 2L, ChangeEvent.Operation.INSERT),
+                event(9L, 1L, ChangeEvent.Operation.DELETE)));
+
+        // Then
+        verify(cardService).getCardsByIds(Set.of(1L, 2L));
+        assertThat(searchService.size()).isEqualTo(1);
+        assertThat(searchService.search("what", null, 10)).extracting(hit -> hit.card().getId()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should give the same results when text is stored off-heap")
+    void search_ShouldWorkWithOffHeapTextStore() {
+        // Given
+        try (SearchServiceImpl offHeapSearch = new SearchServiceImpl(cardService, changeLogService, new OffHeapTextArena(256))) {
+            offHeapSearch.index(List.of(
+                    card(1L, 1L, "What is Java?", "A programming language"),
+                    card(2L, 1L, "What is the JVM?", "Java Virtual Machine")));
+            offHeapSearch.upsert(card(1L, 1L, "What is Kotlin?", "A JVM language"));
+
+            // When
+            List<SearchHit> hits = offHeapSearch.search("jvm", null, 10);
+
+            // Then
+            assertThat(hits).extracting(hit -> hit.card().getQuestion())
+                    .containsExactly("What is the JVM?", "What is Kotlin?");
+            assertThat(offHeapSearch.searchRegex(Pattern.compile("java"), null, 10))
+                    .extracting(hit -> hit.card().getId()).containsExactly(2L);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.task.service.quiz;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.models.dto.CardView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdaptiveSampler Tests")
+class AdaptiveSamplerTest {
+
+    private final SplittableRandom random = new SplittableRandom(99);
+
+    @Test
+    @DisplayName("Should draw in proportion to weights updated since the last rebuild")
+    void next_ShouldFollowCurrentWeights() {
+        // Given
+        AdaptiveSampler sampler = new AdaptiveSampler();
+        sampler.sync(List.of(1L, 2L, 3L, 4L));
+        sampler.recordAnswer(1L, false);
+        sampler.recordAnswer(2L, true);
+
+        // When
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) counts.merge(sampler.next(random).orElseThrow(), 1, Integer::sum);
+
+        // Then: weights 2, 0.5, 1, 1
+        assertThat(counts.get(1L) / 100_000.0).isCloseTo(2 / 4.5, within(0.01));
+        assertThat(counts.get(2L) / 100_000.0).isCloseTo(0.5 / 4.5, within(0.01));
+        assertThat(counts.get(3L) / 100_000.0).isCloseTo(1 / 4.5, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Should keep weights within bounds and across syncs")
+    void recordAnswer_ShouldClampAndSurviveSync() {
+        // Given
+        AdaptiveSampler sampler = new AdaptiveSampler();
+        sampler.sync(List.of(1L, 2L));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            sampler.recordAnswer(1L, false);
+            sampler.recordAnswer(2L, true);
+        }
+        sampler.sync(List.of(1L, 3L));
+
+        // Then
+        assertThat(sampler.weightOf(1L)).isEqualTo(AdaptiveSampler.MAX_WEIGHT);
+        assertThat(sampler.weightOf(2L)).isZero();
+        assertThat(sampler.weightOf(3L)).isEqualTo(AdaptiveSampler.INITIAL_WEIGHT);
+        assertThat(sampler.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should never draw a removed card and run dry once all are removed")
+    void remove_ShouldStopDrawingCard() {
+        // Given
+        AdaptiveSampler sampler = new AdaptiveSampler();
+        sampler.sync(List.of(1L, 2L, 3L));
+
+        // When
+        sampler.remove(2L);
+        List<Long> drawn = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) drawn.add(sampler.next(random).orElseThrow());
+        sampler.remove(1L);
+        sampler.remove(3L);
+
+        // Then
+        assertThat(drawn).containsOnly(1L, 3L);
+        assertThat(sampler.next(random)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ask missed cards more often and skip cards deleted from the deck")
+    void adaptiveQuizOrder_ShouldDrillMissedCards() {
+        // Given
+        AdaptiveSampler sampler = new AdaptiveSampler();
+        sampler.sync(LongStream.rangeClosed(1, 10).boxed().toList());
+        AdaptiveQuizOrder order = new AdaptiveQuizOrder(sampler,
+                ids -> ids.stream().filter(id -> id != 10L).map(id -> new CardView(id, "Q" + id, "A" + id)).toList(),
+                2_000, random);
+
+        // When
+        Map<Long, Integer> counts = new HashMap<>();
+        while (order.hasNext()) {
+            CardView card = order.next();
+            counts.merge(card.id(), 1, Integer::sum);
+            order.recordAnswer(card, card.id() != 1L);
+        }
+
+        // Then
+        assertThat(counts.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(2_000);
+        assertThat(counts).doesNotContainKey(10L);
+        assertThat(counts.get(1L)).isGreaterThan(1_000);
+    }
+}
@@ -0,0 +1,87 @@
+package org.task.service.quiz;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.models.dto.CardView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LazyQuizOrder Tests")
+class LazyQuizOrderTest {
+
+    private final List<Integer> requestSizes = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should ask every card once, loading at most one batch at a time")
+    void next_ShouldLoadInBatches() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 100).boxed().toList();
+        LazyQuizOrder order = new LazyQuizOrder(ids, loader(Set.of()), 3L, 16);
+
+        // When
+        CardView first = order.next();
+        List<Integer> afterFirst = List.copyOf(requestSizes);
+        List<Long> asked = new ArrayList<>(List.of(first.id()));
+        order.forEachRemaining(card -> asked.add(card.id()));
+
+        // Then
+        assertThat(afterFirst).containsExactly(16);
+        assertThat(requestSizes).hasSize(7).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(16));
+        assertThat(asked).containsExactlyInAnyOrderElementsOf(ids).isNotEqualTo(ids);
+        assertThat(first.question()).isEqualTo("Question " + first.id());
+    }
+
+    @Test
+    @DisplayName("Should give the same order for the same seed whatever the batch size")
+    void next_ShouldFollowSeededPermutation() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 50).boxed().toList();
+
+        // When
+        List<Long> small = drain(new LazyQuizOrder(ids, loader(Set.of()), 11L, 4));
+        List<Long> large = drain(new LazyQuizOrder(ids, loader(Set.of()), 11L, 64));
+
+        // Then
+        assertThat(small).containsExactlyElementsOf(large);
+    }
+
+    @Test
+    @DisplayName("Should skip cards deleted after the ids were read")
+    void next_ShouldSkipDeletedCards() {
+        // Given
+        List<Long> ids = LongStream.rangeClosed(1, 10).boxed().toList();
+        LazyQuizOrder order = new LazyQuizOrder(ids, loader(Set.of(2L, 5L, 9L)), 5L, 3);
+
+        // When
+        List<Long> asked = drain(order);
+
+        // Then
+        assertThat(order.size()).isEqualTo(10);
+        assertThat(asked).containsExactlyInAnyOrder(1L, 3L, 4L, 6L, 7L, 8L, 10L);
+        assertThat(order.hasNext()).isFalse();
+    }
+
+    private Function<Collection<Long>, List<CardView>> loader(Set<Long> deleted) {
+        return batch -> {
+            requestSizes.add(batch.size());
+            // reversed, like a database returning rows in its own order
+            return batch.stream()
+                    .filter(id -> !deleted.contains(id))
+                    .map(id -> new CardView(id, "Question " + id, "Answer " + id))
+                    .toList().reversed();
+        };
+    }
+
+    private static List<Long> drain(LazyQuizOrder order) {
+        List<Long> ids = new ArrayList<>();
+        order.forEachRemaining(card -> ids.add(card.id()));
+        return ids;
+    }
+}
@@ -0,0 +1,160 @@
+package org.task.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.task.models.dto.ChangeEvent;
+import org.task.models.dto.ChangeEvent.EntityType;
+import org.task.models.dto.ChangeEvent.Operation;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ChangeJournal Tests")
+class ChangeJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Connection conn;
+    private ChangeJournal journal;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:journal-test-" + System.nanoTime(), "sa", "");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE decks (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), "
+                    + "description TEXT, created_at TIMESTAMP, updated_at TIMESTAMP, version BIGINT DEFAULT 0)");
+            stmt.execute("CREATE TABLE cards (id BIGINT AUTO_INCREMENT PRIMARY KEY, question TEXT, answer TEXT, "
+                    + "deck_id BIGINT, created_at TIMESTAMP, updated_at TIMESTAMP, version BIGINT DEFAULT 0, "
+                    + "uid UUID DEFAULT RANDOM_UUID() NOT NULL, content_hash BIGINT)");
+            stmt.execute("CREATE TABLE card_tombstones (card_id BIGINT, card_uid UUID, deck_id BIGINT, "
+                    + "deleted_at TIMESTAMP, PRIMARY KEY (card_id, deck_id))");
+            stmt.execute("CREATE TABLE change_log (seq BIGINT AUTO_INCREMENT PRIMARY KEY, entity_type VARCHAR(16), "
+                    + "entity_id BIGINT, deck_id BIGINT, operation VARCHAR(16), changed_at TIMESTAMP)");
+        }
+        journal = new ChangeJournal(tempDir.resolve("journal.ndjson"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        journal.close();
+        conn.close();
+    }
+
+    @Test
+    @DisplayName("Should rebuild rows and change log entries from the journal")
+    void replay_ShouldRestoreRows() throws SQLException {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        journal.append(new ChangeJournal.Entry(event(1, EntityType.DECK, 1L, 1L, Operation.INSERT), null,
+                Deck.builder().id(1L).name("Java").description("Basics").createdAt(now).updatedAt(now).build()));
+        journal.append(new ChangeJournal.Entry(event(2, EntityType.CARD, 10L, 1L, Operation.INSERT),
+                Card.builder().id(10L).question("Що таке JVM?").answer("Java Virtual Machine").deckId(1L)
+                        .createdAt(now).updatedAt(now).build(), null));
+        journal.append(new ChangeJournal.Entry(event(3, EntityType.CARD, 11L, 1L, Operation.INSERT),
+                Card.builder().id(11L).question("Q").answer("A").deckId(1L).createdAt(now).updatedAt(now).build(),
+                null));
+        journal.append(new ChangeJournal.Entry(event(4, EntityType.CARD, 11L, 1L, Operation.DELETE), null, null));
+
+        // When
+        int applied = journal.replay(conn);
+
+        // Then
+        assertThat(applied).isEqualTo(4);
+        assertThat(queryString("SELECT name FROM decks WHERE id = 1")).isEqualTo("Java");
+        assertThat(queryString("SELECT question FROM cards WHERE id = 10")).isEqualTo("Що таке JVM?");
+        assertThat(queryLong("SELECT COUNT(*) FROM cards")).isEqualTo(1);
+        assertThat(queryLong("SELECT COUNT(*) FROM card_tombstones WHERE card_id = 11 AND card_uid IS NOT NULL"))
+                .isEqualTo(1);
+        assertThat(queryLong("SELECT MAX(seq) FROM change_log")).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should replay entries below the snapshot's latest sequence and keep rotated files in order")
+    void replay_ShouldApplyEntriesCommittedOutOfSeqOrder() throws SQLException {
+        // Given: seq 6 committed before seq 5, and the snapshot only saw seq 6
+        LocalDateTime now = LocalDateTime.now();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO cards (id, question, answer, deck_id) VALUES (2, 'snapshot', 'A', 1)");
+            stmt.execute("INSERT INTO change_log (seq, entity_type, entity_id, deck_id, operation) "
+                    + "VALUES (6, 'CARD', 2, 1, 'INSERT')");
+        }
+        journal.append(new ChangeJournal.Entry(event(6, EntityType.CARD, 2L, 1L, Operation.INSERT),
+                Card.builder().id(2L).question("snapshot").answer("A").deckId(1L).createdAt(now).updatedAt(now)
+                        .build(), null));
+        journal.rotate();
+        journal.append(new ChangeJournal.Entry(event(5, EntityType.CARD, 1L, 1L, Operation.INSERT),
+                Card.builder().id(1L).question("old").answer("A").deckId(1L).createdAt(now).updatedAt(now).build(),
+                null));
+        journal.rotate();
+        journal.append(new ChangeJournal.Entry(event(7, EntityType.CARD, 1L, 1L, Operation.UPDATE),
+                Card.builder().id(1L).question("new").answer("A").deckId(1L).createdAt(now).updatedAt(now).build(),
+                null));
+
+        // When
+        int applied = journal.replay(conn);
+        journal.discardRotated();
+
+        // Then
+        assertThat(applied).isEqualTo(3);
+        assertThat(queryString("SELECT question FROM cards WHERE id = 1")).isEqualTo("new");
+        assertThat(queryLong("SELECT COUNT(*) FROM cards")).isEqualTo(2);
+        assertThat(queryLong("SELECT COUNT(*) FROM change_log")).isEqualTo(3);
+        assertThat(Files.exists(tempDir.resolve("journal.ndjson.prev"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore a line torn by a crash and keep appending after it")
+    void replay_ShouldIgnoreTornLine() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        journal.append(new ChangeJournal.Entry(event(1, EntityType.CARD, 1L, 1L, Operation.INSERT),
+                Card.builder().id(1L).question("Q").answer("A").deckId(1L).createdAt(now).updatedAt(now).build(),
+                null));
+        journal.close();
+        Files.writeString(tempDir.resolve("journal.ndjson"), "{\"event\":{\"seq\":2,",
+                StandardOpenOption.APPEND);
+        journal.append(new ChangeJournal.Entry(event(3, EntityType.CARD, 3L, 1L, Operation.INSERT),
+                Card.builder().id(3L).question("Q").answer("A").deckId(1L).createdAt(now).updatedAt(now).build(),
+                null));
+
+        // When
+        int applied = journal.replay(conn);
+
+        // Then
+        assertThat(applied).isEqualTo(2);
+        assertThat(queryLong("SELECT COUNT(*) FROM cards")).isEqualTo(2);
+    }
+
+    private static ChangeEvent event(long seq, EntityType type, Long entityId, Long deckId, Operation operation) {
+        return new ChangeEvent(seq, type, entityId, deckId, operation, LocalDateTime.now());
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
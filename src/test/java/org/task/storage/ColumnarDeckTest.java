@@ -0,0 +1,90 @@
+package org.task.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.task.models.entity.Card;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ColumnarDeck Tests")
+class ColumnarDeckTest {
+
+    private static Card card(long id, String question, String answer, LocalDateTime createdAt) {
+        return Card.builder()
+                .id(id)
+                .deckId(7L)
+                .question(question)
+                .answer(answer)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusSeconds(1))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should read back every column through the cursor")
+    void cursor_ShouldRoundTripCards() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        List<Card> cards = List.of(
+                card(1L, "Що таке Java?", "Мова програмування", createdAt),
+                card(2L, "What is JVM?", "", createdAt.minusYears(60)));
+
+        // When
+        ColumnarDeck deck = ColumnarDeck.of(7L, cards);
+        ColumnarDeck.Cursor cursor = deck.cursor();
+
+        // Then
+        assertThat(deck.size()).isEqualTo(2);
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.id()).isEqualTo(1L);
+        assertThat(cursor.question()).isEqualTo("Що таке Java?");
+        assertThat(cursor.answer()).isEqualTo("Мова програмування");
+        assertThat(cursor.createdAt()).isEqualTo(createdAt);
+        assertThat(cursor.updatedAt()).isEqualTo(createdAt.plusSeconds(1));
+
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.toCard())
+                .extracting(Card::getId, Card::getDeckId, Card::getQuestion, Card::getAnswer, Card::getCreatedAt)
+                .containsExactly(2L, 7L, "What is JVM?", "", createdAt.minusYears(60));
+        assertThat(cursor.next()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match UTF-8 needles without decoding")
+    void cursor_ShouldMatchBytes() {
+        // Given
+        ColumnarDeck deck = ColumnarDeck.of(7L, List.of(card(1L, "Що таке Java?", "Мова", LocalDateTime.now())));
+        ColumnarDeck.Cursor cursor = deck.cursor().moveTo(0);
+
+        // Then
+        assertThat(cursor.questionContains("таке".getBytes(StandardCharsets.UTF_8))).isTrue();
+        assertThat(cursor.questionContains("Мова".getBytes(StandardCharsets.UTF_8))).isFalse();
+        assertThat(cursor.answerContains("Мова".getBytes(StandardCharsets.UTF_8))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used decks when over the byte budget")
+    void cache_ShouldEvictByRetainedBytes() {
+        // Given
+        List<Card> cards = new ArrayList<>();
+        for (long i = 0; i < 100; i++) cards.add(card(i, "Question " + i, "Answer " + i, LocalDateTime.now()));
+        long deckBytes = ColumnarDeck.of(1L, cards).retainedBytes();
+        ColumnarDeckCache cache = new ColumnarDeckCache(deckId -> cards, deckBytes * 2);
+
+        // When
+        ColumnarDeck first = cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+        cache.get(3L);
+
+        // Then
+        assertThat(cache.get(1L)).isSameAs(first);
+        assertThat(cache.getRetainedBytes()).isLessThanOrEqualTo(deckBytes * 2);
+        assertThat(cache.getHitRate()).isEqualTo(2.0 / 5);
+    }
+}
@@ -0,0 +1,121 @@
+package org.task.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.task.config.DatabaseLoading;
+import org.task.config.DatabaseManager;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+import org.task.repository.CardRepository;
+import org.task.repository.DeckRepository;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MemorySnapshotter Tests")
+class MemorySnapshotterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final List<DatabaseManager> started = new ArrayList<>();
+    private final List<Connection> keepAlive = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (DatabaseManager databaseManager : started) databaseManager.getExecutor().close();
+        for (Connection conn : keepAlive) conn.close();
+    }
+
+    @Test
+    @DisplayName("Should restore the snapshot plus every change that returned after it when the process dies")
+    void restore_ShouldRecoverCommittedChangesAfterCrash() throws SQLException {
+        // Given
+        DatabaseManager before = start();
+        CardRepository cards = new CardRepository(before);
+        DeckRepository decks = new DeckRepository(before, cards);
+        Deck java = decks.save(new Deck("Java", "Basics"));
+        Deck sql = decks.save(new Deck("SQL", "Queries"));
+        Card edited = cards.save(new Card("JVM?", "Virtual machine", java.getId()));
+        Card moved = cards.save(new Card("JIT?", "Compiler", java.getId()));
+        Card deleted = cards.save(new Card("GC?", "Collector", java.getId()));
+        before.getMemorySnapshotter().orElseThrow().snapshot();
+
+        edited.setQuestion("What is the JVM?");
+        cards.update(edited);
+        cards.moveToDeck(List.of(moved.getId()), sql.getId());
+        cards.deleteById(deleted.getId());
+        Card added = cards.save(new Card("JDK?", "Development kit", sql.getId()));
+
+        // When: the in-memory database is gone without a final snapshot
+        crash();
+        DatabaseManager after = start();
+        CardRepository restored = new CardRepository(after);
+
+        // Then
+        assertThat(restored.findByDeckId(java.getId())).extracting(Card::getQuestion)
+                .containsExactly("What is the JVM?");
+        assertThat(restored.findByDeckId(sql.getId())).extracting(Card::getQuestion)
+                .containsExactlyInAnyOrder("JIT?", "JDK?");
+        assertThat(countTombstones(java.getId())).isEqualTo(2);
+        assertThat(restored.save(new Card("JRE?", "Runtime", sql.getId())).getId()).isGreaterThan(added.getId());
+    }
+
+    private DatabaseManager start() {
+        final DatabaseManager databaseManager = new SnapshotDatabase();
+        keepAlive.add(databaseManager.getConnection());
+        databaseManager.initializeDatabase();
+        started.add(databaseManager);
+        return databaseManager;
+    }
+
+    /**
+     * Drops the in-memory database the way a killed process would: its last connection goes away and
+     * nothing is written on the way out.
+     */
+    private void crash() throws SQLException {
+        keepAlive.removeLast().close();
+    }
+
+    private long countTombstones(Long deckId) throws SQLException {
+        try (PreparedStatement stmt = keepAlive.getLast()
+                .prepareStatement("SELECT COUNT(*) FROM card_tombstones WHERE deck_id = ?")) {
+            stmt.setLong(1, deckId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Memory mode on a private database name, with the snapshot and journal in the test's directory. An
+     * inner class, since the properties are loaded by the superclass constructor before fields are set.
+     */
+    private final class SnapshotDatabase extends DatabaseLoading {
+
+        @Override
+        protected Properties loadProperties() {
+            final Properties props = new Properties();
+            props.setProperty("db.mode", "memory");
+            props.setProperty("db.url", "jdbc:h2:mem:unused");
+            props.setProperty("db.memory.url", "jdbc:h2:mem:snapshot-test-" + System.nanoTime());
+            props.setProperty("db.memory.snapshotFile", tempDir.resolve("snapshot.zip").toString());
+            props.setProperty("db.memory.journalFile", tempDir.resolve("journal.ndjson").toString());
+            props.setProperty("db.user", "sa");
+            props.setProperty("db.password", "");
+            props.setProperty("db.driver", "org.h2.Driver");
+            return props;
+        }
+    }
+}
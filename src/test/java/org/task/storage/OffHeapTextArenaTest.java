@@ -0,0 +1,65 @@
+package org.task.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("OffHeapTextArena Tests")
+class OffHeapTextArenaTest {
+
+    @Test
+    @DisplayName("Should return stored text as a char sequence view")
+    void get_ShouldReturnStoredText() {
+        // Given
+        OffHeapTextArena arena = new OffHeapTextArena(64);
+
+        // When
+        int java = arena.store("Що таке Java?");
+        int empty = arena.store("");
+
+        // Then
+        assertThat(arena.get(java).toString()).isEqualTo("Що таке Java?");
+        assertThat(arena.get(java).subSequence(8, 12).toString()).isEqualTo("Java");
+        assertThat(arena.get(empty)).hasToString("");
+        assertThat(arena.size()).isEqualTo(2);
+        assertThat(arena.liveBytes()).isEqualTo(2L * "Що таке Java?".length());
+    }
+
+    @Test
+    @DisplayName("Should store text longer than one segment")
+    void store_ShouldHandleOversizedText() {
+        // Given
+        OffHeapTextArena arena = new OffHeapTextArena(16);
+        String longText = "x".repeat(100);
+
+        // When
+        int handle = arena.store(longText);
+
+        // Then
+        assertThat(arena.get(handle)).hasToString(longText);
+    }
+
+    @Test
+    @DisplayName("Should keep handles valid across compaction and reclaim freed space")
+    void compact_ShouldKeepHandlesStable() {
+        // Given
+        OffHeapTextArena arena = new OffHeapTextArena(128);
+        List<Integer> handles = new ArrayList<>();
+        for (int i = 0; i < 200; i++) handles.add(arena.store("card text " + i));
+        long allocatedBefore = arena.allocatedBytes();
+
+        // When
+        for (int i = 0; i < 200; i += 2) arena.free(handles.get(i));
+        arena.compact();
+
+        // Then
+        assertThat(arena.allocatedBytes()).isLessThan(allocatedBefore);
+        for (int i = 1; i < 200; i += 2) assertThat(arena.get(handles.get(i))).hasToString("card text " + i);
+        assertThat(arena.get(handles.getFirst())).hasToString("");
+        assertThat(arena.size()).isEqualTo(100);
+    }
+}
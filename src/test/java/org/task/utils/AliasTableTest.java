@@ -0,0 +1,52 @@
+package org.task.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AliasTable Tests")
+class AliasTableTest {
+
+    @Test
+    @DisplayName("Should sample indexes in proportion to their weights")
+    void sample_ShouldFollowWeights() {
+        // Given
+        double[] weights = {1, 2, 0, 5, 0.5, 1.5};
+        AliasTable table = new AliasTable(weights);
+        SplittableRandom random = new SplittableRandom(17);
+        int draws = 200_000;
+
+        // When
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < draws; i++) counts[table.sample(random)]++;
+
+        // Then
+        assertThat(counts[2]).isZero();
+        for (int i = 0; i < weights.length; i++) {
+            assertThat((double) counts[i] / draws).isCloseTo(weights[i] / 10, within(0.01));
+        }
+    }
+
+    @Test
+    @DisplayName("Should always return the only positive index")
+    void sample_ShouldHandleSinglePositiveWeight() {
+        // Given
+        AliasTable table = new AliasTable(new double[]{0, 0, 3, 0});
+        SplittableRandom random = new SplittableRandom(1);
+
+        // Then
+        for (int i = 0; i < 1_000; i++) assertThat(table.sample(random)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject empty, all-zero and negative weights")
+    void constructor_ShouldRejectInvalidWeights() {
+        assertThatThrownBy(() -> new AliasTable(new double[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{0, 0})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{1, -1})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{1, Double.NaN})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,105 @@
+package org.task.utils;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CsvCardWriter Tests")
+class CsvCardWriterTest {
+    private static final String ALPHABET = "ab Z#!,\"\n\r\t;'é☕🃏";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should write the same bytes as CSVPrinter for awkward values and timestamps")
+    void writeCard_ShouldMatchCsvPrinter() throws IOException {
+        // Given
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDateTime time = LocalDateTime.of(2024, 12, 31, 23, 59, 58);
+        List<Card> cards = new ArrayList<>(List.of(
+                new Card("", "empty question", null),
+                new Card("#comment", " leading space", null),
+                new Card("trailing tab\t", "\"quoted\"", null),
+                new Card(null, "", null),
+                new Card("x".repeat(3 * CsvCardWriter.BUFFER_BYTES), "long", null)));
+        for (int i = 0; i < 20_000; i++) {
+            time = time.plusNanos(random.nextLong(400_000_000L));
+            Card card = new Card(randomText(random), randomText(random), null);
+            card.setCreatedAt(time);
+            card.setUpdatedAt(random.nextInt(10) == 0 ? null : time.plusDays(random.nextInt(3)));
+            cards.add(card);
+        }
+        cards.getFirst().setCreatedAt(LocalDateTime.of(12_345, 1, 2, 3, 4, 5));
+        Deck deck = Deck.builder().name("Parity").cards(cards).build();
+
+        Path expected = tempDir.resolve("printer.csv");
+        try (CSVPrinter printer = new CSVPrinter(Files.newBufferedWriter(expected), CSVFormat.DEFAULT)) {
+            FileParser.writeCsvHeader(deck, printer);
+            FileParser.writeCsvCards(deck, printer);
+        }
+
+        // When
+        Path actual = tempDir.resolve("writer.csv");
+        try (CsvCardWriter writer = new CsvCardWriter(actual)) {
+            writer.writeHeader();
+            for (Card card : cards) writer.writeCard(card);
+        }
+
+        // Then
+        assertThat(Files.mismatch(expected, actual)).isEqualTo(-1L);
+    }
+
+    @Test
+    @DisplayName("Should format each second of consecutive timestamps on its own")
+    void writeCard_ShouldRefreshCachedSecond() throws IOException {
+        // Given
+        LocalDateTime base = LocalDateTime.of(2025, 3, 9, 10, 15, 59, 900_000_000);
+        Path file = tempDir.resolve("deck.csv");
+
+        // When
+        try (CsvCardWriter writer = new CsvCardWriter(file)) {
+            for (LocalDateTime time : List.of(base, base.plusNanos(50_000_000), base.plusNanos(100_000_000),
+                    base.plusDays(1))) {
+                Card card = new Card("Q", "A", null);
+                card.setCreatedAt(time);
+                card.setUpdatedAt(time.plusSeconds(1));
+                writer.writeCard(card);
+            }
+        }
+
+        // Then
+        assertThat(Files.readAllLines(file)).containsExactly(
+                "Q,A,2025-03-09 10:15:59,2025-03-09 10:16:00",
+                "Q,A,2025-03-09 10:15:59,2025-03-09 10:16:00",
+                "Q,A,2025-03-09 10:16:00,2025-03-09 10:16:01",
+                "Q,A,2025-03-10 10:15:59,2025-03-10 10:16:00");
+    }
+
+    private static String randomText(SplittableRandom random) {
+        final StringBuilder text = new StringBuilder();
+        final int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            final int index = random.nextInt(ALPHABET.length());
+            // keep the surrogate pair of the emoji together
+            if (Character.isLowSurrogate(ALPHABET.charAt(index))) text.append(ALPHABET, index - 1, index + 1);
+            else if (Character.isHighSurrogate(ALPHABET.charAt(index))) text.append(ALPHABET, index, index + 2);
+            else text.append(ALPHABET.charAt(index));
+        }
+        return text.toString();
+    }
+}
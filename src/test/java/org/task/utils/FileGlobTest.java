@@ -0,0 +1,45 @@
+package org.task.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FileGlob Tests")
+class FileGlobTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should expand globs below the literal directory only to matching files")
+    void expand_ShouldMatchFiles() throws IOException {
+        // Given
+        Files.createDirectories(tempDir.resolve("in/nested"));
+        Path first = Files.writeString(tempDir.resolve("in/a.csv"), "");
+        Path second = Files.writeString(tempDir.resolve("in/b.csv"), "");
+        Path json = Files.writeString(tempDir.resolve("in/c.json"), "");
+        Path nested = Files.writeString(tempDir.resolve("in/nested/d.csv"), "");
+
+        // Then
+        assertThat(FileGlob.expand(tempDir + "/in/*.csv")).containsExactly(first, second);
+        assertThat(FileGlob.expand(tempDir + "/in/**.csv")).containsExactly(first, second, nested);
+        assertThat(FileGlob.expand(tempDir + "/in/c.json")).containsExactly(json);
+        assertThat(FileGlob.expand(tempDir + "/missing/*.csv")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match whole names with * and ? and treat everything else literally")
+    void namePattern_ShouldMatchWholeNames() {
+        assertThat(FileGlob.namePattern("Java*").matcher("Java (core)").matches()).isTrue();
+        assertThat(FileGlob.namePattern("Deck ?").matcher("Deck 7").matches()).isTrue();
+        assertThat(FileGlob.namePattern("Deck ?").matcher("Deck 17").matches()).isFalse();
+        assertThat(FileGlob.namePattern("a.b").matcher("axb").matches()).isFalse();
+        assertThat(FileGlob.namePattern("*").matcher("").matches()).isTrue();
+    }
+}
@@ -0,0 +1,58 @@
+package org.task.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("IndexPermutation Tests")
+class IndexPermutationTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 7, 64, 1_000, 65_537})
+    @DisplayName("Should visit every index exactly once")
+    void at_ShouldBeABijection(int size) {
+        // Given
+        IndexPermutation permutation = new IndexPermutation(size, 42L);
+
+        // When
+        int[] sorted = IntStream.range(0, size).map(permutation::at).sorted().toArray();
+
+        // Then
+        assertThat(sorted).containsExactly(IntStream.range(0, size).toArray());
+    }
+
+    @Test
+    @DisplayName("Should reproduce the order for a seed and change it for another")
+    void at_ShouldDependOnlyOnSeed() {
+        // Given
+        IndexPermutation first = new IndexPermutation(500, 7L);
+        IndexPermutation again = new IndexPermutation(500, 7L);
+        IndexPermutation other = new IndexPermutation(500, 8L);
+
+        // When
+        int[] firstOrder = IntStream.range(0, 500).map(first::at).toArray();
+        int[] againOrder = IntStream.range(0, 500).map(again::at).toArray();
+        int[] otherOrder = IntStream.range(0, 500).map(other::at).toArray();
+
+        // Then
+        assertThat(againOrder).containsExactly(firstOrder);
+        assertThat(otherOrder).isNotEqualTo(firstOrder);
+        assertThat(firstOrder).isNotEqualTo(IntStream.range(0, 500).toArray());
+    }
+
+    @Test
+    @DisplayName("Should reject positions outside the range")
+    void at_ShouldRejectOutOfRange() {
+        // Given
+        IndexPermutation permutation = new IndexPermutation(10, 1L);
+
+        // Then
+        assertThatThrownBy(() -> permutation.at(10)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> permutation.at(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package org.task.utils;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.task.exception.UnsupportedCsvDialectException;
+import org.task.models.entity.Card;
+import org.task.models.entity.Deck;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("MappedCsvReader Tests")
+class MappedCsvReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read exported cards exactly like commons-csv")
+    void readCards_ShouldMatchCommonsCsv() throws IOException {
+        // Given
+        LocalDateTime created = LocalDateTime.of(2024, 2, 29, 23, 59, 58);
+        Deck deck = new Deck("Tricky", "Quoting");
+        deck.setCards(List.of(
+                new Card("What is \"CSV\"?", "Comma, separated, values", null),
+                new Card("Multi\nline\r\nquestion", "  padded answer  ", null),
+                new Card("Emoji 🃏", "Ünïcödé, ☕", null),
+                new Card("", "Only an answer", null),
+                new Card("Plain", "\"\"", null)));
+        deck.getCards().forEach(card -> {
+            card.setCreatedAt(created);
+            card.setUpdatedAt(created.plusDays(1));
+        });
+        Path file = tempDir.resolve("deck.csv");
+        try (CSVPrinter printer = new CSVPrinter(Files.newBufferedWriter(file), CSVFormat.DEFAULT)) {
+            FileParser.writeCsvHeader(deck, printer);
+            FileParser.writeCsvCards(deck, printer);
+        }
+
+        // When
+        List<Card> mapped = MappedCsvReader.readCards(file);
+
+        // Then
+        assertThat(mapped).hasSize(5);
+        assertThat(mapped).extracting(Card::getQuestion, Card::getAnswer, Card::getCreatedAt, Card::getUpdatedAt)
+                .containsExactlyElementsOf(commonsCsv(file).stream()
+                        .map(card -> tuple(card.getQuestion(), card.getAnswer(), card.getCreatedAt(),
+                                card.getUpdatedAt()))
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("Should match headers ignoring case and order, skip empty lines and a byte order mark")
+    void readCards_ShouldHandleHeaderVariants() throws IOException {
+        // Given
+        Path file = tempDir.resolve("deck.csv");
+        Files.writeString(file, "﻿answer, QUESTION ,created_at\r\n\r\n"
+                + "Paris,Capital of France?,2023-01-31 08:00:00\r\n"
+                + "\n"
+                + ",,\n"
+                + "\"4\",\"2 + 2?\"  ,\n");
+
+        // When
+        List<Card> cards = MappedCsvReader.readCards(file);
+
+        // Then
+        assertThat(cards).extracting(Card::getQuestion, Card::getAnswer)
+                .containsExactly(tuple("Capital of France?", "Paris"), tuple("2 + 2?", "4"));
+        assertThat(cards.getFirst().getCreatedAt()).isEqualTo(LocalDateTime.of(2023, 1, 31, 8, 0));
+        assertThat(cards.getLast().getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should leave files outside its dialect to commons-csv")
+    void readCards_ShouldFallBackForUnsupportedDialect() throws IOException {
+        // Given
+        Path file = tempDir.resolve("deck.csv");
+        Files.writeString(file, "Question,Answer\n\"Quoted\"tail,Answer\n");
+
+        // Then
+        assertThatThrownBy(() -> MappedCsvReader.readCards(file)).isInstanceOf(UnsupportedCsvDialectException.class);
+        assertThatThrownBy(() -> FileParser.readCards(file))
+                .isNotInstanceOf(UnsupportedCsvDialectException.class);
+    }
+
+    private static List<Card> commonsCsv(Path file) throws IOException {
+        final List<Card> cards = new ArrayList<>();
+        try (CSVParser parser = FileParser.createCSVParser(file)) {
+            parser.forEach(csv -> {
+                final Card card = FileParser.parseCardFromRecord(csv);
+                if (card != null) cards.add(card);
+            });
+        }
+        return cards;
+    }
+}
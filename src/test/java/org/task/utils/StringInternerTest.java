@@ -0,0 +1,48 @@
+package org.task.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StringInterner Tests")
+class StringInternerTest {
+
+    @Test
+    @DisplayName("Should return the canonical instance for equal strings")
+    void intern_ShouldCanonicalizeEqualStrings() {
+        // Given
+        StringInterner interner = new StringInterner(10, 64);
+        String first = new String("Yes");
+        String second = new String("Yes");
+
+        // When
+        String canonicalFirst = interner.intern(first);
+        String canonicalSecond = interner.intern(second);
+
+        // Then
+        assertThat(canonicalFirst).isSameAs(first);
+        assertThat(canonicalSecond).isSameAs(first);
+        assertThat(interner.getHits()).isEqualTo(1);
+        assertThat(interner.getMisses()).isEqualTo(1);
+        assertThat(interner.getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should pass values through once the pool is full or text is too long")
+    void intern_ShouldRespectCaps() {
+        // Given
+        StringInterner interner = new StringInterner(2, 5);
+        interner.intern("a");
+        interner.intern("b");
+        String overflow = new String("c");
+        String tooLong = new String("abcdef");
+
+        // When & Then
+        assertThat(interner.intern(overflow)).isSameAs(overflow);
+        assertThat(interner.intern(tooLong)).isSameAs(tooLong);
+        assertThat(interner.intern(null)).isNull();
+        assertThat(interner.size()).isEqualTo(2);
+        assertThat(interner.getRejected()).isEqualTo(2);
+    }
+}